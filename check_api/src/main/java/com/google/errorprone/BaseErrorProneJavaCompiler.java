@@ -34,6 +34,7 @@ import com.sun.tools.javac.util.JavacMessages;
 import com.sun.tools.javac.util.Log;
 import com.sun.tools.javac.util.Log.WriterKind;
 import com.sun.tools.javac.util.Options;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintWriter;
@@ -257,7 +258,20 @@ public class BaseErrorProneJavaCompiler implements JavaCompiler {
 
     @Override
     public void finished(TaskEvent event) {
-      if (event.getKind() != Kind.GENERATE) {
+      if (event.getKind() == Kind.COMPILATION) {
+        try {
+          refactoringCollection.close();
+        } catch (IOException e) {
+          PrintWriter out = Log.instance(context).getWriter(WriterKind.ERROR);
+          out.println(e.getMessage());
+          out.flush();
+        }
+        return;
+      }
+      // Changes are applied as soon as a compilation unit has been analyzed. This listener is
+      // registered after the ErrorProneAnalyzer, which scans the unit once it has seen the ANALYZE
+      // event for its last class.
+      if (event.getKind() != Kind.ANALYZE) {
         return;
       }
       RefactoringResult refactoringResult;
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Supplier;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and writes files of compiled {@link CodeTransformer}s, such as the Refaster rules passed
+ * with {@code -XepPatchChecks:refaster:<path>}.
+ *
+ * <p>A file starts with a magic number and a format version, followed by a small serialized root
+ * transformer and a section of compressed, individually serialized values that the root refers to
+ * through {@link Section}s. The file is memory-mapped when read, and each section is only
+ * deserialized the first time it is used, so a large file of rules only pays for the rules that are
+ * actually needed. A file that may have been read must therefore be replaced rather than rewritten
+ * in place, which {@link Writer#write} does. Files written by earlier versions, which contain a
+ * single serialized transformer, can still be read.
+ *
+ * <p>Transformers read from a file are cached for as long as memory allows, so that later
+ * compilations in the same JVM that use the same unchanged file do not read it again.
+ */
+public final class CodeTransformerFiles {
+
+  private static final byte[] MAGIC = "EPCT".getBytes(US_ASCII);
+
+  /** The current version of the file format. */
+  static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = MAGIC.length + 2 * Integer.BYTES;
+
+  private static final Cache<CacheKey, CodeTransformer> cache =
+      CacheBuilder.newBuilder().softValues().build();
+
+  /** Returns the transformer in the file at {@code path}. */
+  public static CodeTransformer read(Path path) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    CacheKey key =
+        CacheKey.create(
+            path.toAbsolutePath().normalize(), attributes.lastModifiedTime(), attributes.size());
+    try {
+      return cache.get(key, () -> load(path));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Can't load code transformer from " + path, e.getCause());
+    }
+  }
+
+  private static CodeTransformer load(Path path) throws IOException, ClassNotFoundException {
+    ByteBuffer file;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (!hasMagic(file)) {
+      // A file written before the format was versioned, which is a single serialized transformer.
+      try (ObjectInputStream in = new ObjectInputStream(new ByteBufferInputStream(file))) {
+        return (CodeTransformer) in.readObject();
+      }
+    }
+    int version = file.getInt(MAGIC.length);
+    if (version != VERSION) {
+      throw new IOException(
+          String.format(
+              "%s has format version %d, but only version %d is supported",
+              path, version, VERSION));
+    }
+    int rootLength = file.getInt(MAGIC.length + Integer.BYTES);
+    ByteBuffer root = slice(file, HEADER_SIZE, rootLength);
+    ByteBuffer sections =
+        slice(file, HEADER_SIZE + rootLength, file.limit() - HEADER_SIZE - rootLength);
+    try (ObjectInputStream in =
+        new SectionBindingInputStream(new ByteBufferInputStream(root), sections)) {
+      return (CodeTransformer) in.readObject();
+    }
+  }
+
+  private static boolean hasMagic(ByteBuffer file) {
+    if (file.limit() < HEADER_SIZE) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (file.get(i) != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset).limit(offset + length);
+    return duplicate.slice();
+  }
+
+  /** Returns a new writer for a file of compiled transformers. */
+  public static Writer writer() {
+    return new Writer();
+  }
+
+  /**
+   * Writes a file of compiled transformers. Values that should be deserialized lazily are first
+   * added with {@link #addSection}, and the transformer that refers to them is then written with
+   * {@link #write}.
+   */
+  public static final class Writer {
+    private final ByteArrayOutputStream sections = new ByteArrayOutputStream();
+
+    private Writer() {}
+
+    /**
+     * Adds {@code value} to the sections of the file, and returns a reference to it that can be
+     * serialized as part of the root transformer.
+     */
+    public <T extends Serializable> Section<T> addSection(T value) throws IOException {
+      int offset = sections.size();
+      Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(
+              new DeflaterOutputStream(new NonClosingOutputStream(sections), deflater))) {
+        out.writeObject(value);
+      } finally {
+        deflater.end();
+      }
+      return new Section<>(offset, sections.size() - offset, value);
+    }
+
+    /**
+     * Writes {@code root} and the sections added so far to {@code path}.
+     *
+     * <p>The file is written next to {@code path} and then moved into place, so that transformers
+     * that were read from an earlier version of the file, and whose sections are still mapped from
+     * it, keep reading the earlier version.
+     */
+    public void write(Path path, CodeTransformer root) throws IOException {
+      ByteArrayOutputStream rootBytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(rootBytes)) {
+        out.writeObject(root);
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+      header.put(MAGIC).putInt(VERSION).putInt(rootBytes.size());
+      Path temp = createTempFile(path.toAbsolutePath());
+      try {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          out.write(header.array());
+          rootBytes.writeTo(out);
+          sections.writeTo(out);
+        }
+        try {
+          Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temp, path, REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    /**
+     * Creates an empty file next to {@code path} with the default permissions, unlike {@link
+     * Files#createTempFile}, which makes it readable by its owner only.
+     */
+    private static Path createTempFile(Path path) throws IOException {
+      while (true) {
+        Path temp =
+            path.resolveSibling(
+                path.getFileName()
+                    + "."
+                    + Long.toUnsignedString(ThreadLocalRandom.current().nextLong())
+                    + ".tmp");
+        try {
+          return Files.createFile(temp);
+        } catch (FileAlreadyExistsException e) {
+          // Try another name.
+        }
+      }
+    }
+  }
+
+  /**
+   * A value stored in the sections of a file of compiled transformers, which is deserialized the
+   * first time {@link #get} is called. Instances are thread-safe.
+   */
+  public static final class Section<T> implements Supplier<T>, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int offset;
+    private final int length;
+
+    private transient ByteBuffer sections;
+    private transient volatile T value;
+
+    private Section(int offset, int length, T value) {
+      this.offset = offset;
+      this.length = length;
+      this.value = value;
+    }
+
+    @Override
+    public T get() {
+      T result = value;
+      if (result == null) {
+        synchronized (this) {
+          result = value;
+          if (result == null) {
+            result = value = load();
+            sections = null;
+          }
+        }
+      }
+      return result;
+    }
+
+    private T load() {
+      checkState(sections != null, "section was not read from a file of compiled transformers");
+      try (ObjectInputStream in =
+          new ObjectInputStream(
+              new InflaterInputStream(
+                  new ByteBufferInputStream(slice(sections, offset, length))))) {
+        @SuppressWarnings("unchecked") // the type is checked when the section is written
+        T result = (T) in.readObject();
+        return result;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } catch (ClassNotFoundException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      if (!(in instanceof SectionBindingInputStream)) {
+        throw new InvalidObjectException("sections can only be read by CodeTransformerFiles");
+      }
+      this.sections = ((SectionBindingInputStream) in).sections;
+    }
+  }
+
+  /** Gives the {@link Section}s in the root transformer access to the sections of the file. */
+  private static final class SectionBindingInputStream extends ObjectInputStream {
+    private final ByteBuffer sections;
+
+    SectionBindingInputStream(InputStream in, ByteBuffer sections) throws IOException {
+      super(in);
+      this.sections = sections;
+    }
+  }
+
+  private static final class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer.duplicate();
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
+  /** Lets each section be compressed separately without closing the underlying stream. */
+  private static final class NonClosingOutputStream extends OutputStream {
+    private final OutputStream out;
+
+    NonClosingOutputStream(OutputStream out) {
+      this.out = out;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      out.write(bytes, offset, length);
+    }
+
+    @Override
+    public void close() {}
+  }
+
+  @AutoValue
+  abstract static class CacheKey {
+    abstract Path path();
+
+    abstract FileTime lastModifiedTime();
+
+    abstract long size();
+
+    static CacheKey create(Path path, FileTime lastModifiedTime, long size) {
+      return new AutoValue_CodeTransformerFiles_CacheKey(path, lastModifiedTime, size);
+    }
+  }
+
+  private CodeTransformerFiles() {}
+}
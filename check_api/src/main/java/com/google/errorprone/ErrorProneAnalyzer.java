@@ -22,7 +22,12 @@ import static com.google.common.base.Verify.verify;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashCode;
 import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.dataflow.DataFlow;
+import com.google.errorprone.dataflow.nullnesspropagation.inference.NullnessQualifierInference;
+import com.google.errorprone.matchers.Description;
 import com.google.errorprone.scanner.ErrorProneScannerTransformer;
 import com.google.errorprone.scanner.ScannerSupplier;
 import com.google.errorprone.util.ASTHelpers;
@@ -39,10 +44,18 @@ import com.sun.tools.javac.main.JavaCompiler;
 import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
+import com.sun.tools.javac.util.Log.WriterKind;
 import com.sun.tools.javac.util.PropagatedException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 import javax.tools.JavaFileObject;
 
 /** A {@link TaskListener} that runs Error Prone over attributed compilation units. */
@@ -53,30 +66,37 @@ public class ErrorProneAnalyzer implements TaskListener {
   private final Set<Tree> seen = new HashSet<>();
 
   private final Supplier<CodeTransformer> transformer;
+  @Nullable private final Supplier<FindingsCache> findingsCache;
   private final ErrorProneOptions errorProneOptions;
   private final Context context;
   private final DescriptionListener.Factory descriptionListenerFactory;
 
   public static ErrorProneAnalyzer createByScanningForPlugins(
       ScannerSupplier scannerSupplier, ErrorProneOptions errorProneOptions, Context context) {
+    Supplier<ScannerSupplier> scanners = scansPlugins(scannerSupplier, errorProneOptions, context);
+    Path findingsCachePath = errorProneOptions.getFindingsCachePath();
     return new ErrorProneAnalyzer(
-        scansPlugins(scannerSupplier, errorProneOptions, context),
+        Suppliers.memoize(() -> ErrorProneScannerTransformer.create(scanners.get().get())),
+        findingsCachePath == null
+            ? null
+            : Suppliers.memoize(
+                () ->
+                    FindingsCache.create(
+                        findingsCachePath, scanners.get(), errorProneOptions, context)),
         errorProneOptions,
         context,
         JavacErrorDescriptionListener.provider(context));
   }
 
-  private static Supplier<CodeTransformer> scansPlugins(
+  private static Supplier<ScannerSupplier> scansPlugins(
       ScannerSupplier scannerSupplier, ErrorProneOptions errorProneOptions, Context context) {
     return Suppliers.memoize(
         () -> {
           // we can't load plugins from the processorpath until the filemanager has been
           // initialized, so do it lazily
           try {
-            return ErrorProneScannerTransformer.create(
-                ErrorPronePlugins.loadPlugins(scannerSupplier, context)
-                    .applyOverrides(errorProneOptions)
-                    .get());
+            return ErrorPronePlugins.loadPlugins(scannerSupplier, context)
+                .applyOverrides(errorProneOptions);
           } catch (InvalidCommandLineOptionException e) {
             throw new PropagatedException(e);
           }
@@ -90,6 +110,7 @@ public class ErrorProneAnalyzer implements TaskListener {
       DescriptionListener.Factory descriptionListenerFactory) {
     return new ErrorProneAnalyzer(
         Suppliers.ofInstance(codeTransformer),
+        /* findingsCache= */ null,
         errorProneOptions,
         context,
         descriptionListenerFactory);
@@ -97,10 +118,12 @@ public class ErrorProneAnalyzer implements TaskListener {
 
   private ErrorProneAnalyzer(
       Supplier<CodeTransformer> transformer,
+      @Nullable Supplier<FindingsCache> findingsCache,
       ErrorProneOptions errorProneOptions,
       Context context,
       DescriptionListener.Factory descriptionListenerFactory) {
     this.transformer = checkNotNull(transformer);
+    this.findingsCache = findingsCache;
     this.errorProneOptions = checkNotNull(errorProneOptions);
     this.descriptionListenerFactory = checkNotNull(descriptionListenerFactory);
 
@@ -113,6 +136,10 @@ public class ErrorProneAnalyzer implements TaskListener {
 
   @Override
   public void finished(TaskEvent taskEvent) {
+    if (taskEvent.getKind() == Kind.COMPILATION) {
+      writeTimingsReport();
+      return;
+    }
     if (taskEvent.getKind() != Kind.ANALYZE) {
       return;
     }
@@ -127,15 +154,6 @@ public class ErrorProneAnalyzer implements TaskListener {
     verify(seen.add(path.getLeaf()), "Duplicate FLOW event for: %s", taskEvent.getTypeElement());
     Log log = Log.instance(context);
     JCCompilationUnit compilation = (JCCompilationUnit) path.getCompilationUnit();
-    DescriptionListener descriptionListener =
-        descriptionListenerFactory.getDescriptionListener(log, compilation);
-    DescriptionListener countingDescriptionListener =
-        d -> {
-          if (d.severity == SeverityLevel.ERROR) {
-            errorProneErrors++;
-          }
-          descriptionListener.onDescribed(d);
-        };
     JavaFileObject originalSource = log.useSource(compilation.getSourceFile());
     try {
       if (shouldExcludeSourceFile(compilation)) {
@@ -145,11 +163,11 @@ public class ErrorProneAnalyzer implements TaskListener {
         // We only get TaskEvents for compilation units if they contain no package declarations
         // (e.g. package-info.java files).  In this case it's safe to analyze the
         // CompilationUnitTree immediately.
-        transformer.get().apply(path, context, countingDescriptionListener);
+        analyze(path, log, compilation);
       } else if (finishedCompilation(path.getCompilationUnit())) {
         // Otherwise this TaskEvent is for a ClassTree, and we can scan the whole
         // CompilationUnitTree once we've seen all the enclosed classes.
-        transformer.get().apply(new TreePath(compilation), context, countingDescriptionListener);
+        analyze(new TreePath(compilation), log, compilation);
       }
     } catch (ErrorProneError e) {
       e.logFatalError(log, context);
@@ -170,10 +188,81 @@ public class ErrorProneAnalyzer implements TaskListener {
       // reported yet, but we don't want to crash javac.
       log.error("proc.cant.access", e.sym, getDetailValue(e), getStackTraceAsString(e));
     } finally {
+      // Dataflow and inference results are cached by tree, so they can't be reused for other
+      // compilation units.
+      DataFlow.releaseCachedResults(context);
+      NullnessQualifierInference.releaseInferenceResults(context);
       log.useSource(originalSource);
     }
   }
 
+  /**
+   * Scans {@code path}, or reports the findings stored in the findings cache if the compilation
+   * unit and everything it depends on are unchanged since they were stored.
+   */
+  private void analyze(TreePath path, Log log, JCCompilationUnit compilation) {
+    DescriptionListener descriptionListener = countingDescriptionListener(log, compilation);
+    if (findingsCache == null) {
+      transformer.get().apply(path, context, descriptionListener);
+      return;
+    }
+    FindingsCache cache = findingsCache.get();
+    HashCode key;
+    try {
+      key = cache.key(compilation);
+    } catch (IOException e) {
+      transformer.get().apply(path, context, descriptionListener);
+      return;
+    }
+    Optional<ImmutableList<Description>> cached = cache.read(key);
+    if (cached.isPresent()) {
+      cached.get().forEach(descriptionListener::onDescribed);
+      return;
+    }
+    List<Description> descriptions = new ArrayList<>();
+    transformer
+        .get()
+        .apply(
+            path,
+            context,
+            d -> {
+              descriptions.add(d);
+              descriptionListener.onDescribed(d);
+            });
+    cache.write(key, descriptions, compilation.endPositions);
+  }
+
+  /**
+   * Returns a listener for the descriptions of the given compilation unit that also counts errors.
+   * It is only created once the compilation unit is scanned, which is when all of its classes have
+   * been analyzed.
+   */
+  private DescriptionListener countingDescriptionListener(Log log, JCCompilationUnit compilation) {
+    DescriptionListener descriptionListener =
+        descriptionListenerFactory.getDescriptionListener(log, compilation);
+    return d -> {
+      if (d.severity == SeverityLevel.ERROR) {
+        errorProneErrors++;
+      }
+      descriptionListener.onDescribed(d);
+    };
+  }
+
+  /** Writes the timings report requested by {@code -XepTimingsReport}, if any. */
+  private void writeTimingsReport() {
+    Path reportPath = errorProneOptions.getTimingsReportPath();
+    if (reportPath == null) {
+      return;
+    }
+    try {
+      ErrorProneTimings.instance(context).writeReport(reportPath);
+    } catch (IOException e) {
+      PrintWriter out = Log.instance(context).getWriter(WriterKind.ERROR);
+      out.println("Could not write timings report to " + reportPath + ": " + e.getMessage());
+      out.flush();
+    }
+  }
+
   private static Object getDetailValue(CompletionFailure completionFailure) {
     try {
       // The return type of getDetailValue() changed from Object to JCDiagnostic in JDK 10,
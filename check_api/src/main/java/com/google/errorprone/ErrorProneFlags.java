@@ -226,4 +226,14 @@ public final class ErrorProneFlags implements Serializable {
   public static Builder builder() {
     return new Builder();
   }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof ErrorProneFlags && flagsMap.equals(((ErrorProneFlags) o).flagsMap);
+  }
+
+  @Override
+  public int hashCode() {
+    return flagsMap.hashCode();
+  }
 }
@@ -26,15 +26,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.apply.ImportOrganizer;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.nio.file.FileSystems;
-import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * Processes command-line options specific to error-prone.
@@ -52,6 +51,8 @@ public class ErrorProneOptions {
   private static final String PATCH_IMPORT_ORDER_PREFIX = "-XepPatchImportOrder:";
   private static final String EXCLUDED_PATHS_PREFIX = "-XepExcludedPaths:";
   private static final String IGNORE_LARGE_CODE_GENERATORS = "-XepIgnoreLargeCodeGenerators:";
+  private static final String TIMINGS_REPORT_PREFIX = "-XepTimingsReport:";
+  private static final String FINDINGS_CACHE_PREFIX = "-XepFindingsCache:";
 
   private static final String ERRORS_AS_WARNINGS_FLAG = "-XepAllErrorsAsWarnings";
   private static final String ENABLE_ALL_CHECKS = "-XepAllDisabledChecksAsWarnings";
@@ -62,6 +63,7 @@ public class ErrorProneOptions {
   private static final String DISABLE_WARNINGS_IN_GENERATED_CODE_FLAG =
       "-XepDisableWarningsInGeneratedCode";
   private static final String COMPILING_TEST_ONLY_CODE = "-XepCompilingTestOnlyCode";
+  private static final String DISABLE_TIMINGS = "-XepDisableTimings";
 
   /** see {@link javax.tools.OptionChecker#isSupportedOption(String)} */
   public static int isSupportedOption(String option) {
@@ -71,6 +73,8 @@ public class ErrorProneOptions {
             || option.startsWith(PATCH_OUTPUT_LOCATION)
             || option.startsWith(PATCH_CHECKS_PREFIX)
             || option.startsWith(EXCLUDED_PATHS_PREFIX)
+            || option.startsWith(TIMINGS_REPORT_PREFIX)
+            || option.startsWith(FINDINGS_CACHE_PREFIX)
             || option.equals(IGNORE_UNKNOWN_CHECKS_FLAG)
             || option.equals(DISABLE_WARNINGS_IN_GENERATED_CODE_FLAG)
             || option.equals(ERRORS_AS_WARNINGS_FLAG)
@@ -78,6 +82,7 @@ public class ErrorProneOptions {
             || option.equals(DISABLE_ALL_CHECKS)
             || option.equals(IGNORE_SUPPRESSION_ANNOTATIONS)
             || option.equals(COMPILING_TEST_ONLY_CODE)
+            || option.equals(DISABLE_TIMINGS)
             || option.equals(DISABLE_ALL_WARNINGS);
     return isSupported ? 0 : -1;
   }
@@ -169,6 +174,9 @@ public class ErrorProneOptions {
   private final Pattern excludedPattern;
   private final boolean ignoreSuppressionAnnotations;
   private final boolean ignoreLargeCodeGenerators;
+  private final boolean disableTimings;
+  @Nullable private final Path timingsReportPath;
+  @Nullable private final Path findingsCachePath;
 
   private ErrorProneOptions(
       ImmutableMap<String, Severity> severityMap,
@@ -184,7 +192,10 @@ public class ErrorProneOptions {
       PatchingOptions patchingOptions,
       Pattern excludedPattern,
       boolean ignoreSuppressionAnnotations,
-      boolean ignoreLargeCodeGenerators) {
+      boolean ignoreLargeCodeGenerators,
+      boolean disableTimings,
+      @Nullable Path timingsReportPath,
+      @Nullable Path findingsCachePath) {
     this.severityMap = severityMap;
     this.remainingArgs = remainingArgs;
     this.ignoreUnknownChecks = ignoreUnknownChecks;
@@ -199,6 +210,9 @@ public class ErrorProneOptions {
     this.excludedPattern = excludedPattern;
     this.ignoreSuppressionAnnotations = ignoreSuppressionAnnotations;
     this.ignoreLargeCodeGenerators = ignoreLargeCodeGenerators;
+    this.disableTimings = disableTimings;
+    this.timingsReportPath = timingsReportPath;
+    this.findingsCachePath = findingsCachePath;
   }
 
   public String[] getRemainingArgs() {
@@ -249,6 +263,29 @@ public class ErrorProneOptions {
     return excludedPattern;
   }
 
+  /** Returns true if the runtime of individual checks should not be measured. */
+  public boolean isDisableTimings() {
+    return disableTimings;
+  }
+
+  /**
+   * Returns the file that a report of the runtime of individual checks should be written to at the
+   * end of the compilation, or {@code null}.
+   */
+  @Nullable
+  public Path getTimingsReportPath() {
+    return timingsReportPath;
+  }
+
+  /**
+   * Returns the directory that the findings for unchanged compilation units are cached in across
+   * compilations, or {@code null}.
+   */
+  @Nullable
+  public Path getFindingsCachePath() {
+    return findingsCachePath;
+  }
+
   private static class Builder {
     private boolean ignoreUnknownChecks = false;
     private boolean disableAllWarnings = false;
@@ -259,6 +296,9 @@ public class ErrorProneOptions {
     private boolean isTestOnlyTarget = false;
     private boolean ignoreSuppressionAnnotations = false;
     private boolean ignoreLargeCodeGenerators = true;
+    private boolean disableTimings = false;
+    private Path timingsReportPath;
+    private Path findingsCachePath;
     private Map<String, Severity> severityMap = new HashMap<>();
     private final ErrorProneFlags.Builder flagsBuilder = ErrorProneFlags.builder();
     private final PatchingOptions.Builder patchingOptionsBuilder = PatchingOptions.builder();
@@ -338,6 +378,18 @@ public class ErrorProneOptions {
       this.isTestOnlyTarget = isTestOnlyTarget;
     }
 
+    public void setDisableTimings(boolean disableTimings) {
+      this.disableTimings = disableTimings;
+    }
+
+    public void setTimingsReportPath(Path timingsReportPath) {
+      this.timingsReportPath = timingsReportPath;
+    }
+
+    public void setFindingsCachePath(Path findingsCachePath) {
+      this.findingsCachePath = findingsCachePath;
+    }
+
     public PatchingOptions.Builder patchingOptionsBuilder() {
       return patchingOptionsBuilder;
     }
@@ -357,7 +409,10 @@ public class ErrorProneOptions {
           patchingOptionsBuilder.build(),
           excludedPattern,
           ignoreSuppressionAnnotations,
-          ignoreLargeCodeGenerators);
+          ignoreLargeCodeGenerators,
+          disableTimings,
+          timingsReportPath,
+          findingsCachePath);
     }
 
     public void setExcludedPattern(Pattern excludedPattern) {
@@ -417,6 +472,9 @@ public class ErrorProneOptions {
         case DISABLE_ALL_WARNINGS:
           builder.setDisableAllWarnings(true);
           break;
+        case DISABLE_TIMINGS:
+          builder.setDisableTimings(true);
+          break;
         default:
           if (arg.startsWith(SEVERITY_PREFIX)) {
             builder.parseSeverity(arg);
@@ -435,17 +493,15 @@ public class ErrorProneOptions {
           } else if (arg.startsWith(PATCH_CHECKS_PREFIX)) {
             String remaining = arg.substring(PATCH_CHECKS_PREFIX.length());
             if (remaining.startsWith("refaster:")) {
-              // Refaster rule, load from InputStream at file
+              // Refaster rule, load from the compiled rule file
               builder
                   .patchingOptionsBuilder()
                   .customRefactorer(
                       () -> {
                         String path = remaining.substring("refaster:".length());
-                        try (InputStream in =
-                                Files.newInputStream(FileSystems.getDefault().getPath(path));
-                            ObjectInputStream ois = new ObjectInputStream(in)) {
-                          return (CodeTransformer) ois.readObject();
-                        } catch (IOException | ClassNotFoundException e) {
+                        try {
+                          return CodeTransformerFiles.read(FileSystems.getDefault().getPath(path));
+                        } catch (IOException e) {
                           throw new RuntimeException("Can't load Refaster rule from " + path, e);
                         }
                       });
@@ -461,6 +517,18 @@ public class ErrorProneOptions {
             String pathRegex = arg.substring(EXCLUDED_PATHS_PREFIX.length());
             builder.setExcludedPattern(Pattern.compile(pathRegex));
 
+          } else if (arg.startsWith(TIMINGS_REPORT_PREFIX)) {
+            String remaining = arg.substring(TIMINGS_REPORT_PREFIX.length());
+            if (remaining.isEmpty()) {
+              throw new InvalidCommandLineOptionException("invalid flag: " + arg);
+            }
+            builder.setTimingsReportPath(FileSystems.getDefault().getPath(remaining));
+          } else if (arg.startsWith(FINDINGS_CACHE_PREFIX)) {
+            String remaining = arg.substring(FINDINGS_CACHE_PREFIX.length());
+            if (remaining.isEmpty()) {
+              throw new InvalidCommandLineOptionException("invalid flag: " + arg);
+            }
+            builder.setFindingsCachePath(FileSystems.getDefault().getPath(remaining));
           } else {
             if (arg.startsWith(PREFIX)) {
               throw new InvalidCommandLineOptionException("invalid flag: " + arg);
@@ -16,13 +16,20 @@
 
 package com.google.errorprone;
 
+import static com.google.common.base.Throwables.throwIfUnchecked;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.scanner.ScannerSupplier;
 import com.sun.tools.javac.processing.JavacProcessingEnvironment;
 import com.sun.tools.javac.util.Context;
+import java.util.Optional;
 import java.util.ServiceLoader;
 import javax.tools.JavaFileManager;
 import javax.tools.StandardLocation;
@@ -41,14 +48,43 @@ public final class ErrorPronePlugins {
     // when using Error Prone plugins together with the Error Prone javac plugin.
     JavacProcessingEnvironment processingEnvironment = JavacProcessingEnvironment.instance(context);
     ClassLoader loader = processingEnvironment.getProcessorClassLoader();
+    Optional<ScannerSupplier> plugins;
+    try {
+      plugins = PLUGINS.getUnchecked(loader);
+    } catch (UncheckedExecutionException | ExecutionError e) {
+      throwIfUnchecked(e.getCause());
+      throw e;
+    }
+    if (plugins.isEmpty()) {
+      return scannerSupplier;
+    }
+    return scannerSupplier.plus(plugins.get());
+  }
+
+  /**
+   * The checks found in each processor classloader, so that compilations in the same JVM that share
+   * a classloader only search it once.
+   *
+   * <p>A value holds the checker classes loaded by its key, which refer back to that classloader,
+   * so the weak key alone never lets an entry go. A classloader that is no longer in use stays
+   * alive until memory pressure clears the soft value that refers to it, after which both can be
+   * collected.
+   */
+  private static final LoadingCache<ClassLoader, Optional<ScannerSupplier>> PLUGINS =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .softValues()
+          .build(CacheLoader.from(ErrorPronePlugins::findPlugins));
+
+  private static Optional<ScannerSupplier> findPlugins(ClassLoader loader) {
     ImmutableList<Class<? extends BugChecker>> extraBugCheckers =
         ServiceLoader.load(BugChecker.class, loader).stream()
             .map(ServiceLoader.Provider::type)
             .collect(toImmutableList());
     if (extraBugCheckers.isEmpty()) {
-      return scannerSupplier;
+      return Optional.empty();
     }
-    return scannerSupplier.plus(ScannerSupplier.fromBugCheckerClasses(extraBugCheckers));
+    return Optional.of(ScannerSupplier.fromBugCheckerClasses(extraBugCheckers));
   }
 
   private ErrorPronePlugins() {}
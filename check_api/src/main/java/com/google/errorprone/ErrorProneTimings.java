@@ -16,17 +16,42 @@
 
 package com.google.errorprone;
 
-import static com.google.common.collect.ImmutableMap.toImmutableMap;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.matchers.Suppressible;
+import com.sun.source.tree.Tree;
 import com.sun.tools.javac.util.Context;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
 
-/** A collection of timing data for the runtime of individual checks. */
+/**
+ * A collection of timing data for the runtime of individual checks.
+ *
+ * <p>Scanners that run many checks should use {@link #timersFor}, which records into preallocated
+ * counters indexed by check and does not allocate per measurement. The per-check and per-tree-kind
+ * call counts and latency histograms it collects are only recorded if {@link
+ * ErrorProneOptions#getTimingsReportPath()} is set, and nothing is recorded if {@link
+ * ErrorProneOptions#isDisableTimings()} is set.
+ */
 public final class ErrorProneTimings {
 
   private static final Context.Key<ErrorProneTimings> timingsKey = new Context.Key<>();
@@ -41,20 +66,286 @@ public final class ErrorProneTimings {
 
   private ErrorProneTimings(Context context) {
     context.put(timingsKey, this);
+    ErrorProneOptions options = context.get(ErrorProneOptions.class);
+    if (options == null) {
+      options = ErrorProneOptions.empty();
+    }
+    this.enabled = !options.isDisableTimings();
+    this.detailed = enabled && options.getTimingsReportPath() != null;
   }
 
+  private static final AutoCloseable NO_OP_SPAN = () -> {};
+
+  private final boolean enabled;
+  private final boolean detailed;
+
+  /** The timers created by {@link #span}. */
   private final Map<String, Stopwatch> timers = new HashMap<>();
 
+  /** The timers created by {@link #timersFor}. */
+  private final Queue<Timers> scannerTimers = new ConcurrentLinkedQueue<>();
+
+  /** The counters added by {@link #addCounter}, by name. */
+  private final ConcurrentMap<String, LongSupplier> counters = new ConcurrentHashMap<>();
+
   /** Creates a timing span for the given {@link Suppressible}. */
   public AutoCloseable span(Suppressible suppressible) {
+    if (!enabled) {
+      return NO_OP_SPAN;
+    }
     String key = suppressible.canonicalName();
     Stopwatch sw = timers.computeIfAbsent(key, k -> Stopwatch.createUnstarted()).start();
     return () -> sw.stop();
   }
 
+  /**
+   * Returns a new set of timers for the given checks, which are identified by their index in {@code
+   * checks}. The returned timers are confined to the calling thread.
+   */
+  public Timers timersFor(List<? extends Suppressible> checks) {
+    Timers result =
+        new Timers(
+            checks.stream().map(Suppressible::canonicalName).collect(toImmutableList()),
+            enabled,
+            detailed);
+    if (enabled) {
+      scannerTimers.add(result);
+    }
+    return result;
+  }
+
+  /**
+   * Adds a counter whose value is included in the {@linkplain #writeReport report}, e.g. the number
+   * of hits of a cache.
+   */
+  public void addCounter(String name, LongSupplier counter) {
+    counters.put(name, counter);
+  }
+
+  /** Returns the current value of each counter. */
+  public ImmutableMap<String, Long> counters() {
+    return counters.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey, e -> e.getValue().getAsLong()));
+  }
+
   /** Returns the elapsed durations of each timer. */
   public ImmutableMap<String, Duration> timings() {
-    return timers.entrySet().stream()
-        .collect(toImmutableMap(e -> e.getKey(), e -> e.getValue().elapsed()));
+    Map<String, Long> nanos = new LinkedHashMap<>();
+    timers.forEach((name, sw) -> nanos.merge(name, sw.elapsed(NANOSECONDS), Long::sum));
+    for (Timers t : scannerTimers) {
+      for (int i = 0; i < t.names.size(); i++) {
+        if (t.calls[i] > 0) {
+          nanos.merge(t.names.get(i), t.nanos[i], Long::sum);
+        }
+      }
+    }
+    return nanos.entrySet().stream()
+        .collect(
+            ImmutableMap.toImmutableMap(Map.Entry::getKey, e -> Duration.ofNanos(e.getValue())));
+  }
+
+  /**
+   * Writes a report of the call counts and latencies of each check and each tree kind, and of the
+   * value of each {@linkplain #addCounter counter}, to {@code path}. The report is written as CSV
+   * if the file name ends in {@code .csv}, and as JSON otherwise.
+   */
+  public void writeReport(Path path) throws IOException {
+    Map<String, Stats> byCheck = new LinkedHashMap<>();
+    Map<String, Stats> byKind = new LinkedHashMap<>();
+    for (Timers t : scannerTimers) {
+      for (int i = 0; i < t.names.size(); i++) {
+        if (t.calls[i] > 0) {
+          byCheck.computeIfAbsent(t.names.get(i), k -> new Stats()).add(t, i);
+        }
+      }
+      if (t.detailed) {
+        for (Tree.Kind kind : Tree.Kind.values()) {
+          int i = t.names.size() + kind.ordinal();
+          if (t.calls[i] > 0) {
+            byKind.computeIfAbsent(kind.name(), k -> new Stats()).add(t, i);
+          }
+        }
+      }
+    }
+    try (Writer writer = Files.newBufferedWriter(path, UTF_8)) {
+      if (path.getFileName().toString().endsWith(".csv")) {
+        writeCsv(writer, byCheck, byKind, counters());
+      } else {
+        writeJson(writer, byCheck, byKind, counters());
+      }
+    }
+  }
+
+  private static void writeCsv(
+      Writer writer,
+      Map<String, Stats> byCheck,
+      Map<String, Stats> byKind,
+      Map<String, Long> counters)
+      throws IOException {
+    writer.write("type,name,calls,total_ns,p50_ns,p99_ns,max_ns\n");
+    for (Map.Entry<String, Stats> e : byCheck.entrySet()) {
+      writer.write("check," + e.getKey() + "," + e.getValue().toCsv() + "\n");
+    }
+    for (Map.Entry<String, Stats> e : byKind.entrySet()) {
+      writer.write("kind," + e.getKey() + "," + e.getValue().toCsv() + "\n");
+    }
+    for (Map.Entry<String, Long> e : counters.entrySet()) {
+      writer.write("counter," + e.getKey() + "," + e.getValue() + ",,,,\n");
+    }
+  }
+
+  private static void writeJson(
+      Writer writer,
+      Map<String, Stats> byCheck,
+      Map<String, Stats> byKind,
+      Map<String, Long> counters)
+      throws IOException {
+    writer.write("{\n  \"checks\": ");
+    writeJsonObject(writer, byCheck, Stats::toJson);
+    writer.write(",\n  \"kinds\": ");
+    writeJsonObject(writer, byKind, Stats::toJson);
+    writer.write(",\n  \"counters\": ");
+    writeJsonObject(writer, counters, String::valueOf);
+    writer.write("\n}\n");
+  }
+
+  private static <T> void writeJsonObject(
+      Writer writer, Map<String, T> values, Function<T, String> toJson) throws IOException {
+    List<String> entries = new ArrayList<>();
+    for (Map.Entry<String, T> e : values.entrySet()) {
+      entries.add(
+          "    \""
+              + e.getKey().replace("\\", "\\\\").replace("\"", "\\\"")
+              + "\": "
+              + toJson.apply(e.getValue()));
+    }
+    writer.write(entries.isEmpty() ? "{}" : "{\n" + String.join(",\n", entries) + "\n  }");
+  }
+
+  /** Aggregated statistics for one check or tree kind. */
+  private static final class Stats {
+    long calls;
+    long nanos;
+    long maxNanos;
+    final long[] histogram = new long[Timers.BUCKETS];
+
+    void add(Timers t, int i) {
+      calls += t.calls[i];
+      nanos += t.nanos[i];
+      if (t.detailed) {
+        maxNanos = Math.max(maxNanos, t.maxNanos[i]);
+        for (int b = 0; b < Timers.BUCKETS; b++) {
+          histogram[b] += t.histograms[i * Timers.BUCKETS + b];
+        }
+      }
+    }
+
+    /**
+     * Returns an upper bound on the given percentile: the largest latency in the histogram bucket
+     * containing it, or the maximum latency if that is smaller.
+     */
+    long percentile(double p) {
+      long total = 0;
+      for (long count : histogram) {
+        total += count;
+      }
+      if (total == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(p * total);
+      long seen = 0;
+      for (int b = 0; b < Timers.BUCKETS; b++) {
+        seen += histogram[b];
+        if (seen >= rank) {
+          return Math.min(b == 0 ? 0 : (1L << b) - 1, maxNanos);
+        }
+      }
+      return maxNanos;
+    }
+
+    String toCsv() {
+      return String.join(
+          ",",
+          Long.toString(calls),
+          Long.toString(nanos),
+          Long.toString(percentile(0.5)),
+          Long.toString(percentile(0.99)),
+          Long.toString(maxNanos));
+    }
+
+    String toJson() {
+      return String.format(
+          "{\"calls\": %d, \"total_ns\": %d, \"p50_ns\": %d, \"p99_ns\": %d, \"max_ns\": %d}",
+          calls, nanos, percentile(0.5), percentile(0.99), maxNanos);
+    }
+  }
+
+  /**
+   * Timers for a fixed list of checks, identified by their index. Measuring a call with {@link
+   * #start} and {@link #stop} does not allocate, and does nothing if timings are disabled.
+   *
+   * <p>Instances are not thread-safe, and should be confined to a single scanner.
+   */
+  public static final class Timers {
+    /**
+     * The number of histogram buckets. Bucket {@code 0} holds latencies of zero, and bucket {@code
+     * b} holds latencies in [2^(b-1), 2^b) ns.
+     */
+    private static final int BUCKETS = Long.SIZE;
+
+    private final ImmutableList<String> names;
+    private final boolean enabled;
+    private final boolean detailed;
+
+    // Indexed by check, followed by one entry for each Tree.Kind if detailed.
+    private final long[] calls;
+    private final long[] nanos;
+    private final long[] maxNanos;
+    private final long[] histograms;
+
+    private Timers(ImmutableList<String> names, boolean enabled, boolean detailed) {
+      this.names = names;
+      this.enabled = enabled;
+      this.detailed = detailed;
+      int size = detailed ? names.size() + Tree.Kind.values().length : names.size();
+      this.calls = new long[enabled ? size : 0];
+      this.nanos = new long[enabled ? size : 0];
+      this.maxNanos = new long[detailed ? size : 0];
+      this.histograms = new long[detailed ? size * BUCKETS : 0];
+    }
+
+    /** Starts measuring a call, and returns a token to pass to {@link #stop}. */
+    public long start() {
+      return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a call to the check at index {@code check} on a tree of the given {@code kind}, which
+     * was started at {@code start}.
+     */
+    public void stop(int check, Tree.Kind kind, long start) {
+      if (!enabled) {
+        return;
+      }
+      long elapsed = System.nanoTime() - start;
+      calls[check]++;
+      nanos[check] += elapsed;
+      if (detailed) {
+        record(check, elapsed);
+        int kindIndex = names.size() + kind.ordinal();
+        calls[kindIndex]++;
+        nanos[kindIndex] += elapsed;
+        record(kindIndex, elapsed);
+      }
+    }
+
+    private void record(int i, long elapsed) {
+      if (elapsed > maxNanos[i]) {
+        maxNanos[i] = elapsed;
+      }
+      int bucket = elapsed <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(elapsed);
+      histograms[i * BUCKETS + bucket]++;
+    }
   }
 }
@@ -0,0 +1,583 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.fixes.Fix;
+import com.google.errorprone.fixes.Replacement;
+import com.google.errorprone.matchers.Description;
+import com.google.errorprone.scanner.ScannerSupplier;
+import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Attribute;
+import com.sun.tools.javac.code.Kinds.Kind;
+import com.sun.tools.javac.code.Source;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.CompletionFailure;
+import com.sun.tools.javac.code.Symbol.PackageSymbol;
+import com.sun.tools.javac.code.Symbol.VarSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.tree.EndPosTable;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.tree.TreeScanner;
+import com.sun.tools.javac.util.Context;
+import com.sun.tools.javac.util.JCDiagnostic.DiagnosticPosition;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * A directory of the findings for compilation units, which lets a compilation report the findings
+ * of a compilation unit that hasn't changed since an earlier compilation without analyzing it.
+ *
+ * <p>The findings are stored under a hash of everything they may depend on: the source of the
+ * compilation unit, the enabled checks with their severities and implementations, the {@link
+ * ErrorProneFlags} and the other {@link ErrorProneOptions} that affect the analysis, the language
+ * level, the annotations of the compilation unit's package, and the signatures of the classes that
+ * the compilation unit refers to, of their supertypes and of their packages' annotations.
+ * Descriptions are stored with their positions and the replacements of their fixes resolved, which
+ * is all that {@link JavacErrorDescriptionListener} needs to report them again.
+ */
+final class FindingsCache {
+
+  private static final byte[] MAGIC = "EPFC".getBytes(US_ASCII);
+
+  /** The current version of the file format. */
+  static final int VERSION = 1;
+
+  private final Path directory;
+  private final HashCode configuration;
+  private final Context context;
+
+  /** The signature hashes of the classes that have been referred to in this compilation. */
+  private final Map<ClassSymbol, HashCode> signatures = new HashMap<>();
+
+  static FindingsCache create(
+      Path directory,
+      ScannerSupplier scannerSupplier,
+      ErrorProneOptions errorProneOptions,
+      Context context) {
+    return new FindingsCache(directory, configuration(scannerSupplier, errorProneOptions), context);
+  }
+
+  private FindingsCache(Path directory, HashCode configuration, Context context) {
+    this.directory = directory;
+    this.configuration = configuration;
+    this.context = context;
+  }
+
+  private static HashCode configuration(
+      ScannerSupplier scannerSupplier, ErrorProneOptions errorProneOptions) {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putInt(VERSION);
+    putString(hasher, ErrorProneVersion.loadVersionFromPom().or("unknown version"));
+    putString(hasher, Runtime.version().toString());
+    Set<CodeSource> codeSources = new LinkedHashSet<>();
+    codeSources.add(FindingsCache.class.getProtectionDomain().getCodeSource());
+    Map<String, SeverityLevel> severities = scannerSupplier.severities();
+    for (BugCheckerInfo check : scannerSupplier.getEnabledChecks()) {
+      putString(hasher, check.canonicalName());
+      putString(hasher, check.checkerClass().getName());
+      putString(
+          hasher, severities.getOrDefault(check.canonicalName(), check.defaultSeverity()).name());
+      codeSources.add(check.checkerClass().getProtectionDomain().getCodeSource());
+    }
+    new TreeMap<>(scannerSupplier.getFlags().getFlagsMap())
+        .forEach(
+            (name, value) -> {
+              putString(hasher, name);
+              putString(hasher, value);
+            });
+    // The options that change what is reported, other than through the severities of the checks.
+    hasher.putBoolean(errorProneOptions.isTestOnlyTarget());
+    hasher.putBoolean(errorProneOptions.isIgnoreSuppressionAnnotations());
+    hasher.putBoolean(errorProneOptions.disableWarningsInGeneratedCode());
+    hasher.putBoolean(errorProneOptions.ignoreLargeCodeGenerators());
+    // Builds of the checks from the same version can still differ, so also identify the jars or
+    // directories the checks were loaded from.
+    for (CodeSource codeSource : codeSources) {
+      putCodeSource(hasher, codeSource);
+    }
+    return hasher.hash();
+  }
+
+  private static void putCodeSource(Hasher hasher, @Nullable CodeSource codeSource) {
+    URL location = codeSource == null ? null : codeSource.getLocation();
+    if (location == null) {
+      hasher.putBoolean(false);
+      return;
+    }
+    hasher.putBoolean(true);
+    putString(hasher, location.toString());
+    try {
+      Path path = Paths.get(location.toURI());
+      if (Files.isRegularFile(path)) {
+        hasher.putLong(Files.size(path));
+        hasher.putLong(Files.getLastModifiedTime(path).toMillis());
+      }
+    } catch (URISyntaxException | IllegalArgumentException | IOException e) {
+      // Not a file that can be examined; its location is all we can go by.
+    }
+  }
+
+  /** Returns the key that the findings for {@code compilation} are stored under. */
+  HashCode key(JCCompilationUnit compilation) throws IOException {
+    Hasher hasher = Hashing.sha256().newHasher();
+    hasher.putBytes(configuration.asBytes());
+    putString(hasher, Source.instance(context).name());
+    putString(hasher, compilation.getSourceFile().toUri().toString());
+    putString(hasher, compilation.getSourceFile().getCharContent(true).toString());
+    putPackageAnnotations(hasher, compilation.packge);
+    for (ClassSymbol referenced : referencedClasses(compilation)) {
+      hasher.putBytes(signature(referenced).asBytes());
+    }
+    return hasher.hash();
+  }
+
+  /**
+   * Returns the top-level classes that {@code compilation} refers to, other than the ones it
+   * declares, in the order they are referred to.
+   */
+  private static Set<ClassSymbol> referencedClasses(JCCompilationUnit compilation) {
+    Set<ClassSymbol> referenced = new LinkedHashSet<>();
+    new TreeScanner() {
+      @Override
+      public void scan(JCTree tree) {
+        if (tree == null) {
+          return;
+        }
+        if (tree.type != null) {
+          add(tree.type.tsym);
+        }
+        super.scan(tree);
+      }
+
+      @Override
+      public void visitIdent(JCTree.JCIdent tree) {
+        add(tree.sym);
+        super.visitIdent(tree);
+      }
+
+      @Override
+      public void visitSelect(JCTree.JCFieldAccess tree) {
+        add(tree.sym);
+        super.visitSelect(tree);
+      }
+
+      @Override
+      public void visitReference(JCTree.JCMemberReference tree) {
+        add(tree.sym);
+        super.visitReference(tree);
+      }
+
+      @Override
+      public void visitNewClass(JCTree.JCNewClass tree) {
+        add(tree.constructor);
+        super.visitNewClass(tree);
+      }
+
+      private void add(@Nullable Symbol sym) {
+        ClassSymbol outermost = outermostClass(sym);
+        if (outermost != null && outermost.sourcefile != compilation.getSourceFile()) {
+          referenced.add(outermost);
+        }
+      }
+    }.scan(compilation);
+    return referenced;
+  }
+
+  /** Like {@link Symbol#outermostClass}, but also for symbols that aren't in any class. */
+  @Nullable
+  private static ClassSymbol outermostClass(@Nullable Symbol sym) {
+    ClassSymbol outermost = null;
+    for (Symbol s = sym; s != null && s.kind != Kind.PCK; s = s.owner) {
+      if (s instanceof ClassSymbol) {
+        outermost = (ClassSymbol) s;
+      }
+    }
+    return outermost;
+  }
+
+  /**
+   * Returns a hash of the API of {@code clazz}, its nested classes and its supertypes, and of the
+   * annotations of their packages.
+   */
+  private HashCode signature(ClassSymbol clazz) {
+    HashCode signature = signatures.get(clazz);
+    if (signature == null) {
+      // Supertypes may refer back to this class, which is then hashed by name.
+      signatures.put(clazz, Hashing.sha256().hashString(clazz.flatname.toString(), UTF_8));
+      Hasher hasher = Hashing.sha256().newHasher();
+      putClass(hasher, clazz);
+      putPackageAnnotations(hasher, clazz.packge());
+      signature = hasher.hash();
+      signatures.put(clazz, signature);
+    }
+    return signature;
+  }
+
+  private void putClass(Hasher hasher, ClassSymbol clazz) {
+    putString(hasher, clazz.flatname.toString());
+    try {
+      clazz.complete();
+      if (clazz.members_field == null) {
+        // A synthetic class, like the one that holds the members of arrays.
+        return;
+      }
+      hasher.putLong(clazz.flags());
+      putString(hasher, String.valueOf(clazz.getTypeParameters()));
+      putAnnotations(hasher, clazz);
+      Type superclass = clazz.getSuperclass();
+      for (Type supertype :
+          ImmutableList.<Type>builder().add(superclass).addAll(clazz.getInterfaces()).build()) {
+        putString(hasher, supertype.toString());
+        if (supertype.tsym instanceof ClassSymbol) {
+          hasher.putBytes(signature(outermostClass(supertype.tsym)).asBytes());
+        }
+      }
+      for (Symbol member : clazz.getEnclosedElements()) {
+        if (member instanceof ClassSymbol) {
+          putClass(hasher, (ClassSymbol) member);
+          continue;
+        }
+        putString(hasher, member.getKind().name());
+        putString(hasher, member.name.toString());
+        hasher.putLong(member.flags());
+        putString(hasher, String.valueOf(member.type));
+        putAnnotations(hasher, member);
+        if (member instanceof VarSymbol) {
+          putString(hasher, String.valueOf(((VarSymbol) member).getConstValue()));
+        }
+      }
+    } catch (CompletionFailure e) {
+      putString(hasher, "incomplete: " + e.getMessage());
+    }
+  }
+
+  private static void putAnnotations(Hasher hasher, Symbol sym) {
+    for (Attribute.Compound annotation : sym.getRawAttributes()) {
+      putString(hasher, annotation.toString());
+    }
+  }
+
+  /** Hashes the annotations in the {@code package-info} of {@code pkg}, if there is one. */
+  private static void putPackageAnnotations(Hasher hasher, PackageSymbol pkg) {
+    putString(hasher, pkg.fullname.toString());
+    try {
+      putAnnotations(hasher, pkg);
+    } catch (CompletionFailure e) {
+      putString(hasher, "incomplete: " + e.getMessage());
+    }
+  }
+
+  private static void putString(Hasher hasher, String s) {
+    hasher.putInt(s.length());
+    hasher.putString(s, UTF_8);
+  }
+
+  /** Returns the findings stored under {@code key}, if there are any. */
+  Optional<ImmutableList<Description>> read(HashCode key) {
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(path(key));
+    } catch (IOException e) {
+      // Usually because nothing has been stored under the key yet.
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(decode(bytes));
+    } catch (IOException e) {
+      // A corrupt or outdated entry; it is overwritten once the compilation unit is analyzed.
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the findings for a compilation unit under {@code key}. Failures are ignored, since the
+   * findings can always be recomputed.
+   */
+  void write(HashCode key, List<Description> descriptions, EndPosTable endPositions) {
+    try {
+      Path path = path(key);
+      Files.createDirectories(path.getParent());
+      Path temp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+      try {
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          encode(descriptions, endPositions, out);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (IOException e) {
+      // ignored, see above
+    }
+  }
+
+  private Path path(HashCode key) {
+    String name = key.toString();
+    return directory.resolve(name.substring(0, 2)).resolve(name);
+  }
+
+  static void encode(List<Description> descriptions, EndPosTable endPositions, OutputStream os)
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.write(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(descriptions.size());
+    for (Description description : descriptions) {
+      writeString(out, description.checkName);
+      writeString(out, description.getRawMessage());
+      writeNullableString(out, description.getLink());
+      out.writeByte(description.severity.ordinal());
+      DiagnosticPosition position = description.position;
+      out.writeInt(position.getStartPosition());
+      out.writeInt(position.getPreferredPosition());
+      out.writeInt(position.getEndPosition(endPositions));
+      // JavacErrorDescriptionListener only looks at the imports of a fix if the finding is not on
+      // a specific tree other than an import, which a replayed finding never is.
+      JCTree tree = position.getTree();
+      boolean keepImports = tree == null || tree.getKind() == Tree.Kind.IMPORT;
+      out.writeInt(description.fixes.size());
+      for (Fix fix : description.fixes) {
+        writeString(out, fix.getShortDescription());
+        Set<Replacement> replacements = fix.getReplacements(endPositions);
+        out.writeInt(replacements.size());
+        for (Replacement replacement : replacements) {
+          out.writeInt(replacement.startPosition());
+          out.writeInt(replacement.endPosition());
+          writeString(out, replacement.replaceWith());
+        }
+        writeStrings(out, keepImports ? fix.getImportsToAdd() : ImmutableList.of());
+        writeStrings(out, keepImports ? fix.getImportsToRemove() : ImmutableList.of());
+      }
+    }
+    out.flush();
+    bytes.writeTo(os);
+  }
+
+  static ImmutableList<Description> decode(byte[] bytes) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+    byte[] magic = new byte[MAGIC.length];
+    in.readFully(magic);
+    if (!Arrays.equals(magic, MAGIC)) {
+      throw new IOException("not a findings cache entry");
+    }
+    int version = in.readInt();
+    if (version != VERSION) {
+      throw new IOException(
+          String.format(
+              "findings cache entry has version %d, only version %d is supported",
+              version, VERSION));
+    }
+    SeverityLevel[] severities = SeverityLevel.values();
+    int count = in.readInt();
+    ImmutableList.Builder<Description> descriptions = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      String checkName = readString(in);
+      String rawMessage = readString(in);
+      String link = readNullableString(in);
+      int severity = in.readUnsignedByte();
+      if (severity >= severities.length) {
+        throw new IOException("unknown severity " + severity);
+      }
+      Position position = new Position(in.readInt(), in.readInt(), in.readInt());
+      Description.Builder description =
+          Description.builder(position, checkName, link, severities[severity], rawMessage);
+      int fixes = in.readInt();
+      for (int j = 0; j < fixes; j++) {
+        String shortDescription = readString(in);
+        int replacementCount = in.readInt();
+        ImmutableSet.Builder<Replacement> replacements = ImmutableSet.builder();
+        for (int k = 0; k < replacementCount; k++) {
+          replacements.add(Replacement.create(in.readInt(), in.readInt(), readString(in)));
+        }
+        description.addFix(
+            new ResolvedFix(
+                shortDescription, replacements.build(), readStrings(in), readStrings(in)));
+      }
+      descriptions.add(description.build());
+    }
+    if (in.read() != -1) {
+      throw new IOException("trailing data in findings cache entry");
+    }
+    return descriptions.build();
+  }
+
+  private static void writeString(DataOutputStream out, String s) throws IOException {
+    byte[] bytes = s.getBytes(UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static void writeNullableString(DataOutputStream out, @Nullable String s)
+      throws IOException {
+    out.writeBoolean(s != null);
+    if (s != null) {
+      writeString(out, s);
+    }
+  }
+
+  private static void writeStrings(DataOutputStream out, Collection<String> strings)
+      throws IOException {
+    out.writeInt(strings.size());
+    for (String s : strings) {
+      writeString(out, s);
+    }
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > in.available()) {
+      throw new IOException("invalid string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  @Nullable
+  private static String readNullableString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? readString(in) : null;
+  }
+
+  private static ImmutableList<String> readStrings(DataInputStream in) throws IOException {
+    int count = in.readInt();
+    if (count < 0 || count > in.available()) {
+      throw new IOException("invalid count " + count);
+    }
+    ImmutableList.Builder<String> strings = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      strings.add(readString(in));
+    }
+    return strings.build();
+  }
+
+  /** The position of a replayed finding, which is not associated with a tree. */
+  private static final class Position implements DiagnosticPosition {
+    private final int start;
+    private final int preferred;
+    private final int end;
+
+    Position(int start, int preferred, int end) {
+      this.start = start;
+      this.preferred = preferred;
+      this.end = end;
+    }
+
+    @Override
+    @Nullable
+    public JCTree getTree() {
+      return null;
+    }
+
+    @Override
+    public int getStartPosition() {
+      return start;
+    }
+
+    @Override
+    public int getPreferredPosition() {
+      return preferred;
+    }
+
+    @Override
+    public int getEndPosition(EndPosTable endPosTable) {
+      return end;
+    }
+  }
+
+  /** A replayed fix, whose replacements were resolved when it was stored. */
+  private static final class ResolvedFix implements Fix {
+    private final String shortDescription;
+    private final ImmutableSet<Replacement> replacements;
+    private final ImmutableList<String> importsToAdd;
+    private final ImmutableList<String> importsToRemove;
+
+    ResolvedFix(
+        String shortDescription,
+        ImmutableSet<Replacement> replacements,
+        ImmutableList<String> importsToAdd,
+        ImmutableList<String> importsToRemove) {
+      this.shortDescription = shortDescription;
+      this.replacements = replacements;
+      this.importsToAdd = importsToAdd;
+      this.importsToRemove = importsToRemove;
+    }
+
+    @Override
+    public String toString(JCCompilationUnit compilationUnit) {
+      return replacements.stream().map(Replacement::toString).collect(toImmutableList()).toString();
+    }
+
+    @Override
+    public String getShortDescription() {
+      return shortDescription;
+    }
+
+    @Override
+    public Set<Replacement> getReplacements(EndPosTable endPositions) {
+      return replacements;
+    }
+
+    @Override
+    public Collection<String> getImportsToAdd() {
+      return importsToAdd;
+    }
+
+    @Override
+    public Collection<String> getImportsToRemove() {
+      return importsToRemove;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return replacements.isEmpty() && importsToAdd.isEmpty() && importsToRemove.isEmpty();
+    }
+  }
+}
@@ -16,6 +16,9 @@
 package com.google.errorprone;
 
 import com.sun.tools.javac.util.Context;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import javax.annotation.Nullable;
 
 /**
  * A token uniquely identifying a single invocation of javac. Any caches which might otherwise
@@ -33,5 +36,31 @@ public final class JavacInvocationInstance {
     return instance;
   }
 
+  /**
+   * The values of {@link VisitorState#memoize} suppliers in this invocation: the supplier that owns
+   * a slot is at twice its index, and a soft reference to its value right after it, so that values
+   * which grow during the compilation can be released under memory pressure and recomputed.
+   */
+  private Object[] memoized = new Object[512];
+
   private JavacInvocationInstance() {}
+
+  /** Returns the value that {@code owner} stored in {@code slot}, or null. */
+  @Nullable
+  Object memoized(int slot, Object owner) {
+    Object[] memoized = this.memoized;
+    int index = 2 * slot;
+    return index < memoized.length && memoized[index] == owner
+        ? ((SoftReference<?>) memoized[index + 1]).get()
+        : null;
+  }
+
+  void memoize(int slot, Object owner, Object value) {
+    int index = 2 * slot;
+    if (index >= memoized.length) {
+      memoized = Arrays.copyOf(memoized, Math.max(index + 2, 2 * memoized.length));
+    }
+    memoized[index] = owner;
+    memoized[index + 1] = new SoftReference<>(value);
+  }
 }
@@ -17,8 +17,6 @@
 package com.google.errorprone;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.nio.file.StandardOpenOption.APPEND;
-import static java.nio.file.StandardOpenOption.CREATE;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.HashMultimap;
@@ -37,20 +35,28 @@ import com.google.errorprone.matchers.Description;
 import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Log;
+import java.io.Closeable;
 import java.io.IOException;
-import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.net.URI;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import javax.annotation.Nullable;
 
-/** A container of fixes that have been collected during a single compilation phase. */
-class RefactoringCollection implements DescriptionListener.Factory {
+/**
+ * A container of fixes that have been collected during a single compilation phase.
+ *
+ * <p>The fixes for each compilation unit are applied with {@link #applyChanges} as soon as the unit
+ * has been analyzed, after which nothing about the unit is retained. When writing a patch file, the
+ * patch for each unit is appended to a single writer, which is closed by {@link #close} at the end
+ * of the compilation.
+ */
+class RefactoringCollection implements DescriptionListener.Factory, Closeable {
 
   private static final Logger logger = Logger.getLogger(RefactoringCollection.class.getName());
 
@@ -59,6 +65,7 @@ class RefactoringCollection implements DescriptionListener.Factory {
   private final Path rootPath;
   private final FileDestination fileDestination;
   private final Function<URI, RefactoringResult> postProcess;
+  private final Closeable output;
   private final DescriptionListener.Factory descriptionsFactory;
   private final ImportOrganizer importOrganizer;
 
@@ -82,6 +89,7 @@ class RefactoringCollection implements DescriptionListener.Factory {
     Path rootPath = buildRootPath();
     FileDestination fileDestination;
     Function<URI, RefactoringResult> postProcess;
+    Closeable output;
 
     if (patchingOptions.inPlace()) {
       fileDestination = new FsFileDestination(rootPath);
@@ -93,47 +101,47 @@ class RefactoringCollection implements DescriptionListener.Factory {
                           + " please check the refactored code and recompile.",
                       uri),
                   RefactoringResultType.CHANGED);
+      output = () -> {};
     } else {
       Path baseDir = rootPath.resolve(patchingOptions.baseDirectory());
       Path patchFilePath = baseDir.resolve("error-prone.patch");
 
       PatchFileDestination patchFileDestination = new PatchFileDestination(baseDir, rootPath);
+      PatchFileWriter patchFileWriter = new PatchFileWriter(patchFileDestination, patchFilePath);
       postProcess =
-          new Function<URI, RefactoringResult>() {
-            private final AtomicBoolean first = new AtomicBoolean(true);
-
-            @Override
-            public RefactoringResult apply(URI uri) {
-              try {
-                writePatchFile(first, uri, patchFileDestination, patchFilePath);
-                return RefactoringResult.create(
-                    "Changes were written to "
-                        + patchFilePath
-                        + ". Please inspect the file and apply with: "
-                        + "patch -p0 -u -i error-prone.patch",
-                    RefactoringResultType.CHANGED);
-              } catch (IOException e) {
-                throw new RuntimeException("Failed to emit patch file!", e);
-              }
+          uri -> {
+            try {
+              patchFileWriter.write(uri);
+              return RefactoringResult.create(
+                  "Changes were written to "
+                      + patchFilePath
+                      + ". Please inspect the file and apply with: "
+                      + "patch -p0 -u -i error-prone.patch",
+                  RefactoringResultType.CHANGED);
+            } catch (IOException e) {
+              throw new RuntimeException("Failed to emit patch file!", e);
             }
           };
+      output = patchFileWriter;
       fileDestination = patchFileDestination;
     }
 
     ImportOrganizer importOrganizer = patchingOptions.importOrganizer();
     return new RefactoringCollection(
-        rootPath, fileDestination, postProcess, importOrganizer, context);
+        rootPath, fileDestination, postProcess, output, importOrganizer, context);
   }
 
   private RefactoringCollection(
       Path rootPath,
       FileDestination fileDestination,
       Function<URI, RefactoringResult> postProcess,
+      Closeable output,
       ImportOrganizer importOrganizer,
       Context context) {
     this.rootPath = rootPath;
     this.fileDestination = fileDestination;
     this.postProcess = postProcess;
+    this.output = output;
     this.descriptionsFactory = JavacErrorDescriptionListener.providerForRefactoring(context);
     this.importOrganizer = importOrganizer;
   }
@@ -167,20 +175,44 @@ class RefactoringCollection implements DescriptionListener.Factory {
     return RefactoringResult.create("", RefactoringResultType.NO_CHANGES);
   }
 
-  private static void writePatchFile(
-      AtomicBoolean first, URI uri, PatchFileDestination fileDestination, Path patchFilePatch)
-      throws IOException {
-    String patchFile = fileDestination.patchFile(uri);
-    if (patchFile != null) {
-      if (first.compareAndSet(true, false)) {
-        try {
-          Files.deleteIfExists(patchFilePatch);
-        } catch (IOException e) {
-          throw new UncheckedIOException(e);
-        }
+  /** Flushes and closes the patch file, if one is being written. */
+  @Override
+  public void close() throws IOException {
+    output.close();
+  }
+
+  /**
+   * Appends the patch for each changed file to the patch file. The patch file is replaced when the
+   * first patch is written, and left alone if there are no changes.
+   */
+  private static final class PatchFileWriter implements Closeable {
+    private final PatchFileDestination fileDestination;
+    private final Path patchFilePath;
+    @Nullable private Writer writer;
+
+    PatchFileWriter(PatchFileDestination fileDestination, Path patchFilePath) {
+      this.fileDestination = fileDestination;
+      this.patchFilePath = patchFilePath;
+    }
+
+    synchronized void write(URI uri) throws IOException {
+      String patchFile = fileDestination.patchFile(uri);
+      if (patchFile == null) {
+        return;
+      }
+      if (writer == null) {
+        Files.createDirectories(patchFilePath.getParent());
+        writer = Files.newBufferedWriter(patchFilePath, UTF_8);
+      }
+      writer.write(patchFile);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      if (writer != null) {
+        writer.close();
+        writer = null;
       }
-      Files.createDirectories(patchFilePatch.getParent());
-      Files.write(patchFilePatch, patchFile.getBytes(UTF_8), APPEND, CREATE);
     }
   }
 
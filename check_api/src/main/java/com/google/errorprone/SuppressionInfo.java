@@ -31,10 +31,13 @@ import com.sun.tools.javac.code.Symbol.ClassSymbol;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.util.Name;
 import com.sun.tools.javac.util.Pair;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 
 /**
  * Immutable container of "suppression signals" - annotations or other information gathered from
@@ -95,6 +98,33 @@ public class SuppressionInfo {
     return SuppressedState.UNSUPPRESSED;
   }
 
+  /**
+   * Returns the indices of the {@code suppressibles} that should be considered suppressed given the
+   * signals present in this object. This is equivalent to calling {@link #suppressedState} for each
+   * of them, but skips the per-checker work entirely in the common case where there are no
+   * suppression signals.
+   *
+   * @param suppressedInGeneratedCode whether a checker should be considered suppressed in generated
+   *     code
+   */
+  public BitSet suppressedStates(
+      List<? extends Suppressible> suppressibles,
+      Predicate<? super Suppressible> suppressedInGeneratedCode,
+      VisitorState state) {
+    BitSet suppressed = new BitSet(suppressibles.size());
+    if (!inGeneratedCode && suppressWarningsStrings.isEmpty() && customSuppressions.isEmpty()) {
+      return suppressed;
+    }
+    for (int i = 0; i < suppressibles.size(); i++) {
+      Suppressible suppressible = suppressibles.get(i);
+      if (suppressedState(suppressible, suppressedInGeneratedCode.test(suppressible), state)
+          == SuppressedState.SUPPRESSED) {
+        suppressed.set(i);
+      }
+    }
+    return suppressed;
+  }
+
   /**
    * Generates the {@link SuppressionInfo} for a {@link CompilationUnitTree}. This differs in that
    * {@code isGenerated} is determined by inspecting the annotations of the outermost class so that
@@ -31,7 +31,9 @@ import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Suppressible;
 import com.google.errorprone.suppliers.Supplier;
 import com.google.errorprone.util.ErrorProneToken;
+import com.google.errorprone.util.ErrorProneTokenIndex;
 import com.google.errorprone.util.ErrorProneTokens;
+import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.util.TreePath;
 import com.sun.tools.javac.code.Kinds.Kind;
@@ -55,7 +57,8 @@ import com.sun.tools.javac.util.Name;
 import com.sun.tools.javac.util.Names;
 import com.sun.tools.javac.util.Options;
 import java.io.IOException;
-import java.lang.ref.SoftReference;
+import java.lang.ref.Cleaner;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -564,35 +567,52 @@ public class VisitorState {
   /**
    * Returns the list of {@link Token}s for the given {@link JCTree}.
    *
-   * <p>This is moderately expensive (the source of the node has to be re-lexed), so it should only
-   * be used if a fix is already going to be emitted.
+   * <p>The tokens are looked up in an index of the tokens of the whole compilation unit, which is
+   * built the first time tokens are requested for the compilation unit.
    */
   public List<ErrorProneToken> getTokensForNode(Tree tree) {
-    return ErrorProneTokens.getTokens(getSourceForNode(tree), context);
+    int end = getEndPosition(tree);
+    if (end == -1) {
+      return ErrorProneTokens.getTokens(null, context);
+    }
+    return tokenIndex().getTokens(getStartPosition(tree), end);
   }
 
   /**
    * Returns the list of {@link Token}s for the given {@link JCTree}, offset by the start position
    * of the tree within the overall source.
    *
-   * <p>This is moderately expensive (the source of the node has to be re-lexed), so it should only
-   * be used if a fix is already going to be emitted.
+   * <p>The tokens are looked up in an index of the tokens of the whole compilation unit, which is
+   * built the first time tokens are requested for the compilation unit.
    */
   public List<ErrorProneToken> getOffsetTokensForNode(Tree tree) {
     int start = getStartPosition(tree);
-    return ErrorProneTokens.getTokens(getSourceForNode(tree), start, context);
+    int end = getEndPosition(tree);
+    if (end == -1) {
+      return ErrorProneTokens.getTokens(null, start, context);
+    }
+    return tokenIndex().getOffsetTokens(start, end);
   }
 
   /**
    * Returns the list of {@link Token}s for source code between the given positions, offset by the
    * start position.
    *
-   * <p>This is moderately expensive (the source of the node has to be re-lexed), so it should only
-   * be used if a fix is already going to be emitted.
+   * <p>The tokens are looked up in an index of the tokens of the whole compilation unit, which is
+   * built the first time tokens are requested for the compilation unit.
    */
   public List<ErrorProneToken> getOffsetTokens(int start, int end) {
-    return ErrorProneTokens.getTokens(
-        getSourceCode().subSequence(start, end).toString(), start, context);
+    return tokenIndex().getOffsetTokens(start, end);
+  }
+
+  /** Returns the index of the tokens of the current compilation unit. */
+  private ErrorProneTokenIndex tokenIndex() {
+    CompilationUnitTree compilationUnit = getPath().getCompilationUnit();
+    if (sharedState.tokenizedCompilationUnit != compilationUnit) {
+      sharedState.tokenIndex = ErrorProneTokenIndex.create(getSourceCode(), context);
+      sharedState.tokenizedCompilationUnit = compilationUnit;
+    }
+    return sharedState.tokenIndex;
   }
 
   /** Returns the end position of the node, or -1 if it is not available. */
@@ -653,45 +673,66 @@ public class VisitorState {
     return Options.instance(context).getBoolean("androidCompatible");
   }
 
+  /** Returns the {@link ErrorProneTimings} for the current compilation. */
+  public ErrorProneTimings timings() {
+    return sharedState.timings;
+  }
+
   /** Returns a timing span for the given {@link Suppressible}. */
   public AutoCloseable timingSpan(Suppressible suppressible) {
     return sharedState.timings.span(suppressible);
   }
 
   private static class Cache<T> implements Supplier<T> {
+    /** The slots of the caches that are still reachable. */
+    private static final BitSet usedSlots = new BitSet();
+
+    private static final Cleaner cleaner = Cleaner.create();
+
     private final Supplier<T> impl;
+
+    /**
+     * The index of this cache's value in the {@link JavacInvocationInstance} of every compilation.
+     * Slots are reused once their cache is unreachable, which is only after every compilation that
+     * stored a value for it is, since a compilation keeps the cache alongside its value.
+     */
+    private final int slot;
+
     /* Uses T instead of Optional<T> because we don't want to cache null results
     (b/138753468). These inline caches persist between compilation units, and a type that fails to
     resolve in one may become available in the next; we want to keep looking it up
     (relying on the per-file cache in typeCache) if we don't have a result. If you want to cache a
     computation which can return null, wrap it in an Optional at the call site.*/
 
-    private SoftReference<T> cache = new SoftReference<>(null);
-    private JavacInvocationInstance provenance;
-
     private Cache(Supplier<T> impl) {
       this.impl = impl;
-      // provenance intentionally left null-initialized
+      int slot;
+      synchronized (usedSlots) {
+        slot = usedSlots.nextClearBit(0);
+        usedSlots.set(slot);
+      }
+      this.slot = slot;
+      cleaner.register(this, () -> freeSlot(slot));
+    }
+
+    private static void freeSlot(int slot) {
+      synchronized (usedSlots) {
+        usedSlots.clear(slot);
+      }
     }
 
     @Override
-    public synchronized T get(VisitorState state) {
-      /* javac is single-threaded, so in principle we don't really need to lock.
-      But in practice it's cheap enough to be worth getting peace of mind that this is
-      always correct. */
-      T value = cache.get();
+    public T get(VisitorState state) {
+      // Each compilation has its own values, and javac is single-threaded, so this doesn't need to
+      // lock, and compilations running concurrently in the same JVM don't evict each other's
+      // values.
+      JavacInvocationInstance invocation = state.sharedState.javacInvocationInstance;
+      @SuppressWarnings("unchecked")
+      T value = (T) invocation.memoized(slot, this);
       if (value == null) {
         value = impl.get(state);
         if (value != null) {
-          cache = new SoftReference<>(value);
-          provenance = state.sharedState.javacInvocationInstance;
-        }
-      } else {
-        JavacInvocationInstance current = state.sharedState.javacInvocationInstance;
-        if (provenance != current) {
-          value = impl.get(state);
-          cache = new SoftReference<>(value);
-          provenance = current;
+          invocation.memoize(slot, this, value);
         }
       }
       return value;
@@ -732,6 +773,11 @@ public class VisitorState {
     // based on number of files?
     private final Map<String, Optional<Type>> typeCache = new HashMap<>();
 
+    /** The compilation unit whose tokens are in {@link #tokenIndex}. */
+    @Nullable private CompilationUnitTree tokenizedCompilationUnit;
+
+    @Nullable private ErrorProneTokenIndex tokenIndex;
+
     SharedState(
         Context context,
         DescriptionListener descriptionListener,
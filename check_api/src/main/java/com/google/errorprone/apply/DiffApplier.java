@@ -14,20 +14,25 @@
 
 package com.google.errorprone.apply;
 
+import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.AbstractService;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nullable;
@@ -35,12 +40,22 @@ import javax.annotation.Nullable;
 /**
  * Applier of diffs to Java source code
  *
+ * <p>Each diff goes through three stages, reading the file, applying the diff and writing the file,
+ * which run as separate tasks on a work-stealing pool, so that threads that would be idle waiting
+ * for I/O in one stage pick up work from the others. At most a bounded number of diffs are in
+ * flight; {@link #put} blocks until there is room for another.
+ *
  * @author alexeagle@google.com (Alex Eagle)
  * @author sjnickerson@google.com (Simon Nickerson)
  */
 public class DiffApplier extends AbstractService {
   private static final Logger logger = Logger.getLogger(DiffApplier.class.getName());
-  private final ExecutorService workerService;
+
+  /** The number of diffs that may be in flight in addition to one per thread. */
+  private static final int QUEUED_DIFFS = 50;
+
+  private final ForkJoinPool workerPool;
+  private final Semaphore inFlight;
   private final Set<String> refactoredPaths;
   private final Set<String> diffsFailedPaths;
   private final FileSource source;
@@ -48,6 +63,12 @@ public class DiffApplier extends AbstractService {
   private final AtomicInteger completedFiles;
   private final Stopwatch stopwatch;
 
+  private final AtomicInteger reading = new AtomicInteger();
+  private final AtomicInteger applying = new AtomicInteger();
+  private final AtomicInteger writing = new AtomicInteger();
+  private final AtomicLong charactersRead = new AtomicLong();
+  private final AtomicLong charactersWritten = new AtomicLong();
+
   // the number of diffs in flight, plus 1 if the service is in the RUNNING state
   private final AtomicInteger runState = new AtomicInteger();
 
@@ -60,16 +81,8 @@ public class DiffApplier extends AbstractService {
     this.destination = destination;
     this.completedFiles = new AtomicInteger(0);
     this.stopwatch = Stopwatch.createUnstarted();
-    // configure a bounded queue and a rejectedexecutionpolicy.
-    // In this case CallerRuns may be appropriate.
-    this.workerService =
-        new ThreadPoolExecutor(
-            0,
-            diffParallelism,
-            5,
-            TimeUnit.SECONDS,
-            new ArrayBlockingQueue<Runnable>(50),
-            new ThreadPoolExecutor.CallerRunsPolicy());
+    this.workerPool = new ForkJoinPool(diffParallelism);
+    this.inFlight = new Semaphore(diffParallelism + QUEUED_DIFFS);
   }
 
   @Override
@@ -86,15 +99,14 @@ public class DiffApplier extends AbstractService {
 
   private final void decrementTasks() {
     if (runState.decrementAndGet() == 0) {
-      workerService.shutdown();
+      workerPool.shutdown();
       try {
         destination.flush();
         notifyStopped();
       } catch (Exception e) {
         notifyFailed(e);
       }
-      logger.log(
-          Level.INFO, String.format("Completed %d files in %s", completedFiles.get(), stopwatch));
+      logger.log(Level.INFO, String.format("Completed %s", progress()));
       if (!diffsFailedPaths.isEmpty()) {
         logger.log(
             Level.SEVERE,
@@ -105,39 +117,157 @@ public class DiffApplier extends AbstractService {
     }
   }
 
-  private final class Task implements Runnable {
-    private final Diff diff;
+  private SourceFile read(Diff diff) {
+    reading.incrementAndGet();
+    try {
+      SourceFile file = source.readFile(diff.getRelevantFileName());
+      charactersRead.addAndGet(file.getAsSequence().length());
+      return file;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      reading.decrementAndGet();
+    }
+  }
 
-    Task(Diff diff) {
-      this.diff = diff;
+  private SourceFile apply(Diff diff, SourceFile file) {
+    applying.incrementAndGet();
+    try {
+      diff.applyDifferences(file);
+      return file;
+    } finally {
+      applying.decrementAndGet();
     }
+  }
 
-    @Override
-    public void run() {
-      try {
-        SourceFile file = source.readFile(diff.getRelevantFileName());
-        diff.applyDifferences(file);
-        destination.writeFile(file);
+  private void write(SourceFile file) {
+    writing.incrementAndGet();
+    try {
+      destination.writeFile(file);
+      charactersWritten.addAndGet(file.getAsSequence().length());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      writing.decrementAndGet();
+    }
+  }
 
+  private void finish(Diff diff, @Nullable Throwable failure) {
+    try {
+      Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+      if (cause instanceof UncheckedIOException) {
+        cause = cause.getCause();
+      }
+      if (cause == null) {
         int completed = completedFiles.incrementAndGet();
         if (completed % 100 == 0) {
-          logger.log(Level.INFO, String.format("Completed %d files in %s", completed, stopwatch));
+          logger.log(Level.INFO, String.format("Completed %s", progress()));
         }
-      } catch (IOException | DiffNotApplicableException e) {
-        logger.log(Level.WARNING, "Failed to apply diff to file " + diff.getRelevantFileName(), e);
+      } else if (cause instanceof IOException || cause instanceof DiffNotApplicableException) {
+        logger.log(
+            Level.WARNING, "Failed to apply diff to file " + diff.getRelevantFileName(), cause);
         diffsFailedPaths.add(diff.getRelevantFileName());
-      } finally {
-        decrementTasks();
+      } else {
+        throw new CompletionException(cause);
       }
+    } finally {
+      inFlight.release();
+      decrementTasks();
     }
   }
 
   @Nullable
   public Future<?> put(Diff diff) {
     if (refactoredPaths.add(diff.getRelevantFileName())) {
+      inFlight.acquireUninterruptibly();
       runState.incrementAndGet();
-      return workerService.submit(new Task(diff));
+      return CompletableFuture.supplyAsync(() -> read(diff), workerPool)
+          .thenApplyAsync(file -> apply(diff, file), workerPool)
+          .thenAcceptAsync(this::write, workerPool)
+          .handle(
+              (unused, failure) -> {
+                finish(diff, failure);
+                return null;
+              });
     }
     return null;
   }
+
+  /** Returns the throughput of this applier so far, and the number of diffs in each stage. */
+  public Progress progress() {
+    return new AutoValue_DiffApplier_Progress(
+        completedFiles.get(),
+        diffsFailedPaths.size(),
+        charactersRead.get(),
+        charactersWritten.get(),
+        stopwatch.elapsed(),
+        reading.get(),
+        applying.get(),
+        writing.get(),
+        workerPool.getQueuedSubmissionCount() + workerPool.getQueuedTaskCount());
+  }
+
+  /** A snapshot of the throughput of a {@link DiffApplier}. */
+  @AutoValue
+  public abstract static class Progress {
+    /** The number of files that diffs have been applied to. */
+    public abstract int completedFiles();
+
+    /** The number of files that diffs could not be applied to. */
+    public abstract int failedFiles();
+
+    /** The number of characters read from files that diffs are applied to. */
+    public abstract long charactersRead();
+
+    /** The number of characters written to the destination. */
+    public abstract long charactersWritten();
+
+    /** The time since the applier was started. */
+    public abstract Duration elapsed();
+
+    /** The number of files being read. */
+    public abstract int reading();
+
+    /** The number of diffs being applied. */
+    public abstract int applying();
+
+    /** The number of files being written. */
+    public abstract int writing();
+
+    /** The number of stage tasks waiting for a thread. */
+    public abstract long queued();
+
+    public double filesPerSecond() {
+      return perSecond(completedFiles());
+    }
+
+    public double charactersReadPerSecond() {
+      return perSecond(charactersRead());
+    }
+
+    public double charactersWrittenPerSecond() {
+      return perSecond(charactersWritten());
+    }
+
+    private double perSecond(long count) {
+      long nanos = elapsed().toNanos();
+      return nanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    @Override
+    public final String toString() {
+      return String.format(
+          "%d files in %s (%.1f files/s, %.0f chars/s read, %.0f chars/s written; %d reading,"
+              + " %d applying, %d writing, %d queued)",
+          completedFiles(),
+          elapsed(),
+          filesPerSecond(),
+          charactersReadPerSecond(),
+          charactersWrittenPerSecond(),
+          reading(),
+          applying(),
+          writing(),
+          queued());
+    }
+  }
 }
@@ -16,12 +16,33 @@
 
 package com.google.errorprone.apply;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.FileOwnerAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.nio.file.attribute.UserDefinedFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
 
-/** A {@link FileDestination} that writes content to a destination on the local filesystem. */
+/**
+ * A {@link FileDestination} that writes content to a destination on the local filesystem.
+ *
+ * <p>Each file is written to a temporary file next to it, which then replaces it, so that an
+ * interrupted refactoring never leaves a partially written file behind. The replacement gets the
+ * owner, group, permissions, ACL and user-defined attributes of the file it replaces. Files with
+ * other hard links, and files whose attributes can't be copied, are rewritten in place instead.
+ * Attributes that the file system doesn't expose to Java, like POSIX ACLs on Linux, are not
+ * preserved.
+ */
 public final class FsFileDestination implements FileDestination {
 
   private final Path rootPath;
@@ -33,7 +54,105 @@ public final class FsFileDestination implements FileDestination {
   @Override
   public void writeFile(SourceFile update) throws IOException {
     Path targetPath = rootPath.resolve(update.getPath());
-    Files.write(targetPath, update.getSourceText().getBytes(StandardCharsets.UTF_8));
+    byte[] content = update.getSourceText().getBytes(StandardCharsets.UTF_8);
+    boolean exists = Files.exists(targetPath);
+    if (exists) {
+      // Replace the file that a link points to, not the link.
+      targetPath = targetPath.toRealPath();
+      if (hasOtherLinks(targetPath)) {
+        Files.write(targetPath, content);
+        return;
+      }
+    }
+    Path temp = createTempFile(targetPath.toAbsolutePath());
+    try {
+      Files.write(temp, content);
+      if (exists && !copyAttributes(targetPath, temp)) {
+        Files.write(targetPath, content);
+        return;
+      }
+      try {
+        Files.move(temp, targetPath, REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, targetPath, REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** Returns whether other hard links refer to the file, which replacing it would break. */
+  private static boolean hasOtherLinks(Path path) throws IOException {
+    try {
+      return (Integer) Files.getAttribute(path, "unix:nlink") > 1;
+    } catch (UnsupportedOperationException | IllegalArgumentException e) {
+      // The file system doesn't count links.
+      return false;
+    }
+  }
+
+  /**
+   * Creates an empty file next to {@code targetPath}. Unlike {@link Files#createTempFile}, which
+   * makes the file readable by its owner only, this creates it with the default permissions, which
+   * a new target file keeps.
+   */
+  private static Path createTempFile(Path targetPath) throws IOException {
+    while (true) {
+      Path temp =
+          targetPath.resolveSibling(
+              targetPath.getFileName()
+                  + "."
+                  + Long.toUnsignedString(ThreadLocalRandom.current().nextLong())
+                  + ".tmp");
+      try {
+        return Files.createFile(temp);
+      } catch (FileAlreadyExistsException e) {
+        // Try another name.
+      }
+    }
+  }
+
+  /**
+   * Gives {@code to} the owner, group, permissions, ACL and user-defined attributes of {@code
+   * from}, and returns whether that succeeded.
+   */
+  private static boolean copyAttributes(Path from, Path to) {
+    try {
+      FileOwnerAttributeView owner = Files.getFileAttributeView(from, FileOwnerAttributeView.class);
+      if (owner != null && !owner.getOwner().equals(Files.getOwner(to))) {
+        Files.setOwner(to, owner.getOwner());
+      }
+      PosixFileAttributeView posix = Files.getFileAttributeView(from, PosixFileAttributeView.class);
+      if (posix != null) {
+        PosixFileAttributes attributes = posix.readAttributes();
+        PosixFileAttributeView target =
+            Files.getFileAttributeView(to, PosixFileAttributeView.class);
+        if (!attributes.group().equals(target.readAttributes().group())) {
+          target.setGroup(attributes.group());
+        }
+        // After the owner and group, which may clear the set-user-ID and set-group-ID bits.
+        target.setPermissions(attributes.permissions());
+      }
+      AclFileAttributeView acl = Files.getFileAttributeView(from, AclFileAttributeView.class);
+      if (acl != null) {
+        Files.getFileAttributeView(to, AclFileAttributeView.class).setAcl(acl.getAcl());
+      }
+      UserDefinedFileAttributeView user =
+          Files.getFileAttributeView(from, UserDefinedFileAttributeView.class);
+      if (user != null) {
+        UserDefinedFileAttributeView target =
+            Files.getFileAttributeView(to, UserDefinedFileAttributeView.class);
+        for (String name : user.list()) {
+          ByteBuffer value = ByteBuffer.allocate(user.size(name));
+          user.read(name, value);
+          value.flip();
+          target.write(name, value);
+        }
+      }
+      return true;
+    } catch (IOException | UnsupportedOperationException | SecurityException e) {
+      return false;
+    }
   }
 
   @Override
@@ -20,22 +20,27 @@ import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
-import com.google.common.io.CharSource;
 import com.google.errorprone.fixes.Replacement;
 import com.google.errorprone.fixes.Replacements;
 import java.io.IOException;
-import java.io.LineNumberReader;
-import java.io.StringReader;
-import java.nio.CharBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 import javax.tools.JavaFileObject;
 
 /**
  * Representation of a mutable Java source file.
  *
+ * <p>The text is kept as a piece table: an append-only buffer holding the original text and the
+ * text of every replacement, and a list of the pieces of that buffer that make up the current text.
+ * A replacement only splices the list of pieces, so applying a batch of replacements costs time
+ * proportional to the number of replacements and pieces, plus one pass over the text when it's next
+ * read. The text and an index of its lines are materialized lazily and cached until the next edit.
+ *
  * <p>This class is not thread-safe.
  *
  * @author sjnickerson@google.com (Simon Nickerson)
@@ -44,7 +49,27 @@ import javax.tools.JavaFileObject;
 public class SourceFile {
 
   private final String path;
-  private final StringBuilder sourceBuilder;
+
+  /** The original text, followed by the text of every replacement made since. */
+  private final StringBuilder buffer = new StringBuilder();
+
+  // The pieces of the buffer making up the text, in order: piece i is the range of the buffer
+  // starting at pieceStarts[i] of length pieceLengths[i], and starts at pieceOffsets[i] in the
+  // text. Pieces are never empty.
+  private int[] pieceStarts = new int[0];
+  private int[] pieceLengths = new int[0];
+  private int[] pieceOffsets = new int[0];
+  private int pieceCount;
+  private int length;
+
+  /** The text, or null if it has been edited since it was last materialized. */
+  @Nullable private String text;
+
+  // The start and end (excluding the line terminator) of each line of the text, or null if the
+  // text has been edited since they were last computed.
+  @Nullable private int[] lineStarts;
+  @Nullable private int[] lineEnds;
+  private int lineCount;
 
   public static SourceFile create(JavaFileObject fileObject) throws IOException {
     return new SourceFile(fileObject.toUri().getPath(), fileObject.getCharContent(false));
@@ -52,7 +77,7 @@ public class SourceFile {
 
   public SourceFile(String path, CharSequence source) {
     this.path = path;
-    sourceBuilder = new StringBuilder(source);
+    setSourceText(source);
   }
 
   /** Returns the path for this source file */
@@ -62,26 +87,29 @@ public class SourceFile {
 
   /** Returns a copy of code as a list of lines. */
   public List<String> getLines() {
-    try {
-      return CharSource.wrap(sourceBuilder).readLines();
-    } catch (IOException e) {
-      throw new AssertionError("IOException not possible, as the string is in-memory", e);
-    }
+    return getLines(1, Integer.MAX_VALUE);
   }
 
   /** Returns a copy of the code as a string. */
   public String getSourceText() {
-    return sourceBuilder.toString();
+    return text();
   }
 
   public CharSequence getAsSequence() {
-    return CharBuffer.wrap(sourceBuilder).asReadOnlyBuffer();
+    return text();
   }
 
   /** Clears the current source test for this SourceFile and resets it to the passed-in value. */
   public void setSourceText(CharSequence source) {
-    sourceBuilder.setLength(0); // clear StringBuilder
-    sourceBuilder.append(source);
+    String newText = source.toString();
+    buffer.setLength(0);
+    buffer.append(newText);
+    pieceCount = 0;
+    length = 0;
+    ensurePieceCapacity(1);
+    appendPiece(0, newText.length());
+    edited();
+    text = newText;
   }
 
   /**
@@ -91,7 +119,26 @@ public class SourceFile {
    * and end parameters.
    */
   public String getFragmentByChars(int startPosition, int endPosition) {
-    return sourceBuilder.substring(startPosition, endPosition);
+    if (text != null) {
+      return text.substring(startPosition, endPosition);
+    }
+    if (startPosition < 0 || endPosition > length || startPosition > endPosition) {
+      throw new StringIndexOutOfBoundsException(
+          String.format("begin %d, end %d, length %d", startPosition, endPosition, length));
+    }
+    if (startPosition == endPosition) {
+      return "";
+    }
+    StringBuilder fragment = new StringBuilder(endPosition - startPosition);
+    for (int i = pieceContaining(startPosition);
+        i < pieceCount && pieceOffsets[i] < endPosition;
+        i++) {
+      int start = Math.max(startPosition, pieceOffsets[i]);
+      int end = Math.min(endPosition, pieceOffsets[i] + pieceLengths[i]);
+      int bufferStart = pieceStarts[i] + start - pieceOffsets[i];
+      fragment.append(buffer, bufferStart, bufferStart + end - start);
+    }
+    return fragment.toString();
   }
 
   /**
@@ -106,27 +153,20 @@ public class SourceFile {
   }
 
   private List<String> getLines(int startLine, int endLine) {
-    LineNumberReader reader = new LineNumberReader(new StringReader(sourceBuilder.toString()));
-    List<String> lines = new ArrayList<>(endLine - startLine + 1);
-    String line;
-    try {
-      while ((line = reader.readLine()) != null) {
-        if (reader.getLineNumber() >= startLine) {
-          lines.add(line);
-        }
-        if (reader.getLineNumber() >= endLine) {
-          break;
-        }
-      }
-      return lines;
-    } catch (IOException e) {
-      throw new AssertionError("Wrapped StringReader should not produce I/O exceptions", e);
+    String text = text();
+    indexLines(text);
+    int first = Math.max(startLine, 1) - 1;
+    int last = Math.min(endLine, lineCount);
+    List<String> lines = new ArrayList<>(Math.max(last - first, 0));
+    for (int i = first; i < last; i++) {
+      lines.add(text.substring(lineStarts[i], lineEnds[i]));
     }
+    return lines;
   }
 
   /** Replace the source code with the new lines of code. */
   public void replaceLines(List<String> lines) {
-    sourceBuilder.replace(0, sourceBuilder.length(), Joiner.on("\n").join(lines) + "\n");
+    setSourceText(Joiner.on("\n").join(lines) + "\n");
   }
 
   /** Replace the source code between the start and end lines with some new lines of code. */
@@ -154,61 +194,161 @@ public class SourceFile {
    * and end parameters.
    */
   public void replaceChars(int startPosition, int endPosition, String replacement) {
-    try {
-      sourceBuilder.replace(startPosition, endPosition, replacement);
-    } catch (StringIndexOutOfBoundsException e) {
+    if (startPosition < 0 || startPosition > length || startPosition > endPosition) {
       throw new IndexOutOfBoundsException(
           String.format(
               "Replacement cannot be made. Source file %s has length %d, requested start "
                   + "position %d, requested end position %d, replacement %s",
-              path, sourceBuilder.length(), startPosition, endPosition, replacement));
+              path, length, startPosition, endPosition, replacement));
     }
+    splice(
+        ImmutableList.of(
+            Replacement.create(startPosition, Math.min(endPosition, length), replacement)));
   }
 
   void makeReplacements(Replacements changes) {
     ImmutableSet<Replacement> replacements = changes.ascending();
-    switch (replacements.size()) {
-      case 0:
-        return;
-      case 1:
-        {
-          Replacement onlyReplacement = Iterables.getOnlyElement(replacements);
-          replaceChars(
-              onlyReplacement.startPosition(),
-              onlyReplacement.endPosition(),
-              onlyReplacement.replaceWith());
-          return;
-        }
-      default:
-        break;
-    }
-
-    // Since we have many replacements to make all at once, it's better to start off with a clean
-    // slate, rather than make multiple separate replacements which each require shifting around
-    // the tail of our sourceBuilder. If we do them all at once, we can work forward from the
-    // beginning of the tile, so that each new replacement does not affect any previous
-    // replacements.
-    StringBuilder newContent = new StringBuilder();
-    int positionInOriginal = 0;
     for (Replacement repl : replacements) {
       checkArgument(
-          repl.endPosition() <= sourceBuilder.length(),
+          repl.endPosition() <= length,
           "End [%s] should not exceed source length [%s]",
           repl.endPosition(),
-          sourceBuilder.length());
-
-      // Write the unmodified content leading up to this change
-      newContent.append(sourceBuilder, positionInOriginal, repl.startPosition());
-      // And the modified content for this change
-      newContent.append(repl.replaceWith());
-      // Then skip everything from source between start and end
-      positionInOriginal = repl.endPosition();
-    }
-    // Flush out any remaining content after the final change
-    newContent.append(sourceBuilder, positionInOriginal, sourceBuilder.length());
-    // Overwrite the contents of our old buffer. Note we mutate the existing StringBuilder rather
-    // than replacing it, because other clients may have a view of the content via getAsSequence,
-    // and we want that view to reflect the new content.
-    setSourceText(newContent);
+          length);
+    }
+    if (!replacements.isEmpty()) {
+      splice(replacements);
+    }
+  }
+
+  /**
+   * Rebuilds the list of pieces with the given non-overlapping replacements, in ascending order,
+   * appending the text of each to the buffer. Doesn't copy any of the text that is kept.
+   */
+  private void splice(Collection<Replacement> replacements) {
+    int[] oldStarts = pieceStarts;
+    int[] oldLengths = pieceLengths;
+    int[] oldOffsets = pieceOffsets;
+    int oldCount = pieceCount;
+    pieceStarts = new int[oldCount + 2 * replacements.size()];
+    pieceLengths = new int[pieceStarts.length];
+    pieceOffsets = new int[pieceStarts.length];
+    pieceCount = 0;
+    length = 0;
+
+    // Copy the pieces between the end of the previous replacement and the start of the next one,
+    // then add a piece for the replacement's text.
+    int piece = 0;
+    int position = 0;
+    for (Replacement repl : replacements) {
+      piece =
+          copyPieces(
+              oldStarts, oldLengths, oldOffsets, oldCount, piece, position, repl.startPosition());
+      int start = buffer.length();
+      buffer.append(repl.replaceWith());
+      appendPiece(start, repl.replaceWith().length());
+      position = repl.endPosition();
+    }
+    copyPieces(oldStarts, oldLengths, oldOffsets, oldCount, piece, position, Integer.MAX_VALUE);
+    edited();
+  }
+
+  /**
+   * Appends the parts of the given pieces between {@code start} and {@code end} of the old text,
+   * starting the search at {@code piece}, and returns the index of the first piece that may extend
+   * past {@code end}.
+   */
+  private int copyPieces(
+      int[] starts, int[] lengths, int[] offsets, int count, int piece, int start, int end) {
+    while (piece < count && offsets[piece] + lengths[piece] <= start) {
+      piece++;
+    }
+    for (; piece < count && offsets[piece] < end; piece++) {
+      int from = Math.max(start, offsets[piece]);
+      int to = Math.min(end, offsets[piece] + lengths[piece]);
+      appendPiece(starts[piece] + from - offsets[piece], to - from);
+      if (to < offsets[piece] + lengths[piece]) {
+        break;
+      }
+    }
+    return piece;
+  }
+
+  private void appendPiece(int start, int pieceLength) {
+    if (pieceLength == 0) {
+      return;
+    }
+    ensurePieceCapacity(pieceCount + 1);
+    pieceStarts[pieceCount] = start;
+    pieceLengths[pieceCount] = pieceLength;
+    pieceOffsets[pieceCount] = length;
+    pieceCount++;
+    length += pieceLength;
+  }
+
+  private void ensurePieceCapacity(int capacity) {
+    if (pieceStarts.length < capacity) {
+      int newCapacity = Math.max(capacity, pieceStarts.length * 2);
+      pieceStarts = Arrays.copyOf(pieceStarts, newCapacity);
+      pieceLengths = Arrays.copyOf(pieceLengths, newCapacity);
+      pieceOffsets = Arrays.copyOf(pieceOffsets, newCapacity);
+    }
+  }
+
+  /** Returns the index of the piece containing {@code position}. */
+  private int pieceContaining(int position) {
+    int i = Arrays.binarySearch(pieceOffsets, 0, pieceCount, position);
+    return i >= 0 ? i : -i - 2;
+  }
+
+  private void edited() {
+    text = null;
+    lineStarts = null;
+    lineEnds = null;
+  }
+
+  private String text() {
+    if (text == null) {
+      StringBuilder result = new StringBuilder(length);
+      for (int i = 0; i < pieceCount; i++) {
+        result.append(buffer, pieceStarts[i], pieceStarts[i] + pieceLengths[i]);
+      }
+      text = result.toString();
+    }
+    return text;
+  }
+
+  /**
+   * Finds the lines of {@code text}, which are terminated by any of {@code \n}, {@code \r\n} or
+   * {@code \r}, as with {@link java.io.BufferedReader#readLine}.
+   */
+  private void indexLines(String text) {
+    if (lineStarts != null) {
+      return;
+    }
+    int[] starts = new int[16];
+    int[] ends = new int[16];
+    int count = 0;
+    int start = 0;
+    for (int i = 0; i <= text.length(); i++) {
+      boolean endOfText = i == text.length();
+      char c = endOfText ? 0 : text.charAt(i);
+      if (c != '\n' && c != '\r' && !(endOfText && start < i)) {
+        continue;
+      }
+      if (count == starts.length) {
+        starts = Arrays.copyOf(starts, count * 2);
+        ends = Arrays.copyOf(ends, count * 2);
+      }
+      starts[count] = start;
+      ends[count] = i;
+      count++;
+      if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+        i++;
+      }
+      start = i + 1;
+    }
+    lineStarts = starts;
+    lineEnds = ends;
+    lineCount = count;
   }
 }
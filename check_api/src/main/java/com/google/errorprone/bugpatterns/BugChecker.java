@@ -21,6 +21,7 @@ import static com.google.errorprone.util.ASTHelpers.getModifiers;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableRangeSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Range;
@@ -32,6 +33,7 @@ import com.google.errorprone.VisitorState;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Suppressible;
 import com.google.errorprone.suppliers.Supplier;
 import com.google.errorprone.util.ASTHelpers;
@@ -454,6 +456,25 @@ public abstract class BugChecker implements Suppressible, Serializable {
     Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state);
   }
 
+  /**
+   * A {@link MethodInvocationTreeMatcher} that only matches invocations that are matched by one of
+   * its {@link #methodInvocationMatchers}.
+   *
+   * <p>The matchers of all such checkers are compiled into a single automaton that is evaluated
+   * once per method invocation, and {@link #matchMethodInvocation} is only called for invocations
+   * that one of the checker's matchers may match. Since the automaton only approximates the
+   * matchers, implementations should still check them, and must not report anything for an
+   * invocation that none of them matches.
+   *
+   * <p>Only matchers built with {@link com.google.errorprone.matchers.method.MethodMatchers}, and
+   * {@link com.google.errorprone.matchers.Matchers#allOf} or {@link
+   * com.google.errorprone.matchers.Matchers#anyOf} of them, narrow down the invocations that the
+   * checker is called for; any other matcher lets every invocation through.
+   */
+  public interface FilteredMethodInvocationTreeMatcher extends MethodInvocationTreeMatcher {
+    ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers();
+  }
+
   public interface ModifiersTreeMatcher extends Suppressible {
     Description matchModifiers(ModifiersTree tree, VisitorState state);
   }
@@ -17,12 +17,8 @@
 package com.google.errorprone.dataflow;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Sets.intersection;
 
-import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
 import javax.annotation.Nullable;
 import org.checkerframework.errorprone.dataflow.analysis.AbstractValue;
 import org.checkerframework.errorprone.dataflow.analysis.Store;
@@ -35,22 +31,30 @@ import org.checkerframework.errorprone.dataflow.expression.JavaExpression;
  * <p>To derive a new instance, {@linkplain #toBuilder() create a builder} from an old instance. To
  * start from scratch, call {@link #empty()}.
  *
+ * <p>The map is a {@link PersistentHashMap}, so a store shares the entries it didn't change with
+ * the store it was derived from, and the cost of deriving a store or of {@linkplain
+ * #leastUpperBound joining} two related stores scales with the number of access paths that differ
+ * between them rather than with the size of the heap.
+ *
  * @author bennostein@google.com (Benno Stein)
  */
-@AutoValue
-public abstract class AccessPathStore<V extends AbstractValue<V>>
+public final class AccessPathStore<V extends AbstractValue<V>>
     implements Store<AccessPathStore<V>>, AccessPathValues<V> {
 
-  public abstract ImmutableMap<AccessPath, V> heap();
+  private final PersistentHashMap<AccessPath, V> heap;
+
+  private AccessPathStore(PersistentHashMap<AccessPath, V> heap) {
+    this.heap = heap;
+  }
 
-  private static <V extends AbstractValue<V>> AccessPathStore<V> create(
-      ImmutableMap<AccessPath, V> heap) {
-    return new AutoValue_AccessPathStore<>(heap);
+  /** Returns a copy of the map from access paths to their values. */
+  public ImmutableMap<AccessPath, V> heap() {
+    return heap.toImmutableMap();
   }
 
   @SuppressWarnings({"unchecked", "rawtypes"}) // fully variant
   private static final AccessPathStore<?> EMPTY =
-      AccessPathStore.<AbstractValue>create(ImmutableMap.of());
+      new AccessPathStore(PersistentHashMap.empty());
 
   @SuppressWarnings("unchecked") // fully variant
   public static <V extends AbstractValue<V>> AccessPathStore<V> empty() {
@@ -59,7 +63,7 @@ public abstract class AccessPathStore<V extends AbstractValue<V>>
 
   @Nullable
   private V getInformation(AccessPath ap) {
-    return heap().get(checkNotNull(ap));
+    return heap.get(checkNotNull(ap));
   }
 
   public Builder<V> toBuilder() {
@@ -80,11 +84,8 @@ public abstract class AccessPathStore<V extends AbstractValue<V>>
 
   @Override
   public AccessPathStore<V> leastUpperBound(AccessPathStore<V> other) {
-    ImmutableMap.Builder<AccessPath, V> resultHeap = ImmutableMap.builder();
-    for (AccessPath aPath : intersection(heap().keySet(), other.heap().keySet())) {
-      resultHeap.put(aPath, heap().get(aPath).leastUpperBound(other.heap().get(aPath)));
-    }
-    return AccessPathStore.create(resultHeap.buildOrThrow());
+    PersistentHashMap<AccessPath, V> resultHeap = heap.intersect(other.heap, V::leastUpperBound);
+    return resultHeap == heap ? this : new AccessPathStore<>(resultHeap);
   }
 
   @Override
@@ -102,25 +103,44 @@ public abstract class AccessPathStore<V extends AbstractValue<V>>
   public String visualize(CFGVisualizer<?, AccessPathStore<V>, ?> cfgVisualizer) {
     throw new UnsupportedOperationException("DOT output not supported");
   }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    return obj == this
+        || (obj instanceof AccessPathStore && heap.equals(((AccessPathStore<?>) obj).heap));
+  }
+
+  @Override
+  public int hashCode() {
+    return heap.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "AccessPathStore{heap=" + heap + "}";
+  }
+
   /**
    * Builder for {@link AccessPathStore} instances. To obtain an instance, obtain a {@link
    * AccessPathStore} (such as {@link AccessPathStore#empty()}), and call {@link
    * AccessPathStore#toBuilder() toBuilder()} on it.
    */
   public static final class Builder<V extends AbstractValue<V>> {
-    private final Map<AccessPath, V> heap;
+    private final AccessPathStore<V> prototype;
+    private PersistentHashMap<AccessPath, V> heap;
 
     Builder(AccessPathStore<V> prototype) {
-      this.heap = new LinkedHashMap<>(prototype.heap());
+      this.prototype = prototype;
+      this.heap = prototype.heap;
     }
 
     public Builder<V> setInformation(AccessPath aPath, V value) {
-      heap.put(checkNotNull(aPath), checkNotNull(value));
+      heap = heap.put(checkNotNull(aPath), checkNotNull(value));
       return this;
     }
 
     public AccessPathStore<V> build() {
-      return AccessPathStore.create(ImmutableMap.copyOf(heap));
+      return heap == prototype.heap ? prototype : new AccessPathStore<>(heap);
     }
   }
 }
@@ -20,6 +20,7 @@ import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.sun.source.tree.BlockTree;
@@ -49,6 +50,10 @@ import org.checkerframework.errorprone.dataflow.cfg.builder.CFGBuilder;
 /**
  * Provides a wrapper around {@link org.checkerframework.errorprone.dataflow.analysis.Analysis}.
  *
+ * <p>Control flow graphs and analysis results are cached per compilation, in an instance registered
+ * in the compilation's {@link Context}, so concurrent compilations in the same JVM do not share or
+ * evict each other's entries.
+ *
  * @author konne@google.com (Konstantin Weitz)
  */
 public final class DataFlow {
@@ -62,18 +67,39 @@ public final class DataFlow {
   }
 
   /*
-   * We cache both the control flow graph and the analyses that are run on it.
-   * We tuned performance to the following assumptions (which are currently true for error-prone):
-   *
-   * <ul>
-   * <li> all dataflow analyses for a method are finished before another method is analyzed
-   * <li> multiple dataflow analyses for the same method are executed in arbitrary order
-   * </ul>
-   *
-   * TODO(b/158869538): Write a test that checks these assumptions
+   * We cache both the control flow graphs and the analyses that are run on them, for all methods in
+   * the compilation unit that is currently being analyzed by this compilation. Checkers may visit a
+   * method's CFG in any order (for example, one checker analyzes a lambda while another analyzes
+   * its enclosing method), so the caches are not invalidated when moving between methods, only when
+   * a different compilation unit is analyzed. Both caches are bounded by the total number of CFG
+   * nodes they hold, so a compilation unit with many large methods evicts its least recently used
+   * entries instead of growing without bound. The caches may be loaded concurrently; each entry is
+   * computed at most once.
+   */
+
+  private static final Context.Key<DataFlow> DATA_FLOW_KEY = new Context.Key<>();
+
+  /**
+   * Retrieve an instance of {@link DataFlow} from the {@code context}. If there is no {@link
+   * DataFlow} currently in the {@code context}, create one, insert it, and return it.
    */
-  private static final LoadingCache<AnalysisParams, Analysis<?, ?, ?>> analysisCache =
+  public static DataFlow instance(Context context) {
+    DataFlow instance = context.get(DATA_FLOW_KEY);
+    if (instance == null) {
+      instance = new DataFlow();
+      context.put(DATA_FLOW_KEY, instance);
+    }
+    return instance;
+  }
+
+  /** The maximum total number of CFG nodes held by each cache. */
+  private static final long MAX_CACHED_NODES = 100_000;
+
+  private final LoadingCache<AnalysisParams, Analysis<?, ?, ?>> analysisCache =
       CacheBuilder.newBuilder()
+          .maximumWeight(MAX_CACHED_NODES)
+          .weigher((AnalysisParams key, Analysis<?, ?, ?> value) -> weight(key.cfg()))
+          .recordStats()
           .build(
               new CacheLoader<AnalysisParams, Analysis<?, ?, ?>>() {
                 @Override
@@ -88,9 +114,11 @@ public final class DataFlow {
                 }
               });
 
-  private static final LoadingCache<CfgParams, ControlFlowGraph> cfgCache =
+  private final LoadingCache<CfgParams, ControlFlowGraph> cfgCache =
       CacheBuilder.newBuilder()
-          .maximumSize(1)
+          .maximumWeight(MAX_CACHED_NODES)
+          .weigher((CfgParams key, ControlFlowGraph value) -> weight(value))
+          .recordStats()
           .build(
               new CacheLoader<CfgParams, ControlFlowGraph>() {
                 @Override
@@ -121,13 +149,49 @@ public final class DataFlow {
                   }
                   ProcessingEnvironment env = key.environment();
 
-                  analysisCache.invalidateAll();
                   CompilationUnitTree root = methodPath.getCompilationUnit();
                   // TODO(b/158869538): replace with faster build(bodyPath, env, ast, false, false);
                   return CFGBuilder.build(root, ast, false, false, env);
                 }
               });
 
+  /** The compilation unit whose CFGs and analyses are currently cached. */
+  @Nullable private CompilationUnitTree cachedCompilationUnit;
+
+  /** Drops the cached CFGs and analyses if they belong to a different compilation unit. */
+  private synchronized void enterCompilationUnit(@Nullable CompilationUnitTree root) {
+    if (root != cachedCompilationUnit) {
+      cfgCache.invalidateAll();
+      analysisCache.invalidateAll();
+      cachedCompilationUnit = root;
+    }
+  }
+
+  /**
+   * Discards the CFGs and analyses cached in {@code context}, once their compilation unit is done,
+   * so they aren't kept alive for the rest of the compilation.
+   */
+  public static void releaseCachedResults(Context context) {
+    DataFlow instance = context.get(DATA_FLOW_KEY);
+    if (instance != null) {
+      instance.enterCompilationUnit(null);
+    }
+  }
+
+  private static int weight(ControlFlowGraph cfg) {
+    return Math.max(1, cfg.getAllNodes().size());
+  }
+
+  /** Returns hit and miss statistics for the control flow graph cache. */
+  public CacheStats cfgCacheStats() {
+    return cfgCache.stats();
+  }
+
+  /** Returns hit and miss statistics for the dataflow analysis cache. */
+  public CacheStats analysisCacheStats() {
+    return analysisCache.stats();
+  }
+
   // TODO(b/158869538): remove once we merge jdk8 specific's with core
   @Nullable
   private static <T> TreePath findEnclosingMethodOrLambdaOrInitializer(TreePath path) {
@@ -161,16 +225,15 @@ public final class DataFlow {
    * Run the {@code transfer} dataflow analysis over the method or lambda which is the leaf of the
    * {@code methodPath}.
    *
-   * <p>For caching, we make the following assumptions: - if two paths to methods are {@code equal},
+   * <p>For caching, we make the following assumptions: - if two paths lead to the same method tree,
    * their control flow graph is the same. - if two transfer functions are {@code equal}, and are
-   * run over the same control flow graph, the analysis result is the same. - for all contexts, the
-   * analysis result is the same.
+   * run over the same control flow graph, the analysis result is the same.
    */
-  private static <
-          A extends AbstractValue<A>, S extends Store<S>, T extends ForwardTransferFunction<A, S>>
+  private <A extends AbstractValue<A>, S extends Store<S>, T extends ForwardTransferFunction<A, S>>
       Result<A, S, T> methodDataflow(TreePath methodPath, Context context, T transfer) {
     ProcessingEnvironment env = JavacProcessingEnvironment.instance(context);
 
+    enterCompilationUnit(methodPath.getCompilationUnit());
     ControlFlowGraph cfg;
     try {
       cfg = cfgCache.getUnchecked(CfgParams.create(methodPath, env));
@@ -233,22 +296,32 @@ public final class DataFlow {
       return null;
     }
 
-    return methodDataflow(enclosingMethodPath, context, transfer).getAnalysis().getValue(expr);
+    return instance(context)
+        .methodDataflow(enclosingMethodPath, context, transfer)
+        .getAnalysis()
+        .getValue(expr);
   }
 
   @AutoValue
   abstract static class CfgParams {
-    abstract TreePath methodPath();
+    /** The method, lambda or initializer; trees are compared by identity. */
+    abstract Tree method();
 
     // Should not be used for hashCode or equals
+    private TreePath methodPath;
     private ProcessingEnvironment environment;
 
     private static CfgParams create(TreePath methodPath, ProcessingEnvironment environment) {
-      CfgParams cp = new AutoValue_DataFlow_CfgParams(methodPath);
+      CfgParams cp = new AutoValue_DataFlow_CfgParams(methodPath.getLeaf());
+      cp.methodPath = methodPath;
       cp.environment = environment;
       return cp;
     }
 
+    TreePath methodPath() {
+      return methodPath;
+    }
+
     ProcessingEnvironment environment() {
       return environment;
     }
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.dataflow;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import javax.annotation.Nullable;
+
+/**
+ * An immutable hash map that shares structure with the maps it is derived from, implemented as a
+ * hash array mapped trie.
+ *
+ * <p>Each level of the trie consumes five bits of the keys' hashes. A key is stored in the
+ * shallowest node at which the prefix of its hash is unique among the keys of the map, and keys
+ * with the same hash are chained together, so the shape of the trie only depends on its keys. That
+ * lets {@link #equals} and {@link #intersect} skip subtrees that two maps share.
+ *
+ * <p>Keys and values must not be null.
+ */
+final class PersistentHashMap<K, V> {
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  private static final PersistentHashMap<?, ?> EMPTY =
+      new PersistentHashMap<>(new Node(0, new Object[0], 0));
+
+  private final Node root;
+
+  /** The hash code of the map, or 0 if it hasn't been computed yet. */
+  private int hashCode;
+
+  private PersistentHashMap(Node root) {
+    this.root = root;
+  }
+
+  @SuppressWarnings("unchecked") // contains no keys or values
+  static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  int size() {
+    return root.size;
+  }
+
+  @Nullable
+  @SuppressWarnings("unchecked") // only values of type V are added
+  V get(Object key) {
+    return (V) get(root, 0, key.hashCode(), key);
+  }
+
+  /** Returns a map with {@code key} mapped to {@code value}, or this map if it already is. */
+  PersistentHashMap<K, V> put(K key, V value) {
+    Node newRoot = put(root, 0, key.hashCode(), checkNotNull(key), checkNotNull(value));
+    return newRoot == root ? this : new PersistentHashMap<>(newRoot);
+  }
+
+  /**
+   * Returns the map of the keys in both this map and {@code other}, each mapped to {@code merge} of
+   * its values in this map and in {@code other}.
+   *
+   * <p>{@code merge} must return its argument when it is given the same value twice, so that
+   * subtrees shared by both maps can be reused without looking at them, and this map is returned if
+   * the result has the same mappings.
+   */
+  @SuppressWarnings("unchecked") // only values of type V are added
+  PersistentHashMap<K, V> intersect(PersistentHashMap<K, V> other, BinaryOperator<V> merge) {
+    Node newRoot = intersect(root, other.root, 0, (BinaryOperator<Object>) merge);
+    return newRoot == root ? this : new PersistentHashMap<>(newRoot);
+  }
+
+  @SuppressWarnings("unchecked") // only keys of type K and values of type V are added
+  void forEach(BiConsumer<? super K, ? super V> action) {
+    forEach(root, (BiConsumer<Object, Object>) action);
+  }
+
+  ImmutableMap<K, V> toImmutableMap() {
+    ImmutableMap.Builder<K, V> result = ImmutableMap.builderWithExpectedSize(size());
+    forEach(result::put);
+    return result.buildOrThrow();
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    if (!(obj instanceof PersistentHashMap)) {
+      return false;
+    }
+    PersistentHashMap<?, ?> other = (PersistentHashMap<?, ?>) obj;
+    return (hashCode == 0 || other.hashCode == 0 || hashCode == other.hashCode)
+        && slotsEqual(root, other.root);
+  }
+
+  /** Returns the hash code of the map, as defined by {@link java.util.Map#hashCode}. */
+  @Override
+  public int hashCode() {
+    if (hashCode == 0) {
+      int[] result = {0};
+      forEach(root, (key, value) -> result[0] += key.hashCode() ^ value.hashCode());
+      hashCode = result[0];
+    }
+    return hashCode;
+  }
+
+  @Override
+  public String toString() {
+    return toImmutableMap().toString();
+  }
+
+  /** A node of the trie, whose slots are child nodes or {@link Leaf} chains. */
+  private static final class Node {
+    /** The bits of the hash prefixes that have a slot, in the order of the slots. */
+    final int bitmap;
+
+    final Object[] slots;
+
+    /** The number of keys in this subtree. */
+    final int size;
+
+    Node(int bitmap, Object[] slots, int size) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+      this.size = size;
+    }
+  }
+
+  /** A chain of keys with the same hash, and their values. */
+  private static final class Leaf {
+    final int hash;
+    final Object key;
+    final Object value;
+    @Nullable final Leaf next;
+
+    /** The number of keys in this chain. */
+    final int size;
+
+    Leaf(int hash, Object key, Object value, @Nullable Leaf next) {
+      this.hash = hash;
+      this.key = key;
+      this.value = value;
+      this.next = next;
+      this.size = next == null ? 1 : next.size + 1;
+    }
+
+    @Nullable
+    Object find(Object key) {
+      for (Leaf leaf = this; leaf != null; leaf = leaf.next) {
+        if (leaf.key.equals(key)) {
+          return leaf.value;
+        }
+      }
+      return null;
+    }
+
+    /** Returns this chain with {@code key}, which has the chain's hash, mapped to {@code value}. */
+    Leaf with(Object key, Object value) {
+      if (this.key.equals(key)) {
+        return this.value.equals(value) ? this : new Leaf(hash, key, value, next);
+      }
+      Leaf newNext = next == null ? new Leaf(hash, key, value, null) : next.with(key, value);
+      return newNext == next ? this : new Leaf(hash, this.key, this.value, newNext);
+    }
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  private static int index(int bitmap, int bit) {
+    return Integer.bitCount(bitmap & (bit - 1));
+  }
+
+  private static int size(Object slot) {
+    return slot instanceof Node ? ((Node) slot).size : ((Leaf) slot).size;
+  }
+
+  @Nullable
+  private static Object get(Object slot, int shift, int hash, Object key) {
+    for (; slot instanceof Node; shift += BITS) {
+      Node node = (Node) slot;
+      int bit = bit(hash, shift);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      slot = node.slots[index(node.bitmap, bit)];
+    }
+    Leaf leaf = (Leaf) slot;
+    return leaf.hash == hash ? leaf.find(key) : null;
+  }
+
+  private static Node put(Node node, int shift, int hash, Object key, Object value) {
+    int bit = bit(hash, shift);
+    int index = index(node.bitmap, bit);
+    if ((node.bitmap & bit) == 0) {
+      Object[] slots = new Object[node.slots.length + 1];
+      System.arraycopy(node.slots, 0, slots, 0, index);
+      slots[index] = new Leaf(hash, key, value, null);
+      System.arraycopy(node.slots, index, slots, index + 1, node.slots.length - index);
+      return new Node(node.bitmap | bit, slots, node.size + 1);
+    }
+    Object slot = node.slots[index];
+    Object newSlot;
+    if (slot instanceof Node) {
+      newSlot = put((Node) slot, shift + BITS, hash, key, value);
+    } else {
+      Leaf leaf = (Leaf) slot;
+      newSlot =
+          leaf.hash == hash
+              ? leaf.with(key, value)
+              : split(leaf, new Leaf(hash, key, value, null), shift + BITS);
+    }
+    if (newSlot == slot) {
+      return node;
+    }
+    Object[] slots = node.slots.clone();
+    slots[index] = newSlot;
+    return new Node(node.bitmap, slots, node.size - size(slot) + size(newSlot));
+  }
+
+  /** Returns the subtree holding two chains with different hashes. */
+  private static Node split(Leaf a, Leaf b, int shift) {
+    int bitA = bit(a.hash, shift);
+    int bitB = bit(b.hash, shift);
+    if (bitA == bitB) {
+      return new Node(bitA, new Object[] {split(a, b, shift + BITS)}, a.size + b.size);
+    }
+    int bitmap = bitA | bitB;
+    Object[] slots = index(bitmap, bitA) == 0 ? new Object[] {a, b} : new Object[] {b, a};
+    return new Node(bitmap, slots, a.size + b.size);
+  }
+
+  private static Node intersect(Node a, Node b, int shift, BinaryOperator<Object> merge) {
+    if (a == b) {
+      return a;
+    }
+    int bitmap = a.bitmap & b.bitmap;
+    boolean sameAsA = bitmap == a.bitmap;
+    Object[] slots = new Object[Integer.bitCount(bitmap)];
+    int newBitmap = 0;
+    int count = 0;
+    int size = 0;
+    for (int remaining = bitmap; remaining != 0; remaining &= remaining - 1) {
+      int bit = remaining & -remaining;
+      Object slotA = a.slots[index(a.bitmap, bit)];
+      Object slot = intersectSlots(slotA, b.slots[index(b.bitmap, bit)], shift + BITS, merge);
+      if (slot != slotA) {
+        sameAsA = false;
+      }
+      if (slot != null) {
+        newBitmap |= bit;
+        slots[count++] = slot;
+        size += size(slot);
+      }
+    }
+    return sameAsA ? a : new Node(newBitmap, Arrays.copyOf(slots, count), size);
+  }
+
+  /** Returns the intersection of two slots at the same position, or null if it is empty. */
+  @Nullable
+  private static Object intersectSlots(
+      Object a, Object b, int shift, BinaryOperator<Object> merge) {
+    if (a == b) {
+      return a;
+    }
+    if (a instanceof Node && b instanceof Node) {
+      Node result = intersect((Node) a, (Node) b, shift, merge);
+      if (result.size == 0) {
+        return null;
+      }
+      // Keep the trie in canonical form by moving a lone chain up to its parent.
+      return result.slots.length == 1 && result.slots[0] instanceof Leaf ? result.slots[0] : result;
+    }
+    // At least one of the slots is a chain, so look up each of its keys in the other slot.
+    Leaf result = null;
+    if (a instanceof Leaf) {
+      boolean sameAsA = true;
+      for (Leaf leaf = (Leaf) a; leaf != null; leaf = leaf.next) {
+        Object other = get(b, shift, leaf.hash, leaf.key);
+        if (other == null) {
+          sameAsA = false;
+          continue;
+        }
+        Object merged = merge.apply(leaf.value, other);
+        sameAsA &= merged.equals(leaf.value);
+        result = new Leaf(leaf.hash, leaf.key, merged, result);
+      }
+      return sameAsA ? a : result;
+    }
+    for (Leaf leaf = (Leaf) b; leaf != null; leaf = leaf.next) {
+      Object value = get(a, shift, leaf.hash, leaf.key);
+      if (value != null) {
+        result = new Leaf(leaf.hash, leaf.key, merge.apply(value, leaf.value), result);
+      }
+    }
+    return result;
+  }
+
+  private static boolean slotsEqual(Object a, Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a instanceof Node && b instanceof Node) {
+      Node x = (Node) a;
+      Node y = (Node) b;
+      if (x.bitmap != y.bitmap || x.size != y.size) {
+        return false;
+      }
+      for (int i = 0; i < x.slots.length; i++) {
+        if (!slotsEqual(x.slots[i], y.slots[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (a instanceof Leaf && b instanceof Leaf) {
+      Leaf x = (Leaf) a;
+      Leaf y = (Leaf) b;
+      if (x.hash != y.hash || x.size != y.size) {
+        return false;
+      }
+      for (Leaf leaf = x; leaf != null; leaf = leaf.next) {
+        if (!leaf.value.equals(y.find(leaf.key))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private static void forEach(Object slot, BiConsumer<Object, Object> action) {
+    if (slot instanceof Node) {
+      for (Object child : ((Node) slot).slots) {
+        forEach(child, action);
+      }
+      return;
+    }
+    for (Leaf leaf = (Leaf) slot; leaf != null; leaf = leaf.next) {
+      action.accept(leaf.key, leaf.value);
+    }
+  }
+}
@@ -18,7 +18,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.errorprone.dataflow.nullnesspropagation.Nullness.BOTTOM;
 import static com.google.errorprone.dataflow.nullnesspropagation.Nullness.NONNULL;
 import static com.google.errorprone.dataflow.nullnesspropagation.Nullness.NULLABLE;
-import static com.google.errorprone.dataflow.nullnesspropagation.NullnessPropagationTransfer.tryGetMethodSymbol;
+import static com.google.errorprone.dataflow.nullnesspropagation.NullnessPropagationTransfer.hasBooleanResult;
 
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.dataflow.AccessPath;
@@ -306,7 +306,7 @@ abstract class AbstractNullnessPropagationTransfer
      * if I'm careful to give it its correct Nullness instead of hardcoding it to NONNULL as the
      * current code does. To avoid problems, we return a RegularTransferResult when possible.
      */
-    if (tryGetMethodSymbol(node.getTree(), null).isBoolean) {
+    if (hasBooleanResult(node.getTree())) {
       ResultingStore thenStore = updateStore(input.getThenStore(), thenUpdates, bothUpdates);
       ResultingStore elseStore = updateStore(input.getElseStore(), elseUpdates, bothUpdates);
       return conditionalResult(
@@ -25,7 +25,6 @@ import static com.google.errorprone.dataflow.nullnesspropagation.Nullness.NULL;
 import static com.google.errorprone.dataflow.nullnesspropagation.Nullness.NULLABLE;
 import static com.sun.tools.javac.code.TypeTag.BOOLEAN;
 import static javax.lang.model.element.ElementKind.EXCEPTION_PARAMETER;
-import static org.checkerframework.errorprone.javacutil.TreePathUtil.enclosingOfClass;
 import static org.checkerframework.errorprone.javacutil.TreeUtils.elementFromDeclaration;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -78,8 +77,10 @@ import java.math.BigInteger;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -202,7 +203,9 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
     public boolean test(MethodInfo methodInfo) {
       // Any method explicitly annotated is trusted to behave as advertised.
       Optional<Nullness> fromAnnotations =
-          NullnessAnnotations.fromAnnotations(methodInfo.annotations());
+          methodInfo instanceof ClassAndMethod
+              ? ((ClassAndMethod) methodInfo).nullnessFromAnnotations
+              : NullnessAnnotations.fromAnnotations(methodInfo.annotations());
       if (fromAnnotations.isPresent()) {
         return fromAnnotations.get() == NONNULL;
       }
@@ -229,6 +232,10 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
     }
   }
 
+  /** The {@link ClassAndMethod}s of the methods called in a compilation, by their symbol. */
+  private static final Context.Key<Map<MethodSymbol, ClassAndMethod>> CLASS_AND_METHOD_KEY =
+      new Context.Key<>();
+
   private final transient Set<VarSymbol> traversed = new HashSet<>();
 
   protected final Nullness defaultAssumption;
@@ -272,27 +279,39 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
       // expression, an initializer block, or a field initializer.
 
       TreePath pathToNode = node.getTreePath();
-      Tree procedureTree = enclosingOfClass(pathToNode, LambdaExpressionTree.class); // lambda
-      if (procedureTree == null) {
-        procedureTree = enclosingOfClass(pathToNode, MethodTree.class); // method
+      TreePath procedurePath =
+          enclosingPathOfClass(pathToNode, LambdaExpressionTree.class); // lambda
+      if (procedurePath == null) {
+        procedurePath = enclosingPathOfClass(pathToNode, MethodTree.class); // method
       }
-      if (procedureTree == null) {
-        procedureTree = enclosingOfClass(pathToNode, BlockTree.class); // init block
+      if (procedurePath == null) {
+        procedurePath = enclosingPathOfClass(pathToNode, BlockTree.class); // init block
       }
-      if (procedureTree == null) {
-        procedureTree = enclosingOfClass(pathToNode, VariableTree.class); // field init
+      if (procedurePath == null) {
+        procedurePath = enclosingPathOfClass(pathToNode, VariableTree.class); // field init
       }
 
       inferenceResults =
           NullnessQualifierInference.getInferredNullability(
               checkNotNull(
-                  procedureTree,
+                  procedurePath,
                   "Call `%s` is not contained in an lambda, initializer or method.",
-                  node));
+                  node),
+              context);
     }
     return inferenceResults.getExprNullness(node.getTree());
   }
 
+  @Nullable
+  private static TreePath enclosingPathOfClass(TreePath path, Class<? extends Tree> treeClass) {
+    for (; path != null; path = path.getParentPath()) {
+      if (treeClass.isInstance(path.getLeaf())) {
+        return path;
+      }
+    }
+    return null;
+  }
+
   /**
    * Constructs a {@link NullnessPropagationTransfer} instance with the built-in set of non-null
    * returning methods.
@@ -568,7 +587,7 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
   @Override
   Nullness visitMethodInvocation(
       MethodInvocationNode node, Updates thenUpdates, Updates elseUpdates, Updates bothUpdates) {
-    ClassAndMethod callee = tryGetMethodSymbol(node.getTree(), Types.instance(context));
+    ClassAndMethod callee = tryGetMethodSymbol(node.getTree(), context);
     if (callee != null && !callee.isStatic) {
       setNonnullIfTrackable(bothUpdates, node.getTarget().getReceiver());
     }
@@ -689,12 +708,27 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
   }
 
   @Nullable
-  static ClassAndMethod tryGetMethodSymbol(MethodInvocationTree tree, Types types) {
+  static ClassAndMethod tryGetMethodSymbol(MethodInvocationTree tree, Context context) {
     Symbol symbol = tryGetSymbol(tree.getMethodSelect());
-    if (symbol instanceof MethodSymbol) {
-      return ClassAndMethod.make((MethodSymbol) symbol, types);
+    if (!(symbol instanceof MethodSymbol)) {
+      return null;
     }
-    return null;
+    // The same methods tend to be called over and over again, so only describe each of them once
+    // per compilation.
+    Map<MethodSymbol, ClassAndMethod> cache = context.get(CLASS_AND_METHOD_KEY);
+    if (cache == null) {
+      cache = new HashMap<>();
+      context.put(CLASS_AND_METHOD_KEY, cache);
+    }
+    Types types = Types.instance(context);
+    return cache.computeIfAbsent((MethodSymbol) symbol, m -> ClassAndMethod.make(m, types));
+  }
+
+  /** Returns whether the method called by {@code tree} is known to return a primitive boolean. */
+  static boolean hasBooleanResult(MethodInvocationTree tree) {
+    Symbol symbol = tryGetSymbol(tree.getMethodSelect());
+    return symbol instanceof MethodSymbol
+        && ((MethodSymbol) symbol).getReturnType().getTag() == BOOLEAN;
   }
 
   /*
@@ -779,7 +813,7 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
     if (callee == null) {
       return defaultAssumption;
     }
-    Optional<Nullness> declaredNullness = NullnessAnnotations.fromAnnotations(callee.annotations);
+    Optional<Nullness> declaredNullness = callee.nullnessFromAnnotations;
     if (declaredNullness.isPresent()) {
       return declaredNullness.get();
     }
@@ -985,10 +1019,11 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
   static final class ClassAndMethod implements Member, MethodInfo {
     final String clazz;
     final String method;
+    final MemberName name;
     final ImmutableList<String> annotations;
+    final Optional<Nullness> nullnessFromAnnotations;
     final boolean isStatic;
     final boolean isPrimitive;
-    final boolean isBoolean;
     final boolean isGenericResult;
     final boolean isNonNullReturning;
 
@@ -998,15 +1033,15 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
         ImmutableList<String> annotations,
         boolean isStatic,
         boolean isPrimitive,
-        boolean isBoolean,
         boolean isGenericResult,
         boolean isNonNullReturning) {
       this.clazz = clazz;
       this.method = method;
+      this.name = new MemberName(clazz, method);
       this.annotations = annotations;
+      this.nullnessFromAnnotations = NullnessAnnotations.fromAnnotations(annotations);
       this.isStatic = isStatic;
       this.isPrimitive = isPrimitive;
-      this.isBoolean = isBoolean;
       this.isGenericResult = isGenericResult;
       this.isNonNullReturning = isNonNullReturning;
     }
@@ -1025,7 +1060,6 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
           annotations,
           methodSymbol.isStatic(),
           methodSymbol.getReturnType().isPrimitive(),
-          methodSymbol.getReturnType().getTag() == BOOLEAN,
           hasGenericResult(methodSymbol),
           knownNonNullMethod(methodSymbol, clazzSymbol, types));
     }
@@ -1070,7 +1104,7 @@ class NullnessPropagationTransfer extends AbstractNullnessPropagationTransfer
     }
 
     MemberName name() {
-      return new MemberName(this.clazz, this.method);
+      return name;
     }
 
     @Override
@@ -19,20 +19,17 @@ package com.google.errorprone.dataflow.nullnesspropagation.inference;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.auto.value.AutoValue;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import com.google.common.graph.GraphBuilder;
 import com.google.common.graph.MutableGraph;
-import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.errorprone.dataflow.nullnesspropagation.Nullness;
 import com.google.errorprone.dataflow.nullnesspropagation.NullnessAnnotations;
 import com.sun.source.tree.ArrayAccessTree;
 import com.sun.source.tree.AssignmentTree;
 import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.IdentifierTree;
 import com.sun.source.tree.LambdaExpressionTree;
@@ -45,9 +42,9 @@ import com.sun.source.tree.ReturnTree;
 import com.sun.source.tree.Tree;
 import com.sun.source.tree.Tree.Kind;
 import com.sun.source.tree.VariableTree;
+import com.sun.source.util.TreePath;
 import com.sun.source.util.TreeScanner;
 import com.sun.tools.javac.code.Symbol;
-import com.sun.tools.javac.code.Symbol.CompletionFailure;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Symbol.TypeVariableSymbol;
 import com.sun.tools.javac.code.Symbol.VarSymbol;
@@ -60,9 +57,12 @@ import com.sun.tools.javac.tree.JCTree.JCFieldAccess;
 import com.sun.tools.javac.tree.JCTree.JCIdent;
 import com.sun.tools.javac.tree.JCTree.JCMethodInvocation;
 import com.sun.tools.javac.tree.TreeInfo;
+import com.sun.tools.javac.util.Context;
 import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
 import javax.annotation.Nullable;
@@ -73,25 +73,65 @@ import javax.lang.model.type.TypeVariable;
  * qualifiers. Those constraints are then solved as needed in {@code InferredNullability}. Based on
  * Java type inference as defined in JLS section 18.
  *
+ * <p>The constraints of the lambdas nested in the tree are accumulated in the same traversal, each
+ * into its own graph, so they can be solved without traversing the lambdas again.
+ *
  * @author bennostein@google.com (Benno Stein)
  */
 public class NullnessQualifierInference extends TreeScanner<Void, Void> {
 
-  private static final LoadingCache<Tree, InferredNullability> inferenceCache =
-      CacheBuilder.newBuilder()
-          .maximumSize(1)
-          .build(
-              new CacheLoader<Tree, InferredNullability>() {
-                @Override
-                public InferredNullability load(Tree methodOrInitializer) {
-                  NullnessQualifierInference inferenceEngine =
-                      new NullnessQualifierInference(methodOrInitializer);
-                  inferenceEngine.scan(methodOrInitializer, null);
-                  return new InferredNullability(inferenceEngine.qualifierConstraints);
-                }
-              });
+  /**
+   * The inference results for the methods, initializers and lambdas of the compilation unit being
+   * analyzed, by their tree.
+   */
+  private static final Context.Key<Map<Tree, InferredNullability>> INFERENCE_RESULTS_KEY =
+      new Context.Key<>();
 
   public static InferredNullability getInferredNullability(Tree methodOrInitializerOrLambda) {
+    checkProcedure(methodOrInitializerOrLambda);
+    return infer(methodOrInitializerOrLambda).get(methodOrInitializerOrLambda);
+  }
+
+  /**
+   * Returns the inference results for the leaf of {@code methodOrInitializerOrLambda}, which are
+   * cached in {@code context} until {@link #releaseInferenceResults} is called.
+   *
+   * <p>The results for a lambda are computed along with those of the member of the class that
+   * encloses it, and of all the lambdas in that member.
+   */
+  public static InferredNullability getInferredNullability(
+      TreePath methodOrInitializerOrLambda, Context context) {
+    Tree procedure = methodOrInitializerOrLambda.getLeaf();
+    checkProcedure(procedure);
+    Map<Tree, InferredNullability> cache = context.get(INFERENCE_RESULTS_KEY);
+    if (cache == null) {
+      cache = new IdentityHashMap<>();
+      context.put(INFERENCE_RESULTS_KEY, cache);
+    }
+    InferredNullability result = cache.get(procedure);
+    if (result == null) {
+      cache.putAll(infer(enclosingMember(methodOrInitializerOrLambda).getLeaf()));
+      result = cache.get(procedure);
+      if (result == null) {
+        // The lambda isn't in a method or initializer, e.g. it's in an annotation.
+        result = infer(procedure).get(procedure);
+        cache.put(procedure, result);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Discards the inference results cached in {@code context}, once its compilation unit is done.
+   */
+  public static void releaseInferenceResults(Context context) {
+    Map<Tree, InferredNullability> cache = context.get(INFERENCE_RESULTS_KEY);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  private static void checkProcedure(Tree methodOrInitializerOrLambda) {
     checkArgument(
         methodOrInitializerOrLambda instanceof MethodTree
             || methodOrInitializerOrLambda instanceof LambdaExpressionTree
@@ -99,31 +139,88 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
             || methodOrInitializerOrLambda instanceof VariableTree,
         "Tree `%s` is not a lambda, initializer, or method.",
         methodOrInitializerOrLambda);
-    try {
-      return inferenceCache.getUnchecked(methodOrInitializerOrLambda);
-    } catch (UncheckedExecutionException e) {
-      throw e.getCause() instanceof CompletionFailure ? (CompletionFailure) e.getCause() : e;
+  }
+
+  /**
+   * Returns the method, initializer or field of a class that encloses {@code path}, or {@code path}
+   * itself if there is none.
+   */
+  private static TreePath enclosingMember(TreePath path) {
+    for (TreePath member = path; member.getParentPath() != null; member = member.getParentPath()) {
+      if (member.getParentPath().getLeaf() instanceof ClassTree) {
+        Tree leaf = member.getLeaf();
+        return leaf instanceof MethodTree
+                || leaf instanceof BlockTree
+                || leaf instanceof VariableTree
+            ? member
+            : path;
+      }
     }
+    return path;
+  }
+
+  /** Returns the inference results for {@code procedure} and for each lambda in it. */
+  private static Map<Tree, InferredNullability> infer(Tree procedure) {
+    NullnessQualifierInference inferenceEngine = new NullnessQualifierInference(procedure);
+    inferenceEngine.scan(procedure, null);
+    inferenceEngine.results.put(
+        procedure, new InferredNullability(inferenceEngine.qualifierConstraints.getFirst()));
+    return inferenceEngine.results;
   }
 
   /**
    * &lt;= constraints between inference variables: an edge from A to B means A &lt;= B. In other
    * words, edges point "upwards" in the lattice towards Top == Nullable.
+   *
+   * <p>The first graph holds the constraints of the tree being traversed, and is followed by one
+   * graph for each lambda that encloses the current node, since the constraints within a lambda
+   * also apply to all the trees enclosing it.
    */
-  private final MutableGraph<InferenceVariable> qualifierConstraints;
+  private final ArrayDeque<MutableGraph<InferenceVariable>> qualifierConstraints =
+      new ArrayDeque<>();
+
+  /** Whether constraints only apply to the tree being traversed, and not to nested lambdas. */
+  private boolean outermostOnly = false;
 
   private final Tree currentMethodOrInitializerOrLambda;
 
+  private final Map<Tree, InferredNullability> results = new IdentityHashMap<>();
+
   private NullnessQualifierInference(Tree currentMethodOrInitializerOrLambda) {
     this.currentMethodOrInitializerOrLambda = currentMethodOrInitializerOrLambda;
-    this.qualifierConstraints = GraphBuilder.directed().build();
+    qualifierConstraints.addLast(newConstraintGraph());
+  }
 
+  private static MutableGraph<InferenceVariable> newConstraintGraph() {
+    MutableGraph<InferenceVariable> graph = GraphBuilder.directed().build();
     // Initialize graph with standard nullness lattice; see ASCII art diagram in
     // com.google.errorprone.dataflow.nullnesspropagation.Nullness for more details.
-    qualifierConstraints.putEdge(ProperInferenceVar.BOTTOM, ProperInferenceVar.NONNULL);
-    qualifierConstraints.putEdge(ProperInferenceVar.BOTTOM, ProperInferenceVar.NULL);
-    qualifierConstraints.putEdge(ProperInferenceVar.NONNULL, ProperInferenceVar.NULLABLE);
-    qualifierConstraints.putEdge(ProperInferenceVar.NULL, ProperInferenceVar.NULLABLE);
+    graph.putEdge(ProperInferenceVar.BOTTOM, ProperInferenceVar.NONNULL);
+    graph.putEdge(ProperInferenceVar.BOTTOM, ProperInferenceVar.NULL);
+    graph.putEdge(ProperInferenceVar.NONNULL, ProperInferenceVar.NULLABLE);
+    graph.putEdge(ProperInferenceVar.NULL, ProperInferenceVar.NULLABLE);
+    return graph;
+  }
+
+  private void putEdge(InferenceVariable lower, InferenceVariable upper) {
+    if (outermostOnly) {
+      qualifierConstraints.getFirst().putEdge(lower, upper);
+      return;
+    }
+    for (MutableGraph<InferenceVariable> graph : qualifierConstraints) {
+      graph.putEdge(lower, upper);
+    }
+  }
+
+  @Override
+  public Void visitLambdaExpression(LambdaExpressionTree node, Void unused) {
+    if (node == currentMethodOrInitializerOrLambda) {
+      return super.visitLambdaExpression(node, unused);
+    }
+    qualifierConstraints.addLast(newConstraintGraph());
+    super.visitLambdaExpression(node, unused);
+    results.put(node, new InferredNullability(qualifierConstraints.removeLast()));
+    return null;
   }
 
   @Override
@@ -186,8 +283,8 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
             annot -> {
               InferenceVariable var =
                   TypeArgInferenceVar.create(ImmutableList.copyOf(argSelector), sourceTree);
-              qualifierConstraints.putEdge(var, annot);
-              qualifierConstraints.putEdge(annot, var);
+              putEdge(var, annot);
+              putEdge(annot, var);
             });
   }
 
@@ -215,7 +312,10 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
     if (node.getExpression() != null && currentMethodOrInitializerOrLambda instanceof MethodTree) {
       MethodSymbol sym =
           ((MethodSymbol) TreeInfo.symbolFor((JCTree) currentMethodOrInitializerOrLambda));
+      // The lambdas in the method aren't constrained by its return type.
+      outermostOnly = true;
       generateConstraintsForWrite(sym.getReturnType(), sym, node.getExpression(), node);
+      outermostOnly = false;
     }
     return super.visitReturn(node, unused);
   }
@@ -278,19 +378,14 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
             findUnannotatedTypeVarRefs(tvs, rcvrtype, /*decl=*/ null, fieldAccess.selected);
         Type restype = fieldAccess.sym.type.asMethodType().restype;
         findUnannotatedTypeVarRefs(tvs, restype, fieldAccess.sym, node)
-            .forEach(
-                resRef ->
-                    rcvrReferences.forEach(
-                        rcvrRef -> qualifierConstraints.putEdge(resRef, rcvrRef)));
+            .forEach(resRef -> rcvrReferences.forEach(rcvrRef -> putEdge(resRef, rcvrRef)));
         Streams.forEachPair(
             formalParameters.stream(),
             node.getArguments().stream(),
             (formal, actual) ->
                 findUnannotatedTypeVarRefs(tvs, formal.type(), formal.symbol(), actual)
                     .forEach(
-                        argRef ->
-                            rcvrReferences.forEach(
-                                rcvrRef -> qualifierConstraints.putEdge(argRef, rcvrRef))));
+                        argRef -> rcvrReferences.forEach(rcvrRef -> putEdge(argRef, rcvrRef))));
       }
     }
 
@@ -309,21 +404,13 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
     for (TypeVariableSymbol typeVar : callee.getTypeParameters()) {
       TypeVariableInferenceVar typeVarIV = TypeVariableInferenceVar.create(typeVar, node);
       visitUnannotatedTypeVarRefsAndEquateInferredComponents(
-          typeVarIV,
-          callee.getReturnType(),
-          callee,
-          node,
-          iv -> qualifierConstraints.putEdge(typeVarIV, iv));
+          typeVarIV, callee.getReturnType(), callee, node, iv -> putEdge(typeVarIV, iv));
       Streams.forEachPair(
           formalParameters.stream(),
           node.getArguments().stream(),
           (formal, actual) ->
               visitUnannotatedTypeVarRefsAndEquateInferredComponents(
-                  typeVarIV,
-                  formal.type(),
-                  formal.symbol(),
-                  actual,
-                  iv -> qualifierConstraints.putEdge(iv, typeVarIV)));
+                  typeVarIV, formal.type(), formal.symbol(), actual, iv -> putEdge(iv, typeVarIV)));
     }
     return super.visitMethodInvocation(node, unused);
   }
@@ -408,8 +495,8 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
                           typeArg
                               .typeArgSelector()
                               .subList(depth, typeArg.typeArgSelector().size()));
-                  qualifierConstraints.putEdge(typeVarComponent, typeArg);
-                  qualifierConstraints.putEdge(typeArg, typeVarComponent);
+                  putEdge(typeVarComponent, typeArg);
+                  putEdge(typeArg, typeVarComponent);
                 });
             selector.pop();
           }
@@ -453,19 +540,15 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
       Type lType, @Nullable Symbol decl, ExpressionTree rVal, @Nullable Tree lVal) {
     // TODO(kmb): Consider just visiting these expression types
     if (rVal.getKind() == Kind.NULL_LITERAL) {
-      qualifierConstraints.putEdge(
-          ProperInferenceVar.NULL, TypeArgInferenceVar.create(ImmutableList.of(), rVal));
-      qualifierConstraints.putEdge(
-          TypeArgInferenceVar.create(ImmutableList.of(), rVal), ProperInferenceVar.NULL);
+      putEdge(ProperInferenceVar.NULL, TypeArgInferenceVar.create(ImmutableList.of(), rVal));
+      putEdge(TypeArgInferenceVar.create(ImmutableList.of(), rVal), ProperInferenceVar.NULL);
     } else if ((rVal instanceof LiteralTree)
         || (rVal instanceof NewClassTree)
         || (rVal instanceof NewArrayTree)
         || ((rVal instanceof IdentifierTree)
             && ((IdentifierTree) rVal).getName().contentEquals("this"))) {
-      qualifierConstraints.putEdge(
-          ProperInferenceVar.NONNULL, TypeArgInferenceVar.create(ImmutableList.of(), rVal));
-      qualifierConstraints.putEdge(
-          TypeArgInferenceVar.create(ImmutableList.of(), rVal), ProperInferenceVar.NONNULL);
+      putEdge(ProperInferenceVar.NONNULL, TypeArgInferenceVar.create(ImmutableList.of(), rVal));
+      putEdge(TypeArgInferenceVar.create(ImmutableList.of(), rVal), ProperInferenceVar.NONNULL);
     }
     generateConstraintsForWrite(lType, decl, rVal, lVal, new ArrayDeque<>());
   }
@@ -509,15 +592,15 @@ public class NullnessQualifierInference extends TreeScanner<Void, Void> {
         .ifPresent(
             annot -> {
               InferenceVariable var = TypeArgInferenceVar.create(argSelectorList, rVal);
-              qualifierConstraints.putEdge(var, annot);
+              putEdge(var, annot);
               if (!oneSided) {
-                qualifierConstraints.putEdge(annot, var);
+                putEdge(annot, var);
               }
             });
 
     if (lVal != null) {
       // Constrain this type or type argument on the rVal to be <= its lVal counterpart
-      qualifierConstraints.putEdge(
+      putEdge(
           TypeArgInferenceVar.create(argSelectorList, rVal),
           TypeArgInferenceVar.create(argSelectorList, lVal));
     }
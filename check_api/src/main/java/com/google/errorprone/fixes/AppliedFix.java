@@ -62,36 +62,21 @@ public class AppliedFix {
      */
     @Nullable
     public AppliedFix apply(Fix suggestedFix) {
-      // We apply the replacements in ascending order here. Descending is simpler, since applying a
-      // replacement can't change the index for future replacements, but it leads to quadratic
-      // copying behavior as we constantly shift the tail of the file around in our StringBuilder.
       ImmutableSet<Replacement> replacements =
           ascending(suggestedFix.getReplacements(endPositions));
       if (replacements.isEmpty()) {
         return null;
       }
-
-      StringBuilder replaced = new StringBuilder();
-      int positionInOriginal = 0;
       for (Replacement repl : replacements) {
         checkArgument(
             repl.endPosition() <= source.length(),
             "End [%s] should not exceed source length [%s]",
             repl.endPosition(),
             source.length());
-
-        // Write the unmodified content leading up to this change
-        replaced.append(source, positionInOriginal, repl.startPosition());
-        // And the modified content for this change
-        replaced.append(repl.replaceWith());
-        // Then skip everything from source between start and end
-        positionInOriginal = repl.endPosition();
       }
-      // Flush out any remaining content after the final change
-      replaced.append(source, positionInOriginal, source.length());
 
       // Find the changed line containing the first edit
-      String snippet = firstEditedLine(replaced, Iterables.get(replacements, 0));
+      String snippet = firstEditedLine(source, replacements);
       if (snippet.isEmpty()) {
         return new AppliedFix("to remove this line", /* isRemoveLine= */ true);
       }
@@ -110,26 +95,60 @@ public class AppliedFix {
      * \n characters". We don't handle \r\n specially, because the strings that javac provides to
      * Error Prone have already been transformed from platform line endings to newlines (and even if
      * it didn't, the dangling \r characters would be handled by a trim() call).
+     *
+     * <p>Rather than applying the replacements to a copy of the whole source, this only renders the
+     * line from the original source and the replacements, so that the cost is proportional to the
+     * size of the line and not of the file.
      */
-    private static String firstEditedLine(StringBuilder content, Replacement firstEdit) {
-      // We subtract 1 here because we want to find the first newline *before* the edit, not one
-      // at its beginning.
-      int startOfFirstEditedLine = content.lastIndexOf("\n", firstEdit.startPosition() - 1);
-      int endOfFirstEditedLine = content.indexOf("\n", firstEdit.startPosition());
-      if (startOfFirstEditedLine == -1) {
-        startOfFirstEditedLine = 0; // Change to start of file with no preceding newline
+    private static String firstEditedLine(
+        CharSequence source, ImmutableSet<Replacement> replacements) {
+      int firstEditStart = Iterables.get(replacements, 0).startPosition();
+      // Everything before the first edit is unchanged, so the line starts after the last newline
+      // *before* the edit in the original source.
+      int startOfFirstEditedLine = firstEditStart;
+      while (startOfFirstEditedLine > 0 && source.charAt(startOfFirstEditedLine - 1) != '\n') {
+        startOfFirstEditedLine--;
+      }
+      StringBuilder line = new StringBuilder();
+      line.append(source, startOfFirstEditedLine, firstEditStart);
+      // The line ends at the first newline at or after the edit in the changed source, which may
+      // be in any of the replacements or in the unmodified content between them.
+      int positionInOriginal = firstEditStart;
+      boolean endOfLine = false;
+      for (Replacement repl : replacements) {
+        endOfLine =
+            appendUntilNewline(line, source, positionInOriginal, repl.startPosition())
+                || appendUntilNewline(line, repl.replaceWith(), 0, repl.replaceWith().length());
+        if (endOfLine) {
+          break;
+        }
+        positionInOriginal = repl.endPosition();
       }
-      if (endOfFirstEditedLine == -1) {
-        // Change to last line of file
-        endOfFirstEditedLine = content.length();
+      if (!endOfLine) {
+        appendUntilNewline(line, source, positionInOriginal, source.length());
       }
-      String snippet = content.substring(startOfFirstEditedLine, endOfFirstEditedLine);
-      snippet = snippet.trim();
+      String snippet = line.toString().trim();
       if (snippet.contains("//")) {
         snippet = snippet.substring(0, snippet.indexOf("//")).trim();
       }
       return snippet;
     }
+
+    /**
+     * Appends {@code text} from {@code start} to {@code end}, stopping at the first newline, and
+     * returns whether a newline was found.
+     */
+    private static boolean appendUntilNewline(
+        StringBuilder line, CharSequence text, int start, int end) {
+      for (int i = start; i < end; i++) {
+        char c = text.charAt(i);
+        if (c == '\n') {
+          return true;
+        }
+        line.append(c);
+      }
+      return false;
+    }
   }
 
   public static Applier fromSource(CharSequence source, EndPosTable endPositions) {
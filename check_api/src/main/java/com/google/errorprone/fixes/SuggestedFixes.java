@@ -82,6 +82,7 @@ import com.sun.source.util.JavacTask;
 import com.sun.source.util.TreePath;
 import com.sun.source.util.TreeScanner;
 import com.sun.tools.javac.api.BasicJavacTask;
+import com.sun.tools.javac.api.JavacTaskImpl;
 import com.sun.tools.javac.api.JavacTool;
 import com.sun.tools.javac.api.JavacTrees;
 import com.sun.tools.javac.code.BoundKind;
@@ -118,15 +119,18 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
 import java.util.stream.IntStream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
@@ -1248,6 +1252,13 @@ public final class SuggestedFixes {
    * given additional compiler options, optionally limiting the checking of compilation failures to
    * the compilation unit in which the fix is applied. Note that calling this method is very
    * expensive as it requires rerunning the entire compile, so it should be used with restraint.
+   *
+   * <p>If {@code onlyInSameCompilationUnit} is set, only the compilation unit in which the fix is
+   * applied is attributed and flow-analyzed; the other compilation units are only parsed and
+   * entered, which is enough for their declarations to be used by the modified compilation unit.
+   * The outcome for each distinct fixed source of a compilation unit is remembered until the next
+   * compilation unit is analyzed, so a fix that is checked again, for example because several
+   * checks suggest it, is not recompiled.
    */
   public static boolean compilesWithFix(
       Fix fix,
@@ -1297,8 +1308,32 @@ public final class SuggestedFixes {
     } catch (IOException e) {
       return false;
     }
+    return FixVerifications.instance(state.context)
+        .compilesWithFix(
+            fixCompiler,
+            extraOptions,
+            onlyInSameCompilationUnit,
+            () ->
+                compilesWithFix(
+                    fixCompiler,
+                    state,
+                    extraOptions,
+                    onlyInSameCompilationUnit,
+                    maxErrors,
+                    maxWarnings));
+  }
 
-    Result compilationResult = fixCompiler.compile(extraOptions);
+  private static boolean compilesWithFix(
+      FixCompiler fixCompiler,
+      VisitorState state,
+      ImmutableList<String> extraOptions,
+      boolean onlyInSameCompilationUnit,
+      int maxErrors,
+      int maxWarnings) {
+    Result compilationResult =
+        onlyInSameCompilationUnit
+            ? fixCompiler.compileModifiedCompilationUnit(extraOptions)
+            : fixCompiler.compile(extraOptions);
     URI modifiedFileUri = FixCompiler.getModifiedFileUri(state);
 
     // If we reached the maximum number of diagnostics of a given kind without finding one in the
@@ -1339,6 +1374,72 @@ public final class SuggestedFixes {
     return true;
   }
 
+  /**
+   * The outcomes of the fixes checked by {@link #compilesWithFix} in the current compilation unit,
+   * keyed by the source of the compilation unit with the fix applied.
+   */
+  private static final class FixVerifications {
+    private static final Context.Key<FixVerifications> KEY = new Context.Key<>();
+
+    static FixVerifications instance(Context context) {
+      FixVerifications instance = context.get(KEY);
+      if (instance == null) {
+        instance = new FixVerifications();
+        context.put(KEY, instance);
+      }
+      return instance;
+    }
+
+    @Nullable private CompilationUnitTree compilationUnit;
+    private final Map<VerificationKey, Boolean> outcomes = new HashMap<>();
+
+    boolean compilesWithFix(
+        FixCompiler fixCompiler,
+        ImmutableList<String> extraOptions,
+        boolean onlyInSameCompilationUnit,
+        BooleanSupplier compile) {
+      String fixedSource = fixCompiler.fixedSource;
+      if (fixedSource == null) {
+        return compile.getAsBoolean();
+      }
+      VerificationKey key =
+          VerificationKey.create(fixedSource, extraOptions, onlyInSameCompilationUnit);
+      CompilationUnitTree compilationUnit = fixCompiler.state.getPath().getCompilationUnit();
+      synchronized (this) {
+        if (this.compilationUnit != compilationUnit) {
+          this.compilationUnit = compilationUnit;
+          outcomes.clear();
+        }
+        Boolean outcome = outcomes.get(key);
+        if (outcome != null) {
+          return outcome;
+        }
+      }
+      boolean outcome = compile.getAsBoolean();
+      synchronized (this) {
+        if (this.compilationUnit == compilationUnit) {
+          outcomes.put(key, outcome);
+        }
+      }
+      return outcome;
+    }
+  }
+
+  @AutoValue
+  abstract static class VerificationKey {
+    abstract String fixedSource();
+
+    abstract ImmutableList<String> extraOptions();
+
+    abstract boolean onlyInSameCompilationUnit();
+
+    static VerificationKey create(
+        String fixedSource, ImmutableList<String> extraOptions, boolean onlyInSameCompilationUnit) {
+      return new AutoValue_SuggestedFixes_VerificationKey(
+          fixedSource, extraOptions, onlyInSameCompilationUnit);
+    }
+  }
+
   /**
    * A class to hold the files from the compilation context, with a diff applied to the
    * currently-processed one; the files can then be recompiled.
@@ -1348,27 +1449,27 @@ public final class SuggestedFixes {
     private final VisitorState state;
     private final BasicJavacTask javacTask;
 
+    /** The modified compilation unit with the fix applied, or {@code null} if it wasn't found. */
+    @Nullable private final JavaFileObject modifiedFile;
+
+    @Nullable private final String fixedSource;
+
     private FixCompiler(
-        List<JavaFileObject> fileObjects, VisitorState state, BasicJavacTask javacTask) {
+        List<JavaFileObject> fileObjects,
+        VisitorState state,
+        BasicJavacTask javacTask,
+        @Nullable JavaFileObject modifiedFile,
+        @Nullable String fixedSource) {
       this.fileObjects = fileObjects;
       this.state = state;
       this.javacTask = javacTask;
+      this.modifiedFile = modifiedFile;
+      this.fixedSource = fixedSource;
     }
 
     public Result compile(ImmutableList<String> extraOptions) {
       DiagnosticCollector<JavaFileObject> diagnosticListener = new DiagnosticCollector<>();
-      Context context = createContext();
-      Arguments arguments = Arguments.instance(javacTask.getContext());
-      JavacTask newTask =
-          JavacTool.create()
-              .getTask(
-                  CharStreams.nullWriter(),
-                  state.context.get(JavaFileManager.class),
-                  diagnosticListener,
-                  extraOptions,
-                  arguments.getClassNames(),
-                  fileObjects,
-                  context);
+      JavacTask newTask = createTask(extraOptions, diagnosticListener);
       try {
         newTask.analyze();
       } catch (IOException e) {
@@ -1377,6 +1478,47 @@ public final class SuggestedFixes {
       return Result.create(diagnosticListener.getDiagnostics());
     }
 
+    /**
+     * Recompiles the files with the fix applied, but only attributes and flow-analyzes the modified
+     * compilation unit. The other compilation units are parsed and entered, so errors in their
+     * declarations are reported, but errors in their method bodies and initializers are not.
+     */
+    public Result compileModifiedCompilationUnit(ImmutableList<String> extraOptions) {
+      if (modifiedFile == null) {
+        return compile(extraOptions);
+      }
+      DiagnosticCollector<JavaFileObject> diagnosticListener = new DiagnosticCollector<>();
+      JavacTaskImpl newTask = (JavacTaskImpl) createTask(extraOptions, diagnosticListener);
+      URI modifiedFileUri = modifiedFile.toUri();
+      List<Element> modifiedClasses = new ArrayList<>();
+      for (Element element : newTask.enter()) {
+        if (element instanceof ClassSymbol
+            && ((ClassSymbol) element).sourcefile.toUri().equals(modifiedFileUri)) {
+          modifiedClasses.add(element);
+        }
+      }
+      // A compilation unit without classes, like a package-info.java file, is analyzed along with
+      // everything else.
+      newTask.analyze(modifiedClasses.isEmpty() ? null : modifiedClasses);
+      return Result.create(diagnosticListener.getDiagnostics());
+    }
+
+    private JavacTask createTask(
+        ImmutableList<String> extraOptions,
+        DiagnosticCollector<JavaFileObject> diagnosticListener) {
+      Context context = createContext();
+      Arguments arguments = Arguments.instance(javacTask.getContext());
+      return JavacTool.create()
+          .getTask(
+              CharStreams.nullWriter(),
+              state.context.get(JavaFileManager.class),
+              diagnosticListener,
+              extraOptions,
+              arguments.getClassNames(),
+              fileObjects,
+              context);
+    }
+
     private Context createContext() {
       Context context = new Context();
       Options options = Options.instance(context);
@@ -1411,12 +1553,24 @@ public final class SuggestedFixes {
       }
       Arguments arguments = Arguments.instance(javacTask.getContext());
       ArrayList<JavaFileObject> fileObjects = new ArrayList<>(arguments.getFileObjects());
-      applyFix(fix, state, fileObjects);
-      return new FixCompiler(fileObjects, state, javacTask);
+      JavaFileObject modifiedFile = applyFix(fix, state, fileObjects);
+      return new FixCompiler(
+          fileObjects,
+          state,
+          javacTask,
+          modifiedFile,
+          modifiedFile == null
+              ? null
+              : modifiedFile.getCharContent(/* ignoreEncodingErrors= */ false).toString());
     }
 
-    private static void applyFix(Fix fix, VisitorState state, ArrayList<JavaFileObject> fileObjects)
-        throws IOException {
+    /**
+     * Replaces the modified compilation unit in {@code fileObjects} with one with the fix applied,
+     * and returns it, or {@code null} if the compilation unit isn't one of the files.
+     */
+    @Nullable
+    private static JavaFileObject applyFix(
+        Fix fix, VisitorState state, ArrayList<JavaFileObject> fileObjects) throws IOException {
 
       JCCompilationUnit compilationUnit = (JCCompilationUnit) state.getPath().getCompilationUnit();
       JavaFileObject modifiedFile = compilationUnit.getSourceFile();
@@ -1424,26 +1578,27 @@ public final class SuggestedFixes {
           modifiedFile.getCharContent(/* ignoreEncodingErrors= */ false);
 
       URI modifiedFileUri = getModifiedFileUri(state);
-      IntStream.range(0, fileObjects.size())
-          .filter(i -> fileObjects.get(i).toUri().equals(modifiedFileUri))
-          .findFirst()
-          .ifPresent(
-              i -> {
-                DescriptionBasedDiff diff =
-                    DescriptionBasedDiff.create(
-                        compilationUnit, ImportOrganizer.STATIC_FIRST_ORGANIZER);
-                diff.handleFix(fix);
-                SourceFile fixSource = new SourceFile(modifiedFile.getName(), modifiedFileContent);
-                diff.applyDifferences(fixSource);
-                fileObjects.set(
-                    i,
-                    new SimpleJavaFileObject(sourceURI(modifiedFile.toUri()), Kind.SOURCE) {
-                      @Override
-                      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
-                        return fixSource.getAsSequence();
-                      }
-                    });
-              });
+      OptionalInt index =
+          IntStream.range(0, fileObjects.size())
+              .filter(i -> fileObjects.get(i).toUri().equals(modifiedFileUri))
+              .findFirst();
+      if (index.isEmpty()) {
+        return null;
+      }
+      DescriptionBasedDiff diff =
+          DescriptionBasedDiff.create(compilationUnit, ImportOrganizer.STATIC_FIRST_ORGANIZER);
+      diff.handleFix(fix);
+      SourceFile fixSource = new SourceFile(modifiedFile.getName(), modifiedFileContent);
+      diff.applyDifferences(fixSource);
+      JavaFileObject fixedFile =
+          new SimpleJavaFileObject(sourceURI(modifiedFile.toUri()), Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+              return fixSource.getAsSequence();
+            }
+          };
+      fileObjects.set(index.getAsInt(), fixedFile);
+      return fixedFile;
     }
 
     /** The result of the compilation. */
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.matchers;
+
+import com.google.errorprone.VisitorState;
+import com.sun.source.tree.Tree;
+
+/**
+ * A matcher built by {@link Matchers#allOf} or {@link Matchers#anyOf}, whose parts can be
+ * inspected, for example to find the method matchers that an invocation must satisfy.
+ */
+public final class CompositeMatcher<T extends Tree> implements Matcher<T> {
+
+  private final boolean allOf;
+  private final Iterable<? extends Matcher<? super T>> matchers;
+
+  CompositeMatcher(boolean allOf, Iterable<? extends Matcher<? super T>> matchers) {
+    this.allOf = allOf;
+    this.matchers = matchers;
+  }
+
+  /** Returns whether this matches when all of its matchers do, rather than any of them. */
+  public boolean isAllOf() {
+    return allOf;
+  }
+
+  public Iterable<? extends Matcher<? super T>> matchers() {
+    return matchers;
+  }
+
+  @Override
+  public boolean matches(T t, VisitorState state) {
+    // allOf stops at the first matcher that doesn't match, anyOf at the first one that does.
+    for (Matcher<? super T> matcher : matchers) {
+      if (matcher.matches(t, state) != allOf) {
+        return !allOf;
+      }
+    }
+    return allOf;
+  }
+}
@@ -132,14 +132,7 @@ public class Matchers {
    */
   @SafeVarargs
   public static <T extends Tree> Matcher<T> allOf(Matcher<? super T>... matchers) {
-    return (t, state) -> {
-      for (Matcher<? super T> matcher : matchers) {
-        if (!matcher.matches(t, state)) {
-          return false;
-        }
-      }
-      return true;
-    };
+    return new CompositeMatcher<T>(/* allOf= */ true, Arrays.<Matcher<? super T>>asList(matchers));
   }
 
   /**
@@ -147,14 +140,7 @@ public class Matchers {
    * given matchers do.
    */
   public static <T extends Tree> Matcher<T> allOf(Iterable<? extends Matcher<? super T>> matchers) {
-    return (t, state) -> {
-      for (Matcher<? super T> matcher : matchers) {
-        if (!matcher.matches(t, state)) {
-          return false;
-        }
-      }
-      return true;
-    };
+    return new CompositeMatcher<>(/* allOf= */ true, matchers);
   }
 
   /**
@@ -162,14 +148,7 @@ public class Matchers {
    * given matchers do.
    */
   public static <T extends Tree> Matcher<T> anyOf(Iterable<? extends Matcher<? super T>> matchers) {
-    return (t, state) -> {
-      for (Matcher<? super T> matcher : matchers) {
-        if (matcher.matches(t, state)) {
-          return true;
-        }
-      }
-      return false;
-    };
+    return new CompositeMatcher<>(/* allOf= */ false, matchers);
   }
 
   @SafeVarargs
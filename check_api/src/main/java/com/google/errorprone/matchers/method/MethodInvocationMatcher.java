@@ -27,16 +27,20 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Table;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.matchers.CompositeMatcher;
 import com.google.errorprone.matchers.Matcher;
+import com.google.errorprone.matchers.Matchers;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import com.sun.tools.javac.code.Type;
 import java.util.ArrayDeque;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -308,6 +312,15 @@ public class MethodInvocationMatcher {
   /** A Node is just a type synonym for Object - it's just a unique pointer. */
   private static class Node {}
 
+  /** An accept state for the rules with the given label, in a graph compiled from labeled rules. */
+  private static final class LabeledAccept extends Node {
+    final int label;
+
+    LabeledAccept(int label) {
+      this.label = label;
+    }
+  }
+
   /**
    * A map describing where to look next based on the current token, and a default if none match.
    */
@@ -406,6 +419,173 @@ public class MethodInvocationMatcher {
     }
   }
 
+  /**
+   * Finds which of several labeled sets of rules match a method invocation. See {@link
+   * #compileLabeled}.
+   */
+  public interface LabeledMatcher {
+    /**
+     * Sets the bit for the label of each set of rules that has a rule matching {@code tree} in
+     * {@code matched}.
+     */
+    void match(ExpressionTree tree, VisitorState state, BitSet matched);
+  }
+
+  /** A compiled graph of labeled rules; see {@link LabeledMatcher}. */
+  private interface LabelCollector {
+    void collect(Context ctx, VisitorState state, BitSet matched);
+  }
+
+  private static final LabelCollector NO_LABELS = (ctx, state, matched) -> {};
+
+  /**
+   * Returns rules that together match every method invocation matched by {@code matcher}. Rules are
+   * derived from matchers created with the fluent API from {@link MethodMatchers}, and from {@link
+   * Matchers#allOf} and {@link Matchers#anyOf} of them. The rules only constrain the kind and name
+   * of the invoked method, so they may also match other invocations. For any other matcher, the
+   * rule matches everything.
+   */
+  public static ImmutableList<Rule> rulesFor(Matcher<?> matcher) {
+    if (matcher instanceof MethodMatcherImpl) {
+      return ImmutableList.of(((MethodMatcherImpl) matcher).asRule());
+    }
+    if (matcher instanceof CompositeMatcher) {
+      CompositeMatcher<?> composite = (CompositeMatcher<?>) matcher;
+      if (!composite.isAllOf()) {
+        ImmutableList.Builder<Rule> rules = ImmutableList.builder();
+        for (Matcher<?> alternative : composite.matchers()) {
+          rules.addAll(rulesFor(alternative));
+        }
+        return rules.build();
+      }
+      // The rules of any one of the matchers also cover everything that all of them match.
+      for (Matcher<?> part : composite.matchers()) {
+        ImmutableList<Rule> rules = rulesFor(part);
+        if (rules.stream().noneMatch(rule -> rule.required().isEmpty())) {
+          return rules;
+        }
+      }
+    }
+    return ImmutableList.of(Rule.create(ImmutableMap.of()));
+  }
+
+  /**
+   * Constructs a single matcher for many sets of rules, identified by their index in {@code
+   * rulesByLabel}, which finds all of the sets that have a rule matching a method invocation. This
+   * is equivalent to, but much cheaper than, {@link #compile compiling} and evaluating each set
+   * separately.
+   */
+  public static LabeledMatcher compileLabeled(List<? extends Iterable<Rule>> rulesByLabel) {
+    BitSet alwaysMatched = new BitSet();
+    Table<Node, Optional<Token>, Node> nfa = HashBasedTable.create();
+    ImmutableSet.Builder<Node> rootsBuilder = ImmutableSet.builder();
+    for (int label = 0; label < rulesByLabel.size(); label++) {
+      Node accept = new LabeledAccept(label);
+      for (Rule rule : rulesByLabel.get(label)) {
+        if (rule.required().isEmpty()) {
+          alwaysMatched.set(label);
+          continue;
+        }
+        Node root = new Node();
+        rootsBuilder.add(root);
+        addRule(nfa, root, rule, accept);
+      }
+    }
+    ImmutableSet<Node> roots = rootsBuilder.build();
+    if (roots.isEmpty()) {
+      return (tree, state, matched) -> matched.or(alwaysMatched);
+    }
+    Map<Set<Node>, NodeWithDefault> mappings = toDfa(nfa, roots);
+    LabelCollector collector = traverseLabeled(mappings, mappings.get(roots), new HashMap<>());
+    return (tree, state, matched) -> {
+      matched.or(alwaysMatched);
+      Optional<Context> ctx = Context.create(tree);
+      if (ctx.isPresent()) {
+        collector.collect(ctx.get(), state, matched);
+      }
+    };
+  }
+
+  /**
+   * Like {@link GraphMatcher#traverse}, but collects the labels of every accept state that can be
+   * reached, instead of stopping at the first one. Subgraphs are shared between the states that
+   * lead to them.
+   */
+  private static LabelCollector traverseLabeled(
+      Map<Set<Node>, NodeWithDefault> mappings,
+      NodeWithDefault root,
+      Map<Set<Node>, LabelCollector> traversed) {
+    LabelCollector result = traversed.get(root.states);
+    if (result != null) {
+      return result;
+    }
+    BitSet labels = new BitSet();
+    for (Node node : root.states) {
+      if (node instanceof LabeledAccept) {
+        labels.set(((LabeledAccept) node).label);
+      }
+    }
+    LabelCollector defaultBehavior =
+        root.def == null ? NO_LABELS : traverseLabeled(mappings, mappings.get(root.def), traversed);
+    SetMultimap<Token, Node> children = root.mapping;
+    LabelCollector next;
+    if (children.isEmpty()) {
+      next = defaultBehavior;
+    } else {
+      ImmutableSet<TokenType> tokenTypes =
+          children.keySet().stream().map(Token::type).collect(ImmutableSet.toImmutableSet());
+      Preconditions.checkArgument(
+          tokenTypes.size() == 1,
+          "Found mismatched token types in node with mappings %s",
+          children);
+      TokenType type = tokenTypes.iterator().next();
+      Map<Object, LabelCollector> lookup = new HashMap<>();
+      @SuppressWarnings("UnstableApiUsage")
+      Set<Map.Entry<Token, Set<Node>>> entries = Multimaps.asMap(children).entrySet();
+      for (Map.Entry<Token, Set<Node>> entry : entries) {
+        lookup.put(
+            entry.getKey().comparisonKey(),
+            traverseLabeled(mappings, mappings.get(entry.getValue()), traversed));
+      }
+      if (type == TokenType.RECEIVER_SUPERTYPE) {
+        next =
+            (ctx, state, matched) -> {
+              Type receiverType = (Type) TokenType.RECEIVER_SUPERTYPE.extract(ctx, state);
+              // Every edge for a supertype of the receiver can lead to more labels, and each of
+              // them also leads to everything that the default does.
+              boolean any = false;
+              for (Map.Entry<Object, LabelCollector> child : lookup.entrySet()) {
+                if (ASTHelpers.isSubtype(
+                    receiverType, state.getTypeFromString((String) child.getKey()), state)) {
+                  child.getValue().collect(ctx, state, matched);
+                  any = true;
+                }
+              }
+              if (!any) {
+                defaultBehavior.collect(ctx, state, matched);
+              }
+            };
+      } else {
+        next =
+            (ctx, state, matched) -> {
+              LabelCollector child = lookup.get(type.extract(ctx, state));
+              (child != null ? child : defaultBehavior).collect(ctx, state, matched);
+            };
+      }
+    }
+    if (labels.isEmpty()) {
+      result = next;
+    } else {
+      result =
+          (ctx, state, matched) -> {
+            matched.or(labels);
+            next.collect(ctx, state, matched);
+          };
+    }
+    traversed.put(root.states, result);
+    return result;
+  }
+
   /**
    * Constructs a Matcher that matches for method invocations (including constructor invocations)
    * satisfying at least one of the given Rule specifications. For an easy way to create such Rules,
@@ -429,40 +609,57 @@ public class MethodInvocationMatcher {
     Table<Node, Optional<Token>, Node> nfa = HashBasedTable.create();
     ImmutableSet.Builder<Node> rootsBuilder = ImmutableSet.builder();
     for (Rule rule : rules) {
-      ImmutableMap<TokenType, ? extends Set<Token>> required = rule.required();
-      int numTokens = required.size();
-      if (numTokens == 0) {
+      if (rule.required().isEmpty()) {
         // Forget this whole graph business if one of the alternatives is "anything". This isn't
         // just an optimization: it simplifies building the graph if we know no rules are empty.
         return (tree, state) -> true;
       }
       Node root = new Node();
       rootsBuilder.add(root);
-      Node src = root;
-      int tokensHandled = 0;
-      for (TokenType type : TokenType.values()) {
-        Optional<Set<Token>> labels = Optional.ofNullable(required.get(type));
-        if (labels.isPresent()) {
-          tokensHandled++;
-        }
-        boolean lastToken = tokensHandled == numTokens;
-        Node dst = lastToken ? ACCEPT : new Node();
-        if (labels.isPresent()) {
-          for (Token label : labels.get()) {
-            nfa.put(src, Optional.of(label), dst);
-          }
-        } else {
-          nfa.put(src, Optional.empty(), dst);
-        }
+      addRule(nfa, root, rule, ACCEPT);
+    }
+    ImmutableSet<Node> roots = rootsBuilder.build();
+    Map<Set<Node>, NodeWithDefault> mappings = toDfa(nfa, roots);
+
+    // At this point, mappings has all the information we need, but it's burdened with a bunch of
+    // now-unnecessary Set<Node> objects for its map keys. We want to replace those with something
+    // lightweight, and convert the indirect references through mappings to a direct pointer lookup.
+    return GraphMatcher.from(mappings, mappings.get(roots));
+  }
 
-        if (lastToken) {
-          break; // No transitions out of the accept state.
+  /** Adds a path from {@code root} to {@code accept} for a non-empty rule to the NFA. */
+  private static void addRule(
+      Table<Node, Optional<Token>, Node> nfa, Node root, Rule rule, Node accept) {
+    ImmutableMap<TokenType, ? extends Set<Token>> required = rule.required();
+    int numTokens = required.size();
+    Node src = root;
+    int tokensHandled = 0;
+    for (TokenType type : TokenType.values()) {
+      Optional<Set<Token>> labels = Optional.ofNullable(required.get(type));
+      if (labels.isPresent()) {
+        tokensHandled++;
+      }
+      boolean lastToken = tokensHandled == numTokens;
+      Node dst = lastToken ? accept : new Node();
+      if (labels.isPresent()) {
+        for (Token label : labels.get()) {
+          nfa.put(src, Optional.of(label), dst);
         }
+      } else {
+        nfa.put(src, Optional.empty(), dst);
+      }
 
-        src = dst;
+      if (lastToken) {
+        break; // No transitions out of the accept state.
       }
+
+      src = dst;
     }
-    ImmutableSet<Node> roots = rootsBuilder.build();
+  }
+
+  /** Converts an NFA with the given root states to an equivalent DFA. */
+  private static Map<Set<Node>, NodeWithDefault> toDfa(
+      Table<Node, Optional<Token>, Node> nfa, ImmutableSet<Node> roots) {
 
     // TODO(amalloy): When converting to a DFA, we could use the information that there is
     // exactly one accept state
@@ -514,11 +711,7 @@ public class MethodInvocationMatcher {
       Collection<Set<Node>> values = Multimaps.asMap(destinations).values();
       open.addAll(values);
     }
-
-    // At this point, mappings has all the information we need, but it's burdened with a bunch of
-    // now-unnecessary Set<Node> objects for its map keys. We want to replace those with something
-    // lightweight, and convert the indirect references through mappings to a direct pointer lookup.
-    return GraphMatcher.from(mappings, mappings.get(roots));
+    return mappings;
   }
 
   private MethodInvocationMatcher() {}
@@ -19,10 +19,16 @@ package com.google.errorprone.matchers.method;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.MethodKind;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.Rule;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.Token;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.TokenType;
 import com.google.errorprone.matchers.method.MethodMatchers.AnyMethodMatcher;
 import com.google.errorprone.matchers.method.MethodMatchers.ConstructorClassMatcher;
 import com.google.errorprone.matchers.method.MethodMatchers.ConstructorMatcher;
@@ -40,7 +46,9 @@ import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.tools.javac.code.Type;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -58,6 +66,10 @@ final class MethodMatcherImpl
    * The fluent API methods in this class build up a list of constraints, which can either be used
    * as a predicate (by calling {@link #matches(MatchState, VisitorState)} on each Constraint in the
    * list), or exported as a rule set for {@link MethodInvocationMatcher#compile(Iterable)}.
+   *
+   * <p>Constraints that can be expressed as {@link Token}s also record them, and {@link #asRule}
+   * exports those as a {@link Rule}. Since other constraints are left out, the rule may match more
+   * invocations than this matcher, but never fewer.
    */
   private interface Constraint {
     /** Tests whether this Constraint is satisfied with the method invocation we're checking. */
@@ -71,29 +83,78 @@ final class MethodMatcherImpl
               (m, s) -> {
                 // Handled by base matcher.
                 return true;
-              }));
+              }),
+          ImmutableMap.of());
   static final ConstructorMatcher CONSTRUCTOR =
-      new MethodMatcherImpl(BaseMethodMatcher.CONSTRUCTOR, ImmutableList.of((m, s) -> true));
+      new MethodMatcherImpl(
+          BaseMethodMatcher.CONSTRUCTOR,
+          ImmutableList.of((m, s) -> true),
+          kinds(MethodKind.CONSTRUCTOR));
   static final StaticMethodMatcher STATIC_METHOD =
       new MethodMatcherImpl(
-          BaseMethodMatcher.METHOD, ImmutableList.of((m, s) -> m.sym().isStatic()));
+          BaseMethodMatcher.METHOD,
+          ImmutableList.of((m, s) -> m.sym().isStatic()),
+          kinds(MethodKind.STATIC));
+  // Constructors aren't static, so explicit constructor invocations like this() also match.
   static final InstanceMethodMatcher INSTANCE_METHOD =
       new MethodMatcherImpl(
-          BaseMethodMatcher.METHOD, ImmutableList.of((m, s) -> !m.sym().isStatic()));
+          BaseMethodMatcher.METHOD,
+          ImmutableList.of((m, s) -> !m.sym().isStatic()),
+          kinds(MethodKind.INSTANCE, MethodKind.CONSTRUCTOR));
 
   private final BaseMethodMatcher baseMatcher;
 
   private final ImmutableList<Constraint> constraints;
 
+  /** The values allowed for each token type by the constraints that can be expressed as tokens. */
+  private final ImmutableMap<TokenType, ImmutableSet<Token>> tokens;
+
   // All constructors private: only static final instances are legal starting points for chains.
-  private MethodMatcherImpl(BaseMethodMatcher baseMatcher, ImmutableList<Constraint> matchers) {
+  private MethodMatcherImpl(
+      BaseMethodMatcher baseMatcher,
+      ImmutableList<Constraint> matchers,
+      ImmutableMap<TokenType, ImmutableSet<Token>> tokens) {
     this.baseMatcher = baseMatcher;
     this.constraints = matchers;
+    this.tokens = tokens;
+  }
+
+  private static ImmutableMap<TokenType, ImmutableSet<Token>> kinds(MethodKind... kinds) {
+    ImmutableSet.Builder<Token> tokens = ImmutableSet.builder();
+    for (MethodKind kind : kinds) {
+      tokens.add(Token.Kind.create(kind));
+    }
+    return ImmutableMap.of(TokenType.KIND, tokens.build());
   }
 
   private MethodMatcherImpl append(Constraint c) {
     return new MethodMatcherImpl(
-        baseMatcher, ImmutableList.<Constraint>builder().addAll(this.constraints).add(c).build());
+        baseMatcher,
+        ImmutableList.<Constraint>builder().addAll(this.constraints).add(c).build(),
+        tokens);
+  }
+
+  /** Appends a constraint that only allows the given values for a token type. */
+  private MethodMatcherImpl append(Constraint c, TokenType type, ImmutableSet<Token> allowed) {
+    Map<TokenType, ImmutableSet<Token>> newTokens = new LinkedHashMap<>(tokens);
+    newTokens.merge(type, allowed, (a, b) -> Sets.intersection(a, b).immutableCopy());
+    return new MethodMatcherImpl(
+        baseMatcher,
+        ImmutableList.<Constraint>builder().addAll(this.constraints).add(c).build(),
+        ImmutableMap.copyOf(newTokens));
+  }
+
+  /** Returns a rule that matches at least every invocation that this matcher matches. */
+  Rule asRule() {
+    return Rule.create(tokens);
+  }
+
+  private static ImmutableSet<Token> names(Iterable<String> names) {
+    ImmutableSet.Builder<Token> tokens = ImmutableSet.builder();
+    for (String name : names) {
+      tokens.add(Token.MethodName.create(name));
+    }
+    return tokens.build();
   }
 
   @Override
@@ -190,7 +251,10 @@ final class MethodMatcherImpl
         !name.contains("(") && !name.contains(")"),
         "method name (%s) cannot contain parentheses; use \"foo\" instead of \"foo()\"",
         name);
-    return append((m, s) -> m.sym().getSimpleName().contentEquals(name));
+    return append(
+        (m, s) -> m.sym().getSimpleName().contentEquals(name),
+        TokenType.METHOD_NAME,
+        names(ImmutableSet.of(name)));
   }
 
   @Override
@@ -201,7 +265,10 @@ final class MethodMatcherImpl
   @Override
   public MethodNameMatcher namedAnyOf(Iterable<String> names) {
     ImmutableSet<String> expected = ImmutableSet.copyOf(names);
-    return append((m, s) -> expected.contains(m.sym().getSimpleName().toString()));
+    return append(
+        (m, s) -> expected.contains(m.sym().getSimpleName().toString()),
+        TokenType.METHOD_NAME,
+        names(expected));
   }
 
   @Override
@@ -222,10 +289,16 @@ final class MethodMatcherImpl
   public MethodSignatureMatcher withSignature(String signature) {
     // TODO(cushon): build a way to match signatures (including varargs ones!) that doesn't
     // rely on MethodSymbol#toString().
-    return append(
+    Constraint constraint =
         (m, s) ->
             m.sym().getSimpleName().contentEquals(signature)
-                || m.sym().toString().equals(signature));
+                || m.sym().toString().equals(signature);
+    if (signature.contains("(")) {
+      // The name can't reliably be extracted from the signature, e.g. of generic methods.
+      return append(constraint);
+    }
+    // Symbols' string forms always have parentheses, so only the name can match.
+    return append(constraint, TokenType.METHOD_NAME, names(ImmutableSet.of(signature)));
   }
 
   @Override
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.scanner;
+
+import com.google.errorprone.ErrorProneFlags;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Creates {@link BugChecker} instances, and hands out the same instance of an {@link Immutable}
+ * checker to every compilation that uses the same {@link ErrorProneFlags}.
+ *
+ * <p>Long-lived compiler daemons run many compilations in one JVM, and would otherwise look up the
+ * constructor of, and instantiate, every enabled checker for each of them. The constructor lookup
+ * is cached for every checker, but only checkers that are annotated {@code @Immutable} are shared;
+ * all others are created fresh for each compilation.
+ *
+ * <p>{@link BugChecker} itself is not immutable, since subclasses may add mutable state, so the
+ * Immutable check rejects every {@code @Immutable} checker. A checker that is shared therefore also
+ * suppresses the Immutable check, and says why it is safe: usually that it declares no instance
+ * fields, so that its only state is the {@link BugChecker} state derived from its {@code
+ * BugPattern}.
+ */
+final class BugCheckerInstances {
+
+  private static final ClassValue<Constructor> CONSTRUCTORS =
+      new ClassValue<Constructor>() {
+        @Override
+        protected Constructor computeValue(Class<?> checkerClass) {
+          return new Constructor(checkerClass.asSubclass(BugChecker.class));
+        }
+      };
+
+  /** Returns an instance of {@code checkerClass}, configured with {@code flags}. */
+  static BugChecker get(Class<? extends BugChecker> checkerClass, ErrorProneFlags flags) {
+    Constructor constructor = CONSTRUCTORS.get(checkerClass);
+    if (constructor.instances == null) {
+      return constructor.newInstance(flags);
+    }
+    // Checkers without a flags constructor behave the same whatever the flags are.
+    ErrorProneFlags key = constructor.takesFlags ? flags : ErrorProneFlags.empty();
+    return constructor.instances.computeIfAbsent(key, constructor::newInstance);
+  }
+
+  /** The constructor of a checker, and the reusable instances of an immutable checker. */
+  private static final class Constructor {
+    private final Class<? extends BugChecker> checkerClass;
+    private final boolean takesFlags;
+
+    /** Takes the flags, and ignores them if the checker has a zero-arg constructor instead. */
+    @Nullable private final MethodHandle handle;
+
+    /** The instances of an immutable checker, by the flags they were created with; else null. */
+    @Nullable private final Map<ErrorProneFlags, BugChecker> instances;
+
+    Constructor(Class<? extends BugChecker> checkerClass) {
+      this.checkerClass = checkerClass;
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      MethodHandle handle;
+      boolean takesFlags;
+      try {
+        // Invoke BugChecker(ErrorProneFlags) constructor, if it exists.
+        handle =
+            lookup.findConstructor(
+                checkerClass, MethodType.methodType(void.class, ErrorProneFlags.class));
+        takesFlags = true;
+      } catch (NoSuchMethodException | IllegalAccessException e) {
+        // If no flags constructor, invoke default constructor.
+        try {
+          handle =
+              MethodHandles.dropArguments(
+                  lookup.findConstructor(checkerClass, MethodType.methodType(void.class)),
+                  0,
+                  ErrorProneFlags.class);
+          takesFlags = false;
+        } catch (NoSuchMethodException | IllegalAccessException e2) {
+          handle = null;
+          takesFlags = false;
+        }
+      }
+      this.handle = handle;
+      this.takesFlags = takesFlags;
+      this.instances =
+          handle != null && checkerClass.isAnnotationPresent(Immutable.class)
+              ? new ConcurrentHashMap<>()
+              : null;
+    }
+
+    BugChecker newInstance(ErrorProneFlags flags) {
+      if (handle == null) {
+        throw new LinkageError(
+            String.format(
+                "Could not instantiate BugChecker %s: Are both the class and the zero-arg"
+                    + " constructor public?",
+                checkerClass));
+      }
+      try {
+        return (BugChecker) handle.invoke(flags);
+      } catch (Throwable e) {
+        throw new LinkageError("Could not instantiate BugChecker.", e);
+      }
+    }
+  }
+
+  private BugCheckerInstances() {}
+}
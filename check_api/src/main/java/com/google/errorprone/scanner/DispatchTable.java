@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.scanner;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.primitives.Ints;
+import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.AnnotatedTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.AnnotationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ArrayAccessTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ArrayTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.AssertTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.AssignmentTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.BinaryTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.BlockTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.BreakTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.CaseTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.CatchTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ClassTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.CompilationUnitTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.CompoundAssignmentTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ConditionalExpressionTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ContinueTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.DoWhileLoopTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.EmptyStatementTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.EnhancedForLoopTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ExpressionStatementTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ForLoopTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.IdentifierTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.IfTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ImportTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.InstanceOfTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.IntersectionTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.LabeledStatementTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.LambdaExpressionTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.LiteralTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MemberSelectTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ModifiersTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewArrayTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ParameterizedTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ParenthesizedTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.PrimitiveTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.SwitchTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.SynchronizedTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.ThrowTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.TryTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.TypeCastTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.TypeParameterTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.UnaryTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.UnionTypeTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.WhileLoopTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.WildcardTreeMatcher;
+import com.google.errorprone.matchers.Suppressible;
+import com.sun.source.tree.AnnotatedTypeTree;
+import com.sun.source.tree.AnnotationTree;
+import com.sun.source.tree.ArrayAccessTree;
+import com.sun.source.tree.ArrayTypeTree;
+import com.sun.source.tree.AssertTree;
+import com.sun.source.tree.AssignmentTree;
+import com.sun.source.tree.BinaryTree;
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.BreakTree;
+import com.sun.source.tree.CaseTree;
+import com.sun.source.tree.CatchTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.CompoundAssignmentTree;
+import com.sun.source.tree.ConditionalExpressionTree;
+import com.sun.source.tree.ContinueTree;
+import com.sun.source.tree.DoWhileLoopTree;
+import com.sun.source.tree.EmptyStatementTree;
+import com.sun.source.tree.EnhancedForLoopTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ForLoopTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.IfTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.InstanceOfTree;
+import com.sun.source.tree.IntersectionTypeTree;
+import com.sun.source.tree.LabeledStatementTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.LiteralTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.ModifiersTree;
+import com.sun.source.tree.NewArrayTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.PrimitiveTypeTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.SwitchTree;
+import com.sun.source.tree.SynchronizedTree;
+import com.sun.source.tree.ThrowTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.TryTree;
+import com.sun.source.tree.TypeCastTree;
+import com.sun.source.tree.TypeParameterTree;
+import com.sun.source.tree.UnaryTree;
+import com.sun.source.tree.UnionTypeTree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.tree.WhileLoopTree;
+import com.sun.source.tree.WildcardTree;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precomputed mapping from each {@link Tree.Kind} to the indices of the checkers that match trees
+ * of that kind.
+ *
+ * <p>The table only depends on the classes of the checkers, so it can be computed once for a set of
+ * enabled checks and shared by every {@link ErrorProneScanner} created for that set.
+ */
+final class DispatchTable {
+
+  /** The {@code *Matcher} interface in {@link BugChecker} for each tree type. */
+  private static final ImmutableMap<Class<? extends Tree>, Class<? extends Suppressible>>
+      MATCHER_TYPES =
+          ImmutableMap.<Class<? extends Tree>, Class<? extends Suppressible>>builder()
+              .put(AnnotatedTypeTree.class, AnnotatedTypeTreeMatcher.class)
+              .put(AnnotationTree.class, AnnotationTreeMatcher.class)
+              .put(ArrayAccessTree.class, ArrayAccessTreeMatcher.class)
+              .put(ArrayTypeTree.class, ArrayTypeTreeMatcher.class)
+              .put(AssertTree.class, AssertTreeMatcher.class)
+              .put(AssignmentTree.class, AssignmentTreeMatcher.class)
+              .put(BinaryTree.class, BinaryTreeMatcher.class)
+              .put(BlockTree.class, BlockTreeMatcher.class)
+              .put(BreakTree.class, BreakTreeMatcher.class)
+              .put(CaseTree.class, CaseTreeMatcher.class)
+              .put(CatchTree.class, CatchTreeMatcher.class)
+              .put(ClassTree.class, ClassTreeMatcher.class)
+              .put(CompilationUnitTree.class, CompilationUnitTreeMatcher.class)
+              .put(CompoundAssignmentTree.class, CompoundAssignmentTreeMatcher.class)
+              .put(ConditionalExpressionTree.class, ConditionalExpressionTreeMatcher.class)
+              .put(ContinueTree.class, ContinueTreeMatcher.class)
+              .put(DoWhileLoopTree.class, DoWhileLoopTreeMatcher.class)
+              .put(EmptyStatementTree.class, EmptyStatementTreeMatcher.class)
+              .put(EnhancedForLoopTree.class, EnhancedForLoopTreeMatcher.class)
+              .put(ExpressionStatementTree.class, ExpressionStatementTreeMatcher.class)
+              .put(ForLoopTree.class, ForLoopTreeMatcher.class)
+              .put(IdentifierTree.class, IdentifierTreeMatcher.class)
+              .put(IfTree.class, IfTreeMatcher.class)
+              .put(ImportTree.class, ImportTreeMatcher.class)
+              .put(InstanceOfTree.class, InstanceOfTreeMatcher.class)
+              .put(IntersectionTypeTree.class, IntersectionTypeTreeMatcher.class)
+              .put(LabeledStatementTree.class, LabeledStatementTreeMatcher.class)
+              .put(LambdaExpressionTree.class, LambdaExpressionTreeMatcher.class)
+              .put(LiteralTree.class, LiteralTreeMatcher.class)
+              .put(MemberReferenceTree.class, MemberReferenceTreeMatcher.class)
+              .put(MemberSelectTree.class, MemberSelectTreeMatcher.class)
+              .put(MethodInvocationTree.class, MethodInvocationTreeMatcher.class)
+              .put(MethodTree.class, MethodTreeMatcher.class)
+              .put(ModifiersTree.class, ModifiersTreeMatcher.class)
+              .put(NewArrayTree.class, NewArrayTreeMatcher.class)
+              .put(NewClassTree.class, NewClassTreeMatcher.class)
+              .put(ParameterizedTypeTree.class, ParameterizedTypeTreeMatcher.class)
+              .put(ParenthesizedTree.class, ParenthesizedTreeMatcher.class)
+              .put(PrimitiveTypeTree.class, PrimitiveTypeTreeMatcher.class)
+              .put(ReturnTree.class, ReturnTreeMatcher.class)
+              .put(SwitchTree.class, SwitchTreeMatcher.class)
+              .put(SynchronizedTree.class, SynchronizedTreeMatcher.class)
+              .put(ThrowTree.class, ThrowTreeMatcher.class)
+              .put(TryTree.class, TryTreeMatcher.class)
+              .put(TypeCastTree.class, TypeCastTreeMatcher.class)
+              .put(TypeParameterTree.class, TypeParameterTreeMatcher.class)
+              .put(UnaryTree.class, UnaryTreeMatcher.class)
+              .put(UnionTypeTree.class, UnionTypeTreeMatcher.class)
+              .put(VariableTree.class, VariableTreeMatcher.class)
+              .put(WhileLoopTree.class, WhileLoopTreeMatcher.class)
+              .put(WildcardTree.class, WildcardTreeMatcher.class)
+              .buildOrThrow();
+
+  private static final int[] NO_CHECKERS = new int[0];
+
+  private final int checkerCount;
+  private final int[][] checkersByKind;
+
+  private DispatchTable(int checkerCount, int[][] checkersByKind) {
+    this.checkerCount = checkerCount;
+    this.checkersByKind = checkersByKind;
+  }
+
+  /**
+   * Creates a dispatch table for the given checker classes. The indices returned by {@link
+   * #checkersFor} refer to positions in {@code checkerClasses}.
+   */
+  static DispatchTable create(List<? extends Class<? extends BugChecker>> checkerClasses) {
+    Tree.Kind[] kinds = Tree.Kind.values();
+    int[][] checkersByKind = new int[kinds.length][];
+    for (Tree.Kind kind : kinds) {
+      checkersByKind[kind.ordinal()] = checkersFor(kind.asInterface(), checkerClasses);
+    }
+    return new DispatchTable(checkerClasses.size(), checkersByKind);
+  }
+
+  /** Creates a dispatch table for the classes of the given checkers. */
+  static DispatchTable forCheckers(List<BugChecker> checkers) {
+    ImmutableList.Builder<Class<? extends BugChecker>> checkerClasses = ImmutableList.builder();
+    for (BugChecker checker : checkers) {
+      checkerClasses.add(checker.getClass());
+    }
+    return create(checkerClasses.build());
+  }
+
+  private static int[] checkersFor(
+      Class<? extends Tree> treeType, List<? extends Class<? extends BugChecker>> checkerClasses) {
+    Class<? extends Suppressible> matcherType =
+        treeType == null ? null : MATCHER_TYPES.get(treeType);
+    if (matcherType == null) {
+      return NO_CHECKERS;
+    }
+    List<Integer> indices = new ArrayList<>();
+    for (int i = 0; i < checkerClasses.size(); i++) {
+      if (matcherType.isAssignableFrom(checkerClasses.get(i))) {
+        indices.add(i);
+      }
+    }
+    return indices.isEmpty() ? NO_CHECKERS : Ints.toArray(indices);
+  }
+
+  /** Returns the number of checkers this table was computed for. */
+  int checkerCount() {
+    return checkerCount;
+  }
+
+  /**
+   * Returns the indices of the checkers that match trees of the given kind, in registration order.
+   * The returned array must not be modified.
+   */
+  int[] checkersFor(Tree.Kind kind) {
+    return checkersByKind[kind.ordinal()];
+  }
+}
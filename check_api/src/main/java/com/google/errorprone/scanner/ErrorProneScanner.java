@@ -16,12 +16,15 @@
 
 package com.google.errorprone.scanner;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.ErrorProneError;
 import com.google.errorprone.ErrorProneOptions;
+import com.google.errorprone.ErrorProneTimings;
 import com.google.errorprone.SuppressionInfo.SuppressedState;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
@@ -45,6 +48,7 @@ import com.google.errorprone.bugpatterns.BugChecker.DoWhileLoopTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.EmptyStatementTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.EnhancedForLoopTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.ExpressionStatementTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.ForLoopTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.IdentifierTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.IfTreeMatcher;
@@ -77,7 +81,11 @@ import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.WhileLoopTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.WildcardTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Suppressible;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.LabeledMatcher;
+import com.google.errorprone.matchers.method.MethodInvocationMatcher.Rule;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.AnnotatedTypeTree;
 import com.sun.source.tree.AnnotationTree;
@@ -138,9 +146,11 @@ import com.sun.tools.javac.util.Name;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import javax.annotation.Nullable;
 
 /**
  * Scans the parsed AST, looking for violations of any of the enabled checks.
@@ -154,6 +164,25 @@ public class ErrorProneScanner extends Scanner {
 
   private final Map<String, SeverityLevel> severities;
   private final ImmutableSet<BugChecker> bugCheckers;
+  private final BugChecker[] checkers;
+  private final DispatchTable dispatchTable;
+
+  /**
+   * Finds the {@link FilteredMethodInvocationTreeMatcher}s that may match a method invocation, or
+   * {@code null} if there are none.
+   */
+  @Nullable private final LabeledMatcher methodInvocationFilter;
+
+  /** The indices of the {@link FilteredMethodInvocationTreeMatcher}s. */
+  private final BitSet filteredMethodInvocationMatchers = new BitSet();
+
+  // Scratch space for visitMethodInvocation.
+  private final BitSet matchedMethodInvocationMatchers = new BitSet();
+  private final BitSet skippedMethodInvocationMatchers = new BitSet();
+
+  // The timers for the current compilation, and the ErrorProneTimings that created them.
+  private ErrorProneTimings.Timers timers;
+  private ErrorProneTimings timersOwner;
 
   /**
    * Create an error-prone scanner for the given checkers.
@@ -180,12 +209,34 @@ public class ErrorProneScanner extends Scanner {
    * @param severities The default check severities.
    */
   public ErrorProneScanner(Iterable<BugChecker> checkers, Map<String, SeverityLevel> severities) {
-    this.bugCheckers = ImmutableSet.copyOf(checkers);
+    this(ImmutableSet.copyOf(checkers), severities, null);
+  }
+
+  /**
+   * Create an error-prone scanner for the given checkers, using a {@link DispatchTable} that was
+   * computed for the classes of {@code checkers}, in iteration order.
+   */
+  ErrorProneScanner(
+      ImmutableSet<BugChecker> checkers,
+      Map<String, SeverityLevel> severities,
+      @Nullable DispatchTable dispatchTable) {
+    this.bugCheckers = checkers;
     this.severities = severities;
+    this.checkers = checkers.toArray(new BugChecker[0]);
+    if (dispatchTable == null) {
+      dispatchTable = DispatchTable.forCheckers(checkers.asList());
+    }
+    checkArgument(
+        dispatchTable.checkerCount() == this.checkers.length,
+        "dispatch table was computed for %s checkers, but %s were provided",
+        dispatchTable.checkerCount(),
+        this.checkers.length);
+    this.dispatchTable = dispatchTable;
+    this.methodInvocationFilter = methodInvocationFilter(this.checkers);
     ImmutableSet.Builder<Class<? extends Annotation>> annotationClassesBuilder =
         ImmutableSet.builder();
     for (BugChecker checker : this.bugCheckers) {
-      registerNodeTypes(checker, annotationClassesBuilder);
+      annotationClassesBuilder.addAll(checker.customSuppressionAnnotations());
     }
     ImmutableSet<Class<? extends Annotation>> annotationClasses = annotationClassesBuilder.build();
     this.customSuppressionAnnotations =
@@ -199,6 +250,29 @@ public class ErrorProneScanner extends Scanner {
             });
   }
 
+  /**
+   * Compiles the method matchers of each {@link FilteredMethodInvocationTreeMatcher} into a single
+   * matcher, labeled by the checker's index.
+   */
+  @Nullable
+  private LabeledMatcher methodInvocationFilter(BugChecker[] checkers) {
+    List<List<Rule>> rulesByChecker = new ArrayList<>();
+    for (int i = 0; i < checkers.length; i++) {
+      List<Rule> rules = new ArrayList<>();
+      if (checkers[i] instanceof FilteredMethodInvocationTreeMatcher) {
+        filteredMethodInvocationMatchers.set(i);
+        for (Matcher<? super MethodInvocationTree> matcher :
+            ((FilteredMethodInvocationTreeMatcher) checkers[i]).methodInvocationMatchers()) {
+          rules.addAll(MethodInvocationMatcher.rulesFor(matcher));
+        }
+      }
+      rulesByChecker.add(rules);
+    }
+    return filteredMethodInvocationMatchers.isEmpty()
+        ? null
+        : MethodInvocationMatcher.compileLabeled(rulesByChecker);
+  }
+
   private static ImmutableMap<String, BugPattern.SeverityLevel> defaultSeverities(
       Iterable<BugChecker> checkers) {
     ImmutableMap.Builder<String, BugPattern.SeverityLevel> builder = ImmutableMap.builder();
@@ -213,218 +287,9 @@ public class ErrorProneScanner extends Scanner {
     return customSuppressionAnnotations.get(state);
   }
 
-  private final List<AnnotationTreeMatcher> annotationMatchers = new ArrayList<>();
-  private final List<AnnotatedTypeTreeMatcher> annotatedTypeMatchers = new ArrayList<>();
-  private final List<ArrayAccessTreeMatcher> arrayAccessMatchers = new ArrayList<>();
-  private final List<ArrayTypeTreeMatcher> arrayTypeMatchers = new ArrayList<>();
-  private final List<AssertTreeMatcher> assertMatchers = new ArrayList<>();
-  private final List<AssignmentTreeMatcher> assignmentMatchers = new ArrayList<>();
-  private final List<BinaryTreeMatcher> binaryMatchers = new ArrayList<>();
-  private final List<BlockTreeMatcher> blockMatchers = new ArrayList<>();
-  private final List<BreakTreeMatcher> breakMatchers = new ArrayList<>();
-  private final List<CaseTreeMatcher> caseMatchers = new ArrayList<>();
-  private final List<CatchTreeMatcher> catchMatchers = new ArrayList<>();
-  private final List<ClassTreeMatcher> classMatchers = new ArrayList<>();
-  private final List<CompilationUnitTreeMatcher> compilationUnitMatchers = new ArrayList<>();
-  private final List<CompoundAssignmentTreeMatcher> compoundAssignmentMatchers = new ArrayList<>();
-  private final List<ConditionalExpressionTreeMatcher> conditionalExpressionMatchers =
-      new ArrayList<>();
-  private final List<ContinueTreeMatcher> continueMatchers = new ArrayList<>();
-  private final List<DoWhileLoopTreeMatcher> doWhileLoopMatchers = new ArrayList<>();
-  private final List<EmptyStatementTreeMatcher> emptyStatementMatchers = new ArrayList<>();
-  private final List<EnhancedForLoopTreeMatcher> enhancedForLoopMatchers = new ArrayList<>();
-  private final List<ExpressionStatementTreeMatcher> expressionStatementMatchers =
-      new ArrayList<>();
-  private final List<ForLoopTreeMatcher> forLoopMatchers = new ArrayList<>();
-  private final List<IdentifierTreeMatcher> identifierMatchers = new ArrayList<>();
-  private final List<IfTreeMatcher> ifMatchers = new ArrayList<>();
-  private final List<ImportTreeMatcher> importMatchers = new ArrayList<>();
-  private final List<InstanceOfTreeMatcher> instanceOfMatchers = new ArrayList<>();
-  private final List<IntersectionTypeTreeMatcher> intersectionTypeMatchers = new ArrayList<>();
-  private final List<LabeledStatementTreeMatcher> labeledStatementMatchers = new ArrayList<>();
-  private final List<LambdaExpressionTreeMatcher> lambdaExpressionMatchers = new ArrayList<>();
-  private final List<LiteralTreeMatcher> literalMatchers = new ArrayList<>();
-  private final List<MemberReferenceTreeMatcher> memberReferenceMatchers = new ArrayList<>();
-  private final List<MemberSelectTreeMatcher> memberSelectMatchers = new ArrayList<>();
-  private final List<MethodTreeMatcher> methodMatchers = new ArrayList<>();
-  private final List<MethodInvocationTreeMatcher> methodInvocationMatchers = new ArrayList<>();
-  private final List<ModifiersTreeMatcher> modifiersMatchers = new ArrayList<>();
-  private final List<NewArrayTreeMatcher> newArrayMatchers = new ArrayList<>();
-  private final List<NewClassTreeMatcher> newClassMatchers = new ArrayList<>();
-  private final List<ParameterizedTypeTreeMatcher> parameterizedTypeMatchers = new ArrayList<>();
-  private final List<ParenthesizedTreeMatcher> parenthesizedMatchers = new ArrayList<>();
-  private final List<PrimitiveTypeTreeMatcher> primitiveTypeMatchers = new ArrayList<>();
-  private final List<ReturnTreeMatcher> returnMatchers = new ArrayList<>();
-  private final List<SwitchTreeMatcher> switchMatchers = new ArrayList<>();
-  private final List<SynchronizedTreeMatcher> synchronizedMatchers = new ArrayList<>();
-  private final List<ThrowTreeMatcher> throwMatchers = new ArrayList<>();
-  private final List<TryTreeMatcher> tryMatchers = new ArrayList<>();
-  private final List<TypeCastTreeMatcher> typeCastMatchers = new ArrayList<>();
-  private final List<TypeParameterTreeMatcher> typeParameterMatchers = new ArrayList<>();
-  private final List<UnaryTreeMatcher> unaryMatchers = new ArrayList<>();
-  private final List<UnionTypeTreeMatcher> unionTypeMatchers = new ArrayList<>();
-  private final List<VariableTreeMatcher> variableMatchers = new ArrayList<>();
-  private final List<WhileLoopTreeMatcher> whileLoopMatchers = new ArrayList<>();
-  private final List<WildcardTreeMatcher> wildcardMatchers = new ArrayList<>();
-
-  private void registerNodeTypes(
-      BugChecker checker,
-      ImmutableSet.Builder<Class<? extends Annotation>> customSuppressionAnnotationClasses) {
-    customSuppressionAnnotationClasses.addAll(checker.customSuppressionAnnotations());
-
-    if (checker instanceof AnnotationTreeMatcher) {
-      annotationMatchers.add((AnnotationTreeMatcher) checker);
-    }
-    if (checker instanceof AnnotatedTypeTreeMatcher) {
-      annotatedTypeMatchers.add((AnnotatedTypeTreeMatcher) checker);
-    }
-    if (checker instanceof ArrayAccessTreeMatcher) {
-      arrayAccessMatchers.add((ArrayAccessTreeMatcher) checker);
-    }
-    if (checker instanceof ArrayTypeTreeMatcher) {
-      arrayTypeMatchers.add((ArrayTypeTreeMatcher) checker);
-    }
-    if (checker instanceof AssertTreeMatcher) {
-      assertMatchers.add((AssertTreeMatcher) checker);
-    }
-    if (checker instanceof AssignmentTreeMatcher) {
-      assignmentMatchers.add((AssignmentTreeMatcher) checker);
-    }
-    if (checker instanceof BinaryTreeMatcher) {
-      binaryMatchers.add((BinaryTreeMatcher) checker);
-    }
-    if (checker instanceof BlockTreeMatcher) {
-      blockMatchers.add((BlockTreeMatcher) checker);
-    }
-    if (checker instanceof BreakTreeMatcher) {
-      breakMatchers.add((BreakTreeMatcher) checker);
-    }
-    if (checker instanceof CaseTreeMatcher) {
-      caseMatchers.add((CaseTreeMatcher) checker);
-    }
-    if (checker instanceof CatchTreeMatcher) {
-      catchMatchers.add((CatchTreeMatcher) checker);
-    }
-    if (checker instanceof ClassTreeMatcher) {
-      classMatchers.add((ClassTreeMatcher) checker);
-    }
-    if (checker instanceof CompilationUnitTreeMatcher) {
-      compilationUnitMatchers.add((CompilationUnitTreeMatcher) checker);
-    }
-    if (checker instanceof CompoundAssignmentTreeMatcher) {
-      compoundAssignmentMatchers.add((CompoundAssignmentTreeMatcher) checker);
-    }
-    if (checker instanceof ConditionalExpressionTreeMatcher) {
-      conditionalExpressionMatchers.add((ConditionalExpressionTreeMatcher) checker);
-    }
-    if (checker instanceof ContinueTreeMatcher) {
-      continueMatchers.add((ContinueTreeMatcher) checker);
-    }
-    if (checker instanceof DoWhileLoopTreeMatcher) {
-      doWhileLoopMatchers.add((DoWhileLoopTreeMatcher) checker);
-    }
-    if (checker instanceof EmptyStatementTreeMatcher) {
-      emptyStatementMatchers.add((EmptyStatementTreeMatcher) checker);
-    }
-    if (checker instanceof EnhancedForLoopTreeMatcher) {
-      enhancedForLoopMatchers.add((EnhancedForLoopTreeMatcher) checker);
-    }
-    if (checker instanceof ExpressionStatementTreeMatcher) {
-      expressionStatementMatchers.add((ExpressionStatementTreeMatcher) checker);
-    }
-    if (checker instanceof ForLoopTreeMatcher) {
-      forLoopMatchers.add((ForLoopTreeMatcher) checker);
-    }
-    if (checker instanceof IdentifierTreeMatcher) {
-      identifierMatchers.add((IdentifierTreeMatcher) checker);
-    }
-    if (checker instanceof IfTreeMatcher) {
-      ifMatchers.add((IfTreeMatcher) checker);
-    }
-    if (checker instanceof ImportTreeMatcher) {
-      importMatchers.add((ImportTreeMatcher) checker);
-    }
-    if (checker instanceof InstanceOfTreeMatcher) {
-      instanceOfMatchers.add((InstanceOfTreeMatcher) checker);
-    }
-    if (checker instanceof IntersectionTypeTreeMatcher) {
-      intersectionTypeMatchers.add((IntersectionTypeTreeMatcher) checker);
-    }
-    if (checker instanceof LabeledStatementTreeMatcher) {
-      labeledStatementMatchers.add((LabeledStatementTreeMatcher) checker);
-    }
-    if (checker instanceof LambdaExpressionTreeMatcher) {
-      lambdaExpressionMatchers.add((LambdaExpressionTreeMatcher) checker);
-    }
-    if (checker instanceof LiteralTreeMatcher) {
-      literalMatchers.add((LiteralTreeMatcher) checker);
-    }
-    if (checker instanceof MemberReferenceTreeMatcher) {
-      memberReferenceMatchers.add((MemberReferenceTreeMatcher) checker);
-    }
-    if (checker instanceof MemberSelectTreeMatcher) {
-      memberSelectMatchers.add((MemberSelectTreeMatcher) checker);
-    }
-    if (checker instanceof MethodTreeMatcher) {
-      methodMatchers.add((MethodTreeMatcher) checker);
-    }
-    if (checker instanceof MethodInvocationTreeMatcher) {
-      methodInvocationMatchers.add((MethodInvocationTreeMatcher) checker);
-    }
-    if (checker instanceof ModifiersTreeMatcher) {
-      modifiersMatchers.add((ModifiersTreeMatcher) checker);
-    }
-    if (checker instanceof NewArrayTreeMatcher) {
-      newArrayMatchers.add((NewArrayTreeMatcher) checker);
-    }
-    if (checker instanceof NewClassTreeMatcher) {
-      newClassMatchers.add((NewClassTreeMatcher) checker);
-    }
-    if (checker instanceof ParameterizedTypeTreeMatcher) {
-      parameterizedTypeMatchers.add((ParameterizedTypeTreeMatcher) checker);
-    }
-    if (checker instanceof ParenthesizedTreeMatcher) {
-      parenthesizedMatchers.add((ParenthesizedTreeMatcher) checker);
-    }
-    if (checker instanceof PrimitiveTypeTreeMatcher) {
-      primitiveTypeMatchers.add((PrimitiveTypeTreeMatcher) checker);
-    }
-    if (checker instanceof ReturnTreeMatcher) {
-      returnMatchers.add((ReturnTreeMatcher) checker);
-    }
-    if (checker instanceof SwitchTreeMatcher) {
-      switchMatchers.add((SwitchTreeMatcher) checker);
-    }
-    if (checker instanceof SynchronizedTreeMatcher) {
-      synchronizedMatchers.add((SynchronizedTreeMatcher) checker);
-    }
-    if (checker instanceof ThrowTreeMatcher) {
-      throwMatchers.add((ThrowTreeMatcher) checker);
-    }
-    if (checker instanceof TryTreeMatcher) {
-      tryMatchers.add((TryTreeMatcher) checker);
-    }
-    if (checker instanceof TypeCastTreeMatcher) {
-      typeCastMatchers.add((TypeCastTreeMatcher) checker);
-    }
-    if (checker instanceof TypeParameterTreeMatcher) {
-      typeParameterMatchers.add((TypeParameterTreeMatcher) checker);
-    }
-    if (checker instanceof UnaryTreeMatcher) {
-      unaryMatchers.add((UnaryTreeMatcher) checker);
-    }
-    if (checker instanceof UnionTypeTreeMatcher) {
-      unionTypeMatchers.add((UnionTypeTreeMatcher) checker);
-    }
-    if (checker instanceof VariableTreeMatcher) {
-      variableMatchers.add((VariableTreeMatcher) checker);
-    }
-    if (checker instanceof WhileLoopTreeMatcher) {
-      whileLoopMatchers.add((WhileLoopTreeMatcher) checker);
-    }
-    if (checker instanceof WildcardTreeMatcher) {
-      wildcardMatchers.add((WildcardTreeMatcher) checker);
-    }
+  @Override
+  protected List<BugChecker> suppressibles() {
+    return bugCheckers.asList();
   }
 
   @FunctionalInterface
@@ -432,17 +297,40 @@ public class ErrorProneScanner extends Scanner {
     Description process(M matcher, T tree, VisitorState state);
   }
 
+  /**
+   * Runs the checkers that match trees of {@code tree}'s kind. The {@link DispatchTable} guarantees
+   * that every such checker implements {@code M}.
+   */
+  private <M extends Suppressible, T extends Tree> VisitorState processMatchers(
+      T tree, TreeProcessor<M, T> processingFunction, VisitorState oldState) {
+    return processMatchers(tree, processingFunction, oldState, null);
+  }
+
+  /**
+   * Runs the checkers that match trees of {@code tree}'s kind, except for those in {@code skipped}.
+   */
+  @SuppressWarnings("unchecked")
   private <M extends Suppressible, T extends Tree> VisitorState processMatchers(
-      Iterable<M> matchers, T tree, TreeProcessor<M, T> processingFunction, VisitorState oldState) {
+      T tree,
+      TreeProcessor<M, T> processingFunction,
+      VisitorState oldState,
+      @Nullable BitSet skipped) {
     ErrorProneOptions errorProneOptions = oldState.errorProneOptions();
+    ErrorProneTimings.Timers timers = timers(oldState);
+    Tree.Kind kind = tree.getKind();
     // A VisitorState with our new path, but without mentioning the suppression of any matcher.
     VisitorState newState = oldState.withPath(getCurrentPath());
-    for (M matcher : matchers) {
-      SuppressedState suppressed = isSuppressed(matcher, errorProneOptions, newState);
+    for (int index : dispatchTable.checkersFor(kind)) {
+      if (skipped != null && skipped.get(index)) {
+        continue;
+      }
+      M matcher = (M) checkers[index];
+      SuppressedState suppressed = isSuppressed(index);
       // If the ErrorProneOptions say to visit suppressed code, we still visit it
       if (suppressed == SuppressedState.UNSUPPRESSED
           || errorProneOptions.isIgnoreSuppressionAnnotations()) {
-        try (AutoCloseable unused = oldState.timingSpan(matcher)) {
+        long start = timers.start();
+        try {
           // We create a new VisitorState with the suppression info specific to this matcher.
           VisitorState stateWithSuppressionInformation = newState.withSuppression(suppressed);
           reportMatch(
@@ -450,101 +338,96 @@ public class ErrorProneScanner extends Scanner {
               stateWithSuppressionInformation);
         } catch (Exception | AssertionError t) {
           handleError(matcher, t);
+        } finally {
+          timers.stop(index, kind, start);
         }
       }
     }
     return newState;
   }
 
+  private ErrorProneTimings.Timers timers(VisitorState state) {
+    ErrorProneTimings timings = state.timings();
+    if (timings != timersOwner) {
+      timers = timings.timersFor(bugCheckers.asList());
+      timersOwner = timings;
+    }
+    return timers;
+  }
+
   @Override
   public Void visitAnnotation(AnnotationTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            annotationMatchers, tree, AnnotationTreeMatcher::matchAnnotation, visitorState);
+        processMatchers(tree, AnnotationTreeMatcher::matchAnnotation, visitorState);
     return super.visitAnnotation(tree, state);
   }
 
   @Override
   public Void visitAnnotatedType(AnnotatedTypeTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            annotatedTypeMatchers,
-            tree,
-            AnnotatedTypeTreeMatcher::matchAnnotatedType,
-            visitorState);
+        processMatchers(tree, AnnotatedTypeTreeMatcher::matchAnnotatedType, visitorState);
     return super.visitAnnotatedType(tree, state);
   }
 
   @Override
   public Void visitArrayAccess(ArrayAccessTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            arrayAccessMatchers, tree, ArrayAccessTreeMatcher::matchArrayAccess, visitorState);
+        processMatchers(tree, ArrayAccessTreeMatcher::matchArrayAccess, visitorState);
     return super.visitArrayAccess(tree, state);
   }
 
   @Override
   public Void visitArrayType(ArrayTypeTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(
-            arrayTypeMatchers, tree, ArrayTypeTreeMatcher::matchArrayType, visitorState);
+    VisitorState state = processMatchers(tree, ArrayTypeTreeMatcher::matchArrayType, visitorState);
     return super.visitArrayType(tree, state);
   }
 
   @Override
   public Void visitAssert(AssertTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(assertMatchers, tree, AssertTreeMatcher::matchAssert, visitorState);
+    VisitorState state = processMatchers(tree, AssertTreeMatcher::matchAssert, visitorState);
     return super.visitAssert(tree, state);
   }
 
   @Override
   public Void visitAssignment(AssignmentTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            assignmentMatchers, tree, AssignmentTreeMatcher::matchAssignment, visitorState);
+        processMatchers(tree, AssignmentTreeMatcher::matchAssignment, visitorState);
     return super.visitAssignment(tree, state);
   }
 
   @Override
   public Void visitBinary(BinaryTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(binaryMatchers, tree, BinaryTreeMatcher::matchBinary, visitorState);
+    VisitorState state = processMatchers(tree, BinaryTreeMatcher::matchBinary, visitorState);
     return super.visitBinary(tree, state);
   }
 
   @Override
   public Void visitBlock(BlockTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(blockMatchers, tree, BlockTreeMatcher::matchBlock, visitorState);
+    VisitorState state = processMatchers(tree, BlockTreeMatcher::matchBlock, visitorState);
     return super.visitBlock(tree, state);
   }
 
   @Override
   public Void visitBreak(BreakTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(breakMatchers, tree, BreakTreeMatcher::matchBreak, visitorState);
+    VisitorState state = processMatchers(tree, BreakTreeMatcher::matchBreak, visitorState);
     return super.visitBreak(tree, state);
   }
 
   @Override
   public Void visitCase(CaseTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(caseMatchers, tree, CaseTreeMatcher::matchCase, visitorState);
+    VisitorState state = processMatchers(tree, CaseTreeMatcher::matchCase, visitorState);
     return super.visitCase(tree, state);
   }
 
   @Override
   public Void visitCatch(CatchTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(catchMatchers, tree, CatchTreeMatcher::matchCatch, visitorState);
+    VisitorState state = processMatchers(tree, CatchTreeMatcher::matchCatch, visitorState);
     return super.visitCatch(tree, state);
   }
 
   @Override
   public Void visitClass(ClassTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(classMatchers, tree, ClassTreeMatcher::matchClass, visitorState);
+    VisitorState state = processMatchers(tree, ClassTreeMatcher::matchClass, visitorState);
     return super.visitClass(tree, state);
   }
 
@@ -552,22 +435,14 @@ public class ErrorProneScanner extends Scanner {
   public Void visitCompilationUnit(CompilationUnitTree tree, VisitorState visitorState) {
 
     VisitorState state =
-        processMatchers(
-            compilationUnitMatchers,
-            tree,
-            CompilationUnitTreeMatcher::matchCompilationUnit,
-            visitorState);
+        processMatchers(tree, CompilationUnitTreeMatcher::matchCompilationUnit, visitorState);
     return super.visitCompilationUnit(tree, state);
   }
 
   @Override
   public Void visitCompoundAssignment(CompoundAssignmentTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            compoundAssignmentMatchers,
-            tree,
-            CompoundAssignmentTreeMatcher::matchCompoundAssignment,
-            visitorState);
+        processMatchers(tree, CompoundAssignmentTreeMatcher::matchCompoundAssignment, visitorState);
     return super.visitCompoundAssignment(tree, state);
   }
 
@@ -576,47 +451,34 @@ public class ErrorProneScanner extends Scanner {
       ConditionalExpressionTree tree, VisitorState visitorState) {
     VisitorState state =
         processMatchers(
-            conditionalExpressionMatchers,
-            tree,
-            ConditionalExpressionTreeMatcher::matchConditionalExpression,
-            visitorState);
+            tree, ConditionalExpressionTreeMatcher::matchConditionalExpression, visitorState);
     return super.visitConditionalExpression(tree, state);
   }
 
   @Override
   public Void visitContinue(ContinueTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(continueMatchers, tree, ContinueTreeMatcher::matchContinue, visitorState);
+    VisitorState state = processMatchers(tree, ContinueTreeMatcher::matchContinue, visitorState);
     return super.visitContinue(tree, state);
   }
 
   @Override
   public Void visitDoWhileLoop(DoWhileLoopTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            doWhileLoopMatchers, tree, DoWhileLoopTreeMatcher::matchDoWhileLoop, visitorState);
+        processMatchers(tree, DoWhileLoopTreeMatcher::matchDoWhileLoop, visitorState);
     return super.visitDoWhileLoop(tree, state);
   }
 
   @Override
   public Void visitEmptyStatement(EmptyStatementTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            emptyStatementMatchers,
-            tree,
-            EmptyStatementTreeMatcher::matchEmptyStatement,
-            visitorState);
+        processMatchers(tree, EmptyStatementTreeMatcher::matchEmptyStatement, visitorState);
     return super.visitEmptyStatement(tree, state);
   }
 
   @Override
   public Void visitEnhancedForLoop(EnhancedForLoopTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            enhancedForLoopMatchers,
-            tree,
-            EnhancedForLoopTreeMatcher::matchEnhancedForLoop,
-            visitorState);
+        processMatchers(tree, EnhancedForLoopTreeMatcher::matchEnhancedForLoop, visitorState);
     return super.visitEnhancedForLoop(tree, state);
   }
 
@@ -626,105 +488,80 @@ public class ErrorProneScanner extends Scanner {
   public Void visitExpressionStatement(ExpressionStatementTree tree, VisitorState visitorState) {
     VisitorState state =
         processMatchers(
-            expressionStatementMatchers,
-            tree,
-            ExpressionStatementTreeMatcher::matchExpressionStatement,
-            visitorState);
+            tree, ExpressionStatementTreeMatcher::matchExpressionStatement, visitorState);
     return super.visitExpressionStatement(tree, state);
   }
 
   @Override
   public Void visitForLoop(ForLoopTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(forLoopMatchers, tree, ForLoopTreeMatcher::matchForLoop, visitorState);
+    VisitorState state = processMatchers(tree, ForLoopTreeMatcher::matchForLoop, visitorState);
     return super.visitForLoop(tree, state);
   }
 
   @Override
   public Void visitIdentifier(IdentifierTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            identifierMatchers, tree, IdentifierTreeMatcher::matchIdentifier, visitorState);
+        processMatchers(tree, IdentifierTreeMatcher::matchIdentifier, visitorState);
     return super.visitIdentifier(tree, state);
   }
 
   @Override
   public Void visitIf(IfTree tree, VisitorState visitorState) {
-    VisitorState state = processMatchers(ifMatchers, tree, IfTreeMatcher::matchIf, visitorState);
+    VisitorState state = processMatchers(tree, IfTreeMatcher::matchIf, visitorState);
     return super.visitIf(tree, state);
   }
 
   @Override
   public Void visitImport(ImportTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(importMatchers, tree, ImportTreeMatcher::matchImport, visitorState);
+    VisitorState state = processMatchers(tree, ImportTreeMatcher::matchImport, visitorState);
     return super.visitImport(tree, state);
   }
 
   @Override
   public Void visitInstanceOf(InstanceOfTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            instanceOfMatchers, tree, InstanceOfTreeMatcher::matchInstanceOf, visitorState);
+        processMatchers(tree, InstanceOfTreeMatcher::matchInstanceOf, visitorState);
     return super.visitInstanceOf(tree, state);
   }
 
   @Override
   public Void visitIntersectionType(IntersectionTypeTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            intersectionTypeMatchers,
-            tree,
-            IntersectionTypeTreeMatcher::matchIntersectionType,
-            visitorState);
+        processMatchers(tree, IntersectionTypeTreeMatcher::matchIntersectionType, visitorState);
     return super.visitIntersectionType(tree, state);
   }
 
   @Override
   public Void visitLabeledStatement(LabeledStatementTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            labeledStatementMatchers,
-            tree,
-            LabeledStatementTreeMatcher::matchLabeledStatement,
-            visitorState);
+        processMatchers(tree, LabeledStatementTreeMatcher::matchLabeledStatement, visitorState);
     return super.visitLabeledStatement(tree, state);
   }
 
   @Override
   public Void visitLambdaExpression(LambdaExpressionTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            lambdaExpressionMatchers,
-            tree,
-            LambdaExpressionTreeMatcher::matchLambdaExpression,
-            visitorState);
+        processMatchers(tree, LambdaExpressionTreeMatcher::matchLambdaExpression, visitorState);
     return super.visitLambdaExpression(tree, state);
   }
 
   @Override
   public Void visitLiteral(LiteralTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(literalMatchers, tree, LiteralTreeMatcher::matchLiteral, visitorState);
+    VisitorState state = processMatchers(tree, LiteralTreeMatcher::matchLiteral, visitorState);
     return super.visitLiteral(tree, state);
   }
 
   @Override
   public Void visitMemberReference(MemberReferenceTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            memberReferenceMatchers,
-            tree,
-            MemberReferenceTreeMatcher::matchMemberReference,
-            visitorState);
+        processMatchers(tree, MemberReferenceTreeMatcher::matchMemberReference, visitorState);
     return super.visitMemberReference(tree, state);
   }
 
   @Override
   public Void visitMemberSelect(MemberSelectTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            memberSelectMatchers, tree, MemberSelectTreeMatcher::matchMemberSelect, visitorState);
+        processMatchers(tree, MemberSelectTreeMatcher::matchMemberSelect, visitorState);
     return super.visitMemberSelect(tree, state);
   }
 
@@ -735,42 +572,79 @@ public class ErrorProneScanner extends Scanner {
       return null;
     }
 
-    VisitorState state =
-        processMatchers(methodMatchers, tree, MethodTreeMatcher::matchMethod, visitorState);
+    VisitorState state = processMatchers(tree, MethodTreeMatcher::matchMethod, visitorState);
     return super.visitMethod(tree, state);
   }
 
   @Override
   public Void visitMethodInvocation(MethodInvocationTree tree, VisitorState visitorState) {
+    BitSet skipped = null;
+    if (methodInvocationFilter != null) {
+      skipped = skippedMethodInvocationMatchers;
+      skipped.clear();
+      if (filterMethodInvocation(tree, visitorState)) {
+        skipped.or(filteredMethodInvocationMatchers);
+        skipped.andNot(matchedMethodInvocationMatchers);
+      }
+    }
     VisitorState state =
         processMatchers(
-            methodInvocationMatchers,
-            tree,
-            MethodInvocationTreeMatcher::matchMethodInvocation,
-            visitorState);
+            tree, MethodInvocationTreeMatcher::matchMethodInvocation, visitorState, skipped);
     return super.visitMethodInvocation(tree, state);
   }
 
+  /**
+   * Finds the {@link FilteredMethodInvocationTreeMatcher}s that may match {@code tree}, and returns
+   * whether they were found.
+   *
+   * <p>If the combined matcher throws, the matchers of each checker that would run are evaluated on
+   * their own, so that the error is reported for the checker whose matcher fails. If none of them
+   * does, the checkers aren't filtered.
+   */
+  private boolean filterMethodInvocation(MethodInvocationTree tree, VisitorState visitorState) {
+    matchedMethodInvocationMatchers.clear();
+    try {
+      methodInvocationFilter.match(tree, visitorState, matchedMethodInvocationMatchers);
+      return true;
+    } catch (Exception | AssertionError t) {
+      VisitorState state = visitorState.withPath(getCurrentPath());
+      for (int index = filteredMethodInvocationMatchers.nextSetBit(0);
+          index >= 0;
+          index = filteredMethodInvocationMatchers.nextSetBit(index + 1)) {
+        if (isSuppressed(index) != SuppressedState.UNSUPPRESSED
+            && !visitorState.errorProneOptions().isIgnoreSuppressionAnnotations()) {
+          continue;
+        }
+        FilteredMethodInvocationTreeMatcher checker =
+            (FilteredMethodInvocationTreeMatcher) checkers[index];
+        try {
+          for (Matcher<? super MethodInvocationTree> matcher : checker.methodInvocationMatchers()) {
+            matcher.matches(tree, state);
+          }
+        } catch (Exception | AssertionError e) {
+          handleError(checker, e);
+        }
+      }
+      return false;
+    }
+  }
+
   @Override
   public Void visitModifiers(ModifiersTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(
-            modifiersMatchers, tree, ModifiersTreeMatcher::matchModifiers, visitorState);
+    VisitorState state = processMatchers(tree, ModifiersTreeMatcher::matchModifiers, visitorState);
 
     return super.visitModifiers(tree, state);
   }
 
   @Override
   public Void visitNewArray(NewArrayTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(newArrayMatchers, tree, NewArrayTreeMatcher::matchNewArray, visitorState);
+    VisitorState state = processMatchers(tree, NewArrayTreeMatcher::matchNewArray, visitorState);
     return super.visitNewArray(tree, state);
   }
 
   @Override
   public Void visitNewClass(NewClassTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(newClassMatchers, tree, NewClassTreeMatcher::matchNewClass, visitorState);
+    VisitorState state = processMatchers(tree, NewClassTreeMatcher::matchNewClass, visitorState);
     return super.visitNewClass(tree, state);
   }
 
@@ -780,123 +654,95 @@ public class ErrorProneScanner extends Scanner {
   @Override
   public Void visitParameterizedType(ParameterizedTypeTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            parameterizedTypeMatchers,
-            tree,
-            ParameterizedTypeTreeMatcher::matchParameterizedType,
-            visitorState);
+        processMatchers(tree, ParameterizedTypeTreeMatcher::matchParameterizedType, visitorState);
     return super.visitParameterizedType(tree, state);
   }
 
   @Override
   public Void visitParenthesized(ParenthesizedTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            parenthesizedMatchers,
-            tree,
-            ParenthesizedTreeMatcher::matchParenthesized,
-            visitorState);
+        processMatchers(tree, ParenthesizedTreeMatcher::matchParenthesized, visitorState);
     return super.visitParenthesized(tree, state);
   }
 
   @Override
   public Void visitPrimitiveType(PrimitiveTypeTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            primitiveTypeMatchers,
-            tree,
-            PrimitiveTypeTreeMatcher::matchPrimitiveType,
-            visitorState);
+        processMatchers(tree, PrimitiveTypeTreeMatcher::matchPrimitiveType, visitorState);
     return super.visitPrimitiveType(tree, state);
   }
 
   @Override
   public Void visitReturn(ReturnTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(returnMatchers, tree, ReturnTreeMatcher::matchReturn, visitorState);
+    VisitorState state = processMatchers(tree, ReturnTreeMatcher::matchReturn, visitorState);
     return super.visitReturn(tree, state);
   }
 
   @Override
   public Void visitSwitch(SwitchTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(switchMatchers, tree, SwitchTreeMatcher::matchSwitch, visitorState);
+    VisitorState state = processMatchers(tree, SwitchTreeMatcher::matchSwitch, visitorState);
     return super.visitSwitch(tree, state);
   }
 
   @Override
   public Void visitSynchronized(SynchronizedTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            synchronizedMatchers, tree, SynchronizedTreeMatcher::matchSynchronized, visitorState);
+        processMatchers(tree, SynchronizedTreeMatcher::matchSynchronized, visitorState);
     return super.visitSynchronized(tree, state);
   }
 
   @Override
   public Void visitThrow(ThrowTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(throwMatchers, tree, ThrowTreeMatcher::matchThrow, visitorState);
+    VisitorState state = processMatchers(tree, ThrowTreeMatcher::matchThrow, visitorState);
     return super.visitThrow(tree, state);
   }
 
   @Override
   public Void visitTry(TryTree tree, VisitorState visitorState) {
-    VisitorState state = processMatchers(tryMatchers, tree, TryTreeMatcher::matchTry, visitorState);
+    VisitorState state = processMatchers(tree, TryTreeMatcher::matchTry, visitorState);
     return super.visitTry(tree, state);
   }
 
   @Override
   public Void visitTypeCast(TypeCastTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(typeCastMatchers, tree, TypeCastTreeMatcher::matchTypeCast, visitorState);
+    VisitorState state = processMatchers(tree, TypeCastTreeMatcher::matchTypeCast, visitorState);
     return super.visitTypeCast(tree, state);
   }
 
   @Override
   public Void visitTypeParameter(TypeParameterTree tree, VisitorState visitorState) {
     VisitorState state =
-        processMatchers(
-            typeParameterMatchers,
-            tree,
-            TypeParameterTreeMatcher::matchTypeParameter,
-            visitorState);
+        processMatchers(tree, TypeParameterTreeMatcher::matchTypeParameter, visitorState);
     return super.visitTypeParameter(tree, state);
   }
 
   @Override
   public Void visitUnary(UnaryTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(unaryMatchers, tree, UnaryTreeMatcher::matchUnary, visitorState);
+    VisitorState state = processMatchers(tree, UnaryTreeMatcher::matchUnary, visitorState);
     return super.visitUnary(tree, state);
   }
 
   @Override
   public Void visitUnionType(UnionTypeTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(
-            unionTypeMatchers, tree, UnionTypeTreeMatcher::matchUnionType, visitorState);
+    VisitorState state = processMatchers(tree, UnionTypeTreeMatcher::matchUnionType, visitorState);
     return super.visitUnionType(tree, state);
   }
 
   @Override
   public Void visitVariable(VariableTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(variableMatchers, tree, VariableTreeMatcher::matchVariable, visitorState);
+    VisitorState state = processMatchers(tree, VariableTreeMatcher::matchVariable, visitorState);
     return super.visitVariable(tree, state);
   }
 
   @Override
   public Void visitWhileLoop(WhileLoopTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(
-            whileLoopMatchers, tree, WhileLoopTreeMatcher::matchWhileLoop, visitorState);
+    VisitorState state = processMatchers(tree, WhileLoopTreeMatcher::matchWhileLoop, visitorState);
     return super.visitWhileLoop(tree, state);
   }
 
   @Override
   public Void visitWildcard(WildcardTree tree, VisitorState visitorState) {
-    VisitorState state =
-        processMatchers(wildcardMatchers, tree, WildcardTreeMatcher::matchWildcard, visitorState);
+    VisitorState state = processMatchers(tree, WildcardTreeMatcher::matchWildcard, visitorState);
     return super.visitWildcard(tree, state);
   }
 
@@ -18,6 +18,7 @@ package com.google.errorprone.scanner;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.ErrorProneOptions;
@@ -34,13 +35,18 @@ import com.sun.source.util.TreePath;
 import com.sun.source.util.TreePathScanner;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.util.Name;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * TODO(eaftan): I'm worried about this performance of this code, specifically the part that handles
- * SuppressWarnings. We should profile it and see where the hotspots are.
+ * A {@link TreePathScanner} that tracks the suppression state of the checks it runs.
+ *
+ * <p>Suppression only changes at declarations, so for the {@link #suppressibles()} of this scanner
+ * the suppression state is computed once per declaration that adds new suppression signals, and
+ * looking it up at an individual node is a bit test.
  *
  * @author alexeagle@google.com (Alex Eagle)
  * @author eaftan@google.com (Eddie Aftandilian)
@@ -50,15 +56,24 @@ public class Scanner extends TreePathScanner<Void, VisitorState> {
 
   private SuppressionInfo currentSuppressions = SuppressionInfo.EMPTY;
 
+  /**
+   * The indices of the {@link #suppressibles()} that are suppressed by {@link
+   * #currentSuppressions}.
+   */
+  private BitSet currentSuppressed = new BitSet();
+
   /** Scan a tree from a position identified by a TreePath. */
   @Override
   public Void scan(TreePath path, VisitorState state) {
-    SuppressionInfo prevSuppressionInfo = updateSuppressions(path.getLeaf(), state);
+    SuppressionInfo prevSuppressionInfo = currentSuppressions;
+    BitSet prevSuppressed = currentSuppressed;
+    updateSuppressions(path.getLeaf(), state);
     try {
       return super.scan(path, state);
     } finally {
       // Restore old suppression state.
       currentSuppressions = prevSuppressionInfo;
+      currentSuppressed = prevSuppressed;
     }
   }
 
@@ -69,20 +84,23 @@ public class Scanner extends TreePathScanner<Void, VisitorState> {
       return null;
     }
 
-    SuppressionInfo prevSuppressionInfo = updateSuppressions(tree, state);
+    SuppressionInfo prevSuppressionInfo = currentSuppressions;
+    BitSet prevSuppressed = currentSuppressed;
+    updateSuppressions(tree, state);
     try {
       return super.scan(tree, state);
     } finally {
       // Restore old suppression state.
       currentSuppressions = prevSuppressionInfo;
+      currentSuppressed = prevSuppressed;
     }
   }
 
   /**
-   * Updates current suppression state with information for the given {@code tree}. Returns the
-   * previous suppression state so that it can be restored when going up the tree.
+   * Updates current suppression state with information for the given {@code tree}. The caller is
+   * responsible for restoring the previous suppression state when going up the tree.
    */
-  private SuppressionInfo updateSuppressions(Tree tree, VisitorState state) {
+  private void updateSuppressions(Tree tree, VisitorState state) {
     SuppressionInfo prevSuppressionInfo = currentSuppressions;
     if (tree instanceof CompilationUnitTree) {
       currentSuppressions =
@@ -95,7 +113,18 @@ public class Scanner extends TreePathScanner<Void, VisitorState> {
                 sym, state, getCustomSuppressionAnnotations(state));
       }
     }
-    return prevSuppressionInfo;
+    // withExtendedSuppressions returns the same instance if there were no new suppressions.
+    if (currentSuppressions != prevSuppressionInfo) {
+      boolean disableWarningsInGeneratedCode =
+          state.errorProneOptions().disableWarningsInGeneratedCode();
+      currentSuppressed =
+          currentSuppressions.suppressedStates(
+              suppressibles(), s -> disableWarningsInGeneratedCode && !isError(s), state);
+    }
+  }
+
+  private boolean isError(Suppressible suppressible) {
+    return severityMap().get(suppressible.canonicalName()) == SeverityLevel.ERROR;
   }
 
   /**
@@ -108,12 +137,28 @@ public class Scanner extends TreePathScanner<Void, VisitorState> {
       Suppressible suppressible, ErrorProneOptions errorProneOptions, VisitorState state) {
 
     boolean suppressedInGeneratedCode =
-        errorProneOptions.disableWarningsInGeneratedCode()
-            && severityMap().get(suppressible.canonicalName()) != SeverityLevel.ERROR;
+        errorProneOptions.disableWarningsInGeneratedCode() && !isError(suppressible);
 
     return currentSuppressions.suppressedState(suppressible, suppressedInGeneratedCode, state);
   }
 
+  /**
+   * Returns if the checker at {@code index} in {@link #suppressibles()} should be suppressed on the
+   * current tree path. Equivalent to, but cheaper than, {@link #isSuppressed(Suppressible,
+   * ErrorProneOptions, VisitorState)}.
+   */
+  protected final SuppressedState isSuppressed(int index) {
+    return currentSuppressed.get(index) ? SuppressedState.SUPPRESSED : SuppressedState.UNSUPPRESSED;
+  }
+
+  /**
+   * Returns the checkers whose suppression state should be tracked incrementally, and queried with
+   * {@link #isSuppressed(int)}. The returned list must not change over the life of the scanner.
+   */
+  protected List<? extends Suppressible> suppressibles() {
+    return ImmutableList.of();
+  }
+
   /**
    * Returns a set of all the custom suppression annotation types used by the {@code BugChecker}s in
    * this{@code Scanner}.
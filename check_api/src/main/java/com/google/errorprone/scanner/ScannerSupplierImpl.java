@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Iterables.getFirst;
 
 import com.google.common.collect.ImmutableBiMap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
@@ -28,9 +29,7 @@ import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.bugpatterns.BugChecker;
 import java.io.Serializable;
-import java.lang.reflect.Constructor;
-import java.util.Arrays;
-import java.util.Optional;
+import javax.annotation.Nullable;
 
 /**
  * An implementation of a {@link ScannerSupplier}, abstracted as a set of all known {@link
@@ -43,6 +42,9 @@ class ScannerSupplierImpl extends ScannerSupplier implements Serializable {
   private final ImmutableSet<String> disabled;
   private final ErrorProneFlags flags;
 
+  // Computed on first use, and shared by all scanners returned by get().
+  @Nullable private transient volatile DispatchTable dispatchTable;
+
   ScannerSupplierImpl(
       ImmutableBiMap<String, BugCheckerInfo> checks,
       ImmutableMap<String, SeverityLevel> severities,
@@ -61,46 +63,29 @@ class ScannerSupplierImpl extends ScannerSupplier implements Serializable {
   }
 
   private BugChecker instantiateChecker(BugCheckerInfo checker) {
-    // Invoke BugChecker(ErrorProneFlags) constructor, if it exists.
-    @SuppressWarnings("unchecked")
-    /* getConstructors() actually returns Constructor<BugChecker>[], though the return type is
-     * Constructor<?>[]. See getConstructors() javadoc for more info. */
-    Optional<Constructor<BugChecker>> flagsConstructor =
-        Arrays.stream((Constructor<BugChecker>[]) checker.checkerClass().getConstructors())
-            .filter(
-                c -> Arrays.equals(c.getParameterTypes(), new Class<?>[] {ErrorProneFlags.class}))
-            .findFirst();
-    if (flagsConstructor.isPresent()) {
-      try {
-        return flagsConstructor.get().newInstance(getFlags());
-      } catch (ReflectiveOperationException e) {
-        throw new LinkageError("Could not instantiate BugChecker.", e);
-      }
-    }
-
-    // If no flags constructor, invoke default constructor.
-    Class<? extends BugChecker> checkerClass = checker.checkerClass();
-    try {
-      return checkerClass.getConstructor().newInstance();
-    } catch (NoSuchMethodException | IllegalAccessException e) {
-      throw new LinkageError(
-          String.format(
-              "Could not instantiate BugChecker %s: Are both the class and the zero-arg"
-                  + " constructor public?",
-              checkerClass),
-          e);
-    } catch (ReflectiveOperationException e) {
-      throw new LinkageError("Could not instantiate BugChecker.", e);
-    }
+    return BugCheckerInstances.get(checker.checkerClass(), getFlags());
   }
 
   @Override
   public ErrorProneScanner get() {
+    ImmutableSet<BugCheckerInfo> enabled = getEnabledChecks();
     return new ErrorProneScanner(
-        getEnabledChecks().stream()
-            .map(this::instantiateChecker)
-            .collect(ImmutableSet.toImmutableSet()),
-        severities);
+        enabled.stream().map(this::instantiateChecker).collect(ImmutableSet.toImmutableSet()),
+        severities,
+        dispatchTable(enabled));
+  }
+
+  private DispatchTable dispatchTable(ImmutableSet<BugCheckerInfo> enabled) {
+    DispatchTable result = dispatchTable;
+    if (result == null) {
+      result =
+          DispatchTable.create(
+              enabled.stream()
+                  .map(BugCheckerInfo::checkerClass)
+                  .collect(ImmutableList.toImmutableList()));
+      dispatchTable = result;
+    }
+    return result;
   }
 
   @Override
@@ -812,20 +812,9 @@ public class ASTHelpers {
     }
     // TODO(amalloy): unify with hasAnnotation(Symbol, Name, VisitorState)
     // normalize to non-binary names
-    annotationClass = annotationClass.replace('$', '.');
-    Name annotationName = state.getName(annotationClass);
-    if (hasAttribute(sym, annotationName)) {
-      return true;
-    }
-    if (sym instanceof ClassSymbol && isInherited(state, annotationClass)) {
-      do {
-        if (hasAttribute(sym, annotationName)) {
-          return true;
-        }
-        sym = ((ClassSymbol) sym).getSuperclass().tsym;
-      } while (sym instanceof ClassSymbol);
-    }
-    return false;
+    AnnotationIndex index = AnnotationIndex.instance(state);
+    return index.hasAnnotation(
+        sym, index.bitOfQualifiedName(annotationClass.replace('$', '.'), state));
   }
 
   /**
@@ -864,7 +853,7 @@ public class ASTHelpers {
       VisitorState.memoize(unusedState -> Caffeine.newBuilder().maximumSize(1000).build());
 
   @SuppressWarnings("ConstantConditions") // IntelliJ worries unboxing our Boolean may throw NPE.
-  private static boolean isInherited(VisitorState state, Name annotationName) {
+  static boolean isInherited(VisitorState state, Name annotationName) {
 
     return inheritedAnnotationCache
         .get(state)
@@ -886,19 +875,10 @@ public class ASTHelpers {
             });
   }
 
-  private static boolean isInherited(VisitorState state, String annotationName) {
+  static boolean isInherited(VisitorState state, String annotationName) {
     return isInherited(state, state.binaryNameFromClassname(annotationName));
   }
 
-  private static boolean hasAttribute(Symbol sym, Name annotationName) {
-    for (Compound a : sym.getRawAttributes()) {
-      if (a.type.tsym.getQualifiedName().equals(annotationName)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   /**
    * Determines which of a set of annotations are present on a symbol.
    *
@@ -912,39 +892,11 @@ public class ASTHelpers {
     if (sym == null) {
       return ImmutableSet.of();
     }
-    Set<Name> result = directAnnotationsAmong(sym, annotationClasses);
-    if (!(sym instanceof ClassSymbol)) {
-      return result;
-    }
-
-    Set<Name> possibleInherited = new HashSet<>();
-    for (Name a : annotationClasses) {
-      if (!result.contains(a) && isInherited(state, a)) {
-        possibleInherited.add(a);
-      }
-    }
-    sym = ((ClassSymbol) sym).getSuperclass().tsym;
-    while (sym instanceof ClassSymbol && !possibleInherited.isEmpty()) {
-      for (Name local : directAnnotationsAmong(sym, possibleInherited)) {
-        result.add(local);
-        possibleInherited.remove(local);
-      }
-      sym = ((ClassSymbol) sym).getSuperclass().tsym;
-    }
-    return result;
-  }
-
-  /**
-   * Explicitly returns a modifiable {@code Set<Name>}, so that annotationsAmong can futz with it to
-   * add inherited annotations.
-   */
-  private static Set<Name> directAnnotationsAmong(
-      Symbol sym, Set<? extends Name> binaryAnnotationNames) {
+    AnnotationIndex index = AnnotationIndex.instance(state);
     Set<Name> result = new HashSet<>();
-    for (Compound a : sym.getRawAttributes()) {
-      Name annoName = a.type.tsym.flatName();
-      if (binaryAnnotationNames.contains(annoName)) {
-        result.add(annoName);
+    for (Name a : annotationClasses) {
+      if (index.hasAnnotation(sym, index.bitOfBinaryName(a, state))) {
+        result.add(a);
       }
     }
     return result;
@@ -1248,7 +1200,12 @@ public class ASTHelpers {
       return false;
     }
     Types types = state.getTypes();
-    return types.isSubtype(types.erasure(s), types.erasure(t));
+    Type erasedS = types.erasure(s);
+    Type erasedT = types.erasure(t);
+    if (erasedS.hasTag(TypeTag.CLASS) && erasedT.hasTag(TypeTag.CLASS)) {
+      return SubtypeCache.instance(state).isSubtype(erasedS, erasedT, types);
+    }
+    return types.isSubtype(erasedS, erasedT);
   }
 
   /**
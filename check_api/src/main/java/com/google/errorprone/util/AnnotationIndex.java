@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.util;
+
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.suppliers.Supplier;
+import com.sun.tools.javac.code.Attribute.Compound;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.code.Symbol.ClassSymbol;
+import com.sun.tools.javac.code.Symbol.TypeSymbol;
+import com.sun.tools.javac.util.Name;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Remembers which annotations each symbol has for the rest of a compilation, for {@link
+ * ASTHelpers#hasAnnotation(Symbol, String, VisitorState)} and {@link ASTHelpers#annotationsAmong}.
+ *
+ * <p>Each annotation name that checks look for is assigned a bit the first time it is asked about,
+ * and each symbol is mapped to the set of bits of the annotations it has, including the
+ * {@code @Inherited} annotations of its superclasses. The annotations of a symbol are looked up
+ * again if checks have asked about new annotations since, which is rare after the first few
+ * compilation units.
+ */
+final class AnnotationIndex {
+
+  private static final Supplier<AnnotationIndex> INSTANCE =
+      VisitorState.memoize(unusedState -> new AnnotationIndex());
+
+  static AnnotationIndex instance(VisitorState state) {
+    return INSTANCE.get(state);
+  }
+
+  /**
+   * The bits of the annotations, by qualified name for {@code hasAnnotation} and by binary name for
+   * {@code annotationsAmong}; the two are the same for top-level annotations.
+   */
+  private final Map<Name, Integer> bits = new HashMap<>();
+
+  /** The bits of the annotations that are {@code @Inherited}. */
+  private final BitSet inherited = new BitSet();
+
+  private final Map<Symbol, Annotations> annotations = new IdentityHashMap<>();
+
+  /** The annotations of a symbol, out of the first {@code known} bits. */
+  private static final class Annotations {
+    final int known;
+    final BitSet bits;
+
+    Annotations(int known, BitSet bits) {
+      this.known = known;
+      this.bits = bits;
+    }
+  }
+
+  /** Returns the bit of the annotation with the given qualified name, e.g. "com.google.Foo.Bar". */
+  int bitOfQualifiedName(String qualifiedName, VisitorState state) {
+    return bit(state.getName(qualifiedName), () -> ASTHelpers.isInherited(state, qualifiedName));
+  }
+
+  /** Returns the bit of the annotation with the given binary name, e.g. "com.google.Foo$Bar". */
+  int bitOfBinaryName(Name binaryName, VisitorState state) {
+    return bit(binaryName, () -> ASTHelpers.isInherited(state, binaryName));
+  }
+
+  private int bit(Name name, BooleanSupplier isInherited) {
+    Integer bit = bits.get(name);
+    if (bit == null) {
+      bit = bits.size();
+      bits.put(name, bit);
+      if (isInherited.getAsBoolean()) {
+        inherited.set(bit);
+      }
+    }
+    return bit;
+  }
+
+  /**
+   * Returns whether {@code sym} has the annotation with the given bit, or inherits it from a
+   * superclass if {@code sym} is a class.
+   */
+  boolean hasAnnotation(Symbol sym, int bit) {
+    return annotations(sym).get(bit);
+  }
+
+  private BitSet annotations(Symbol sym) {
+    Annotations result = annotations.get(sym);
+    if (result == null || result.known < bits.size()) {
+      result = new Annotations(bits.size(), computeAnnotations(sym));
+      annotations.put(sym, result);
+    }
+    return result.bits;
+  }
+
+  private BitSet computeAnnotations(Symbol sym) {
+    BitSet result = new BitSet();
+    for (Compound a : sym.getRawAttributes()) {
+      TypeSymbol annotationType = a.type.tsym;
+      set(result, annotationType.getQualifiedName());
+      set(result, annotationType.flatName());
+    }
+    if (sym instanceof ClassSymbol && !inherited.isEmpty()) {
+      Symbol superclass = ((ClassSymbol) sym).getSuperclass().tsym;
+      if (superclass instanceof ClassSymbol) {
+        BitSet fromSuperclass = (BitSet) annotations(superclass).clone();
+        fromSuperclass.and(inherited);
+        result.or(fromSuperclass);
+      }
+    }
+    return result;
+  }
+
+  private void set(BitSet result, Name annotationName) {
+    Integer bit = bits.get(annotationName);
+    if (bit != null) {
+      result.set(bit);
+    }
+  }
+}
@@ -36,6 +36,7 @@ import com.sun.source.util.TreePath;
 import com.sun.source.util.TreeScanner;
 import com.sun.tools.javac.parser.Tokens.Comment;
 import com.sun.tools.javac.parser.Tokens.TokenKind;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
 import com.sun.tools.javac.util.Position.LineMap;
 import java.util.Iterator;
 import java.util.List;
@@ -53,11 +54,9 @@ public final class Comments {
    * param1 /* c1 *&#47;, /* c2 *&#47; param2)} will attach the comment c1 to {@code param1} and the
    * comment c2 to {@code param2}.
    *
-   * <p>Warning: this is expensive to compute as it involves re-tokenizing the source for this node.
-   *
-   * <p>Currently this method will only tokenize the source code of the method call itself. However,
-   * the source positions in the returned {@code Comment} objects are adjusted so that they are
-   * relative to the whole file.
+   * <p>The comments are found in the tokens of the method call itself, which are looked up in the
+   * tokens of the whole compilation unit. The source positions in the returned {@code Comment}
+   * objects are relative to the whole file.
    */
   public static ImmutableList<Commented<ExpressionTree>> findCommentsForArguments(
       NewClassTree newClassTree, VisitorState state) {
@@ -71,11 +70,9 @@ public final class Comments {
    * *&#47;, /* c2 *&#47; param2)} will attach the comment c1 to {@code param1} and the comment c2
    * to {@code param2}.
    *
-   * <p>Warning: this is expensive to compute as it involves re-tokenizing the source for this node
-   *
-   * <p>Currently this method will only tokenize the source code of the method call itself. However,
-   * the source positions in the returned {@code Comment} objects are adjusted so that they are
-   * relative to the whole file.
+   * <p>The comments are found in the tokens of the method call itself, which are looked up in the
+   * tokens of the whole compilation unit. The source positions in the returned {@code Comment}
+   * objects are relative to the whole file.
    */
   public static ImmutableList<Commented<ExpressionTree>> findCommentsForArguments(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
@@ -127,23 +124,19 @@ public final class Comments {
     }
 
     // The token position of the end of the method invocation
-    int invocationEnd = state.getEndPosition(tree) - invocationStart;
+    int invocationEnd = state.getEndPosition(tree);
 
     // Ignore comments nested inside arguments.
     TreeRangeSet<Integer> exclude = TreeRangeSet.create();
     arguments.forEach(
-        arg ->
-            exclude.add(
-                Range.closed(
-                    getStartPosition(arg) - invocationStart,
-                    state.getEndPosition(arg) - invocationStart)));
-
-    ErrorProneTokens errorProneTokens = new ErrorProneTokens(source.toString(), state.context);
-    ImmutableList<ErrorProneToken> tokens = errorProneTokens.getTokens();
-    LineMap lineMap = errorProneTokens.getLineMap();
-
-    ArgumentTracker argumentTracker =
-        new ArgumentTracker(arguments, invocationStart, state, lineMap);
+        arg -> exclude.add(Range.closed(getStartPosition(arg), state.getEndPosition(arg))));
+
+    // Positions are relative to the whole file, since the tokens come from the index of the tokens
+    // of the compilation unit instead of re-lexing the invocation.
+    List<ErrorProneToken> tokens = state.getOffsetTokens(invocationStart, endPosition.get());
+    LineMap lineMap = ((JCCompilationUnit) state.getPath().getCompilationUnit()).lineMap;
+
+    ArgumentTracker argumentTracker = new ArgumentTracker(arguments, 0, state, lineMap);
     TokenTracker tokenTracker = new TokenTracker(lineMap);
 
     argumentTracker.advance();
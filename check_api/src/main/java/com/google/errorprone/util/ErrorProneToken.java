@@ -29,36 +29,56 @@ import java.util.List;
 /** Wraps a javac {@link Token} to return comments in declaration order. */
 public class ErrorProneToken {
   private final int offset;
+  private final TokenKind kind;
+  private final int pos;
+  private final int endPos;
+  private final List<Comment> comments;
+
+  /**
+   * The wrapped token. For the end of a range of tokens in a larger source, this is the EOF token
+   * of the whole source, whose position and comments are replaced.
+   */
   private final Token token;
 
   ErrorProneToken(Token token, int offset) {
+    // javac stores the comments in reverse declaration order because appending to linked
+    // lists is expensive
+    this(
+        token.kind,
+        token.pos,
+        token.endPos,
+        token.comments == null ? Collections.emptyList() : Lists.reverse(token.comments),
+        token,
+        offset);
+  }
+
+  ErrorProneToken(
+      TokenKind kind, int pos, int endPos, List<Comment> comments, Token token, int offset) {
+    this.kind = kind;
+    this.pos = pos;
+    this.endPos = endPos;
+    this.comments = comments;
     this.token = token;
     this.offset = offset;
   }
 
   public TokenKind kind() {
-    return token.kind;
+    return kind;
   }
 
   public int pos() {
-    return offset + token.pos;
+    return offset + pos;
   }
 
   public int endPos() {
-    return offset + token.endPos;
+    return offset + endPos;
   }
 
   public List<Comment> comments() {
-    // javac stores the comments in reverse declaration order because appending to linked
-    // lists is expensive
-    if (token.comments == null) {
-      return Collections.emptyList();
-    }
-    if (offset == 0) {
-      return Lists.reverse(token.comments);
+    if (offset == 0 || comments.isEmpty()) {
+      return comments;
     }
-    return Lists.reverse(
-        token.comments.stream().map(c -> new OffsetComment(c, offset)).collect(toList()));
+    return comments.stream().map(c -> new OffsetComment(c, offset)).collect(toList());
   }
 
   public boolean hasName() {
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.util.ErrorProneTokens.AccessibleScanner;
+import com.google.errorprone.util.ErrorProneTokens.CommentSavingTokenizer;
+import com.google.errorprone.util.ErrorProneTokens.CommentWithTextAndPosition;
+import com.sun.tools.javac.parser.Scanner;
+import com.sun.tools.javac.parser.ScannerFactory;
+import com.sun.tools.javac.parser.Tokens.Comment;
+import com.sun.tools.javac.parser.Tokens.Comment.CommentStyle;
+import com.sun.tools.javac.parser.Tokens.Token;
+import com.sun.tools.javac.parser.Tokens.TokenKind;
+import com.sun.tools.javac.util.Context;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The tokens and comments of a whole source file, which is lexed once and then answers queries for
+ * the tokens in a range of the file.
+ *
+ * <p>The result of a query is the same as lexing just the text in the range: tokens and comments
+ * that start before the range are left out, and the last token is an {@link TokenKind#EOF} token at
+ * the end of the range, which holds the comments between the last token in the range and its end.
+ * Ranges that start or end inside a token or comment are lexed separately.
+ */
+public final class ErrorProneTokenIndex {
+
+  private final CharSequence source;
+  private final Context context;
+
+  // The tokens of the file, excluding the final EOF token.
+  private final Token[] tokens;
+  private final int[] tokenStarts;
+  private final int[] tokenEnds;
+
+  // The final EOF token, which ends the tokens of every range with its position replaced.
+  private final Token eof;
+
+  // The comments of the file, in declaration order.
+  private final Comment[] comments;
+  private final int[] commentStarts;
+  private final int[] commentEnds;
+
+  /** Lexes {@code source}. */
+  public static ErrorProneTokenIndex create(CharSequence source, Context context) {
+    return new ErrorProneTokenIndex(source, context);
+  }
+
+  private ErrorProneTokenIndex(CharSequence source, Context context) {
+    this.source = source;
+    this.context = context;
+    ScannerFactory scannerFactory = ScannerFactory.instance(context);
+    // A trailing newline keeps a line comment at the end of the file, which javac would drop, so
+    // that ranges ending inside it are recognized.
+    char[] buffer = (source + "\n").toCharArray();
+    Scanner scanner =
+        new AccessibleScanner(
+            scannerFactory, new CommentSavingTokenizer(scannerFactory, buffer, buffer.length));
+    List<Token> tokens = new ArrayList<>();
+    List<Comment> comments = new ArrayList<>();
+    Token eof;
+    while (true) {
+      scanner.nextToken();
+      Token token = scanner.token();
+      if (token.comments != null) {
+        // javac stores the comments in reverse declaration order
+        comments.addAll(token.comments.reverse());
+      }
+      if (token.kind == TokenKind.EOF) {
+        eof = token;
+        break;
+      }
+      tokens.add(token);
+    }
+    this.tokens = tokens.toArray(new Token[0]);
+    this.eof = eof;
+    this.tokenStarts = new int[this.tokens.length];
+    this.tokenEnds = new int[this.tokens.length];
+    for (int i = 0; i < this.tokens.length; i++) {
+      tokenStarts[i] = this.tokens[i].pos;
+      tokenEnds[i] = this.tokens[i].endPos;
+    }
+    this.comments = comments.toArray(new Comment[0]);
+    this.commentStarts = new int[this.comments.length];
+    this.commentEnds = new int[this.comments.length];
+    for (int i = 0; i < this.comments.length; i++) {
+      CommentWithTextAndPosition comment = (CommentWithTextAndPosition) this.comments[i];
+      commentStarts[i] = comment.getPos();
+      commentEnds[i] = comment.getEndPos();
+    }
+  }
+
+  /**
+   * Returns the tokens between {@code start} and {@code end}, with positions relative to the whole
+   * source.
+   */
+  public ImmutableList<ErrorProneToken> getOffsetTokens(int start, int end) {
+    return getTokens(start, end, 0);
+  }
+
+  /**
+   * Returns the tokens between {@code start} and {@code end}, with positions relative to {@code
+   * start}.
+   */
+  public ImmutableList<ErrorProneToken> getTokens(int start, int end) {
+    return getTokens(start, end, -start);
+  }
+
+  private ImmutableList<ErrorProneToken> getTokens(int start, int end, int offset) {
+    checkArgument(
+        0 <= start && start <= end && end <= source.length(),
+        "invalid range [%s, %s) in source of length %s",
+        start,
+        end,
+        source.length());
+    int token = firstStartingAtOrAfter(tokenStarts, start);
+    int comment = firstStartingAtOrAfter(commentStarts, start);
+    if ((token > 0 && tokenEnds[token - 1] > start)
+        || (comment > 0 && commentEnds[comment - 1] > start)) {
+      return lexSeparately(start, end, offset);
+    }
+    ImmutableList.Builder<ErrorProneToken> result = ImmutableList.builder();
+    for (; token < tokens.length && tokenStarts[token] < end; token++) {
+      if (tokenEnds[token] > end) {
+        return lexSeparately(start, end, offset);
+      }
+      int firstComment = comment;
+      while (comment < comments.length && commentStarts[comment] < tokenStarts[token]) {
+        comment++;
+      }
+      result.add(
+          new ErrorProneToken(
+              tokens[token].kind,
+              tokenStarts[token],
+              tokenEnds[token],
+              commentsBetween(firstComment, comment),
+              tokens[token],
+              offset));
+    }
+    int firstComment = comment;
+    while (comment < comments.length && commentStarts[comment] < end) {
+      if (commentEnds[comment] > end) {
+        return lexSeparately(start, end, offset);
+      }
+      comment++;
+    }
+    if (comment > firstComment
+        && commentEnds[comment - 1] == end
+        && comments[comment - 1].getStyle() == CommentStyle.LINE) {
+      // javac drops a line comment that isn't terminated by a newline before the end of input
+      comment--;
+    }
+    result.add(
+        new ErrorProneToken(
+            TokenKind.EOF, end, end, commentsBetween(firstComment, comment), eof, offset));
+    return result.build();
+  }
+
+  private List<Comment> commentsBetween(int from, int to) {
+    return from == to
+        ? Collections.emptyList()
+        : Collections.unmodifiableList(Arrays.asList(comments).subList(from, to));
+  }
+
+  private ImmutableList<ErrorProneToken> lexSeparately(int start, int end, int offset) {
+    return ErrorProneTokens.getTokens(
+        source.subSequence(start, end).toString(), start + offset, context);
+  }
+
+  /** Returns the index of the first of the sorted {@code starts} that is at least {@code pos}. */
+  private static int firstStartingAtOrAfter(int[] starts, int pos) {
+    int i = Arrays.binarySearch(starts, pos);
+    if (i < 0) {
+      return -i - 1;
+    }
+    // Zero-length tokens may share a start position, so find the first one.
+    while (i > 0 && starts[i - 1] == pos) {
+      i--;
+    }
+    return i;
+  }
+}
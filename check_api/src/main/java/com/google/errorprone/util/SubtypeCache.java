@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.util;
+
+import com.google.errorprone.ErrorProneTimings;
+import com.google.errorprone.VisitorState;
+import com.google.errorprone.suppliers.Supplier;
+import com.sun.tools.javac.code.Symbol.TypeSymbol;
+import com.sun.tools.javac.code.Type;
+import com.sun.tools.javac.code.Types;
+import com.sun.tools.javac.util.Context;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Remembers whether one erased class type is a subtype of another for the rest of a compilation,
+ * for {@link ASTHelpers#isSubtype}.
+ *
+ * <p>Many checks ask whether the same types are subtypes of the same few types, such as {@code
+ * Collection} or {@code Throwable}. The erasure of a class type is determined by its symbol, so the
+ * answers are keyed by the pair of symbols. The number of hits and misses is reported in the
+ * {@linkplain ErrorProneTimings#writeReport timings report}.
+ */
+final class SubtypeCache {
+
+  private static final Supplier<SubtypeCache> INSTANCE =
+      VisitorState.memoize(state -> new SubtypeCache(state.context));
+
+  static SubtypeCache instance(VisitorState state) {
+    return INSTANCE.get(state);
+  }
+
+  /**
+   * The number of hits and misses in a compilation, which outlive the cache if it is released under
+   * memory pressure and recreated.
+   */
+  private static final class Counts {
+    long hits;
+    long misses;
+  }
+
+  private static final Context.Key<Counts> COUNTS_KEY = new Context.Key<>();
+
+  /** Whether the erasure of each subtype symbol is a subtype, by supertype symbol. */
+  private final Map<TypeSymbol, Map<TypeSymbol, Boolean>> subtypes = new IdentityHashMap<>();
+
+  private final Counts counts;
+
+  private SubtypeCache(Context context) {
+    this.counts = counts(context);
+  }
+
+  private static Counts counts(Context context) {
+    Counts existing = context.get(COUNTS_KEY);
+    if (existing != null) {
+      return existing;
+    }
+    Counts counts = new Counts();
+    context.put(COUNTS_KEY, counts);
+    ErrorProneTimings timings = ErrorProneTimings.instance(context);
+    timings.addCounter("subtypeCache.hits", () -> counts.hits);
+    timings.addCounter("subtypeCache.misses", () -> counts.misses);
+    return counts;
+  }
+
+  /** Returns whether {@code s <: t}, where both are erased class types. */
+  boolean isSubtype(Type s, Type t, Types types) {
+    Map<TypeSymbol, Boolean> supertypes =
+        subtypes.computeIfAbsent(t.tsym, k -> new IdentityHashMap<>());
+    Boolean result = supertypes.get(s.tsym);
+    if (result != null) {
+      counts.hits++;
+      return result;
+    }
+    counts.misses++;
+    result = types.isSubtype(s, t);
+    supertypes.put(s.tsym, result);
+    return result;
+  }
+}
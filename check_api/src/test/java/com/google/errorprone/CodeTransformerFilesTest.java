@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertThrows;
+
+import com.google.common.collect.ImmutableClassToInstanceMap;
+import com.google.common.collect.ImmutableList;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.util.Context;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.annotation.Annotation;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link CodeTransformerFiles}. */
+@RunWith(JUnit4.class)
+public class CodeTransformerFilesTest {
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  @Test
+  public void roundTrip() throws IOException {
+    Path path = tempFolder.newFile("rules.bin").toPath();
+    CodeTransformerFiles.Writer writer = CodeTransformerFiles.writer();
+    NamedTransformer root =
+        new NamedTransformer(
+            "root", ImmutableList.of(writer.addSection("first"), writer.addSection("second")));
+    writer.write(path, root);
+
+    NamedTransformer read = (NamedTransformer) CodeTransformerFiles.read(path);
+    assertThat(read.name).isEqualTo("root");
+    assertThat(read.sections.get(1).get()).isEqualTo("second");
+    assertThat(read.sections.get(0).get()).isEqualTo("first");
+  }
+
+  @Test
+  public void rewritingKeepsEarlierReadsIntact() throws IOException {
+    Path path = tempFolder.newFile("rules.bin").toPath();
+    CodeTransformerFiles.Writer writer = CodeTransformerFiles.writer();
+    writer.write(path, new NamedTransformer("old", ImmutableList.of(writer.addSection("old"))));
+    NamedTransformer old = (NamedTransformer) CodeTransformerFiles.read(path);
+
+    CodeTransformerFiles.Writer rewriter = CodeTransformerFiles.writer();
+    rewriter.addSection("a longer section that moves the other one");
+    rewriter.write(path, new NamedTransformer("new", ImmutableList.of(rewriter.addSection("new"))));
+
+    assertThat(old.sections.get(0).get()).isEqualTo("old");
+    try (Stream<Path> files = Files.list(tempFolder.getRoot().toPath())) {
+      assertThat(files.map(p -> p.getFileName().toString()).collect(toList()))
+          .containsExactly("rules.bin");
+    }
+  }
+
+  @Test
+  public void cachedWhileUnchanged() throws IOException {
+    Path path = tempFolder.newFile("rules.bin").toPath();
+    CodeTransformerFiles.writer().write(path, new NamedTransformer("root", ImmutableList.of()));
+
+    assertThat(CodeTransformerFiles.read(path)).isSameInstanceAs(CodeTransformerFiles.read(path));
+  }
+
+  @Test
+  public void readsUnversionedFiles() throws IOException {
+    Path path = tempFolder.newFile("rules.ser").toPath();
+    try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(path))) {
+      out.writeObject(new NamedTransformer("legacy", ImmutableList.of()));
+    }
+
+    assertThat(((NamedTransformer) CodeTransformerFiles.read(path)).name).isEqualTo("legacy");
+  }
+
+  @Test
+  public void rejectsUnknownVersions() throws IOException {
+    Path path = tempFolder.newFile("rules.bin").toPath();
+    try (OutputStream out = Files.newOutputStream(path)) {
+      out.write(
+          ByteBuffer.allocate(12)
+              .put("EPCT".getBytes(US_ASCII))
+              .putInt(CodeTransformerFiles.VERSION + 1)
+              .putInt(0)
+              .array());
+    }
+
+    IOException e = assertThrows(IOException.class, () -> CodeTransformerFiles.read(path));
+    assertThat(e).hasMessageThat().contains("only version 1 is supported");
+  }
+
+  private static final class NamedTransformer implements CodeTransformer, Serializable {
+    final String name;
+    final List<CodeTransformerFiles.Section<String>> sections;
+
+    NamedTransformer(String name, List<CodeTransformerFiles.Section<String>> sections) {
+      this.name = name;
+      this.sections = sections;
+    }
+
+    @Override
+    public void apply(TreePath path, Context context, DescriptionListener listener) {}
+
+    @Override
+    public ImmutableClassToInstanceMap<Annotation> annotations() {
+      return ImmutableClassToInstanceMap.of();
+    }
+  }
+}
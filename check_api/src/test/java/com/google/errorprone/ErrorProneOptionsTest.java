@@ -17,11 +17,13 @@
 package com.google.errorprone;
 
 import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth8.assertThat;
 import static org.junit.Assert.assertThrows;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.ErrorProneOptions.Severity;
 import com.google.errorprone.apply.ImportOrganizer;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -190,6 +192,37 @@ public class ErrorProneOptionsTest {
     assertThat(excludedPattern.matcher("foo/other_output/subdir/Gen.cpp").matches()).isFalse();
   }
 
+  @Test
+  public void recognizesTimingsOptions() {
+    ErrorProneOptions options = ErrorProneOptions.processArgs(new String[] {});
+    assertThat(options.isDisableTimings()).isFalse();
+    assertThat(options.getTimingsReportPath()).isNull();
+
+    options =
+        ErrorProneOptions.processArgs(
+            new String[] {"-XepDisableTimings", "-XepTimingsReport:/tmp/timings.json"});
+    assertThat(options.isDisableTimings()).isTrue();
+    assertThat(options.getTimingsReportPath()).isEqualTo(Paths.get("/tmp/timings.json"));
+  }
+
+  @Test
+  public void timingsReportRequiresPath() {
+    InvalidCommandLineOptionException expected =
+        assertThrows(
+            InvalidCommandLineOptionException.class,
+            () -> ErrorProneOptions.processArgs(new String[] {"-XepTimingsReport:"}));
+    assertThat(expected).hasMessageThat().contains("invalid flag");
+  }
+
+  @Test
+  public void recognizesFindingsCache() {
+    assertThat(ErrorProneOptions.processArgs(new String[] {}).getFindingsCachePath()).isNull();
+
+    ErrorProneOptions options =
+        ErrorProneOptions.processArgs(new String[] {"-XepFindingsCache:/tmp/findings"});
+    assertThat(options.getFindingsCachePath()).isEqualTo(Paths.get("/tmp/findings"));
+  }
+
   @Test
   public void recognizesPatch() {
     ErrorProneOptions options =
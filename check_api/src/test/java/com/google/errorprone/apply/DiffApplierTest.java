@@ -0,0 +1,142 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.apply;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.TruthJUnit.assume;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** {@link DiffApplier}Test */
+@RunWith(JUnit4.class)
+public class DiffApplierTest {
+
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private static Diff replace(String fileName, String from, String to) {
+    return new Diff() {
+      @Override
+      public String getRelevantFileName() {
+        return fileName;
+      }
+
+      @Override
+      public void applyDifferences(SourceFile sourceFile) {
+        String text = sourceFile.getSourceText();
+        if (!text.contains(from)) {
+          throw new DiffNotApplicableException(from + " not found in " + fileName);
+        }
+        sourceFile.setSourceText(text.replace(from, to));
+      }
+    };
+  }
+
+  @Test
+  public void appliesDiffs() throws Exception {
+    Path root = tempFolder.getRoot().toPath();
+    int files = 200;
+    for (int i = 0; i < files; i++) {
+      Files.write(root.resolve("F" + i + ".java"), ("class F" + i + " {}\n").getBytes(UTF_8));
+    }
+    DiffApplier applier =
+        new DiffApplier(
+            /* diffParallelism= */ 4, new FsFileSource(root), new FsFileDestination(root));
+    applier.startAsync().awaitRunning();
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int i = 0; i < files; i++) {
+      futures.add(applier.put(replace("F" + i + ".java", "{}", "{ int x; }")));
+    }
+    futures.add(applier.put(replace("F0.java", "{}", "{ int y; }")));
+    futures.add(applier.put(replace("F" + files + ".java", "{}", "{ int x; }")));
+    for (Future<?> future : futures) {
+      if (future != null) {
+        future.get();
+      }
+    }
+    applier.stopAsync().awaitTerminated();
+
+    for (int i = 0; i < files; i++) {
+      assertThat(Files.readAllLines(root.resolve("F" + i + ".java"), UTF_8))
+          .containsExactly("class F" + i + " { int x; }");
+    }
+    assertThat(futures.get(files)).isNull();
+    DiffApplier.Progress progress = applier.progress();
+    assertThat(progress.completedFiles()).isEqualTo(files);
+    assertThat(progress.failedFiles()).isEqualTo(1);
+    assertThat(progress.charactersWritten()).isGreaterThan(progress.charactersRead());
+    assertThat(progress.reading() + progress.applying() + progress.writing()).isEqualTo(0);
+    try (Stream<Path> stream = Files.list(root)) {
+      assertThat(stream.filter(p -> p.toString().endsWith(".tmp")).count()).isEqualTo(0);
+    }
+  }
+
+  @Test
+  public void readsLargeFiles() throws Exception {
+    Path root = tempFolder.getRoot().toPath();
+    StringBuilder source = new StringBuilder("class Large {\n");
+    while (source.length() < 2 << 20) {
+      source.append("  // é\n");
+    }
+    source.append("}\n");
+    Files.write(root.resolve("Large.java"), source.toString().getBytes(UTF_8));
+
+    SourceFile file = new FsFileSource(root).readFile("Large.java");
+
+    assertThat(file.getSourceText()).isEqualTo(source.toString());
+  }
+
+  @Test
+  public void newFilesGetDefaultPermissions() throws Exception {
+    Path root = tempFolder.getRoot().toPath();
+    assume().that(Files.getFileStore(root).supportsFileAttributeView("posix")).isTrue();
+    Path reference = Files.createFile(root.resolve("Reference.java"));
+
+    new FsFileDestination(root).writeFile(new SourceFile("New.java", "class New {}\n"));
+
+    assertThat(Files.getPosixFilePermissions(root.resolve("New.java")))
+        .isEqualTo(Files.getPosixFilePermissions(reference));
+  }
+
+  @Test
+  public void hardLinkedFilesAreRewrittenInPlace() throws Exception {
+    Path root = tempFolder.getRoot().toPath();
+    Path file = Files.write(root.resolve("A.java"), "class A {}\n".getBytes(UTF_8));
+    Path link;
+    try {
+      link = Files.createLink(root.resolve("Link.java"), file);
+    } catch (UnsupportedOperationException e) {
+      assume().withMessage("hard links are not supported").fail();
+      return;
+    }
+
+    new FsFileDestination(root).writeFile(new SourceFile("A.java", "class A { int x; }\n"));
+
+    assertThat(new String(Files.readAllBytes(link), UTF_8)).isEqualTo("class A { int x; }\n");
+  }
+}
@@ -18,6 +18,8 @@ package com.google.errorprone.apply;
 
 import static com.google.common.truth.Truth.assertThat;
 
+import com.google.errorprone.fixes.Replacement;
+import com.google.errorprone.fixes.Replacements;
 import java.util.Arrays;
 import java.util.List;
 import org.junit.Before;
@@ -113,4 +115,45 @@ public class SourceFileTest {
                 + "// enim ad minim veniam, quis nostrud exercitation ullamco\n");
     assertThat(sourceFile.getFragmentByLines(1, 8)).isEqualTo(SOURCE_TEXT);
   }
+
+  @Test
+  public void replaceChars_repeatedly() {
+    sourceFile.replaceChars(3, 8, "Sasquatch");
+    sourceFile.replaceChars(0, 2, "/*");
+    sourceFile.replaceChars(sourceFile.getAsSequence().length() - 1, Integer.MAX_VALUE, " */\n");
+    assertThat(sourceFile.getFragmentByChars(0, 12)).isEqualTo("/* Sasquatch");
+    assertThat(sourceFile.getFragmentByLines(8, 8)).isEqualTo("// est laborum. */\n");
+    assertThat(sourceFile.getSourceText())
+        .isEqualTo(
+            "/*"
+                + SOURCE_TEXT.substring(2, SOURCE_TEXT.length() - 1).replace("Lorem", "Sasquatch")
+                + " */\n");
+  }
+
+  @Test
+  public void makeReplacements() {
+    StringBuilder source = new StringBuilder();
+    StringBuilder expected = new StringBuilder();
+    Replacements replacements = new Replacements();
+    for (int i = 0; i < 1000; i++) {
+      replacements.add(Replacement.create(source.length(), source.length() + 1, "b" + i));
+      source.append("a;\r\n");
+      expected.append("b").append(i).append(";\r\n");
+    }
+    sourceFile.setSourceText(source);
+
+    sourceFile.makeReplacements(replacements);
+
+    assertThat(sourceFile.getFragmentByChars(5, 12)).isEqualTo("b1;\r\nb2");
+    assertThat(sourceFile.getLines()).hasSize(1000);
+    assertThat(sourceFile.getFragmentByLines(500, 501)).isEqualTo("b499;\nb500;\n");
+    assertThat(sourceFile.getSourceText()).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void getLines_lineTerminators() {
+    sourceFile.setSourceText("a\r\nb\rc\n\nd");
+    assertThat(sourceFile.getLines()).containsExactly("a", "b", "c", "", "d").inOrder();
+    assertThat(sourceFile.getFragmentByLines(3, 10)).isEqualTo("c\n\nd\n");
+  }
 }
@@ -47,6 +47,31 @@ public class AccessPathStoreTest {
     assertThat(newStore().heap()).isEmpty();
   }
 
+  @Test
+  public void leastUpperBound() {
+    AccessPath path1 = mock(AccessPath.class);
+    AccessPath path2 = mock(AccessPath.class);
+    AccessPath path3 = mock(AccessPath.class);
+    AccessPathStore<Nullness> store =
+        newStore().toBuilder()
+            .setInformation(path1, Nullness.NULL)
+            .setInformation(path2, Nullness.NONNULL)
+            .build();
+    AccessPathStore<Nullness> other =
+        store.toBuilder()
+            .setInformation(path2, Nullness.NULL)
+            .setInformation(path3, Nullness.NULL)
+            .build();
+
+    AccessPathStore<Nullness> lub = store.leastUpperBound(other);
+
+    assertThat(lub.heap()).containsExactly(path1, Nullness.NULL, path2, Nullness.NULLABLE);
+    assertThat(lub).isEqualTo(other.leastUpperBound(store));
+    assertThat(store.leastUpperBound(store)).isSameInstanceAs(store);
+    assertThat(store.toBuilder().setInformation(path1, Nullness.NULL).build())
+        .isSameInstanceAs(store);
+  }
+
   private static AccessPathStore<Nullness> newStore() {
     return AccessPathStore.empty();
   }
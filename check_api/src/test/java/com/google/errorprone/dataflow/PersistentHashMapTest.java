@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.dataflow;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** {@link PersistentHashMap}Test */
+@RunWith(JUnit4.class)
+public class PersistentHashMapTest {
+
+  /** A key whose hash code only takes a few values, so that many keys collide. */
+  private static final class Key {
+    private final int id;
+
+    Key(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return id % 7 == 0 ? 42 : id * 0x9E3779B9;
+    }
+
+    @Override
+    public String toString() {
+      return "k" + id;
+    }
+  }
+
+  @Test
+  public void sameAsHashMap() {
+    Random random = new Random(1);
+    for (int round = 0; round < 50; round++) {
+      Map<Key, Integer> expectedA = new HashMap<>();
+      Map<Key, Integer> expectedB = new HashMap<>();
+      PersistentHashMap<Key, Integer> a = PersistentHashMap.empty();
+      for (int i = 0; i < 300; i++) {
+        Key key = new Key(random.nextInt(400));
+        int value = random.nextInt(3);
+        expectedA.put(key, value);
+        a = a.put(key, value);
+      }
+      PersistentHashMap<Key, Integer> b = a;
+      expectedB.putAll(expectedA);
+      for (int i = 0; i < 50; i++) {
+        Key key = new Key(random.nextInt(800));
+        int value = random.nextInt(3);
+        expectedB.put(key, value);
+        b = b.put(key, value);
+      }
+
+      assertThat(a.toImmutableMap()).isEqualTo(expectedA);
+      assertThat(a.size()).isEqualTo(expectedA.size());
+      assertThat(a.hashCode()).isEqualTo(expectedA.hashCode());
+      assertThat(b.toImmutableMap()).isEqualTo(expectedB);
+
+      Map<Key, Integer> expectedIntersection = new HashMap<>();
+      expectedA.forEach(
+          (k, v) -> {
+            if (expectedB.containsKey(k)) {
+              expectedIntersection.put(k, Math.max(v, expectedB.get(k)));
+            }
+          });
+      PersistentHashMap<Key, Integer> intersection = a.intersect(b, Math::max);
+      assertThat(intersection.toImmutableMap()).isEqualTo(expectedIntersection);
+      assertThat(intersection).isEqualTo(rebuild(expectedIntersection, random));
+      assertThat(b.intersect(a, Math::max)).isEqualTo(intersection);
+    }
+  }
+
+  @Test
+  public void equalsIgnoresInsertionOrder() {
+    Map<Key, Integer> entries = new HashMap<>();
+    for (int i = 0; i < 200; i++) {
+      entries.put(new Key(i), i);
+    }
+    Random random = new Random(2);
+    PersistentHashMap<Key, Integer> map = rebuild(entries, random);
+
+    assertThat(map).isEqualTo(rebuild(entries, random));
+    assertThat(map.hashCode()).isEqualTo(rebuild(entries, random).hashCode());
+    assertThat(map).isNotEqualTo(map.put(new Key(0), 1));
+    assertThat(map).isNotEqualTo(map.put(new Key(200), 1));
+  }
+
+  @Test
+  public void unchangedMapsAreShared() {
+    PersistentHashMap<Key, Integer> map =
+        PersistentHashMap.<Key, Integer>empty().put(new Key(1), 1).put(new Key(2), 2);
+
+    assertThat(map.put(new Key(1), 1)).isSameInstanceAs(map);
+    assertThat(map.intersect(map, Math::max)).isSameInstanceAs(map);
+    assertThat(map.intersect(map.put(new Key(3), 3), Math::max)).isSameInstanceAs(map);
+  }
+
+  private static PersistentHashMap<Key, Integer> rebuild(Map<Key, Integer> entries, Random random) {
+    List<Key> keys = new ArrayList<>(entries.keySet());
+    Collections.shuffle(keys, random);
+    PersistentHashMap<Key, Integer> result = PersistentHashMap.empty();
+    for (Key key : keys) {
+      result = result.put(key, entries.get(key));
+    }
+    return result;
+  }
+}
@@ -121,6 +121,26 @@ public class AppliedFixTest {
     assertThat(fix.getNewCodeSnippet().toString()).isEqualTo("int three3tres;");
   }
 
+  @Test
+  public void shouldEndSnippetAtNewlineInReplacement() {
+    AppliedFix fix =
+        AppliedFix.fromSource("class Foo {\n  int x = 1;\n  int y = 2;\n}", endPositions)
+            .apply(
+                SuggestedFix.builder()
+                    .replace(18, 23, "z = 3;\n  int x")
+                    .replace(27, 30, "long")
+                    .build());
+    assertThat(fix.getNewCodeSnippet().toString()).isEqualTo("int z = 3;");
+  }
+
+  @Test
+  public void shouldIncludeLaterReplacementsOnTheSameLine() {
+    AppliedFix fix =
+        AppliedFix.fromSource("class Foo {\n  int x = 1; // one\n}", endPositions)
+            .apply(SuggestedFix.builder().replace(14, 17, "long").replace(22, 23, "2L").build());
+    assertThat(fix.getNewCodeSnippet().toString()).isEqualTo("long x = 2L;");
+  }
+
   @Test
   public void shouldReturnNullOnEmptyFix() {
     AppliedFix fix =
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.util;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.sun.tools.javac.file.JavacFileManager;
+import com.sun.tools.javac.parser.Tokens.Comment;
+import com.sun.tools.javac.parser.Tokens.TokenKind;
+import com.sun.tools.javac.util.Context;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** {@link ErrorProneTokenIndex}Test */
+@RunWith(JUnit4.class)
+public class ErrorProneTokenIndexTest {
+
+  private static final String SOURCE =
+      Joiner.on('\n')
+          .join(
+              "/** Javadoc. */",
+              "class Test {",
+              "  // line comment",
+              "  int f(int a, /* b= */ int b) {",
+              "    return a >> /* shift */ b; // trailing",
+              "  }",
+              "  String s = \"a /* not a comment */ b\";",
+              "}",
+              "// last");
+
+  @Test
+  public void sameAsLexingEachRange() {
+    Context context = new Context();
+    JavacFileManager.preRegister(context);
+    ErrorProneTokenIndex index = ErrorProneTokenIndex.create(SOURCE, context);
+
+    for (int start = 0; start <= SOURCE.length(); start++) {
+      for (int end = start; end <= SOURCE.length(); end++) {
+        String text = SOURCE.substring(start, end);
+        ImmutableList<String> expected;
+        try {
+          expected = describe(ErrorProneTokens.getTokens(text, start, context));
+        } catch (IllegalArgumentException e) {
+          // The range can't be lexed on its own, e.g. because it ends inside a comment.
+          continue;
+        }
+        assertWithMessage("[%s, %s)", start, end)
+            .that(describe(index.getOffsetTokens(start, end)))
+            .isEqualTo(expected);
+        assertThat(describe(index.getTokens(start, end)))
+            .isEqualTo(describe(ErrorProneTokens.getTokens(text, context)));
+      }
+    }
+  }
+
+  @Test
+  public void commentsBeforeTheRangeAreExcluded() {
+    Context context = new Context();
+    JavacFileManager.preRegister(context);
+    ErrorProneTokenIndex index = ErrorProneTokenIndex.create(SOURCE, context);
+    int start = SOURCE.indexOf("int f");
+
+    ImmutableList<ErrorProneToken> tokens = index.getOffsetTokens(start, SOURCE.indexOf("(int a"));
+
+    assertThat(describe(tokens))
+        .containsExactly(
+            "INT@" + start + "[]", "IDENTIFIER@" + (start + 4) + "[]", "EOF@" + (start + 5) + "[]")
+        .inOrder();
+  }
+
+  @Test
+  public void rangesEndWithTheLexersEofToken() {
+    Context context = new Context();
+    JavacFileManager.preRegister(context);
+    ErrorProneTokenIndex index = ErrorProneTokenIndex.create(SOURCE, context);
+    int end = SOURCE.indexOf("(int a");
+
+    ErrorProneToken eof = Iterables.getLast(index.getTokens(0, end));
+    ErrorProneToken expected =
+        Iterables.getLast(ErrorProneTokens.getTokens(SOURCE.substring(0, end), context));
+
+    assertThat(eof.kind()).isEqualTo(TokenKind.EOF);
+    assertThat(eof.hasName()).isEqualTo(expected.hasName());
+    assertThat(eof.hasStringVal()).isEqualTo(expected.hasStringVal());
+    assertThat(eof.hasRadix()).isEqualTo(expected.hasRadix());
+  }
+
+  private static ImmutableList<String> describe(List<ErrorProneToken> tokens) {
+    return tokens.stream()
+        .map(
+            t ->
+                String.format(
+                    "%s@%d%s",
+                    t.kind().name(),
+                    t.pos(),
+                    t.comments().stream()
+                        .map(ErrorProneTokenIndexTest::describe)
+                        .collect(toImmutableList())))
+        .collect(toImmutableList());
+  }
+
+  private static String describe(Comment c) {
+    return c.getSourcePos(0) + ":" + c.getText();
+  }
+}
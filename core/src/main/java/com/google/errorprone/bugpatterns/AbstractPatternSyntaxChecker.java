@@ -21,10 +21,11 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.annotations.CheckReturnValue;
 import com.google.errorprone.annotations.ForOverride;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -34,7 +35,7 @@ import com.sun.source.tree.MethodInvocationTree;
 /** Finds calls to regex-accepting methods with literal strings. */
 @CheckReturnValue
 abstract class AbstractPatternSyntaxChecker extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   /*
    * Match invocations to regex-accepting methods. Subclasses will be consulted to see whether the
@@ -60,6 +61,11 @@ abstract class AbstractPatternSyntaxChecker extends BugChecker
           staticMethod().onClass("java.util.regex.Pattern").named("matches"),
           staticMethod().onClass("com.google.common.base.Splitter").named("onPattern"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(REGEX_USAGE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!REGEX_USAGE.matches(tree, state)) {
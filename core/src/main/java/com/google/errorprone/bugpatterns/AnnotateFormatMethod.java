@@ -22,10 +22,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.BugPattern.StandardTags.FRAGILE_CODE;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.annotations.FormatMethod;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -52,7 +53,8 @@ import javax.annotation.Nullable;
             + " run-time protection against malformed format strings.",
     tags = FRAGILE_CODE,
     severity = WARNING)
-public final class AnnotateFormatMethod extends BugChecker implements MethodInvocationTreeMatcher {
+public final class AnnotateFormatMethod extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String REORDER =
       " (The parameters of this method would need to be reordered to make the format string and "
@@ -61,6 +63,11 @@ public final class AnnotateFormatMethod extends BugChecker implements MethodInvo
   private static final Matcher<ExpressionTree> STRING_FORMAT =
       staticMethod().onClass("java.lang.String").named("format");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(STRING_FORMAT);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!STRING_FORMAT.matches(tree, state)) {
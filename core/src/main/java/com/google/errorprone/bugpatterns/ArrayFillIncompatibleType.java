@@ -20,10 +20,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -42,7 +43,8 @@ import com.sun.tools.javac.code.Type;
 @BugPattern(
     summary = "Arrays.fill(Object[], Object) called with incompatible types.",
     severity = ERROR)
-public class ArrayFillIncompatibleType extends BugChecker implements MethodInvocationTreeMatcher {
+public class ArrayFillIncompatibleType extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> ARRAY_FILL_MATCHER =
       anyOf(
           staticMethod()
@@ -52,6 +54,11 @@ public class ArrayFillIncompatibleType extends BugChecker implements MethodInvoc
               .onClass("java.util.Arrays")
               .withSignature("fill(java.lang.Object[],int,int,java.lang.Object)"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ARRAY_FILL_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree invocationTree, VisitorState state) {
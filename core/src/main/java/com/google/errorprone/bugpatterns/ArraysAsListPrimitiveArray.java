@@ -21,11 +21,12 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -43,7 +44,8 @@ import javax.lang.model.type.TypeKind;
 @BugPattern(
     summary = "Arrays.asList does not autobox primitive arrays, as one might expect.",
     severity = ERROR)
-public class ArraysAsListPrimitiveArray extends BugChecker implements MethodInvocationTreeMatcher {
+public class ArraysAsListPrimitiveArray extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> ARRAYS_AS_LIST_SINGLE_ARRAY =
       allOf(
@@ -66,6 +68,11 @@ public class ArraysAsListPrimitiveArray extends BugChecker implements MethodInvo
     return ImmutableMap.copyOf(guavaUtils);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ARRAYS_AS_LIST_SINGLE_ARRAY);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!ARRAYS_AS_LIST_SINGLE_ARRAY.matches(tree, state)) {
@@ -21,10 +21,11 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -42,11 +43,16 @@ import java.util.List;
     summary = "The lambda passed to assertThrows should contain exactly one statement",
     severity = SeverityLevel.WARNING)
 public class AssertThrowsMultipleStatements extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       staticMethod().onClass("org.junit.Assert").named("assertThrows");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
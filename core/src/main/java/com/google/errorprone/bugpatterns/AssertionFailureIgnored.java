@@ -25,11 +25,12 @@ import static com.google.errorprone.matchers.Matchers.expressionStatement;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.isSubtype;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Streams;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -65,7 +66,8 @@ import javax.annotation.Nullable;
     // TODO(cushon): promote this to an error and turn down TryFailThrowable
     severity = WARNING,
     tags = LIKELY_ERROR)
-public class AssertionFailureIgnored extends BugChecker implements MethodInvocationTreeMatcher {
+public class AssertionFailureIgnored extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ASSERTION =
       staticMethod()
@@ -75,6 +77,11 @@ public class AssertionFailureIgnored extends BugChecker implements MethodInvocat
   private static final Matcher<ExpressionTree> NEW_THROWABLE =
       MethodMatchers.constructor().forClass(TypePredicates.isDescendantOf("java.lang.Throwable"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ASSERTION);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!ASSERTION.matches(tree, state)) {
@@ -19,10 +19,11 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.matchers.Matchers.anyMethod;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -34,7 +35,7 @@ import com.sun.source.tree.MethodInvocationTree;
         "Using JNDI may deserialize user input via the `Serializable` API which is extremely"
             + " dangerous",
     severity = SeverityLevel.ERROR)
-public final class BanJNDI extends BugChecker implements MethodInvocationTreeMatcher {
+public final class BanJNDI extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   /** Checks for direct or indirect calls to context.lookup() via the JDK */
   private static final Matcher<ExpressionTree> MATCHER =
@@ -68,6 +69,11 @@ public final class BanJNDI extends BugChecker implements MethodInvocationTreeMat
           anyMethod().onDescendantOf("javax.management.remote.rmi.RMIConnector").named("connect"),
           anyMethod().onDescendantOf("javax.naming.InitialContext").named("doLookup"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (state.errorProneOptions().isTestOnlyTarget() || !MATCHER.matches(tree, state)) {
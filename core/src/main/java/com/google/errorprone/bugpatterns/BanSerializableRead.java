@@ -26,10 +26,11 @@ import static com.google.errorprone.matchers.Matchers.isSubtypeOf;
 import static com.google.errorprone.matchers.Matchers.methodIsNamed;
 import static com.google.errorprone.matchers.Matchers.not;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -39,7 +40,8 @@ import com.sun.source.tree.MethodInvocationTree;
 @BugPattern(
     summary = "Deserializing user input via the `Serializable` API is extremely dangerous",
     severity = SeverityLevel.ERROR)
-public final class BanSerializableRead extends BugChecker implements MethodInvocationTreeMatcher {
+public final class BanSerializableRead extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> EXEMPT =
       anyOf(
@@ -78,6 +80,11 @@ public final class BanSerializableRead extends BugChecker implements MethodInvoc
   /** Checks for unsafe uses of the Java deserialization API. */
   private static final Matcher<ExpressionTree> MATCHER = OBJECT_INPUT_STREAM_DESERIALIZE_MATCHER;
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (state.errorProneOptions().isTestOnlyTarget() || !MATCHER.matches(tree, state)) {
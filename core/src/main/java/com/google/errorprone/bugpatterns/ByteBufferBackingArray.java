@@ -23,9 +23,10 @@ import static com.google.errorprone.matchers.Matchers.isSameType;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -52,7 +53,8 @@ import java.util.Optional;
         "ByteBuffer.array() shouldn't be called unless ByteBuffer.arrayOffset() is used or "
             + "if the ByteBuffer was initialized using ByteBuffer.wrap() or ByteBuffer.allocate().",
     severity = WARNING)
-public class ByteBufferBackingArray extends BugChecker implements MethodInvocationTreeMatcher {
+public class ByteBufferBackingArray extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> BYTE_BUFFER_ARRAY_MATCHER =
       anyOf(instanceMethod().onDescendantOf(ByteBuffer.class.getName()).named("array"));
@@ -65,6 +67,11 @@ public class ByteBufferBackingArray extends BugChecker implements MethodInvocati
 
   private static final Matcher<ExpressionTree> BYTE_BUFFER_MATCHER = isSameType(ByteBuffer.class);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(BYTE_BUFFER_ARRAY_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!BYTE_BUFFER_ARRAY_MATCHER.matches(tree, state)) {
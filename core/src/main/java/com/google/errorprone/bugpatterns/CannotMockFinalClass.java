@@ -27,10 +27,11 @@ import static com.google.errorprone.matchers.Matchers.isType;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 import static com.google.errorprone.matchers.Matchers.variableType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -49,7 +50,7 @@ import javax.lang.model.element.Modifier;
  */
 @BugPattern(summary = "Mockito cannot mock final classes", severity = SeverityLevel.WARNING)
 public class CannotMockFinalClass extends BugChecker
-    implements MethodInvocationTreeMatcher, VariableTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, VariableTreeMatcher {
   // TODO(lowasser): consider stopping mocks of primitive types here or in its own checker
 
   // Runners like GwtMockito allow mocking final types, so we conservatively stick to JUnit4.
@@ -80,6 +81,11 @@ public class CannotMockFinalClass extends BugChecker
         : Description.NO_MATCH;
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(creationOfMockForFinalClass);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return creationOfMockForFinalClass.matches(tree, state)
@@ -27,11 +27,12 @@ import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static java.util.stream.Collectors.toList;
 
 import com.google.common.base.Converter;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableTable;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -57,7 +58,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
 @BugPattern(
     summary = "Duration can be expressed more clearly with different units",
     severity = WARNING)
-public class CanonicalDuration extends BugChecker implements MethodInvocationTreeMatcher {
+public class CanonicalDuration extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   enum Api {
     JAVA("java.time.Duration"),
@@ -117,6 +118,11 @@ public class CanonicalDuration extends BugChecker implements MethodInvocationTre
           ChronoUnit.MINUTES, 60L,
           ChronoUnit.SECONDS, 60L);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(JAVA_TIME_MATCHER, JODA_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     Api api;
@@ -20,9 +20,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.MethodInvocationTree;
@@ -39,13 +40,19 @@ import com.sun.source.tree.MethodInvocationTree;
             + " characters like ㊷; consider using Character.digit or"
             + " UCharacter.getUnicodeNumericValue instead",
     severity = WARNING)
-public class CharacterGetNumericValue extends BugChecker implements MethodInvocationTreeMatcher {
+public class CharacterGetNumericValue extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> GET_NUMERIC_VALUE =
       anyOf(
           staticMethod().onClass("com.ibm.icu.lang.UCharacter").named("getNumericValue"),
           staticMethod().onClass("java.lang.Character").named("getNumericValue"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(GET_NUMERIC_VALUE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return GET_NUMERIC_VALUE.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
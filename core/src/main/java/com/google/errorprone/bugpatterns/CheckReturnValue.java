@@ -104,7 +104,11 @@ public class CheckReturnValue extends AbstractReturnValueIgnored
     flags
         .getList(CRV_PACKAGES)
         .ifPresent(packagePatterns -> builder.addRule(PackagesRule.fromPatterns(packagePatterns)));
-    this.evaluator = builder.addRule(globalDefault(methodPolicy, constructorPolicy)).build();
+    this.evaluator =
+        builder
+            .addRule(globalDefault(methodPolicy, constructorPolicy))
+            .recordStatisticsAs(this)
+            .build();
   }
 
   private static Optional<ResultUsePolicy> defaultPolicy(ErrorProneFlags flags, String flag) {
@@ -160,17 +164,15 @@ public class CheckReturnValue extends AbstractReturnValueIgnored
 
   @Override
   public boolean isCovered(ExpressionTree tree, VisitorState state) {
-    return methodToInspect(tree).stream()
-        .flatMap(method -> evaluator.evaluations(method, state))
-        .findFirst()
+    return methodToInspect(tree)
+        .flatMap(method -> evaluator.firstEvaluation(method, state))
         .isPresent();
   }
 
   @Override
   public ImmutableMap<String, ?> getMatchMetadata(ExpressionTree tree, VisitorState state) {
-    return methodToInspect(tree).stream()
-        .flatMap(method -> evaluator.evaluations(method, state))
-        .findFirst()
+    return methodToInspect(tree)
+        .flatMap(method -> evaluator.firstEvaluation(method, state))
         .map(
             evaluation ->
                 ImmutableMap.of(
@@ -40,7 +40,6 @@ import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.util.ASTHelpers;
 import com.google.errorprone.util.ErrorProneToken;
-import com.google.errorprone.util.ErrorProneTokens;
 import com.sun.source.doctree.DocCommentTree;
 import com.sun.source.doctree.ReferenceTree;
 import com.sun.source.doctree.ThrowsTree;
@@ -186,11 +185,7 @@ public final class CheckedExceptionNotThrown extends BugChecker implements Metho
     int methodStartPos = getStartPosition(tree);
 
     int startPos =
-        ErrorProneTokens.getTokens(
-                state.getSourceCode().subSequence(methodStartPos, endPos).toString(),
-                methodStartPos,
-                state.context)
-            .stream()
+        state.getOffsetTokens(methodStartPos, endPos).stream()
             .filter(token -> token.kind().equals(TokenKind.THROWS))
             .findFirst()
             .map(ErrorProneToken::pos)
@@ -20,13 +20,15 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
 import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -61,11 +63,19 @@ import java.util.concurrent.atomic.AtomicBoolean;
             + " getDeclaredConstructor().newInstance()",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public class ClassNewInstance extends BugChecker implements MethodInvocationTreeMatcher {
+// No instance fields; only BugChecker's state, see BugCheckerInstances.
+@Immutable
+@SuppressWarnings("Immutable")
+public class ClassNewInstance extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> NEW_INSTANCE =
       instanceMethod().onExactClass(Class.class.getName()).named("newInstance");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(NEW_INSTANCE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!NEW_INSTANCE.matches(tree, state)) {
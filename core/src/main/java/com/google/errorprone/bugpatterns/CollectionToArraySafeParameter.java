@@ -21,9 +21,10 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.suppliers.Supplier;
@@ -44,11 +45,16 @@ import java.util.List;
             + "needs to be compatible with the array type",
     severity = ERROR)
 public class CollectionToArraySafeParameter extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> TO_ARRAY_MATCHER =
       instanceMethod().onDescendantOf("java.util.Collection").withSignature("<T>toArray(T[])");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(TO_ARRAY_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState visitorState) {
@@ -19,9 +19,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.contains;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -36,7 +37,8 @@ import javax.lang.model.element.Modifier;
  * @author sulku@google.com (Marsela Sulku)
  */
 @BugPattern(summary = "Collector.of() should not use state", severity = WARNING)
-public class CollectorShouldNotUseState extends BugChecker implements MethodInvocationTreeMatcher {
+public class CollectorShouldNotUseState extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   public static final Matcher<ExpressionTree> COLLECTOR_OF_CALL =
       staticMethod().onClass("java.util.stream.Collector").named("of");
@@ -44,6 +46,11 @@ public class CollectorShouldNotUseState extends BugChecker implements MethodInvo
   public final Matcher<Tree> containsAnonymousClassUsingState =
       contains(new AnonymousClassUsingStateMatcher());
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COLLECTOR_OF_CALL);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState visitorState) {
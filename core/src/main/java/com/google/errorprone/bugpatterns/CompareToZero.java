@@ -22,11 +22,12 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.util.ASTHelpers.constValue;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -47,7 +48,7 @@ import com.sun.source.util.TreePath;
             + "implementation detail whether a given type returns strictly the values {-1, 0, +1} "
             + "or others.",
     severity = WARNING)
-public final class CompareToZero extends BugChecker implements MethodInvocationTreeMatcher {
+public final class CompareToZero extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final String SUGGEST_IMPROVEMENT =
       "It is generally more robust (and readable) to compare the result of #compareTo/#compare to"
           + "0. Although the suggested replacement is identical in this case, we'd suggest it for"
@@ -77,6 +78,11 @@ public final class CompareToZero extends BugChecker implements MethodInvocationT
           instanceMethod().onDescendantOf("java.lang.Comparable").named("compareTo"),
           instanceMethod().onDescendantOf("java.util.Comparator").named("compare"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COMPARE_TO);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (COMPARE_TO.matches(tree, state)) {
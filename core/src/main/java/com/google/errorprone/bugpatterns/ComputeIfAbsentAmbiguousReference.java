@@ -23,7 +23,7 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -48,10 +48,15 @@ import java.util.stream.Collectors;
     summary = "computeIfAbsent passes the map key to the provided class's constructor",
     severity = ERROR)
 public final class ComputeIfAbsentAmbiguousReference extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> COMPUTE_IF_ABSENT =
       instanceMethod().onDescendantOf("java.util.Map").named("computeIfAbsent");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COMPUTE_IF_ABSENT);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!COMPUTE_IF_ABSENT.matches(tree, state)) {
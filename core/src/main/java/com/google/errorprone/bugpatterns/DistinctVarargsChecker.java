@@ -20,9 +20,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -38,7 +39,7 @@ import java.util.List;
  */
 @BugPattern(summary = "Method expects distinct arguments at some/all positions", severity = WARNING)
 public final class DistinctVarargsChecker extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> IMMUTABLE_SET_VARARGS_MATCHER =
       anyOf(
@@ -64,6 +65,15 @@ public final class DistinctVarargsChecker extends BugChecker
   private static final Matcher<ExpressionTree> EVEN_AND_ODD_PARITY_DISTINCT_ARG_MATCHER =
       staticMethod().onClass("com.google.common.collect.ImmutableBiMap").named("of");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(
+        IMMUTABLE_SET_VARARGS_MATCHER,
+        ALL_DISTINCT_ARG_MATCHER,
+        EVEN_PARITY_DISTINCT_ARG_MATCHER,
+        EVEN_AND_ODD_PARITY_DISTINCT_ARG_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     // For ImmutableSet and ImmutableSortedSet fix can be constructed. For all other methods,
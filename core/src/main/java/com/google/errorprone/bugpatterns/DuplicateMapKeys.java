@@ -18,9 +18,10 @@ package com.google.errorprone.bugpatterns;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.method.MethodMatchers;
@@ -39,7 +40,7 @@ import java.util.Set;
     summary =
         "Map#ofEntries will throw an IllegalArgumentException if there are any duplicate keys",
     severity = ERROR)
-public class DuplicateMapKeys extends BugChecker implements MethodInvocationTreeMatcher {
+public class DuplicateMapKeys extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> METHOD_MATCHER =
       MethodMatchers.staticMethod().onClass("java.util.Map").named("ofEntries");
@@ -47,6 +48,11 @@ public class DuplicateMapKeys extends BugChecker implements MethodInvocationTree
   private static final Matcher<ExpressionTree> ENTRY_MATCHER =
       MethodMatchers.staticMethod().onClass("java.util.Map").named("entry");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!METHOD_MATCHER.matches(tree, state)) {
@@ -29,11 +29,12 @@ import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getReceiverType;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.TypeCompatibilityUtils.TypeCompatibilityReport;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -52,7 +53,7 @@ import com.sun.tools.javac.code.Type;
     summary = "An equality test between objects with incompatible types always returns false",
     severity = WARNING)
 public class EqualsIncompatibleType extends BugChecker
-    implements MethodInvocationTreeMatcher, MemberReferenceTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, MemberReferenceTreeMatcher {
   private static final Matcher<ExpressionTree> STATIC_EQUALS_MATCHER = staticEqualsInvocation();
 
   private static final Matcher<ExpressionTree> INSTANCE_EQUALS_MATCHER = instanceEqualsInvocation();
@@ -70,6 +71,11 @@ public class EqualsIncompatibleType extends BugChecker
     this.typeCompatibilityUtils = TypeCompatibilityUtils.fromFlags(flags);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(STATIC_EQUALS_MATCHER, INSTANCE_EQUALS_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree invocationTree, VisitorState state) {
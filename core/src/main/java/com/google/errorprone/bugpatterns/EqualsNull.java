@@ -31,9 +31,10 @@ import static com.google.errorprone.matchers.Matchers.toType;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.getReceiver;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -50,7 +51,7 @@ import com.sun.source.tree.Tree.Kind;
             + " Consider replacing equals() with the == operator.",
     tags = FRAGILE_CODE,
     severity = ERROR)
-public final class EqualsNull extends BugChecker implements MethodInvocationTreeMatcher {
+public final class EqualsNull extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> EQUALS_NULL =
       allOf(instanceEqualsInvocation(), argument(0, kindIs(Kind.NULL_LITERAL)));
@@ -69,6 +70,11 @@ public final class EqualsNull extends BugChecker implements MethodInvocationTree
                       "junit.framework.Assert",
                       "org.junit.Assert")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(EQUALS_NULL);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree invocationTree, VisitorState state) {
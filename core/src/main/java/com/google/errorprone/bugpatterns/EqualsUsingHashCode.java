@@ -23,10 +23,11 @@ import static com.google.errorprone.matchers.Matchers.enclosingMethod;
 import static com.google.errorprone.matchers.Matchers.equalsMethodDeclaration;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.BinaryTree;
@@ -47,13 +48,19 @@ import java.util.concurrent.atomic.AtomicBoolean;
             + "frequently, and this will lead to false positives in #equals.",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public final class EqualsUsingHashCode extends BugChecker implements MethodInvocationTreeMatcher {
+public final class EqualsUsingHashCode extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       allOf(
           instanceMethod().anyClass().named("hashCode"),
           enclosingMethod(equalsMethodDeclaration()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -27,11 +27,12 @@ import static com.google.errorprone.util.ASTHelpers.isSubtype;
 import static com.sun.tools.javac.code.TypeTag.BOT;
 import static javax.lang.model.element.Modifier.PUBLIC;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.util.concurrent.Futures;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -55,7 +56,12 @@ import java.util.List;
     summary = "Futures.getChecked requires a checked exception type with a standard constructor.",
     severity = ERROR)
 public final class FuturesGetCheckedIllegalExceptionType extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(FUTURES_GET_CHECKED_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!FUTURES_GET_CHECKED_MATCHER.matches(tree, state)) {
@@ -20,9 +20,10 @@ import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.enclosingMethod;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -35,13 +36,18 @@ import com.sun.source.tree.MethodInvocationTree;
     summary = "DoubleMath.fuzzyEquals should never be used in an Object.equals() method",
     severity = ERROR)
 public class FuzzyEqualsShouldNotBeUsedInEqualsMethod extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> CALL_TO_FUZZY_IN_EQUALS =
       allOf(
           staticMethod().onClass("com.google.common.math.DoubleMath").named("fuzzyEquals"),
           enclosingMethod(Matchers.equalsMethodDeclaration()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(CALL_TO_FUZZY_IN_EQUALS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (CALL_TO_FUZZY_IN_EQUALS.matches(tree, state)) {
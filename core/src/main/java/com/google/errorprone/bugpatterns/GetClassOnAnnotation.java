@@ -19,6 +19,7 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.fixes.SuggestedFix;
@@ -34,7 +35,7 @@ import java.lang.annotation.Annotation;
     summary = "Calling getClass() on an annotation may return a proxy class",
     severity = ERROR)
 public class GetClassOnAnnotation extends BugChecker
-    implements BugChecker.MethodInvocationTreeMatcher {
+    implements BugChecker.FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ANNOTATION_CLASS =
       instanceMethod()
@@ -42,6 +43,11 @@ public class GetClassOnAnnotation extends BugChecker
           .named("getClass")
           .withNoParameters();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ANNOTATION_CLASS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (ANNOTATION_CLASS.matches(tree, state)) {
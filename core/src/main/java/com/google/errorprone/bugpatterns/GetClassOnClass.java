@@ -19,9 +19,10 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -39,12 +40,17 @@ import com.sun.source.tree.MethodInvocationTree;
         "Calling getClass() on an object of type Class returns the Class object for "
             + "java.lang.Class; you probably meant to operate on the object directly",
     severity = ERROR)
-public class GetClassOnClass extends BugChecker implements MethodInvocationTreeMatcher {
+public class GetClassOnClass extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> getClassMethodMatcher =
       instanceMethod().onExactClass("java.lang.Class").named("getClass");
 
   /** Suggests removing getClass() or changing to Class.class. */
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(getClassMethodMatcher);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (getClassMethodMatcher.matches(tree, state)) {
@@ -19,6 +19,7 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
@@ -34,11 +35,17 @@ import com.sun.source.tree.MethodInvocationTree;
     summary = "Calling getClass() on an enum may return a subclass of the enum type",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public class GetClassOnEnum extends BugChecker implements BugChecker.MethodInvocationTreeMatcher {
+public class GetClassOnEnum extends BugChecker
+    implements BugChecker.FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ENUM_CLASS =
       instanceMethod().onDescendantOf(Enum.class.getName()).named("getClass").withNoParameters();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ENUM_CLASS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (ENUM_CLASS.matches(tree, state)) {
@@ -20,10 +20,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -41,13 +42,18 @@ import java.util.concurrent.ConcurrentHashMap;
 @BugPattern(
     summary = "contains() is a legacy method that is equivalent to containsValue()",
     severity = ERROR)
-public class HashtableContains extends BugChecker implements MethodInvocationTreeMatcher {
+public class HashtableContains extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   static final Matcher<ExpressionTree> CONTAINS_MATCHER =
       anyOf(
           instanceMethod().onDescendantOf(Hashtable.class.getName()).named("contains"),
           instanceMethod().onDescendantOf(ConcurrentHashMap.class.getName()).named("contains"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(CONTAINS_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!CONTAINS_MATCHER.matches(tree, state)) {
@@ -21,9 +21,10 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -41,7 +42,7 @@ import java.util.List;
             + " distinct instances",
     severity = ERROR)
 public class IdentityHashMapBoxing extends BugChecker
-    implements NewClassTreeMatcher, MethodInvocationTreeMatcher {
+    implements NewClassTreeMatcher, FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> NEW_IDENTITY_HASH_MAP =
       constructor().forClass("java.util.IdentityHashMap");
@@ -56,6 +57,11 @@ public class IdentityHashMapBoxing extends BugChecker
     return checkTypes(tree, state);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MAPS_NEW_IDENTITY_HASH_MAP);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MAPS_NEW_IDENTITY_HASH_MAP.matches(tree, state)) {
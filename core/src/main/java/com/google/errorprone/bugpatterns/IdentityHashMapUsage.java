@@ -20,10 +20,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.method.MethodMatchers.constructor;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker.AssignmentTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
@@ -44,7 +45,7 @@ import com.sun.tools.javac.code.Type;
     summary = "IdentityHashMap usage shouldn't be intermingled with Map",
     severity = WARNING)
 public class IdentityHashMapUsage extends BugChecker
-    implements MethodInvocationTreeMatcher,
+    implements FilteredMethodInvocationTreeMatcher,
         AssignmentTreeMatcher,
         VariableTreeMatcher,
         NewClassTreeMatcher {
@@ -55,6 +56,11 @@ public class IdentityHashMapUsage extends BugChecker
   private static final Matcher<ExpressionTree> IHM_CTOR_MAP_ARG =
       constructor().forClass(IDENTITY_HASH_MAP).withParameters("java.util.Map");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IHM_ONE_ARG_METHODS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (IHM_ONE_ARG_METHODS.matches(tree, state)
@@ -20,9 +20,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -40,13 +42,21 @@ import java.util.List;
         "The first argument to indexOf is a Unicode code point, and the second is the index to"
             + " start the search from",
     severity = ERROR)
-public class IndexOfChar extends BugChecker implements MethodInvocationTreeMatcher {
+// No instance fields; only BugChecker's state, see BugCheckerInstances.
+@Immutable
+@SuppressWarnings("Immutable")
+public class IndexOfChar extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> MATCHER =
       MethodMatchers.instanceMethod()
           .onExactClass(Suppliers.STRING_TYPE)
           .namedAnyOf("indexOf", "lastIndexOf")
           .withParameters("int", "int");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
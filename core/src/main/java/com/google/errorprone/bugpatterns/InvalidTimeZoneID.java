@@ -18,10 +18,12 @@ package com.google.errorprone.bugpatterns;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -40,7 +42,10 @@ import java.util.regex.Pattern;
         "Invalid time zone identifier. TimeZone.getTimeZone(String) will silently return GMT"
             + " instead of the time zone you intended.",
     severity = ERROR)
-public class InvalidTimeZoneID extends BugChecker implements MethodInvocationTreeMatcher {
+// No instance fields; only BugChecker's state, see BugCheckerInstances.
+@Immutable
+@SuppressWarnings("Immutable")
+public class InvalidTimeZoneID extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final ImmutableSet<String> AVAILABLE_IDS =
       ImmutableSet.copyOf(TimeZone.getAvailableIDs());
 
@@ -59,6 +64,11 @@ public class InvalidTimeZoneID extends BugChecker implements MethodInvocationTre
   private static final Pattern CUSTOM_ID_PATTERN =
       Pattern.compile("GMT[+\\-]" + HOURS_PATTERN + ":?" + MINUTES_PATTERN);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!METHOD_MATCHER.matches(tree, state)) {
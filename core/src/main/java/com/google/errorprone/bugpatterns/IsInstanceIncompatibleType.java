@@ -25,10 +25,11 @@ import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.isCastable;
 import static com.google.errorprone.util.Signatures.prettyType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -46,10 +47,15 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 @BugPattern(summary = "This use of isInstance will always evaluate to false.", severity = ERROR)
 public final class IsInstanceIncompatibleType extends BugChecker
-    implements MethodInvocationTreeMatcher, MemberReferenceTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, MemberReferenceTreeMatcher {
   private static final Matcher<ExpressionTree> IS_INSTANCE =
       instanceMethod().onExactClass("java.lang.Class").named("isInstance");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IS_INSTANCE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!IS_INSTANCE.matches(tree, state)) {
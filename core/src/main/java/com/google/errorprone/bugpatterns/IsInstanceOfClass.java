@@ -21,10 +21,11 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -41,7 +42,7 @@ import com.sun.tools.javac.tree.JCTree;
 @BugPattern(
     summary = "The argument to Class#isInstance(Object) should not be a Class",
     severity = ERROR)
-public class IsInstanceOfClass extends BugChecker implements MethodInvocationTreeMatcher {
+public class IsInstanceOfClass extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> INSTANCE_OF_CLASS =
       Matchers.allOf(
@@ -53,6 +54,11 @@ public class IsInstanceOfClass extends BugChecker implements MethodInvocationTre
               Matchers.<ExpressionTree>isSubtypeOf("java.lang.Class")));
 
   /** Suggests removing getClass() or changing to Class.class. */
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(INSTANCE_OF_CLASS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!INSTANCE_OF_CLASS.matches(tree, state)) {
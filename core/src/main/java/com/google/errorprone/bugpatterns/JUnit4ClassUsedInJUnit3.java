@@ -24,10 +24,11 @@ import static com.google.errorprone.matchers.Matchers.enclosingClass;
 import static com.google.errorprone.matchers.Matchers.isType;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker.AnnotationTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.AnnotationTree;
@@ -44,13 +45,18 @@ import com.sun.source.tree.Tree;
             + "style to use them.",
     severity = WARNING)
 public class JUnit4ClassUsedInJUnit3 extends BugChecker
-    implements MethodInvocationTreeMatcher, AnnotationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, AnnotationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ASSUME_CHECK =
       allOf(
           staticMethod().onClass("org.junit.Assume").withAnyName(),
           enclosingClass(isJUnit3TestClass));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ASSUME_CHECK);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     // An Assume method has been called within a JUnit3 class
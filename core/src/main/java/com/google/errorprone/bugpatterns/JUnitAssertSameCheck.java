@@ -19,9 +19,10 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -37,7 +38,8 @@ import java.util.List;
 @BugPattern(
     summary = "An object is tested for reference equality to itself using JUnit library.",
     severity = ERROR)
-public class JUnitAssertSameCheck extends BugChecker implements MethodInvocationTreeMatcher {
+public class JUnitAssertSameCheck extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   /**
    * Cases:
@@ -52,6 +54,11 @@ public class JUnitAssertSameCheck extends BugChecker implements MethodInvocation
   private static final Matcher<ExpressionTree> ASSERT_SAME_MATCHER =
       staticMethod().onClassAny("org.junit.Assert", "junit.framework.Assert").named("assertSame");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ASSERT_SAME_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
@@ -22,9 +22,10 @@ import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.receiverOfInvocation;
 import static com.google.errorprone.matchers.Matchers.toType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.MethodInvocationTree;
@@ -37,7 +38,7 @@ import com.sun.source.tree.MethodInvocationTree;
         "This pattern will silently corrupt certain byte sequences from the serialized protocol "
             + "message. Use ByteString or byte[] directly",
     severity = ERROR)
-public class LiteByteStringUtf8 extends BugChecker implements MethodInvocationTreeMatcher {
+public class LiteByteStringUtf8 extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<MethodInvocationTree> BYTE_STRING_UTF_8 =
       allOf(
           instanceMethod().onDescendantOf("com.google.protobuf.ByteString").named("toStringUtf8"),
@@ -48,6 +49,11 @@ public class LiteByteStringUtf8 extends BugChecker implements MethodInvocationTr
                       .onDescendantOf("com.google.protobuf.MessageLite")
                       .named("toByteString"))));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(BYTE_STRING_UTF_8);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return BYTE_STRING_UTF_8.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
@@ -22,9 +22,10 @@ import static com.google.errorprone.predicates.TypePredicates.allOf;
 import static com.google.errorprone.predicates.TypePredicates.isDescendantOf;
 import static com.google.errorprone.predicates.TypePredicates.not;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -41,7 +42,7 @@ import com.sun.source.tree.MethodInvocationTree;
         "Instead of converting enums to string and back, its numeric value should be used instead"
             + " as it is the stable part of the protocol defined by the enum.",
     severity = WARNING)
-public class LiteEnumValueOf extends BugChecker implements MethodInvocationTreeMatcher {
+public class LiteEnumValueOf extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> PROTO_MSG_VALUE_OF_MATCHER =
       staticMethod()
@@ -53,6 +54,11 @@ public class LiteEnumValueOf extends BugChecker implements MethodInvocationTreeM
           .named("valueOf")
           .withParameters("java.lang.String");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(PROTO_MSG_VALUE_OF_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
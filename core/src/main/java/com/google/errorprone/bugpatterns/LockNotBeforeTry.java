@@ -23,10 +23,12 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -52,13 +54,22 @@ import org.checkerframework.checker.nullness.qual.Nullable;
         "Calls to Lock#lock should be immediately followed by a try block which releases the lock.",
     severity = WARNING,
     tags = FRAGILE_CODE)
-public final class LockNotBeforeTry extends BugChecker implements MethodInvocationTreeMatcher {
+// No instance fields; only BugChecker's state, see BugCheckerInstances.
+@Immutable
+@SuppressWarnings("Immutable")
+public final class LockNotBeforeTry extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> LOCK =
       instanceMethod().onDescendantOf("java.util.concurrent.locks.Lock").named("lock");
   private static final Matcher<ExpressionTree> UNLOCK =
       instanceMethod().onDescendantOf("java.util.concurrent.locks.Lock").named("unlock");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOCK);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!LOCK.matches(tree, state)) {
@@ -28,7 +28,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.SynchronizedTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
@@ -52,7 +52,7 @@ import javax.lang.model.element.ElementKind;
             + " sharing a lock with another piece of code.",
     severity = SeverityLevel.ERROR)
 public class LockOnBoxedPrimitive extends BugChecker
-    implements SynchronizedTreeMatcher, MethodInvocationTreeMatcher {
+    implements SynchronizedTreeMatcher, FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> LOCKING_METHOD =
       anyOf(
@@ -117,6 +117,11 @@ public class LockOnBoxedPrimitive extends BugChecker
     return fix.build();
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOCKING_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (LOCKING_METHOD.matches(tree, state)
@@ -23,7 +23,7 @@ import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -48,13 +48,19 @@ import java.util.function.Predicate;
             + " `Float.compare(Integer.MAX_VALUE, Integer.MAX_VALUE - 1) == 0`. Use a compare"
             + " method with non-lossy conversion, or ideally no conversion if possible.",
     severity = ERROR)
-public class LossyPrimitiveCompare extends BugChecker implements MethodInvocationTreeMatcher {
+public class LossyPrimitiveCompare extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> COMPARE_MATCHER =
       staticMethod().onClassAny("java.lang.Float", "java.lang.Double").named("compare");
 
   private static final Matcher<ExpressionTree> FLOAT_COMPARE_MATCHER =
       staticMethod().onClass("java.lang.Float").named("compare");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COMPARE_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!COMPARE_MATCHER.matches(tree, state)) {
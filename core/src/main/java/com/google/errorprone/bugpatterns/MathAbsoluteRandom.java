@@ -22,9 +22,10 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.MethodInvocationTree;
@@ -37,7 +38,7 @@ import com.sun.source.tree.MethodInvocationTree;
         "Math.abs does not always give a positive result. Please consider other "
             + "methods for positive random numbers.",
     severity = WARNING)
-public class MathAbsoluteRandom extends BugChecker implements MethodInvocationTreeMatcher {
+public class MathAbsoluteRandom extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> RANDOM_ABS_VAL =
       allOf(
@@ -49,6 +50,11 @@ public class MathAbsoluteRandom extends BugChecker implements MethodInvocationTr
                   .namedAnyOf("nextInt", "nextLong")
                   .withNoParameters()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(RANDOM_ABS_VAL);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (RANDOM_ABS_VAL.matches(tree, state)) {
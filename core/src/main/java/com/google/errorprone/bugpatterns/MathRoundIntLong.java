@@ -23,10 +23,11 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.isSameType;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -46,7 +47,8 @@ import com.sun.source.tree.MethodInvocationTree;
             + " because Math.round only accepts floats or doubles and some integers and longs can't"
             + " be represented with float.",
     severity = ERROR)
-public final class MathRoundIntLong extends BugChecker implements MethodInvocationTreeMatcher {
+public final class MathRoundIntLong extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> MATH_ROUND_CALLS =
       staticMethod().onClass("java.lang.Math").named("round");
 
@@ -60,6 +62,11 @@ public final class MathRoundIntLong extends BugChecker implements MethodInvocati
   private static final Matcher<MethodInvocationTree> ROUND_CALLS_WITH_INT_OR_LONG_ARG =
       anyOf(ROUND_CALLS_WITH_INT_ARG, ROUND_CALLS_WITH_LONG_ARG);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ROUND_CALLS_WITH_INT_OR_LONG_ARG);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return ROUND_CALLS_WITH_INT_OR_LONG_ARG.matches(tree, state)
@@ -24,8 +24,9 @@ import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.constValue;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -44,7 +45,7 @@ import javax.lang.model.element.ElementKind;
 
 /** Base class for checks which find common errors in date format patterns. */
 public abstract class MisusedDateFormat extends BugChecker
-    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, NewClassTreeMatcher {
 
   private static final String JAVA_SIMPLE_DATE_FORMAT = "java.text.SimpleDateFormat";
 
@@ -88,6 +89,11 @@ public abstract class MisusedDateFormat extends BugChecker
           instanceMethod().onExactClass(ICU_SIMPLE_DATE_FORMAT).named("applyLocalizedPattern"),
           staticMethod().onClass("java.time.format.DateTimeFormatter").named("ofPattern"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(PATTERN_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!PATTERN_MATCHER.matches(tree, state)) {
@@ -25,9 +25,10 @@ import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static com.google.errorprone.util.ASTHelpers.isSubtype;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.suppliers.Supplier;
@@ -54,7 +55,8 @@ import java.util.Optional;
         "The field number passed into #findFieldByNumber belongs to a different proto"
             + " to the Descriptor.",
     severity = ERROR)
-public final class MixedDescriptors extends BugChecker implements MethodInvocationTreeMatcher {
+public final class MixedDescriptors extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> GET_DESCRIPTOR =
       staticMethod().onDescendantOf("com.google.protobuf.Message").named("getDescriptor");
@@ -67,6 +69,11 @@ public final class MixedDescriptors extends BugChecker implements MethodInvocati
   private static final Supplier<Type> MESSAGE =
       Suppliers.typeFromString("com.google.protobuf.Message");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(FIND_FIELD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!FIND_FIELD.matches(tree, state)) {
@@ -20,9 +20,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -35,7 +36,7 @@ import java.util.List;
 
 /** A {@link BugChecker}; see the associated {@link BugPattern} annotation for details. */
 @BugPattern(summary = "Missing method call for verify(mock) here", severity = ERROR)
-public class MockitoUsage extends BugChecker implements MethodInvocationTreeMatcher {
+public class MockitoUsage extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MOCK_METHOD =
       anyOf(
@@ -48,6 +49,11 @@ public class MockitoUsage extends BugChecker implements MethodInvocationTreeMatc
   private static final Matcher<ExpressionTree> NEVER_METHOD =
       staticMethod().onClass("org.mockito.Mockito").named("never").withNoParameters();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MOCK_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MOCK_METHOD.matches(tree, state)) {
@@ -22,9 +22,10 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.sameVariable;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -47,7 +48,7 @@ import java.util.List;
             + " ConcurrentModificationException to be thrown or lead to undefined behavior.",
     severity = WARNING)
 public class ModifyCollectionInEnhancedForLoop extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       anyOf(
@@ -69,6 +70,11 @@ public class ModifyCollectionInEnhancedForLoop extends BugChecker
   private static final Matcher<ExpressionTree> MAP_SET_MATCHER =
       instanceMethod().onDescendantOf("java.util.Map").namedAnyOf("entrySet", "keySet", "values");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
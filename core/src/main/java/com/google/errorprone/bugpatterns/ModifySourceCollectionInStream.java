@@ -23,8 +23,8 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MemberReferenceTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -46,7 +46,7 @@ import javax.annotation.Nullable;
     summary = "Modifying the backing source during stream operations may cause unintended results.",
     severity = WARNING)
 public class ModifySourceCollectionInStream extends BugChecker
-    implements MemberReferenceTreeMatcher, MethodInvocationTreeMatcher {
+    implements MemberReferenceTreeMatcher, FilteredMethodInvocationTreeMatcher {
 
   private static final ImmutableList<String> STATE_MUTATION_METHOD_NAMES =
       ImmutableList.of("add", "addAll", "clear", "remove", "removeAll", "retainAll");
@@ -83,6 +83,11 @@ public class ModifySourceCollectionInStream extends BugChecker
         : Description.NO_MATCH;
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MUTATION_METHOD_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MUTATION_METHOD_MATCHER.matches(tree, state)) {
@@ -32,7 +32,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -52,7 +52,7 @@ import javax.lang.model.element.ElementKind;
  */
 @BugPattern(summary = "Using a collection function with itself as the argument.", severity = ERROR)
 public class ModifyingCollectionWithItself extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> IS_COLLECTION_MODIFIED_WITH_ITSELF =
       buildMatcher();
@@ -72,6 +72,11 @@ public class ModifyingCollectionWithItself extends BugChecker
   }
 
   /** Matches calls to addAll, containsAll, removeAll, and retainAll on itself */
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IS_COLLECTION_MODIFIED_WITH_ITSELF);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree t, VisitorState state) {
     if (IS_COLLECTION_MODIFIED_WITH_ITSELF.matches(t, state)) {
@@ -19,9 +19,10 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -39,7 +40,7 @@ import com.sun.source.util.TreePath;
         "Multiple calls to either parallel or sequential are unnecessary and cause confusion.",
     severity = WARNING)
 public class MultipleParallelOrSequentialCalls extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> STREAM =
       instanceMethod().onDescendantOf("java.util.Collection").named("stream");
@@ -47,6 +48,11 @@ public class MultipleParallelOrSequentialCalls extends BugChecker
   private static final Matcher<ExpressionTree> PARALLELSTREAM =
       instanceMethod().onDescendantOf("java.util.Collection").named("parallelStream");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(STREAM, PARALLELSTREAM);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree t, VisitorState state) {
 
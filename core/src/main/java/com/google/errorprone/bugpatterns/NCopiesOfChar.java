@@ -21,9 +21,11 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.annotations.Immutable;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -38,10 +40,18 @@ import java.util.List;
     summary =
         "The first argument to nCopies is the number of copies, and the second is the item to copy",
     severity = ERROR)
-public class NCopiesOfChar extends BugChecker implements MethodInvocationTreeMatcher {
+// No instance fields; only BugChecker's state, see BugCheckerInstances.
+@Immutable
+@SuppressWarnings("Immutable")
+public class NCopiesOfChar extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> MATCHER =
       staticMethod().onClass("java.util.Collections").named("nCopies");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
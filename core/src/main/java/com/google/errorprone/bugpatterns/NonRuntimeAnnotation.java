@@ -24,9 +24,10 @@ import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.getUpperBound;
 import static com.google.errorprone.util.ASTHelpers.isSameType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -40,7 +41,8 @@ import com.sun.tools.javac.code.Type;
 @BugPattern(
     summary = "Calling getAnnotation on an annotation that is not retained at runtime.",
     severity = ERROR)
-public class NonRuntimeAnnotation extends BugChecker implements MethodInvocationTreeMatcher {
+public class NonRuntimeAnnotation extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       instanceMethod()
@@ -48,6 +50,11 @@ public class NonRuntimeAnnotation extends BugChecker implements MethodInvocation
           .named("getAnnotation")
           .withParameters("java.lang.Class");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -21,10 +21,11 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.isPrimitiveType;
 import static com.google.errorprone.matchers.Matchers.staticEqualsInvocation;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -40,13 +41,19 @@ import com.sun.source.tree.MethodInvocationTree;
     summary = "Avoid unnecessary boxing by using plain == for primitive types.",
     tags = StandardTags.PERFORMANCE,
     severity = WARNING)
-public class ObjectEqualsForPrimitives extends BugChecker implements MethodInvocationTreeMatcher {
+public class ObjectEqualsForPrimitives extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   /** Matches when {@link java.util.Objects#equals}-like methods compare two primitive types. */
   private static final Matcher<MethodInvocationTree> MATCHER =
       allOf(
           staticEqualsInvocation(), argument(0, isPrimitiveType()), argument(1, isPrimitiveType()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
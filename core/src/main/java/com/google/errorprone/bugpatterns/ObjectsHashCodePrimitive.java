@@ -20,9 +20,10 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.isPrimitiveType;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -40,12 +41,17 @@ import java.util.Objects;
     summary = "Objects.hashCode(Object o) should not be passed a primitive value",
     severity = WARNING)
 public final class ObjectsHashCodePrimitive extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<MethodInvocationTree> OBJECTS_HASHCODE_CALLS =
       allOf(
           staticMethod().onClass("java.util.Objects").named("hashCode"),
           argument(0, isPrimitiveType()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(OBJECTS_HASHCODE_CALLS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return OBJECTS_HASHCODE_CALLS.matches(tree, state)
@@ -24,7 +24,7 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.predicates.TypePredicate;
@@ -42,7 +42,8 @@ import java.util.List;
 @BugPattern(
     summary = "Mapping to another Optional will yield a nested Optional. Did you mean flatMap?",
     severity = WARNING)
-public final class OptionalMapToOptional extends BugChecker implements MethodInvocationTreeMatcher {
+public final class OptionalMapToOptional extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MAP =
       anyOf(
@@ -65,6 +66,11 @@ public final class OptionalMapToOptional extends BugChecker implements MethodInv
       TypePredicates.isDescendantOfAny(
           ImmutableList.of("java.util.Optional", "com.google.common.base.Optional"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MAP);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MAP.matches(tree, state)) {
@@ -22,9 +22,10 @@ import static com.google.errorprone.matchers.Matchers.kindIs;
 import static com.google.errorprone.matchers.Matchers.parentNode;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -38,7 +39,7 @@ import com.sun.source.tree.Tree.Kind;
     summary = "Optional.ifPresent is preferred over Optional.map when the return value is unused",
     severity = ERROR)
 public final class OptionalMapUnusedValue extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> METHOD_IS_OPTIONAL_MAP =
       instanceMethod().onExactClass("java.util.Optional").named("map");
@@ -50,6 +51,11 @@ public final class OptionalMapUnusedValue extends BugChecker
       argument(
           0, anyOf(kindIs(Kind.MEMBER_REFERENCE), OptionalMapUnusedValue::isVoidCompatibleLambda));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_IS_OPTIONAL_MAP);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (METHOD_IS_OPTIONAL_MAP.matches(tree, state)
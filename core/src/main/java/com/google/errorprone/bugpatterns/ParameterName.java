@@ -38,7 +38,6 @@ import com.google.errorprone.matchers.Description;
 import com.google.errorprone.util.ASTHelpers;
 import com.google.errorprone.util.Comments;
 import com.google.errorprone.util.ErrorProneToken;
-import com.google.errorprone.util.ErrorProneTokens;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.NewClassTree;
@@ -158,9 +157,8 @@ public class ParameterName extends BugChecker
       int offset,
       VisitorState state,
       Consumer<ErrorProneToken> consumer) {
-    String source = state.getSourceCode().subSequence(offset, positions.upperEndpoint()).toString();
     Deque<ErrorProneToken> tokens =
-        new ArrayDeque<>(ErrorProneTokens.getTokens(source, offset, state.context));
+        new ArrayDeque<>(state.getOffsetTokens(offset, positions.upperEndpoint()));
     if (advanceTokens(tokens, positions)) {
       consumer.accept(tokens.removeFirst());
     }
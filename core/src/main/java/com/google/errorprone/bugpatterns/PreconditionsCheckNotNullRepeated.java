@@ -20,9 +20,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -42,7 +43,7 @@ import java.util.List;
             + "as it will always be `null`.",
     severity = WARNING)
 public class PreconditionsCheckNotNullRepeated extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
   private static final String MESSAGE =
       "Including `%s` in the failure message isn't helpful,"
           + " since its value will always be `null`.";
@@ -50,6 +51,11 @@ public class PreconditionsCheckNotNullRepeated extends BugChecker
   private static final Matcher<MethodInvocationTree> MATCHER =
       allOf(staticMethod().onClass("com.google.common.base.Preconditions").named("checkNotNull"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
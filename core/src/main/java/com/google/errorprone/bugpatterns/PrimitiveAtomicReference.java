@@ -22,9 +22,10 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -41,12 +42,17 @@ import javax.lang.model.type.TypeKind;
             + " or AtomicDouble from Guava instead.",
     severity = WARNING)
 public final class PrimitiveAtomicReference extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> COMPARE_AND_SET =
       instanceMethod()
           .onDescendantOf("java.util.concurrent.atomic.AtomicReference")
           .namedAnyOf("compareAndSet", "weakCompareAndSet");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COMPARE_AND_SET);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!COMPARE_AND_SET.matches(tree, state)) {
@@ -24,9 +24,10 @@ import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.Matchers.packageStartsWith;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.MethodInvocationTree;
@@ -41,7 +42,7 @@ import java.util.regex.Pattern;
     severity = ERROR,
     linkType = NONE)
 public class PrivateSecurityContractProtoAccess extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Pattern PRIVATE_DO_NOT_ACCESS_OR_ELSE =
       Pattern.compile(".*PrivateDoNotAccessOrElse.*");
@@ -76,6 +77,11 @@ public class PrivateSecurityContractProtoAccess extends BugChecker
     return description.build();
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(SAFEHTML_PRIVATE_FIELD_ACCESS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (SAFEHTML_PRIVATE_FIELD_ACCESS.matches(tree, state)) {
@@ -22,12 +22,13 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.ListMultimap;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -52,7 +53,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
     summary = "A field on a protocol buffer was set twice in the same chained expression.",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public final class ProtoRedundantSet extends BugChecker implements MethodInvocationTreeMatcher {
+public final class ProtoRedundantSet extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   /** Matches a chainable proto builder method. */
   private static final Matcher<ExpressionTree> PROTO_FLUENT_METHOD =
@@ -76,6 +78,11 @@ public final class ProtoRedundantSet extends BugChecker implements MethodInvocat
                       (ExpressionTree) state.getPath().getParentPath().getParentPath().getLeaf(),
                       state)));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(TERMINAL_PROTO_FLUENT_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!TERMINAL_PROTO_FLUENT_METHOD.matches(tree, state)) {
@@ -26,10 +26,11 @@ import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.isSubtype;
 import static com.google.errorprone.util.ASTHelpers.streamReceivers;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.suppliers.Supplier;
@@ -54,7 +55,7 @@ import java.util.Optional;
             + "the subject of the assertion.",
     severity = ERROR)
 public final class ProtoTruthMixedDescriptors extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> IGNORING =
       instanceMethod()
@@ -73,6 +74,11 @@ public final class ProtoTruthMixedDescriptors extends BugChecker
   private static final Supplier<Type> GENERATED_MESSAGE =
       Suppliers.typeFromString("com.google.protobuf.GeneratedMessage");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IGNORING);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!IGNORING.matches(tree, state)) {
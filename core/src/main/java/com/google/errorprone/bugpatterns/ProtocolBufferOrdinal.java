@@ -19,9 +19,10 @@ package com.google.errorprone.bugpatterns;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -35,13 +36,19 @@ import com.sun.source.tree.MethodInvocationTree;
 @BugPattern(
     summary = "To get the tag number of a protocol buffer enum, use getNumber() instead.",
     severity = ERROR)
-public class ProtocolBufferOrdinal extends BugChecker implements MethodInvocationTreeMatcher {
+public class ProtocolBufferOrdinal extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String PROTO_SUPER_CLASS = "com.google.protobuf.Internal.EnumLite";
 
   private static final Matcher<ExpressionTree> PROTO_MSG_ORDINAL_MATCHER =
       instanceMethod().onDescendantOf(PROTO_SUPER_CLASS).named("ordinal").withNoParameters();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(PROTO_MSG_ORDINAL_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
@@ -22,11 +22,12 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -45,7 +46,7 @@ import javax.lang.model.type.TypeKind;
         "Casting a random number in the range [0.0, 1.0) to an integer or long always results"
             + " in 0.",
     severity = ERROR)
-public class RandomCast extends BugChecker implements MethodInvocationTreeMatcher {
+public class RandomCast extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       anyOf(
@@ -55,6 +56,11 @@ public class RandomCast extends BugChecker implements MethodInvocationTreeMatche
   private static final ImmutableSet<TypeKind> INTEGRAL =
       Sets.immutableEnumSet(TypeKind.LONG, TypeKind.INT);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
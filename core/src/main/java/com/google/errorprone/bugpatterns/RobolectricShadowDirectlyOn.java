@@ -24,10 +24,11 @@ import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static java.util.stream.Collectors.joining;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Streams;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -44,13 +45,19 @@ import java.util.stream.Stream;
 @BugPattern(
     summary = "Migrate off a deprecated overload of org.robolectric.shadow.api.Shadow#directlyOn",
     severity = WARNING)
-public class RobolectricShadowDirectlyOn extends BugChecker implements MethodInvocationTreeMatcher {
+public class RobolectricShadowDirectlyOn extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       MethodMatchers.staticMethod()
           .onClass("org.robolectric.shadow.api.Shadow")
           .withSignature("<T>directlyOn(T,java.lang.Class<T>)");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -21,9 +21,10 @@ import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.receiverSameAsArgument;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.MethodInvocationTree;
@@ -34,7 +35,7 @@ import com.sun.source.tree.MethodInvocationTree;
  * @author bhagwani@google.com (Sumit Bhagwani)
  */
 @BugPattern(summary = "An object is compared to itself", severity = ERROR)
-public class SelfComparison extends BugChecker implements MethodInvocationTreeMatcher {
+public class SelfComparison extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   /**
    * Matches calls to any instance method called "compareTo" with exactly one argument in which the
@@ -47,6 +48,11 @@ public class SelfComparison extends BugChecker implements MethodInvocationTreeMa
           instanceMethod().onDescendantOf("java.lang.Comparable").named("compareTo"),
           receiverSameAsArgument(0));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(COMPARE_TO_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
@@ -21,9 +21,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -41,7 +42,7 @@ import java.util.List;
 @BugPattern(
     summary = "This method must be called with an even number of arguments.",
     severity = ERROR)
-public class ShouldHaveEvenArgs extends BugChecker implements MethodInvocationTreeMatcher {
+public class ShouldHaveEvenArgs extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       instanceMethod()
@@ -52,6 +53,11 @@ public class ShouldHaveEvenArgs extends BugChecker implements MethodInvocationTr
               "com.google.common.truth.MultimapSubject.UsingCorrespondence")
           .named("containsExactly");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
@@ -18,9 +18,10 @@ package com.google.errorprone.bugpatterns;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -38,7 +39,8 @@ import java.util.Objects;
         "String.substring(int) gives you the substring from the index to the end, inclusive."
             + " Calling that method with an index of 0 will return the same String.",
     severity = ERROR)
-public final class SubstringOfZero extends BugChecker implements MethodInvocationTreeMatcher {
+public final class SubstringOfZero extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> SUBSTRING_CALLS =
       Matchers.instanceMethod()
           .onExactClass("java.lang.String")
@@ -51,6 +53,11 @@ public final class SubstringOfZero extends BugChecker implements MethodInvocatio
   private static final Matcher<MethodInvocationTree> SUBSTRING_CALLS_WITH_ZERO_ARG =
       Matchers.allOf(SUBSTRING_CALLS, ARGUMENT_IS_ZERO);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(SUBSTRING_CALLS_WITH_ZERO_ARG);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!SUBSTRING_CALLS_WITH_ZERO_ARG.matches(tree, state)) {
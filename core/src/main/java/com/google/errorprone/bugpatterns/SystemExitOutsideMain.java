@@ -30,9 +30,10 @@ import static com.google.errorprone.matchers.Matchers.staticMethod;
 import static com.google.errorprone.matchers.MethodVisibility.Visibility.PUBLIC;
 import static javax.lang.model.element.Modifier.STATIC;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.suppliers.Suppliers;
@@ -50,7 +51,8 @@ import java.util.Optional;
  * @author seibelsabrina@google.com (Sabrina Seibel)
  */
 @BugPattern(summary = "Code that contains System.exit() is untestable.", severity = ERROR)
-public class SystemExitOutsideMain extends BugChecker implements MethodInvocationTreeMatcher {
+public class SystemExitOutsideMain extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> CALLS_TO_SYSTEM_EXIT =
       staticMethod().onClass("java.lang.System").named("exit");
 
@@ -66,6 +68,11 @@ public class SystemExitOutsideMain extends BugChecker implements MethodInvocatio
   private static final Matcher<ExpressionTree> CALLS_TO_SYSTEM_EXIT_OUTSIDE_MAIN =
       allOf(CALLS_TO_SYSTEM_EXIT, not(enclosingMethod(MAIN_METHOD)));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(CALLS_TO_SYSTEM_EXIT_OUTSIDE_MAIN);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (CALLS_TO_SYSTEM_EXIT_OUTSIDE_MAIN.matches(tree, state)) {
@@ -23,11 +23,12 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MemberSelectTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -41,7 +42,7 @@ import com.sun.source.tree.MethodInvocationTree;
     severity = WARNING,
     tags = StandardTags.LIKELY_ERROR)
 public class SystemOut extends BugChecker
-    implements MethodInvocationTreeMatcher, MemberSelectTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, MemberSelectTreeMatcher {
 
   private static final Matcher<ExpressionTree> SYSTEM_OUT =
       anyOf(
@@ -64,6 +65,11 @@ public class SystemOut extends BugChecker
     return NO_MATCH;
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(PRINT_STACK_TRACE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (PRINT_STACK_TRACE.matches(tree, state)) {
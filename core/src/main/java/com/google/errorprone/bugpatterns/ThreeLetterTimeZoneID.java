@@ -22,7 +22,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -43,7 +43,8 @@ import java.util.TimeZone;
         "Three-letter time zone identifiers are deprecated, may be ambiguous, and might not do "
             + "what you intend; the full IANA time zone ID should be used instead.",
     severity = WARNING)
-public class ThreeLetterTimeZoneID extends BugChecker implements MethodInvocationTreeMatcher {
+public class ThreeLetterTimeZoneID extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> METHOD_MATCHER =
       MethodMatchers.staticMethod()
           .onClass("java.util.TimeZone")
@@ -56,6 +57,11 @@ public class ThreeLetterTimeZoneID extends BugChecker implements MethodInvocatio
           .named("forTimeZone")
           .withParameters("java.util.TimeZone");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!METHOD_MATCHER.matches(tree, state)) {
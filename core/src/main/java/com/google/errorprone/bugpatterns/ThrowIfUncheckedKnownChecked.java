@@ -23,9 +23,10 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.argumentCount;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -40,7 +41,7 @@ import javax.lang.model.type.UnionType;
 /** Catches no-op calls to {@code Throwables.throwIfUnchecked}. */
 @BugPattern(summary = "throwIfUnchecked(knownCheckedException) is a no-op.", severity = ERROR)
 public class ThrowIfUncheckedKnownChecked extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> IS_THROW_IF_UNCHECKED =
       allOf(
@@ -83,6 +84,11 @@ public class ThrowIfUncheckedKnownChecked extends BugChecker
         }
       };
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IS_THROW_IF_UNCHECKED);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (IS_THROW_IF_UNCHECKED.matches(tree, state)
@@ -25,10 +25,11 @@ import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.streamReceivers;
 
 import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -57,7 +58,8 @@ import javax.annotation.Nullable;
             + "failure messages. The actual value should come first.",
     severity = WARNING,
     tags = StandardTags.STYLE)
-public final class TruthAssertExpected extends BugChecker implements MethodInvocationTreeMatcher {
+public final class TruthAssertExpected extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String TRUTH = "com.google.common.truth.Truth";
   private static final String PROTOTRUTH = "com.google.common.truth.extensions.proto.ProtoTruth";
@@ -152,6 +154,11 @@ public final class TruthAssertExpected extends BugChecker implements MethodInvoc
   private static final Matcher<ExpressionTree> MATCH =
       allOf(REVERSIBLE_TERMINATORS, hasReceiverMatching(ASSERT_ON_EXPECTED));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCH);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCH.matches(tree, state)) {
@@ -21,10 +21,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -42,7 +43,8 @@ import java.util.regex.Pattern;
     summary = "Truth Library assert is called on a constant.",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public class TruthConstantAsserts extends BugChecker implements MethodInvocationTreeMatcher {
+public class TruthConstantAsserts extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ASSERT_THAT =
       staticMethod().onClass("com.google.common.truth.Truth").named("assertThat");
@@ -55,6 +57,11 @@ public class TruthConstantAsserts extends BugChecker implements MethodInvocation
           .withNameMatching(EQ_NEQ)
           .withParameters("java.lang.Object");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(TRUTH_SUBJECT_CALL);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocationTree, VisitorState state) {
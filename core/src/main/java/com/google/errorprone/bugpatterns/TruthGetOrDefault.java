@@ -21,9 +21,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -40,7 +41,8 @@ import java.util.Objects;
 @BugPattern(
     summary = "Asserting on getOrDefault is unclear; prefer containsEntry or doesNotContainKey",
     severity = WARNING)
-public final class TruthGetOrDefault extends BugChecker implements MethodInvocationTreeMatcher {
+public final class TruthGetOrDefault extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> ASSERT_THAT =
       staticMethod().onClass("com.google.common.truth.Truth").named("assertThat");
@@ -54,6 +56,11 @@ public final class TruthGetOrDefault extends BugChecker implements MethodInvocat
           .named("isEqualTo")
           .withParameters("java.lang.Object");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(SUBJECT_EQUALS_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!SUBJECT_EQUALS_MATCHER.matches(tree, state)) {
@@ -26,9 +26,10 @@ import static com.google.errorprone.matchers.Matchers.toType;
 import static com.google.errorprone.matchers.Matchers.typePredicateMatcher;
 import static com.google.errorprone.predicates.TypePredicates.isDescendantOf;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.predicates.TypePredicate;
@@ -46,7 +47,7 @@ import com.sun.source.tree.MethodInvocationTree;
             + " interned by javac, so testing types for equality should be done with"
             + " Types#isSameType instead",
     severity = WARNING)
-public class TypeEqualsChecker extends BugChecker implements MethodInvocationTreeMatcher {
+public class TypeEqualsChecker extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final TypePredicate TYPE_MIRROR =
       isDescendantOf("javax.lang.model.type.TypeMirror");
@@ -59,6 +60,11 @@ public class TypeEqualsChecker extends BugChecker implements MethodInvocationTre
               argument(0, typePredicateMatcher(TYPE_MIRROR)),
               argument(1, typePredicateMatcher(TYPE_MIRROR))));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(TYPE_EQUALS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!TYPE_EQUALS.matches(tree, state)) {
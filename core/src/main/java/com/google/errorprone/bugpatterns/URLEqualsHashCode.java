@@ -23,12 +23,13 @@ import static com.google.errorprone.matchers.method.MethodMatchers.instanceMetho
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -57,7 +58,7 @@ import java.util.List;
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
 public class URLEqualsHashCode extends BugChecker
-    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, NewClassTreeMatcher {
 
   private static final String URL_CLASS = "java.net.URL";
 
@@ -82,6 +83,11 @@ public class URLEqualsHashCode extends BugChecker
                   .named("build")),
           CONTAINER_MATCHER);
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_INVOCATION_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (METHOD_INVOCATION_MATCHER.matches(tree, state)) {
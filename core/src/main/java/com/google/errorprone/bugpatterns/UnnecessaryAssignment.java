@@ -33,7 +33,6 @@ import static com.google.errorprone.util.ASTHelpers.constValue;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.isSubtype;
-import static com.google.errorprone.util.ErrorProneTokens.getTokens;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -130,13 +129,8 @@ public final class UnnecessaryAssignment extends BugChecker
     if (HAS_NON_MOCK_FRAMEWORK_ANNOTATION.matches(tree, state)) {
       Description.Builder description = buildDescription(tree);
       if (!tree.getModifiers().getFlags().contains(Modifier.FINAL)) {
-        String source =
-            state
-                .getSourceCode()
-                .subSequence(getStartPosition(tree), getStartPosition(tree.getInitializer()))
-                .toString();
-        ImmutableList<ErrorProneToken> tokens =
-            getTokens(source, getStartPosition(tree), state.context);
+        List<ErrorProneToken> tokens =
+            state.getOffsetTokens(getStartPosition(tree), getStartPosition(tree.getInitializer()));
         int equalsPos =
             findLast(tokens.stream().filter(t -> t.kind().equals(TokenKind.EQ))).get().pos();
         description.addFix(
@@ -21,17 +21,16 @@ import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 
-import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.util.ErrorProneToken;
-import com.google.errorprone.util.ErrorProneTokens;
 import com.sun.source.tree.VariableTree;
 import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.parser.Tokens.TokenKind;
+import java.util.List;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 
@@ -52,8 +51,7 @@ public final class UnnecessaryFinal extends BugChecker implements VariableTreeMa
     if (!tree.getModifiers().getFlags().contains(Modifier.FINAL)) {
       return NO_MATCH;
     }
-    ImmutableList<ErrorProneToken> tokens =
-        ErrorProneTokens.getTokens(state.getSourceForNode(tree.getModifiers()), state.context);
+    List<ErrorProneToken> tokens = state.getTokensForNode(tree.getModifiers());
     for (ErrorProneToken token : tokens) {
       if (token.kind() == TokenKind.FINAL) {
         int startPos = getStartPosition(tree);
@@ -18,9 +18,10 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -43,7 +44,7 @@ import java.util.List;
     summary = "It is not necessary to wrap a MethodMatcher with methodInvocation().",
     severity = WARNING)
 public class UnnecessaryMethodInvocationMatcher extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String MATCHERS = Matchers.class.getCanonicalName();
   private static final Matcher<ExpressionTree> METHOD_INVOCATION =
@@ -51,6 +52,11 @@ public class UnnecessaryMethodInvocationMatcher extends BugChecker
   private static final Matcher<ExpressionTree> COMBINATOR =
       staticMethod().onClass(MATCHERS).namedAnyOf("allOf", "anyOf", "not");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(METHOD_INVOCATION);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!METHOD_INVOCATION.matches(tree, state)) {
@@ -47,7 +47,7 @@ import com.google.common.io.ByteSource;
 import com.google.common.io.CharSource;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -63,7 +63,8 @@ import java.util.OptionalLong;
 
 /** A {@link BugChecker}; see the associated {@link BugPattern} annotation for details. */
 @BugPattern(summary = "Unnecessary call to NullPointerTester#setDefault", severity = SUGGESTION)
-public class UnnecessarySetDefault extends BugChecker implements MethodInvocationTreeMatcher {
+public class UnnecessarySetDefault extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> SET_DEFAULT =
       instanceMethod()
@@ -205,6 +206,11 @@ public class UnnecessarySetDefault extends BugChecker implements MethodInvocatio
           .put("OptionalDouble.class", factoryMatcher(OptionalDouble.class, "empty"))
           .buildOrThrow();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(SET_DEFAULT);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!SET_DEFAULT.matches(tree, state)) {
@@ -23,7 +23,7 @@ import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
@@ -40,13 +40,18 @@ import com.sun.tools.javac.tree.JCTree.JCLiteral;
     summary = "Possible unsafe operation related to the java.util.Locale library.",
     severity = WARNING)
 public final class UnsafeLocaleUsage extends BugChecker
-    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, NewClassTreeMatcher {
 
   private static final Matcher<ExpressionTree> LOCALE_TO_STRING =
       instanceMethod().onExactClass("java.util.Locale").named("toString");
   private static final Matcher<ExpressionTree> LOCALE_CONSTRUCTOR =
       constructor().forClass("java.util.Locale");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOCALE_TO_STRING);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (LOCALE_TO_STRING.matches(tree, state)) {
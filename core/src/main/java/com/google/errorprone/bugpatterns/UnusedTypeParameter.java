@@ -23,6 +23,7 @@ import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static com.google.errorprone.util.ASTHelpers.methodCanBeOverridden;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
@@ -30,7 +31,6 @@ import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker.CompilationUnitTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
-import com.google.errorprone.util.ErrorProneTokens;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.tree.MethodTree;
@@ -108,9 +108,7 @@ public final class UnusedTypeParameter extends BugChecker implements Compilation
     if (typeParameters.size() > 1) {
       return removeElement(typeParameter, typeParameters, state);
     }
-    var tokens =
-        ErrorProneTokens.getTokens(
-            state.getSourceForNode(tree), getStartPosition(tree), state.context);
+    var tokens = ImmutableList.copyOf(state.getOffsetTokensForNode(tree));
     int startPos =
         tokens.reverse().stream()
             .filter(
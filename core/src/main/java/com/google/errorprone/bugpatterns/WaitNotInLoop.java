@@ -23,10 +23,11 @@ import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.WaitMatchers.waitMethod;
 import static com.google.errorprone.matchers.WaitMatchers.waitMethodWithTimeout;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -45,10 +46,15 @@ import com.sun.tools.javac.tree.JCTree.JCIf;
             + "called in a loop",
     severity = WARNING,
     tags = StandardTags.FRAGILE_CODE)
-public class WaitNotInLoop extends BugChecker implements MethodInvocationTreeMatcher {
+public class WaitNotInLoop extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> matcher = allOf(waitMethod, not(inLoop()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(matcher);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!matcher.matches(tree, state)) {
@@ -24,7 +24,7 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -44,13 +44,19 @@ import com.sun.tools.javac.tree.JCTree;
 @BugPattern(
     summary = "withSignature is discouraged. Prefer .named and/or .withParameters where possible.",
     severity = WARNING)
-public class WithSignatureDiscouraged extends BugChecker implements MethodInvocationTreeMatcher {
+public class WithSignatureDiscouraged extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> WITH_SIGNATURE =
       instanceMethod()
           .onExactClass("com.google.errorprone.matchers.method.MethodMatchers.MethodClassMatcher")
           .named("withSignature")
           .withParameters("java.lang.String");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(WITH_SIGNATURE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!WITH_SIGNATURE.matches(tree, state)) {
@@ -31,10 +31,11 @@ import static com.sun.source.tree.Tree.Kind.IDENTIFIER;
 import static javax.lang.model.element.Modifier.FINAL;
 
 import com.google.common.base.Utf8;
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
@@ -52,7 +53,7 @@ import javax.annotation.Nullable;
  * @author epmjohnston@google.com (Emily P.M. Johnston)
  */
 @BugPattern(summary = "Log tag too long, cannot exceed 23 characters.", severity = ERROR)
-public class IsLoggableTagLength extends BugChecker implements MethodInvocationTreeMatcher {
+public class IsLoggableTagLength extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> IS_LOGGABLE_CALL =
       staticMethod().onClass("android.util.Log").named("isLoggable");
@@ -61,6 +62,11 @@ public class IsLoggableTagLength extends BugChecker implements MethodInvocationT
   private static final Matcher<MethodInvocationTree> RECEIVER_IS_CLASS_LITERAL =
       receiverOfInvocation(classLiteral(anything()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(IS_LOGGABLE_CALL);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!state.isAndroidCompatible()) {
@@ -24,6 +24,7 @@ import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static com.google.errorprone.util.ASTHelpers.getType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.Streams;
 import com.google.errorprone.BugPattern;
@@ -31,7 +32,7 @@ import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.BugPattern.StandardTags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -64,12 +65,18 @@ import com.sun.tools.javac.code.Types;
             + " `release`, even after checking `isHeld()`. If so, it will throw a RuntimeException."
             + " Please wrap in a try/catch block.",
     severity = SeverityLevel.WARNING)
-public class WakelockReleasedDangerously extends BugChecker implements MethodInvocationTreeMatcher {
+public class WakelockReleasedDangerously extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String WAKELOCK_CLASS_NAME = "android.os.PowerManager.WakeLock";
   private static final Matcher<ExpressionTree> RELEASE =
       MethodMatchers.instanceMethod().onExactClass(WAKELOCK_CLASS_NAME).named("release");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(RELEASE);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!state.isAndroidCompatible()) {
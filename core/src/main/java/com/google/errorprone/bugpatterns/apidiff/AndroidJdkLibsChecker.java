@@ -20,6 +20,8 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.io.Resources;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.ErrorProneFlags;
@@ -44,13 +46,16 @@ import java.io.UncheckedIOException;
 // TODO(b/32513850): Allow Android N+ APIs, e.g., by computing API diff using android.jar
 public class AndroidJdkLibsChecker extends ApiDiffChecker {
 
-  private static ApiDiff loadApiDiff(boolean allowJava8) {
+  private static final Supplier<ApiDiff> API_DIFF =
+      Suppliers.memoize(() -> loadApiDiff("android.binarypb"));
+
+  private static final Supplier<ApiDiff> JAVA8_API_DIFF =
+      Suppliers.memoize(() -> loadApiDiff("android_java8.binarypb"));
+
+  private static ApiDiff loadApiDiff(String resourceName) {
     try {
       byte[] diffData =
-          Resources.toByteArray(
-              Resources.getResource(
-                  AndroidJdkLibsChecker.class,
-                  allowJava8 ? "android_java8.binarypb" : "android.binarypb"));
+          Resources.toByteArray(Resources.getResource(AndroidJdkLibsChecker.class, resourceName));
       ApiDiffProto.Diff diff =
           ApiDiffProto.Diff.newBuilder()
               .mergeFrom(diffData, ExtensionRegistry.getEmptyRegistry())
@@ -72,7 +77,7 @@ public class AndroidJdkLibsChecker extends ApiDiffChecker {
   }
 
   private AndroidJdkLibsChecker(boolean allowJava8) {
-    super(loadApiDiff(allowJava8));
+    super(allowJava8 ? JAVA8_API_DIFF.get() : API_DIFF.get());
     this.allowJava8 = allowJava8;
   }
 
@@ -19,6 +19,8 @@ package com.google.errorprone.bugpatterns.apidiff;
 import static com.google.common.collect.ImmutableSetMultimap.toImmutableSetMultimap;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.io.Resources;
 import com.google.errorprone.BugPattern;
@@ -40,32 +42,38 @@ import java.util.regex.Pattern;
     severity = ERROR)
 public class Java8ApiChecker extends ApiDiffChecker {
 
-  private static ApiDiff loadApiDiff(ErrorProneFlags errorProneFlags) {
+  private static final Supplier<ApiDiff> API_DIFF =
+      Suppliers.memoize(Java8ApiChecker::parseApiDiff);
+
+  private static ApiDiff parseApiDiff() {
     try {
       byte[] diffData =
           Resources.toByteArray(Resources.getResource(Java8ApiChecker.class, "8to11diff.binarypb"));
-      ApiDiff diff =
-          ApiDiff.fromProto(
-              ApiDiffProto.Diff.newBuilder()
-                  .mergeFrom(diffData, ExtensionRegistry.getEmptyRegistry())
-                  .build());
-      boolean checkBuffer = errorProneFlags.getBoolean("Java8ApiChecker:checkBuffer").orElse(true);
-      boolean checkChecksum =
-          errorProneFlags.getBoolean("Java8ApiChecker:checkChecksum").orElse(true);
-      if (checkBuffer && checkChecksum) {
-        return diff;
-      }
-      ImmutableSetMultimap<String, ClassMemberKey> unsupportedMembers =
-          diff.unsupportedMembersByClass().entries().stream()
-              .filter(e -> checkBuffer || !BUFFER.matcher(e.getKey()).matches())
-              .filter(e -> checkChecksum || !e.getKey().equals(CHECKSUM))
-              .collect(toImmutableSetMultimap(Map.Entry::getKey, Map.Entry::getValue));
-      return ApiDiff.fromMembers(diff.unsupportedClasses(), unsupportedMembers);
+      return ApiDiff.fromProto(
+          ApiDiffProto.Diff.newBuilder()
+              .mergeFrom(diffData, ExtensionRegistry.getEmptyRegistry())
+              .build());
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
+  private static ApiDiff loadApiDiff(ErrorProneFlags errorProneFlags) {
+    ApiDiff diff = API_DIFF.get();
+    boolean checkBuffer = errorProneFlags.getBoolean("Java8ApiChecker:checkBuffer").orElse(true);
+    boolean checkChecksum =
+        errorProneFlags.getBoolean("Java8ApiChecker:checkChecksum").orElse(true);
+    if (checkBuffer && checkChecksum) {
+      return diff;
+    }
+    ImmutableSetMultimap<String, ClassMemberKey> unsupportedMembers =
+        diff.unsupportedMembersByClass().entries().stream()
+            .filter(e -> checkBuffer || !BUFFER.matcher(e.getKey()).matches())
+            .filter(e -> checkChecksum || !e.getKey().equals(CHECKSUM))
+            .collect(toImmutableSetMultimap(Map.Entry::getKey, Map.Entry::getValue));
+    return ApiDiff.fromMembers(diff.unsupportedClasses(), unsupportedMembers);
+  }
+
   private static final Pattern BUFFER = Pattern.compile("java/nio/.*Buffer");
 
   private static final String CHECKSUM = "java/util/zip/Checksum";
@@ -18,11 +18,13 @@ package com.google.errorprone.bugpatterns.argumentselectiondefects;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
+import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.Tree;
@@ -44,7 +46,7 @@ import javax.lang.model.element.ElementKind;
  */
 @BugPattern(summary = "Arguments are swapped in assertEquals-like call", severity = WARNING)
 public class AssertEqualsArgumentOrderChecker extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private final ArgumentChangeFinder argumentchangeFinder =
       ArgumentChangeFinder.builder()
@@ -54,6 +56,11 @@ public class AssertEqualsArgumentOrderChecker extends BugChecker
           .addHeuristic(new NameInCommentHeuristic())
           .build();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(Matchers.ASSERT_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!Matchers.ASSERT_METHOD.matches(tree, state)) {
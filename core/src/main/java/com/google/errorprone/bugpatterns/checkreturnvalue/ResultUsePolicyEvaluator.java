@@ -26,19 +26,29 @@ import static java.util.Map.entry;
 import com.google.common.collect.ImmutableListMultimap;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.checkreturnvalue.ResultUseRule.Evaluation;
 import com.google.errorprone.bugpatterns.checkreturnvalue.ResultUseRule.RuleScope;
+import com.google.errorprone.suppliers.Supplier;
 import com.sun.tools.javac.code.Symbol.MethodSymbol;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.stream.Stream;
+import javax.annotation.Nullable;
 import javax.lang.model.element.ElementKind;
 
 /**
  * Evaluates methods and their enclosing classes and packages to determine a {@link ResultUsePolicy}
  * for the methods.
+ *
+ * <p>The first evaluation for each method is cached for the rest of the compilation, since the same
+ * APIs tend to be invoked many times, and all rules depend only on the method and its enclosing
+ * elements.
  */
 public final class ResultUsePolicyEvaluator {
 
@@ -70,11 +80,19 @@ public final class ResultUsePolicyEvaluator {
   /** All the rules for this evaluator, indexed by the scopes they apply to. */
   private final ImmutableListMultimap<RuleScope, ResultUseRule> rules;
 
+  /** The checker whose statistics record cache hits and misses, if any. */
+  @Nullable private final BugChecker statisticsChecker;
+
+  /** The first evaluation of each method evaluated so far in the current compilation. */
+  private final Supplier<Map<MethodSymbol, Optional<Evaluation>>> firstEvaluations =
+      VisitorState.memoize(unused -> new HashMap<>());
+
   private ResultUsePolicyEvaluator(Builder builder) {
     this.rules =
         builder.rules.stream()
             .flatMap(rule -> rule.scopes().stream().map(scope -> entry(scope, rule)))
             .collect(toImmutableListMultimap(Entry::getKey, Entry::getValue));
+    this.statisticsChecker = builder.statisticsChecker;
   }
 
   /**
@@ -82,12 +100,30 @@ public final class ResultUsePolicyEvaluator {
    * apply to it.
    */
   public ResultUsePolicy evaluate(MethodSymbol method, VisitorState state) {
-    return policies(method, state).findFirst().orElse(OPTIONAL);
+    return firstEvaluation(method, state).map(Evaluation::policy).orElse(OPTIONAL);
   }
 
-  private Stream<ResultUsePolicy> policies(MethodSymbol method, VisitorState state) {
-    return SCOPES.get(method.getKind()).stream()
-        .flatMap(scope -> scope.policies(method, state, rules));
+  /**
+   * Returns the first {@link Evaluation} made by rules starting from the given {@code method},
+   * which determines the policy returned by {@link #evaluate}.
+   */
+  public Optional<Evaluation> firstEvaluation(MethodSymbol method, VisitorState state) {
+    Map<MethodSymbol, Optional<Evaluation>> cache = firstEvaluations.get(state);
+    Optional<Evaluation> result = cache.get(method);
+    if (result == null) {
+      result = evaluations(method, state).findFirst();
+      cache.put(method, result);
+      incrementCounter(state, "policy-cache-miss");
+    } else {
+      incrementCounter(state, "policy-cache-hit");
+    }
+    return result;
+  }
+
+  private void incrementCounter(VisitorState state, String key) {
+    if (statisticsChecker != null) {
+      state.incrementCounter(statisticsChecker, key);
+    }
   }
 
   /**
@@ -101,6 +137,7 @@ public final class ResultUsePolicyEvaluator {
   /** Builder for {@link ResultUsePolicyEvaluator}. */
   public static final class Builder {
     private final List<ResultUseRule> rules = new ArrayList<>();
+    @Nullable private BugChecker statisticsChecker;
 
     private Builder() {}
 
@@ -124,6 +161,16 @@ public final class ResultUsePolicyEvaluator {
       return this;
     }
 
+    /**
+     * Records hits and misses of the evaluator's cache as {@code policy-cache-hit} and {@code
+     * policy-cache-miss} counters of the given {@code checker}.
+     */
+    @CanIgnoreReturnValue
+    public Builder recordStatisticsAs(BugChecker checker) {
+      this.statisticsChecker = checker;
+      return this;
+    }
+
     /** Builds a new {@link ResultUsePolicyEvaluator}. */
     public ResultUsePolicyEvaluator build() {
       return new ResultUsePolicyEvaluator(this);
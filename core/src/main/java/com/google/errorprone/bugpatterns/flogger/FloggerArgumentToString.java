@@ -32,11 +32,12 @@ import static com.google.errorprone.util.ASTHelpers.getType;
 import static java.util.Arrays.stream;
 
 import com.google.common.base.Ascii;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -58,7 +59,8 @@ import javax.lang.model.type.TypeKind;
         "Use Flogger's printf-style formatting instead of explicitly converting arguments to"
             + " strings",
     severity = WARNING)
-public class FloggerArgumentToString extends BugChecker implements MethodInvocationTreeMatcher {
+public class FloggerArgumentToString extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   /**
    * Match any unescaped '%' and capture probable terms (including the '%'). Note that this
@@ -283,6 +285,11 @@ public class FloggerArgumentToString extends BugChecker implements MethodInvocat
   static final Matcher<ExpressionTree> UNWRAPPABLE =
       anyOf(stream(Unwrapper.values()).map(u -> u.matcher).collect(toImmutableList()));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOG_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!LOG_MATCHER.matches(tree, state)) {
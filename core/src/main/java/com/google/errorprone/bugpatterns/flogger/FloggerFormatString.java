@@ -21,10 +21,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.formatstring.FormatStringValidation;
 import com.google.errorprone.bugpatterns.formatstring.FormatStringValidation.ValidationResult;
 import com.google.errorprone.fixes.Fix;
@@ -46,7 +47,7 @@ import javax.annotation.Nullable;
     altNames = "FormatString",
     summary = "Invalid printf-style format string",
     severity = ERROR)
-public class FloggerFormatString extends BugChecker implements MethodInvocationTreeMatcher {
+public class FloggerFormatString extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> FORMAT_METHOD =
       instanceMethod().onDescendantOf("com.google.common.flogger.LoggingApi").named("log");
@@ -54,6 +55,11 @@ public class FloggerFormatString extends BugChecker implements MethodInvocationT
   private static final Matcher<ExpressionTree> WITH_CAUSE =
       instanceMethod().onDescendantOf("com.google.common.flogger.LoggingApi").named("withCause");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(FORMAT_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!FORMAT_METHOD.matches(tree, state)) {
@@ -20,10 +20,11 @@ import static com.google.errorprone.BugPattern.LinkType.NONE;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.CompileTimeConstantExpressionMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -43,7 +44,7 @@ import com.sun.source.tree.MethodInvocationTree;
             + " @CompileTimeConstant. If possible, use Flogger's formatting log methods instead.",
     linkType = NONE,
     severity = ERROR)
-public class FloggerLogString extends BugChecker implements MethodInvocationTreeMatcher {
+public class FloggerLogString extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> LOG_STRING =
       instanceMethod()
@@ -54,6 +55,11 @@ public class FloggerLogString extends BugChecker implements MethodInvocationTree
   private static final Matcher<ExpressionTree> COMPILE_TIME_CONSTANT =
       CompileTimeConstantExpressionMatcher.instance();
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOG_STRING);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return LOG_STRING.matches(tree, state)
@@ -23,10 +23,11 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.Matchers.isSameType;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -41,13 +42,19 @@ import com.sun.source.tree.MethodTree;
 @BugPattern(
     summary = "logVarargs should be used to pass through format strings and arguments.",
     severity = ERROR)
-public final class FloggerLogVarargs extends BugChecker implements MethodInvocationTreeMatcher {
+public final class FloggerLogVarargs extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<MethodInvocationTree> MATCHER =
       allOf(
           instanceMethod().onDescendantOf("com.google.common.flogger.LoggingApi").named("log"),
           argument(0, isSameType(Suppliers.STRING_TYPE)),
           argument(1, isSameType(Suppliers.arrayOf(Suppliers.OBJECT_TYPE))));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -37,9 +37,9 @@ import com.google.errorprone.BugPattern.LinkType;
 import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.IdentifierTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MemberSelectTreeMatcher;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.VariableTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
@@ -82,7 +82,7 @@ import javax.lang.model.element.NestingKind;
     linkType = LinkType.CUSTOM,
     severity = WARNING)
 public final class FloggerRequiredModifiers extends BugChecker
-    implements MethodInvocationTreeMatcher,
+    implements FilteredMethodInvocationTreeMatcher,
         IdentifierTreeMatcher,
         MemberSelectTreeMatcher,
         VariableTreeMatcher {
@@ -236,6 +236,11 @@ public final class FloggerRequiredModifiers extends BugChecker
     return CONTAINS_INIT_LOGGER.matches(initializer, state);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(INIT_LOGGER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!shouldHoistConstantExpressions()) {
@@ -25,10 +25,11 @@ import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.isSameType;
 import static java.util.stream.Collectors.joining;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -50,7 +51,8 @@ import java.util.List;
         "Prefer string formatting using printf placeholders (e.g. %s) instead of string"
             + " concatenation",
     severity = WARNING)
-public class FloggerStringConcatenation extends BugChecker implements MethodInvocationTreeMatcher {
+public class FloggerStringConcatenation extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       MethodMatchers.instanceMethod()
@@ -58,6 +60,11 @@ public class FloggerStringConcatenation extends BugChecker implements MethodInvo
           .named("log")
           .withParameters("java.lang.String");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
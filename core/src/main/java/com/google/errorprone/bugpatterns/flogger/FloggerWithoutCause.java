@@ -18,6 +18,7 @@ package com.google.errorprone.bugpatterns.flogger;
 
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
@@ -42,7 +43,7 @@ import javax.lang.model.type.TypeKind;
     summary = "Use withCause to associate Exceptions with log statements",
     severity = BugPattern.SeverityLevel.WARNING)
 public class FloggerWithoutCause extends BugChecker
-    implements BugChecker.MethodInvocationTreeMatcher {
+    implements BugChecker.FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> LOG_METHOD =
       instanceMethod().onDescendantOf("com.google.common.flogger.LoggingApi").named("log");
@@ -50,6 +51,11 @@ public class FloggerWithoutCause extends BugChecker
   private static final Matcher<ExpressionTree> WITH_CAUSE =
       instanceMethod().onDescendantOf("com.google.common.flogger.LoggingApi").named("withCause");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(LOG_METHOD);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!LOG_METHOD.matches(tree, state)) {
@@ -31,10 +31,11 @@ import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.Matchers.receiverOfInvocation;
 import static com.google.errorprone.matchers.Matchers.symbolHasAnnotation;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
 import com.google.errorprone.matchers.ChildMultiMatcher.MatchType;
 import com.google.errorprone.matchers.Description;
@@ -70,7 +71,7 @@ import java.time.ZonedDateTime;
         "This code declares a binding for a common value type without a Qualifier annotation.",
     severity = WARNING)
 public class BindingToUnqualifiedCommonType extends BugChecker
-    implements MethodTreeMatcher, MethodInvocationTreeMatcher {
+    implements MethodTreeMatcher, FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<Tree> IS_SIMPLE_TYPE =
       anyOf(
@@ -131,6 +132,11 @@ public class BindingToUnqualifiedCommonType extends BugChecker
     return Description.NO_MATCH;
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(BIND_TO_UNQUALIFIED_CONSTANT);
+  }
+
   @Override
   public Description matchMethodInvocation(
       MethodInvocationTree methodInvocation, VisitorState state) {
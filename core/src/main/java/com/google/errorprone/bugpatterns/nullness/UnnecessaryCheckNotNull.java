@@ -21,11 +21,12 @@ import static com.google.errorprone.matchers.Matchers.argument;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.sun.source.tree.Tree.Kind.STRING_LITERAL;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.Fix;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
@@ -61,7 +62,8 @@ import java.util.Set;
     summary = "This null check is unnecessary; the expression can never be null",
     severity = ERROR,
     altNames = {"PreconditionsCheckNotNull", "PreconditionsCheckNotNullPrimitive"})
-public class UnnecessaryCheckNotNull extends BugChecker implements MethodInvocationTreeMatcher {
+public class UnnecessaryCheckNotNull extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<MethodInvocationTree> CHECK_NOT_NULL_MATCHER =
       Matchers.<MethodInvocationTree>anyOf(
@@ -79,6 +81,11 @@ public class UnnecessaryCheckNotNull extends BugChecker implements MethodInvocat
   private static final Matcher<MethodInvocationTree> PRIMITIVE_ARG_MATCHER =
       argument(0, Matchers.<ExpressionTree>isPrimitiveType());
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(CHECK_NOT_NULL_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!CHECK_NOT_NULL_MATCHER.matches(tree, state) || tree.getArguments().isEmpty()) {
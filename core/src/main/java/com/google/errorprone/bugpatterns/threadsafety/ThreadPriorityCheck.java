@@ -19,10 +19,11 @@ package com.google.errorprone.bugpatterns.threadsafety;
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -40,13 +41,18 @@ import com.sun.source.tree.MethodInvocationTree;
     name = "ThreadPriorityCheck",
     summary = "Relying on the thread scheduler is discouraged.",
     severity = WARNING)
-public class ThreadPriorityCheck extends BugChecker implements MethodInvocationTreeMatcher {
+public class ThreadPriorityCheck extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> THREAD_MATCHERS =
       anyOf(
           Matchers.staticMethod().onClass("java.lang.Thread").named("yield"),
           Matchers.instanceMethod().onDescendantOf("java.lang.Thread").named("setPriority"));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(THREAD_MATCHERS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return THREAD_MATCHERS.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
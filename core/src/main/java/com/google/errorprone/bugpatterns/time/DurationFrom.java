@@ -19,10 +19,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.isSameType;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -43,7 +44,7 @@ import java.time.Period;
         "Duration.from(TemporalAmount) will always throw a UnsupportedTemporalTypeException when "
             + "passed a Period and return itself when passed a Duration.",
     severity = ERROR)
-public final class DurationFrom extends BugChecker implements MethodInvocationTreeMatcher {
+public final class DurationFrom extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> DURATION_FROM =
       staticMethod().onClass("java.time.Duration").named("from");
@@ -52,6 +53,11 @@ public final class DurationFrom extends BugChecker implements MethodInvocationTr
 
   private static final Matcher<Tree> PERIOD = isSameType("java.time.Period");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(DURATION_FROM);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (DURATION_FROM.matches(tree, state)) {
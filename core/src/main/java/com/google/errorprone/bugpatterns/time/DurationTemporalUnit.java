@@ -23,11 +23,12 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -48,7 +49,8 @@ import java.util.Arrays;
             + " ChronoUnit.DAYS. E.g., Duration.of(1, ChronoUnit.YEARS) is guaranteed to throw a"
             + " DateTimeException.",
     severity = ERROR)
-public final class DurationTemporalUnit extends BugChecker implements MethodInvocationTreeMatcher {
+public final class DurationTemporalUnit extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String DURATION = "java.time.Duration";
   private static final String TEMPORAL_UNIT = "java.time.temporal.TemporalUnit";
@@ -73,6 +75,11 @@ public final class DurationTemporalUnit extends BugChecker implements MethodInvo
           .filter(c -> !c.equals(ChronoUnit.DAYS)) // DAYS is explicitly allowed
           .collect(toImmutableEnumSet());
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(DURATION_OF_LONG_TEMPORAL_UNIT);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (DURATION_OF_LONG_TEMPORAL_UNIT.matches(tree, state)) {
@@ -25,11 +25,12 @@ import static com.google.errorprone.util.ASTHelpers.getReceiverType;
 import static com.google.errorprone.util.ASTHelpers.getType;
 import static com.google.errorprone.util.ASTHelpers.isSameType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -75,7 +76,8 @@ import java.util.Map;
             + " DateTimeException at runtime, this checker validates the type transformations at"
             + " compile time using static type information.",
     severity = ERROR)
-public final class FromTemporalAccessor extends BugChecker implements MethodInvocationTreeMatcher {
+public final class FromTemporalAccessor extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String TEMPORAL_ACCESSOR = "java.time.temporal.TemporalAccessor";
 
@@ -418,6 +420,11 @@ public final class FromTemporalAccessor extends BugChecker implements MethodInvo
     return staticMethod().onClassAny(classes).named("from").withParameters(TEMPORAL_ACCESSOR);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(FROM_MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     // exit early if we're not in a `from(TemporalAccessor)` method
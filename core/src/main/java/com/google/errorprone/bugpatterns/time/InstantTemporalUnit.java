@@ -22,11 +22,12 @@ import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -45,7 +46,8 @@ import java.util.Arrays;
         "Instant APIs only work for NANOS, MICROS, MILLIS, SECONDS, MINUTES, HOURS, HALF_DAYS and"
             + " DAYS.",
     severity = ERROR)
-public final class InstantTemporalUnit extends BugChecker implements MethodInvocationTreeMatcher {
+public final class InstantTemporalUnit extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final String INSTANT = "java.time.Instant";
   private static final String TEMPORAL_UNIT = "java.time.temporal.TemporalUnit";
@@ -74,6 +76,11 @@ public final class InstantTemporalUnit extends BugChecker implements MethodInvoc
           .filter(c -> !c.equals(ChronoUnit.DAYS)) // DAYS is explicitly allowed
           .collect(toImmutableEnumSet());
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(INSTANT_OF_LONG_TEMPORAL_UNIT);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (INSTANT_OF_LONG_TEMPORAL_UNIT.matches(tree, state)) {
@@ -21,11 +21,12 @@ import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.Matchers.packageStartsWith;
 import static com.google.errorprone.util.ASTHelpers.getStartPosition;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -44,7 +45,8 @@ import com.sun.source.tree.MethodInvocationTree;
             + "field is copied directly). Use Duration.ofSeconds(duration.getSeconds(), nanos) "
             + "instead.",
     severity = WARNING)
-public final class JavaDurationWithNanos extends BugChecker implements MethodInvocationTreeMatcher {
+public final class JavaDurationWithNanos extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> MATCHER =
       allOf(
@@ -55,6 +57,11 @@ public final class JavaDurationWithNanos extends BugChecker implements MethodInv
           // Allow usage by java.time itself
           not(packageStartsWith("java.time")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -17,11 +17,12 @@ package com.google.errorprone.bugpatterns.time;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -41,7 +42,7 @@ import com.sun.source.tree.MethodInvocationTree;
             + "duration.getNano()) instead.",
     severity = WARNING)
 public final class JavaDurationWithSeconds extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
   private static final Matcher<ExpressionTree> MATCHER =
       Matchers.allOf(
           Matchers.instanceMethod()
@@ -51,6 +52,11 @@ public final class JavaDurationWithSeconds extends BugChecker
           // Allow usage by java.time itself
           Matchers.not(Matchers.packageStartsWith("java.time")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -20,10 +20,11 @@ import static com.google.errorprone.bugpatterns.time.NearbyCallers.containsCallT
 import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -46,7 +47,7 @@ import com.sun.source.tree.MethodInvocationTree;
             + "to use Instants.toEpochNanos(instant) instead.",
     severity = WARNING)
 public final class JavaInstantGetSecondsGetNano extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> GET_EPOCH_SECOND =
       instanceMethod().onExactClass("java.time.Instant").named("getEpochSecond");
@@ -55,6 +56,11 @@ public final class JavaInstantGetSecondsGetNano extends BugChecker
           instanceMethod().onExactClass("java.time.Instant").named("getNano"),
           Matchers.not(Matchers.packageStartsWith("java.")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(GET_NANO);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (GET_NANO.matches(tree, state)) {
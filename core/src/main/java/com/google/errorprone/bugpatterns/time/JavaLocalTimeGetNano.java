@@ -22,10 +22,11 @@ import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.Matchers.packageStartsWith;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -41,7 +42,8 @@ import java.time.LocalTime;
         "localTime.getNano() only accesses the nanos-of-second field."
             + " It's rare to only use getNano() without a nearby getSecond() call.",
     severity = WARNING)
-public final class JavaLocalTimeGetNano extends BugChecker implements MethodInvocationTreeMatcher {
+public final class JavaLocalTimeGetNano extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> GET_SECOND =
       instanceMethod().onExactClass("java.time.LocalTime").named("getSecond");
@@ -50,6 +52,11 @@ public final class JavaLocalTimeGetNano extends BugChecker implements MethodInvo
           instanceMethod().onExactClass("java.time.LocalTime").named("getNano"),
           not(packageStartsWith("java.")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(GET_NANO);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (GET_NANO.matches(tree, state)) {
@@ -20,10 +20,11 @@ import static com.google.errorprone.bugpatterns.time.NearbyCallers.containsCallT
 import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -42,7 +43,8 @@ import com.sun.source.tree.MethodInvocationTree;
             + " the total span of time of the period. Consider using org.threeten.extra.Days to"
             + " extract the difference between two civil dates if you want the whole time.",
     severity = WARNING)
-public final class JavaPeriodGetDays extends BugChecker implements MethodInvocationTreeMatcher {
+public final class JavaPeriodGetDays extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> PERIOD_LOOK_AT_OTHERS =
       instanceMethod()
@@ -53,6 +55,11 @@ public final class JavaPeriodGetDays extends BugChecker implements MethodInvocat
           instanceMethod().onExactClass("java.time.Period").named("getDays"),
           Matchers.not(Matchers.packageStartsWith("java.")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(PERIOD_GET_DAYS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (PERIOD_GET_DAYS.matches(tree, state)) {
@@ -25,10 +25,11 @@ import static com.google.errorprone.util.ASTHelpers.getReceiver;
 import static com.google.errorprone.util.ASTHelpers.getSymbol;
 import static com.google.errorprone.util.ASTHelpers.isSameType;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -46,7 +47,7 @@ import java.util.List;
         "This may have surprising semantics, e.g. new Period(LocalDate.parse(\"1970-01-01\"), "
             + "LocalDate.parse(\"1970-02-02\")).getDays() == 1, not 32.",
     severity = WARNING)
-public final class JodaNewPeriod extends BugChecker implements MethodInvocationTreeMatcher {
+public final class JodaNewPeriod extends BugChecker implements FilteredMethodInvocationTreeMatcher {
 
   private static final String READABLE_PARTIAL = "org.joda.time.ReadablePartial";
 
@@ -68,6 +69,11 @@ public final class JodaNewPeriod extends BugChecker implements MethodInvocationT
                       .forClass("org.joda.time.Period")
                       .withParameters(READABLE_INSTANT, READABLE_INSTANT))));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return MATCHER.matches(tree, state)
@@ -17,11 +17,12 @@ package com.google.errorprone.bugpatterns.time;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.fixes.SuggestedFixes;
 import com.google.errorprone.matchers.Description;
@@ -48,7 +49,8 @@ import java.util.List;
             + "because the units of the parameters are ambiguous. Please use "
             + "type.plus(Duration.millis(long)) or type.minus(Duration.millis(long)) instead.",
     severity = WARNING)
-public final class JodaPlusMinusLong extends BugChecker implements MethodInvocationTreeMatcher {
+public final class JodaPlusMinusLong extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final ImmutableSet<String> TYPES =
       ImmutableSet.of("DateMidnight", "DateTime", "Duration", "Instant");
@@ -80,6 +82,11 @@ public final class JodaPlusMinusLong extends BugChecker implements MethodInvocat
     return Matchers.anyOf(matchers);
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -19,12 +19,13 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.collect.Iterables.getOnlyElement;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Streams;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.NewClassTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
@@ -46,7 +47,7 @@ import com.sun.source.tree.NewClassTree;
             + "simply 'return this'. There is no reason to ever call them.",
     severity = ERROR)
 public final class JodaToSelf extends BugChecker
-    implements MethodInvocationTreeMatcher, NewClassTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher, NewClassTreeMatcher {
 
   private static final ImmutableSet<String> TYPE_NAMES =
       ImmutableSet.of("DateTime", "Duration", "Instant", "Interval", "Period");
@@ -81,6 +82,11 @@ public final class JodaToSelf extends BugChecker
           // Allow usage by JodaTime itself
           Matchers.not(Matchers.packageStartsWith("org.joda.time")));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
@@ -18,12 +18,13 @@ package com.google.errorprone.bugpatterns.time;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.bugpatterns.time.DurationGetTemporalUnit.getInvalidChronoUnit;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
@@ -43,7 +44,8 @@ import java.util.EnumSet;
             + " or `ChronoUnit.DAYS`. All other values are guaranteed to throw an"
             + " `UnsupportedTemporalTypeException`.",
     severity = ERROR)
-public final class PeriodGetTemporalUnit extends BugChecker implements MethodInvocationTreeMatcher {
+public final class PeriodGetTemporalUnit extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
   private static final ImmutableSet<ChronoUnit> INVALID_TEMPORAL_UNITS =
       ImmutableSet.copyOf(
           EnumSet.complementOf(EnumSet.of(ChronoUnit.YEARS, ChronoUnit.MONTHS, ChronoUnit.DAYS)));
@@ -54,6 +56,11 @@ public final class PeriodGetTemporalUnit extends BugChecker implements MethodInv
           .named("get")
           .withParameters("java.time.temporal.TemporalUnit");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return MATCHER.matches(tree, state)
@@ -22,11 +22,12 @@ import static com.google.errorprone.matchers.Matchers.instanceMethod;
 import static com.google.errorprone.matchers.Matchers.isSameType;
 import static com.google.errorprone.matchers.Matchers.not;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -39,7 +40,8 @@ import com.sun.source.tree.MethodInvocationTree;
         "Period.(plus|minus)(TemporalAmount) will always throw a DateTimeException when passed a "
             + "Duration.",
     severity = ERROR)
-public final class PeriodTimeMath extends BugChecker implements MethodInvocationTreeMatcher {
+public final class PeriodTimeMath extends BugChecker
+    implements FilteredMethodInvocationTreeMatcher {
 
   private final Matcher<MethodInvocationTree> matcherToCheck;
 
@@ -56,6 +58,11 @@ public final class PeriodTimeMath extends BugChecker implements MethodInvocation
         allOf(PERIOD_MATH, argument(0, requireStrictCompatibility ? not(PERIOD) : DURATION));
   }
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(matcherToCheck);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     return matcherToCheck.matches(tree, state) ? describeMatch(tree) : Description.NO_MATCH;
@@ -19,10 +19,11 @@ import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.bugpatterns.time.NearbyCallers.containsCallToSameReceiverNearby;
 import static com.google.errorprone.matchers.method.MethodMatchers.instanceMethod;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -42,13 +43,18 @@ import com.sun.source.tree.MethodInvocationTree;
             + "you probably meant to use Durations.toNanos(duration) instead.",
     severity = WARNING)
 public final class ProtoDurationGetSecondsGetNano extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   private static final Matcher<ExpressionTree> GET_SECONDS =
       instanceMethod().onExactClass("com.google.protobuf.Duration").named("getSeconds");
   private static final Matcher<ExpressionTree> GET_NANOS =
       instanceMethod().onExactClass("com.google.protobuf.Duration").named("getNanos");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(GET_NANOS);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (GET_NANOS.matches(tree, state)) {
@@ -20,11 +20,12 @@ import static com.google.errorprone.matchers.Matchers.instanceMethod;
 
 import com.google.common.base.Enums;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Longs;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -48,7 +49,7 @@ import java.util.concurrent.TimeUnit;
             + "a constant value",
     severity = WARNING)
 public final class TimeUnitConversionChecker extends BugChecker
-    implements MethodInvocationTreeMatcher {
+    implements FilteredMethodInvocationTreeMatcher {
 
   // TODO(kak): We should probably also extend this to recognize TimeUnit.convertTo() invocations
 
@@ -58,6 +59,11 @@ public final class TimeUnitConversionChecker extends BugChecker
           .namedAnyOf(
               "toDays", "toHours", "toMinutes", "toSeconds", "toMillis", "toMicros", "toNanos");
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(MATCHER);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (!MATCHER.matches(tree, state)) {
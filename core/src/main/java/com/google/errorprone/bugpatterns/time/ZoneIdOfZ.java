@@ -24,10 +24,11 @@ import static com.google.errorprone.matchers.Matchers.packageStartsWith;
 import static com.google.errorprone.matchers.method.MethodMatchers.staticMethod;
 import static com.google.errorprone.util.ASTHelpers.constValue;
 
+import com.google.common.collect.ImmutableList;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
-import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
@@ -45,7 +46,7 @@ import com.sun.source.tree.MethodInvocationTree;
         "Avoid the magic constant (ZoneId.of(\"Z\")) in favor of a more descriptive API: "
             + " ZoneOffset.UTC",
     severity = ERROR)
-public final class ZoneIdOfZ extends BugChecker implements MethodInvocationTreeMatcher {
+public final class ZoneIdOfZ extends BugChecker implements FilteredMethodInvocationTreeMatcher {
   private static final String ZONE_OFFSET = "java.time.ZoneOffset";
 
   private static final Matcher<ExpressionTree> ZONE_ID_OF =
@@ -53,6 +54,11 @@ public final class ZoneIdOfZ extends BugChecker implements MethodInvocationTreeM
           staticMethod().onClass("java.time.ZoneId").named("of"),
           not(anyOf(packageStartsWith("java."), packageStartsWith("tck.java."))));
 
+  @Override
+  public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+    return ImmutableList.of(ZONE_ID_OF);
+  }
+
   @Override
   public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
     if (ZONE_ID_OF.matches(tree, state)) {
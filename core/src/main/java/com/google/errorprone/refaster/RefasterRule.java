@@ -41,6 +41,7 @@ import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import javax.annotation.Nullable;
 import javax.tools.JavaFileManager;
 
 /**
@@ -133,11 +134,18 @@ public abstract class RefasterRule<M extends TemplateMatch, T extends Template<M
   @Override
   public abstract ImmutableClassToInstanceMap<Annotation> annotations();
 
+  @Nullable private transient volatile RefasterRuleIndex index;
+
   @Override
   public void apply(TreePath path, Context context, DescriptionListener listener) {
-    RefasterScanner.create(this, listener)
-        .scan(
-            path.getLeaf(), prepareContext(context, (JCCompilationUnit) path.getCompilationUnit()));
+    RefasterRuleIndex index = this.index;
+    if (index == null) {
+      index =
+          this.index =
+              RefasterRuleIndex.create(ImmutableList.of(RefasterRuleIndex.IndexedRule.of(this)));
+    }
+    new RefasterScanner(index, listener, context, (JCCompilationUnit) path.getCompilationUnit())
+        .scan(path.getLeaf(), context);
   }
 
   boolean rejectMatchesWithComments() {
@@ -146,7 +154,7 @@ public abstract class RefasterRule<M extends TemplateMatch, T extends Template<M
 
   static final Context.Key<ImmutableList<UTypeVar>> RULE_TYPE_VARS = new Context.Key<>();
 
-  private Context prepareContext(Context baseContext, JCCompilationUnit compilationUnit) {
+  Context prepareContext(Context baseContext, JCCompilationUnit compilationUnit) {
     Context context = new SubContext(baseContext);
     if (context.get(JavaFileManager.class) == null) {
       JavacFileManager.preRegister(context);
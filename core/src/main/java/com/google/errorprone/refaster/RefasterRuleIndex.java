@@ -0,0 +1,333 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.refaster;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static java.util.Comparator.comparingInt;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MultimapBuilder;
+import com.google.errorprone.matchers.Suppressible;
+import com.sun.source.tree.Tree.Kind;
+import com.sun.tools.javac.tree.JCTree;
+import com.sun.tools.javac.tree.JCTree.JCExpression;
+import com.sun.tools.javac.tree.JCTree.JCFieldAccess;
+import com.sun.tools.javac.tree.JCTree.JCIdent;
+import com.sun.tools.javac.tree.JCTree.JCMethodInvocation;
+import com.sun.tools.javac.util.Name;
+import com.sun.tools.javac.util.Names;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.Nullable;
+
+/**
+ * An index of the {@code @BeforeTemplate}s of a list of {@link RefasterRule}s, which lets a single
+ * traversal of a compilation unit try each tree against only the templates that could match it.
+ *
+ * <p>Templates are indexed by the kind of tree their root can unify with, and templates whose root
+ * is a method invocation are further indexed by the name of the invoked method. Templates whose
+ * root can unify with arbitrary expressions, such as a bare template argument, are tried against
+ * every tree. The candidates for a tree are listed in rule order, so matches are reported in the
+ * same order as if each rule had been applied to that tree in turn.
+ *
+ * <p>The index is built from {@link IndexedRule}s, which record the keys of each template alongside
+ * a supplier of the rule itself, so that a rule read from a file of compiled rules is only
+ * deserialized once a tree that it could match is found.
+ */
+final class RefasterRuleIndex {
+
+  /** The kinds of trees that a {@code @BeforeTemplate} can match. */
+  @AutoValue
+  abstract static class TemplateKeys implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /** Whether the template can match any expression, in which case the other keys are empty. */
+    abstract boolean anyExpression();
+
+    abstract ImmutableSet<Kind> kinds();
+
+    /** The names of the methods that the template can match invocations of. */
+    abstract ImmutableSet<String> invokedNames();
+
+    static TemplateKeys of(Template<?> template) {
+      if (template instanceof BlockTemplate) {
+        return create(false, ImmutableSet.of(Kind.BLOCK), ImmutableSet.of());
+      }
+      Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+      Set<String> invokedNames = new LinkedHashSet<>();
+      if (template instanceof ExpressionTemplate
+          && addKeys(((ExpressionTemplate) template).expression(), kinds, invokedNames)) {
+        return create(false, ImmutableSet.copyOf(kinds), ImmutableSet.copyOf(invokedNames));
+      }
+      return create(true, ImmutableSet.of(), ImmutableSet.of());
+    }
+
+    private static TemplateKeys create(
+        boolean anyExpression, ImmutableSet<Kind> kinds, ImmutableSet<String> invokedNames) {
+      return new AutoValue_RefasterRuleIndex_TemplateKeys(anyExpression, kinds, invokedNames);
+    }
+  }
+
+  /** A rule to index, with the keys of each of its {@code @BeforeTemplate}s. */
+  @AutoValue
+  abstract static class IndexedRule implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    abstract String qualifiedTemplateClass();
+
+    abstract ImmutableList<TemplateKeys> beforeTemplateKeys();
+
+    /** Supplies the rule, which may be expensive the first time it is called. */
+    abstract Supplier<RefasterRule<?, ?>> rule();
+
+    static IndexedRule of(RefasterRule<?, ?> rule) {
+      return of(rule, Suppliers.ofInstance(rule));
+    }
+
+    /** Indexes {@code rule}, which will be supplied by {@code supplier}. */
+    static IndexedRule of(RefasterRule<?, ?> rule, Supplier<RefasterRule<?, ?>> supplier) {
+      return new AutoValue_RefasterRuleIndex_IndexedRule(
+          rule.qualifiedTemplateClass(),
+          rule.beforeTemplates().stream().map(TemplateKeys::of).collect(toImmutableList()),
+          supplier);
+    }
+  }
+
+  /**
+   * The {@code @BeforeTemplate} at index {@link #templateIndex} of the rule at {@link #ruleIndex}.
+   */
+  @AutoValue
+  abstract static class Candidate {
+    abstract int ruleIndex();
+
+    abstract int templateIndex();
+
+    static Candidate create(int ruleIndex, int templateIndex) {
+      return new AutoValue_RefasterRuleIndex_Candidate(ruleIndex, templateIndex);
+    }
+  }
+
+  private static final Kind[] KINDS = Kind.values();
+
+  private final ImmutableList<IndexedRule> rules;
+  private final ImmutableList<Suppressible> suppressibles;
+  private final ImmutableListMultimap<String, Integer> rulesByTemplateClass;
+
+  /** The candidates for trees of each kind, indexed by ordinal. */
+  private final ImmutableList<ImmutableList<Candidate>> candidatesByKind;
+
+  /**
+   * The candidates for invocations of methods with the given name. Invocations of any other method
+   * use the candidates for {@link Kind#METHOD_INVOCATION} in {@link #candidatesByKind}.
+   */
+  private final ImmutableMap<String, ImmutableList<Candidate>> candidatesByInvokedName;
+
+  static RefasterRuleIndex create(List<IndexedRule> rules) {
+    return new RefasterRuleIndex(ImmutableList.copyOf(rules));
+  }
+
+  private RefasterRuleIndex(ImmutableList<IndexedRule> rules) {
+    this.rules = rules;
+    this.suppressibles =
+        rules.stream()
+            .map(r -> RefasterSuppressionHelper.asSuppressible(r.qualifiedTemplateClass()))
+            .collect(toImmutableList());
+    ImmutableListMultimap.Builder<String, Integer> byTemplateClass =
+        ImmutableListMultimap.builder();
+    ListMultimap<Kind, Candidate> byKind =
+        MultimapBuilder.enumKeys(Kind.class).arrayListValues().build();
+    ListMultimap<String, Candidate> byInvokedName =
+        MultimapBuilder.linkedHashKeys().arrayListValues().build();
+    List<Candidate> anyExpression = new ArrayList<>();
+    for (int i = 0; i < rules.size(); i++) {
+      IndexedRule rule = rules.get(i);
+      byTemplateClass.put(rule.qualifiedTemplateClass(), i);
+      for (int j = 0; j < rule.beforeTemplateKeys().size(); j++) {
+        TemplateKeys keys = rule.beforeTemplateKeys().get(j);
+        Candidate candidate = Candidate.create(i, j);
+        if (keys.anyExpression()) {
+          anyExpression.add(candidate);
+          continue;
+        }
+        for (Kind kind : keys.kinds()) {
+          byKind.put(kind, candidate);
+        }
+        for (String name : keys.invokedNames()) {
+          byInvokedName.put(name, candidate);
+        }
+      }
+    }
+    this.rulesByTemplateClass = byTemplateClass.build();
+
+    ImmutableList.Builder<ImmutableList<Candidate>> candidatesByKind = ImmutableList.builder();
+    for (Kind kind : KINDS) {
+      candidatesByKind.add(merge(byKind.get(kind), anyExpression));
+    }
+    this.candidatesByKind = candidatesByKind.build();
+
+    List<Candidate> anyInvocation = this.candidatesByKind.get(Kind.METHOD_INVOCATION.ordinal());
+    ImmutableMap.Builder<String, ImmutableList<Candidate>> candidatesByInvokedName =
+        ImmutableMap.builder();
+    for (Map.Entry<String, Collection<Candidate>> entry : byInvokedName.asMap().entrySet()) {
+      candidatesByInvokedName.put(entry.getKey(), merge(entry.getValue(), anyInvocation));
+    }
+    this.candidatesByInvokedName = candidatesByInvokedName.buildOrThrow();
+  }
+
+  /**
+   * Adds the kinds of trees that {@code expression} can unify with to {@code kinds}, and the names
+   * of the methods it can be an invocation of to {@code invokedNames}. Returns false if {@code
+   * expression} may unify with trees that cannot be described this way.
+   */
+  private static boolean addKeys(
+      UExpression expression, Set<Kind> kinds, Set<String> invokedNames) {
+    if (expression instanceof UAnyOf) {
+      // UAnyOf unifies each alternative with the target with its parentheses stripped.
+      kinds.add(Kind.PARENTHESIZED);
+      for (UExpression alternative : ((UAnyOf) expression).expressions()) {
+        if (!addKeys(alternative, kinds, invokedNames)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (expression instanceof UMethodInvocation) {
+      String name = invokedName(((UMethodInvocation) expression).getMethodSelect());
+      if (name != null) {
+        invokedNames.add(name);
+      } else {
+        kinds.add(Kind.METHOD_INVOCATION);
+      }
+      return true;
+    }
+    if (expression instanceof UBinary
+        || expression instanceof UUnary
+        || expression instanceof UConditional
+        || expression instanceof UInstanceOf
+        || expression instanceof UNewClass
+        || expression instanceof UTypeCast) {
+      // These only unify with trees of their own kind.
+      kinds.add(expression.getKind());
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the name of the method that {@code methodSelect} refers to, if it can only unify with
+   * references to methods of that name.
+   */
+  @Nullable
+  private static String invokedName(UExpression methodSelect) {
+    if (methodSelect instanceof UStaticIdent) {
+      return ((UStaticIdent) methodSelect).getName().contents();
+    }
+    if (methodSelect instanceof UMemberSelect) {
+      return ((UMemberSelect) methodSelect).getIdentifier().contents();
+    }
+    return null;
+  }
+
+  /** Merges two lists of candidates that are each in rule order. */
+  private static ImmutableList<Candidate> merge(
+      Collection<Candidate> first, Collection<Candidate> second) {
+    List<Candidate> result = new ArrayList<>(first);
+    result.addAll(second);
+    result.sort(comparingInt(Candidate::ruleIndex).thenComparingInt(Candidate::templateIndex));
+    return ImmutableList.copyOf(result);
+  }
+
+  int ruleCount() {
+    return rules.size();
+  }
+
+  /** Returns the rule at {@code index}, deserializing it if necessary. */
+  RefasterRule<?, ?> rule(int index) {
+    return rules.get(index).rule().get();
+  }
+
+  /** The rules as {@link Suppressible}s, in index order. */
+  ImmutableList<Suppressible> suppressibles() {
+    return suppressibles;
+  }
+
+  /** The indices of the rules that are defined in the given template class. */
+  ImmutableList<Integer> rulesDefinedIn(String qualifiedTemplateClass) {
+    return rulesByTemplateClass.get(qualifiedTemplateClass);
+  }
+
+  /**
+   * Returns a function from trees to the templates that could match them, for trees whose names are
+   * interned in {@code names}.
+   */
+  Lookup lookup(Names names) {
+    return new Lookup(names);
+  }
+
+  /**
+   * Looks up the candidate templates for a tree. Method names are looked up as javac {@link Name}s,
+   * so that invocations can be dispatched without converting their names to strings.
+   */
+  final class Lookup {
+    private final Map<Name, ImmutableList<Candidate>> candidatesByInvokedName = new HashMap<>();
+
+    private Lookup(Names names) {
+      RefasterRuleIndex.this.candidatesByInvokedName.forEach(
+          (name, candidates) ->
+              this.candidatesByInvokedName.put(names.fromString(name), candidates));
+    }
+
+    /** Returns the templates that could match {@code tree}, in rule order. */
+    ImmutableList<Candidate> candidates(JCTree tree) {
+      if (tree instanceof JCMethodInvocation) {
+        Name name = invokedName(((JCMethodInvocation) tree).getMethodSelect());
+        if (name != null) {
+          ImmutableList<Candidate> candidates = candidatesByInvokedName.get(name);
+          if (candidates != null) {
+            return candidates;
+          }
+        }
+      }
+      return candidatesByKind.get(tree.getKind().ordinal());
+    }
+
+    @Nullable
+    private Name invokedName(JCExpression methodSelect) {
+      if (methodSelect instanceof JCIdent) {
+        return ((JCIdent) methodSelect).getName();
+      }
+      if (methodSelect instanceof JCFieldAccess) {
+        return ((JCFieldAccess) methodSelect).getIdentifier();
+      }
+      return null;
+    }
+  }
+}
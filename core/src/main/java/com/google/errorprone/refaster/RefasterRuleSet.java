@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.refaster;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableClassToInstanceMap;
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.CodeTransformer;
+import com.google.errorprone.CodeTransformerFiles;
+import com.google.errorprone.CompositeCodeTransformer;
+import com.google.errorprone.DescriptionListener;
+import com.google.errorprone.refaster.RefasterRuleIndex.IndexedRule;
+import com.sun.source.util.TreePath;
+import com.sun.tools.javac.tree.JCTree.JCCompilationUnit;
+import com.sun.tools.javac.util.Context;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * Applies many {@link RefasterRule}s in a single traversal of each compilation unit, instead of one
+ * traversal per rule as a {@link CompositeCodeTransformer} of the rules would.
+ *
+ * <p>Rule sets written with {@link #write} store each rule in its own section of the file, which is
+ * only deserialized once the rule's templates could match a tree being scanned.
+ */
+@AutoValue
+public abstract class RefasterRuleSet implements CodeTransformer, Serializable {
+  /**
+   * Combines {@code transformers} into one. The {@link RefasterRule}s among them, including those
+   * nested in {@link CompositeCodeTransformer}s, are applied together by a {@link RefasterRuleSet},
+   * before any other transformers.
+   */
+  public static CodeTransformer compose(Iterable<? extends CodeTransformer> transformers) {
+    List<IndexedRule> rules = new ArrayList<>();
+    List<CodeTransformer> others = new ArrayList<>();
+    flatten(transformers, rule -> rule, rules, others);
+    return compose(rules, others);
+  }
+
+  /**
+   * Writes {@code transformers}, combined as by {@link #compose}, to a file of compiled
+   * transformers that can be read with {@link CodeTransformerFiles#read}.
+   */
+  public static void write(Iterable<? extends CodeTransformer> transformers, Path path)
+      throws IOException {
+    CodeTransformerFiles.Writer writer = CodeTransformerFiles.writer();
+    List<IndexedRule> rules = new ArrayList<>();
+    List<CodeTransformer> others = new ArrayList<>();
+    flatten(
+        transformers,
+        rule -> {
+          try {
+            RefasterRule<?, ?> value = rule.rule().get();
+            return IndexedRule.of(value, writer.addSection(value));
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        },
+        rules,
+        others);
+    writer.write(path, compose(rules, others));
+  }
+
+  private static CodeTransformer compose(List<IndexedRule> rules, List<CodeTransformer> others) {
+    if (rules.isEmpty()) {
+      return CompositeCodeTransformer.compose(others);
+    }
+    CodeTransformer ruleSet = new AutoValue_RefasterRuleSet(ImmutableList.copyOf(rules));
+    if (others.isEmpty()) {
+      return ruleSet;
+    }
+    others.add(0, ruleSet);
+    return CompositeCodeTransformer.compose(others);
+  }
+
+  private static void flatten(
+      Iterable<? extends CodeTransformer> transformers,
+      Function<IndexedRule, IndexedRule> indexer,
+      List<IndexedRule> rules,
+      List<CodeTransformer> others) {
+    for (CodeTransformer transformer : transformers) {
+      if (transformer instanceof RefasterRule) {
+        rules.add(indexer.apply(IndexedRule.of((RefasterRule<?, ?>) transformer)));
+      } else if (transformer instanceof RefasterRuleSet) {
+        for (IndexedRule rule : ((RefasterRuleSet) transformer).rules()) {
+          rules.add(indexer.apply(rule));
+        }
+      } else if (transformer instanceof CompositeCodeTransformer) {
+        flatten(((CompositeCodeTransformer) transformer).transformers(), indexer, rules, others);
+      } else {
+        others.add(transformer);
+      }
+    }
+  }
+
+  RefasterRuleSet() {}
+
+  abstract ImmutableList<IndexedRule> rules();
+
+  @Nullable private transient volatile RefasterRuleIndex index;
+
+  @Override
+  public void apply(TreePath path, Context context, DescriptionListener listener) {
+    RefasterRuleIndex index = this.index;
+    if (index == null) {
+      index = this.index = RefasterRuleIndex.create(rules());
+    }
+    new RefasterScanner(index, listener, context, (JCCompilationUnit) path.getCompilationUnit())
+        .scan(path.getLeaf(), context);
+  }
+
+  @Override
+  public ImmutableClassToInstanceMap<Annotation> annotations() {
+    return ImmutableClassToInstanceMap.of();
+  }
+}
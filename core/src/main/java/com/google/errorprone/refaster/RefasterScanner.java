@@ -18,7 +18,6 @@ package com.google.errorprone.refaster;
 
 import static com.google.errorprone.util.ASTHelpers.stringContainsComments;
 
-import com.google.auto.value.AutoValue;
 import com.google.errorprone.BugPattern.SeverityLevel;
 import com.google.errorprone.DescriptionListener;
 import com.google.errorprone.fixes.SuggestedFix;
@@ -42,31 +41,60 @@ import com.sun.tools.javac.tree.JCTree.JCStatement;
 import com.sun.tools.javac.tree.TreeMaker;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.ListBuffer;
+import com.sun.tools.javac.util.Names;
+import java.util.BitSet;
+import java.util.List;
 
 /**
- * Scanner that outputs suggested fixes generated by a {@code RefasterMatcher}.
+ * Scanner that outputs suggested fixes generated by the {@code @BeforeTemplate}s of one or more
+ * {@link RefasterRule}s, in a single traversal of the scanned tree. Each tree is only matched
+ * against the templates that the {@link RefasterRuleIndex} lists as candidates for it.
  *
  * @author lowasser@google.com (Louis Wasserman)
  */
-@AutoValue
-abstract class RefasterScanner<M extends TemplateMatch, T extends Template<M>>
-    extends TreeScanner<Void, Context> {
-  static <M extends TemplateMatch, T extends Template<M>> RefasterScanner<M, T> create(
-      RefasterRule<M, T> rule, DescriptionListener listener) {
-    return new AutoValue_RefasterScanner<>(rule, listener);
+final class RefasterScanner extends TreeScanner<Void, Context> {
+  private final RefasterRuleIndex index;
+  private final RefasterRuleIndex.Lookup lookup;
+  private final DescriptionListener listener;
+  private final JCCompilationUnit compilationUnit;
+
+  /** The contexts prepared for each rule, created the first time one of its templates is tried. */
+  private final Context[] ruleContexts;
+
+  /**
+   * The indices of the rules that are suppressed on the current tree, or that are defined in an
+   * enclosing class.
+   */
+  private BitSet suppressed = new BitSet();
+
+  RefasterScanner(
+      RefasterRuleIndex index,
+      DescriptionListener listener,
+      Context context,
+      JCCompilationUnit compilationUnit) {
+    this.index = index;
+    this.lookup = index.lookup(Names.instance(context));
+    this.listener = listener;
+    this.compilationUnit = compilationUnit;
+    this.ruleContexts = new Context[index.ruleCount()];
   }
 
-  abstract RefasterRule<M, T> rule();
-
-  abstract DescriptionListener listener();
-
   @Override
   public Void visitClass(ClassTree node, Context context) {
-    if (isSuppressed(node, context)) {
-      return null;
-    }
-    Symbol sym = ASTHelpers.getSymbol(node);
-    if (sym == null || !sym.getQualifiedName().contentEquals(rule().qualifiedTemplateClass())) {
+    BitSet prev = suppressed;
+    try {
+      suppressed = suppressedIn(node, context);
+      Symbol sym = ASTHelpers.getSymbol(node);
+      if (sym != null) {
+        List<Integer> definedHere = index.rulesDefinedIn(sym.getQualifiedName().toString());
+        if (!definedHere.isEmpty()) {
+          suppressed = (BitSet) suppressed.clone();
+          definedHere.forEach(suppressed::set);
+        }
+      }
+      if (allSuppressed()) {
+        return null;
+      }
       ListBuffer<JCStatement> statements = new ListBuffer<>();
       for (Tree tree : node.getMembers()) {
         if (tree instanceof JCStatement) {
@@ -76,24 +104,46 @@ abstract class RefasterScanner<M extends TemplateMatch, T extends Template<M>>
         }
       }
       scan(TreeMaker.instance(context).Block(0, statements.toList()), context);
+      return null;
+    } finally {
+      suppressed = prev;
     }
-    return null;
   }
 
   @Override
   public Void visitMethod(MethodTree node, Context context) {
-    if (isSuppressed(node, context)) {
-      return null;
+    BitSet prev = suppressed;
+    try {
+      suppressed = suppressedIn(node, context);
+      return allSuppressed() ? null : super.visitMethod(node, context);
+    } finally {
+      suppressed = prev;
     }
-    return super.visitMethod(node, context);
   }
 
   @Override
   public Void visitVariable(VariableTree node, Context context) {
-    if (isSuppressed(node, context)) {
-      return null;
+    BitSet prev = suppressed;
+    try {
+      suppressed = suppressedIn(node, context);
+      return allSuppressed() ? null : super.visitVariable(node, context);
+    } finally {
+      suppressed = prev;
+    }
+  }
+
+  /** Returns the rules suppressed on {@code node}, including those suppressed on its ancestors. */
+  private BitSet suppressedIn(Tree node, Context context) {
+    BitSet result = RefasterSuppressionHelper.suppressed(index.suppressibles(), node, context);
+    if (result.isEmpty()) {
+      return suppressed;
     }
-    return super.visitVariable(node, context);
+    result.or(suppressed);
+    return result;
+  }
+
+  private boolean allSuppressed() {
+    return suppressed.cardinality() == ruleContexts.length;
   }
 
   @Override
@@ -101,35 +151,46 @@ abstract class RefasterScanner<M extends TemplateMatch, T extends Template<M>>
     if (tree == null) {
       return null;
     }
-    JCCompilationUnit compilationUnit = context.get(JCCompilationUnit.class);
-    for (T beforeTemplate : rule().beforeTemplates()) {
-      matchLoop:
-      for (M match : beforeTemplate.match((JCTree) tree, context)) {
-        if (rule().rejectMatchesWithComments()) {
-          String matchContents = match.getRange(compilationUnit);
-          if (stringContainsComments(matchContents, context)) {
-            continue matchLoop;
-          }
+    for (RefasterRuleIndex.Candidate candidate : lookup.candidates((JCTree) tree)) {
+      int ruleIndex = candidate.ruleIndex();
+      if (!suppressed.get(ruleIndex)) {
+        RefasterRule<?, ?> rule = index.rule(ruleIndex);
+        Template<?> template = rule.beforeTemplates().get(candidate.templateIndex());
+        match(ruleIndex, rule, template, (JCTree) tree, context);
+      }
+    }
+    return super.scan(tree, context);
+  }
+
+  private <M extends TemplateMatch> void match(
+      int ruleIndex, RefasterRule<M, ?> rule, Template<?> template, JCTree tree, Context context) {
+    @SuppressWarnings("unchecked") // the before templates of a RefasterRule<M, ?> match M
+    Template<M> beforeTemplate = (Template<M>) template;
+    Context ruleContext = ruleContexts[ruleIndex];
+    if (ruleContext == null) {
+      ruleContext = ruleContexts[ruleIndex] = rule.prepareContext(context, compilationUnit);
+    }
+    matchLoop:
+    for (M match : beforeTemplate.match(tree, ruleContext)) {
+      if (rule.rejectMatchesWithComments()) {
+        String matchContents = match.getRange(compilationUnit);
+        if (stringContainsComments(matchContents, ruleContext)) {
+          continue matchLoop;
         }
-        Description.Builder builder =
-            Description.builder(
-                match.getLocation(),
-                rule().qualifiedTemplateClass(),
-                "",
-                SeverityLevel.WARNING,
-                "");
-
-        if (rule().afterTemplates().isEmpty()) {
-          builder.addFix(SuggestedFix.prefixWith(match.getLocation(), "/* match found */ "));
-        } else {
-          for (T afterTemplate : rule().afterTemplates()) {
-            builder.addFix(afterTemplate.replace(match));
-          }
+      }
+      Description.Builder builder =
+          Description.builder(
+              match.getLocation(), rule.qualifiedTemplateClass(), "", SeverityLevel.WARNING, "");
+
+      if (rule.afterTemplates().isEmpty()) {
+        builder.addFix(SuggestedFix.prefixWith(match.getLocation(), "/* match found */ "));
+      } else {
+        for (Template<M> afterTemplate : rule.afterTemplates()) {
+          builder.addFix(afterTemplate.replace(match));
         }
-        listener().onDescribed(builder.build());
       }
+      listener.onDescribed(builder.build());
     }
-    return super.scan(tree, context);
   }
 
   private static final SimpleTreeVisitor<Tree, Void> SKIP_PARENS =
@@ -178,8 +239,4 @@ abstract class RefasterScanner<M extends TemplateMatch, T extends Template<M>>
     scan(node.getElseStatement(), context);
     return null;
   }
-
-  private boolean isSuppressed(Tree node, Context context) {
-    return RefasterSuppressionHelper.suppressed(rule(), node, context);
-  }
 }
@@ -26,39 +26,46 @@ import com.sun.tools.javac.code.Symbol;
 import com.sun.tools.javac.util.Context;
 import com.sun.tools.javac.util.Name;
 import java.lang.annotation.Annotation;
+import java.util.BitSet;
+import java.util.List;
 import java.util.Set;
 
 /** Helpers for handling suppression annotations in refaster. */
 final class RefasterSuppressionHelper {
 
   /**
-   * Returns true if the given rule is suppressed on the given tree.
+   * Returns the indices of the {@code rules} that are suppressed on the given tree.
    *
-   * <p>Unlike Error Prone, which scans the compilation unit once for all checks, refaster scans the
-   * compilation unit separately for each check. This simplifies suppression handling, since we can
-   * just stop recursively scanning as soon as a suppression is found for the current refaster rule.
+   * <p>Only the suppressions on the tree itself are considered. Since {@link RefasterScanner} stops
+   * trying a rule's templates below any tree it is suppressed on, it does not need to track
+   * suppressions inherited from enclosing trees.
+   *
+   * @param rules the rules, adapted with {@link #asSuppressible}
    */
-  static boolean suppressed(RefasterRule<?, ?> rule, Tree tree, Context context) {
-    VisitorState state = VisitorState.createForUtilityPurposes(context);
+  static BitSet suppressed(List<Suppressible> rules, Tree tree, Context context) {
     Symbol sym = ASTHelpers.getDeclaredSymbol(tree);
     if (sym == null) {
-      return false;
+      return new BitSet();
     }
+    VisitorState state = VisitorState.createForUtilityPurposes(context);
     return SuppressionInfo.EMPTY
         .withExtendedSuppressions(
             sym, state, /* customSuppressionAnnosToLookFor= */ ImmutableSet.of())
-        .suppressedState(
-            new RefasterSuppressible(rule), /* suppressedInGeneratedCode= */ false, state)
-        .equals(SuppressionInfo.SuppressedState.SUPPRESSED);
+        .suppressedStates(rules, /* suppressedInGeneratedCode= */ s -> false, state);
+  }
+
+  /** Adapts the rule defined by the given template class into a {@link Suppressible}. */
+  static Suppressible asSuppressible(String qualifiedTemplateClass) {
+    return new RefasterSuppressible(RefasterRule.fromSecondLevel(qualifiedTemplateClass));
   }
 
-  /** Adapts a {@link RefasterRule<?, ?>} into a {@link Suppressible}. */
+  /** Adapts a {@link RefasterRule} into a {@link Suppressible}. */
   private static class RefasterSuppressible implements Suppressible {
 
-    private final RefasterRule<?, ?> rule;
+    private final String simpleTemplateName;
 
-    RefasterSuppressible(RefasterRule<?, ?> rule) {
-      this.rule = rule;
+    RefasterSuppressible(String simpleTemplateName) {
+      this.simpleTemplateName = simpleTemplateName;
     }
 
     @Override
@@ -68,7 +75,7 @@ final class RefasterSuppressionHelper {
 
     @Override
     public String canonicalName() {
-      return rule.simpleTemplateName();
+      return simpleTemplateName;
     }
 
     @Override
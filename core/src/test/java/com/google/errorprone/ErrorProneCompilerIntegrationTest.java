@@ -19,12 +19,15 @@ package com.google.errorprone;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+import static com.google.errorprone.BugPattern.SeverityLevel.WARNING;
 import static com.google.errorprone.DiagnosticTestHelper.diagnosticMessage;
 import static com.google.errorprone.FileObjects.forResources;
 import static com.google.errorprone.FileObjects.forSourceLines;
 import static com.google.errorprone.matchers.Description.NO_MATCH;
 import static com.google.errorprone.util.ASTHelpers.constValue;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Locale.ENGLISH;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
@@ -43,6 +46,7 @@ import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.ReturnTreeMatcher;
 import com.google.errorprone.bugpatterns.NonAtomicVolatileUpdate;
+import com.google.errorprone.fixes.SuggestedFix;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.scanner.BuiltInCheckerSuppliers;
 import com.google.errorprone.scanner.ScannerSupplier;
@@ -56,9 +60,12 @@ import com.sun.source.tree.Tree;
 import com.sun.tools.javac.main.Main.Result;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.lang.model.element.Name;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
@@ -367,6 +374,134 @@ public class ErrorProneCompilerIntegrationTest {
     assertThat(outputStream.toString(), exitCode, is(Result.ERROR));
   }
 
+  @Test
+  public void timingsReport() throws Exception {
+    String[] testFile = {
+      "package test;", //
+      "public class Test {",
+      "  void doIt (int i) {",
+      "    i = i;",
+      "  }",
+      "}"
+    };
+    List<JavaFileObject> fileObjects = Arrays.asList(forSourceLines("Test.java", testFile));
+    Path report = tmpFolder.getRoot().toPath().resolve("timings.csv");
+    String[] args = {"-XepTimingsReport:" + report};
+    Result exitCode = compiler.compile(args, fileObjects);
+    outputStream.flush();
+    assertThat(outputStream.toString(), exitCode, is(Result.ERROR));
+
+    List<String> lines = Files.readAllLines(report, UTF_8);
+    assertThat(lines.get(0)).isEqualTo("type,name,calls,total_ns,p50_ns,p99_ns,max_ns");
+    assertThat(lines.stream().anyMatch(l -> l.startsWith("check,SelfAssignment,"))).isTrue();
+    assertThat(lines.stream().anyMatch(l -> l.startsWith("kind,ASSIGNMENT,"))).isTrue();
+    assertThat(lines.stream().anyMatch(l -> l.startsWith("counter,subtypeCache.hits,"))).isTrue();
+  }
+
+  @BugPattern(summary = "Method", severity = WARNING)
+  public static class CountingMethodMatcher extends BugChecker implements MethodTreeMatcher {
+    static final AtomicInteger matched = new AtomicInteger();
+
+    @Override
+    public Description matchMethod(MethodTree tree, VisitorState state) {
+      matched.incrementAndGet();
+      return describeMatch(tree, SuggestedFix.prefixWith(tree, "/* checked */ "));
+    }
+  }
+
+  @Test
+  public void findingsCache() throws Exception {
+    compilerBuilder.report(ScannerSupplier.fromBugCheckerClasses(CountingMethodMatcher.class));
+    compiler = compilerBuilder.build();
+    String[] args = {"-XepFindingsCache:" + tmpFolder.getRoot().toPath().resolve("findings")};
+    JavaFileObject a =
+        forSourceLines(
+            "A.java", //
+            "package test;",
+            "class A {",
+            "  void f(B b) {",
+            "    b.g();",
+            "  }",
+            "}");
+    JavaFileObject b =
+        forSourceLines(
+            "B.java", //
+            "package test;",
+            "class B {",
+            "  void g() {}",
+            "}");
+
+    CountingMethodMatcher.matched.set(0);
+    assertThat(compiler.compile(args, Arrays.asList(a, b)), is(Result.OK));
+    List<String> analyzed = describeDiagnostics();
+    assertThat(CountingMethodMatcher.matched.get(), is(2));
+    assertThat(analyzed, hasItem(containsString("Did you mean '/* checked */ void g() {}'?")));
+
+    diagnosticHelper.clearDiagnostics();
+    CountingMethodMatcher.matched.set(0);
+    assertThat(compiler.compile(args, Arrays.asList(a, b)), is(Result.OK));
+    assertThat(CountingMethodMatcher.matched.get(), is(0));
+    assertThat(describeDiagnostics(), is(analyzed));
+
+    // A is analyzed again when B changes, since it refers to B.
+    JavaFileObject changedB =
+        forSourceLines(
+            "B.java", //
+            "package test;",
+            "class B {",
+            "  int g() {",
+            "    return 0;",
+            "  }",
+            "}");
+    CountingMethodMatcher.matched.set(0);
+    assertThat(compiler.compile(args, Arrays.asList(a, changedB)), is(Result.OK));
+    assertThat(CountingMethodMatcher.matched.get(), is(2));
+  }
+
+  @Test
+  public void findingsCache_missesWhenCompilingTestOnlyCode() throws Exception {
+    compilerBuilder.report(ScannerSupplier.fromBugCheckerClasses(CountingMethodMatcher.class));
+    compiler = compilerBuilder.build();
+    String cache = "-XepFindingsCache:" + tmpFolder.getRoot().toPath().resolve("findings");
+    List<JavaFileObject> sources =
+        Arrays.asList(
+            forSourceLines(
+                "A.java", //
+                "package test;",
+                "class A {",
+                "  void f() {}",
+                "}"));
+
+    CountingMethodMatcher.matched.set(0);
+    assertThat(compiler.compile(new String[] {cache}, sources), is(Result.OK));
+    assertThat(CountingMethodMatcher.matched.get(), is(1));
+
+    CountingMethodMatcher.matched.set(0);
+    assertThat(
+        compiler.compile(new String[] {cache, "-XepCompilingTestOnlyCode"}, sources),
+        is(Result.OK));
+    assertThat(CountingMethodMatcher.matched.get(), is(1));
+
+    CountingMethodMatcher.matched.set(0);
+    assertThat(
+        compiler.compile(new String[] {cache, "-XepCompilingTestOnlyCode"}, sources),
+        is(Result.OK));
+    assertThat(CountingMethodMatcher.matched.get(), is(0));
+  }
+
+  private List<String> describeDiagnostics() {
+    return diagnosticHelper.getDiagnostics().stream()
+        .map(
+            d ->
+                String.format(
+                    "%s:%d:%d: %s",
+                    d.getSource().getName(),
+                    d.getLineNumber(),
+                    d.getColumnNumber(),
+                    d.getMessage(ENGLISH)))
+        .collect(toList());
+  }
+
   @Test
   public void maturityIsResetOnNextCompilation() {
     String[] testFile = {
@@ -217,6 +217,49 @@ public class ErrorProneJavacPluginTest {
         .containsExactly("A.java", "B.java");
   }
 
+  @Test
+  public void applyToPatchFile_multipleClassesInFile() throws IOException {
+    // TODO(b/63064865): Test is broken on Windows.  Disable for now.
+    Assume.assumeFalse(StandardSystemProperty.OS_NAME.value().startsWith("Windows"));
+
+    Path tmp = temporaryFolder.newFolder().toPath();
+    Path patchDir = temporaryFolder.newFolder().toPath();
+    Path patchFile = patchDir.resolve("error-prone.patch");
+    Path fileA = tmp.resolve("A.java");
+    Files.write(
+        fileA,
+        ImmutableList.of(
+            "class A implements Runnable {", //
+            "  public void run() {}",
+            "}",
+            "class B implements Runnable {",
+            "  public void run() {}",
+            "}"),
+        UTF_8);
+    JavacFileManager fileManager = new JavacFileManager(new Context(), false, UTF_8);
+    DiagnosticCollector<JavaFileObject> diagnosticCollector = new DiagnosticCollector<>();
+    JavacTask task =
+        JavacTool.create()
+            .getTask(
+                null,
+                fileManager,
+                diagnosticCollector,
+                ImmutableList.of(
+                    "-Xplugin:ErrorProne"
+                        + " -XepPatchChecks:MissingOverride -XepPatchLocation:"
+                        + patchDir,
+                    "-XDcompilePolicy=simple"),
+                ImmutableList.of(),
+                fileManager.getJavaFileObjects(fileA));
+    assertWithMessage(Joiner.on('\n').join(diagnosticCollector.getDiagnostics()))
+        .that(task.call())
+        .isTrue();
+    ImmutableList<String> patch = ImmutableList.copyOf(Files.readAllLines(patchFile, UTF_8));
+    assertThat(patch.stream().filter(l -> l.startsWith("--- ")).count()).isEqualTo(1);
+    assertThat(patch.stream().filter(l -> l.startsWith("+ ")).collect(toImmutableList()))
+        .containsExactly("+  @Override public void run() {}", "+  @Override public void run() {}");
+  }
+
   @Test
   public void noPolicyGiven() throws IOException {
     FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix());
@@ -19,10 +19,12 @@ package com.google.errorprone;
 import static com.google.common.truth.Truth.assertThat;
 
 import com.google.common.collect.ImmutableList;
+import com.google.errorprone.suppliers.Supplier;
 import com.sun.source.util.JavacTask;
 import com.sun.tools.javac.api.BasicJavacTask;
 import com.sun.tools.javac.api.JavacTool;
 import com.sun.tools.javac.util.Context;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -59,6 +61,47 @@ public class VisitorStateTest {
 
   @Test
   public void getConstantExpression() {
+    VisitorState visitorState = VisitorState.createForUtilityPurposes(newContext());
+    assertThat(visitorState.getConstantExpression("hello ' world")).isEqualTo("\"hello ' world\"");
+    assertThat(visitorState.getConstantExpression("hello \n world"))
+        .isEqualTo("\"hello \\n world\"");
+    assertThat(visitorState.getConstantExpression('\'')).isEqualTo("'\\''");
+  }
+
+  @Test
+  public void memoize_perCompilation() {
+    AtomicInteger computed = new AtomicInteger();
+    Supplier<Integer> supplier = VisitorState.memoize(unused -> computed.incrementAndGet());
+    Supplier<Integer> other = VisitorState.memoize(unused -> -1);
+    Context first = newContext();
+    Context second = newContext();
+
+    assertThat(supplier.get(VisitorState.createForUtilityPurposes(first))).isEqualTo(1);
+    assertThat(supplier.get(VisitorState.createForUtilityPurposes(second))).isEqualTo(2);
+    // Alternating between compilations doesn't evict their values.
+    assertThat(supplier.get(VisitorState.createForUtilityPurposes(first))).isEqualTo(1);
+    assertThat(supplier.get(VisitorState.createForUtilityPurposes(second))).isEqualTo(2);
+    assertThat(other.get(VisitorState.createForUtilityPurposes(first))).isEqualTo(-1);
+    assertThat(computed.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void memoize_nullIsNotCached() {
+    AtomicInteger computed = new AtomicInteger();
+    Supplier<Integer> supplier =
+        VisitorState.memoize(
+            unused -> {
+              computed.incrementAndGet();
+              return null;
+            });
+    VisitorState state = VisitorState.createForUtilityPurposes(newContext());
+
+    assertThat(supplier.get(state)).isNull();
+    assertThat(supplier.get(state)).isNull();
+    assertThat(computed.get()).isEqualTo(2);
+  }
+
+  private static Context newContext() {
     JavacTask task =
         JavacTool.create()
             .getTask(
@@ -68,11 +111,6 @@ public class VisitorStateTest {
                 /* options= */ ImmutableList.of(),
                 /* classes= */ ImmutableList.of(),
                 /* compilationUnits= */ ImmutableList.of());
-    Context context = ((BasicJavacTask) task).getContext();
-    VisitorState visitorState = VisitorState.createForUtilityPurposes(context);
-    assertThat(visitorState.getConstantExpression("hello ' world")).isEqualTo("\"hello ' world\"");
-    assertThat(visitorState.getConstantExpression("hello \n world"))
-        .isEqualTo("\"hello \\n world\"");
-    assertThat(visitorState.getConstantExpression('\'')).isEqualTo("'\\''");
+    return ((BasicJavacTask) task).getContext();
   }
 }
@@ -33,6 +33,7 @@ import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.LambdaExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree.Kind;
@@ -577,6 +578,37 @@ public class NullnessInferenceTest {
         .doTest();
   }
 
+  @Test
+  public void lambdas() {
+    compilationHelper
+        .addSourceLines(
+            "LambdaTest.java",
+            "package com.google.errorprone.dataflow.nullnesspropagation;",
+            "import static com.google.errorprone.dataflow.nullnesspropagation."
+                + "NullnessInferenceTest.inspectInferredExpression;",
+            "import java.util.function.Supplier;",
+            "import org.checkerframework.checker.nullness.qual.Nullable;",
+            "import org.checkerframework.checker.nullness.qual.NonNull;",
+            "public class LambdaTest {",
+            "  @Nullable Object nullableObj;",
+            "  @NonNull Object nonnullObj;",
+            "  static <T> T id(T t) { return t; }",
+            "  Object test() {",
+            "    Supplier<Object> outer = () -> {",
+            "      // BUG: Diagnostic contains: Optional[Nullable]",
+            "      inspectInferredExpression(id(nullableObj));",
+            "      Supplier<Object> inner = () -> {",
+            "        // BUG: Diagnostic contains: Optional[Non-null]",
+            "        return inspectInferredExpression(id(nonnullObj));",
+            "      };",
+            "      return id(nullableObj);",
+            "    };",
+            "    return outer;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   /** BugPattern to test inference of nullness qualifiers */
   @BugPattern(
       summary = "Test checker for NullnessInferenceTest",
@@ -619,6 +651,18 @@ public class NullnessInferenceTest {
             NullnessQualifierInference.getInferredNullability(
                 ASTHelpers.findEnclosingNode(root, MethodTree.class));
         ExpressionTree exprToInspect = methodInvocation.getArguments().get(0);
+        // The results computed along with those of the enclosing method should be the same.
+        TreePath procedure = root;
+        while (!(procedure.getLeaf() instanceof LambdaExpressionTree
+            || procedure.getLeaf() instanceof MethodTree)) {
+          procedure = procedure.getParentPath();
+        }
+        assertThat(
+                NullnessQualifierInference.getInferredNullability(procedure, state.context)
+                    .getExprNullness(exprToInspect))
+            .isEqualTo(
+                NullnessQualifierInference.getInferredNullability(procedure.getLeaf())
+                    .getExprNullness(exprToInspect));
         return describeMatch(
             exprToInspect,
             replace(methodInvocation, inferenceRes.getExprNullness(exprToInspect).toString()));
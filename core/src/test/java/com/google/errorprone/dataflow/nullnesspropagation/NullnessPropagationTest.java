@@ -24,11 +24,13 @@ import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
 import com.google.common.base.Joiner;
+import com.google.common.cache.CacheStats;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.CompilationTestHelper;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
 import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
+import com.google.errorprone.dataflow.DataFlow;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.sun.source.tree.ExpressionTree;
@@ -830,6 +832,63 @@ public class NullnessPropagationTest {
         .doTest();
   }
 
+  @Test
+  public void cfgsReusedAcrossMethodsInCompilationUnit() {
+    // One CFG for the method and one for the lambda; returning to the method reuses its CFG.
+    CompilationTestHelper.newInstance(CfgCacheStatsChecker.class, getClass())
+        .addSourceLines(
+            "CfgReuseTest.java",
+            "package com.google.errorprone.dataflow.nullnesspropagation;",
+            "import static com.google.errorprone.dataflow.nullnesspropagation."
+                + "NullnessPropagationTest.triggerNullnessChecker;",
+            "public class CfgReuseTest {",
+            "  public void test(Object o) {",
+            "    // BUG: Diagnostic contains: CFGs built: 1, reused: false",
+            "    triggerNullnessChecker(o);",
+            "    Runnable r = () -> {",
+            "      // BUG: Diagnostic contains: CFGs built: 2, reused: false",
+            "      triggerNullnessChecker(\"\");",
+            "    };",
+            "    // BUG: Diagnostic contains: CFGs built: 2, reused: true",
+            "    triggerNullnessChecker(o);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  /** Reports the CFG cache statistics of the compilation after analyzing each trigger call. */
+  @BugPattern(summary = "Test checker for the DataFlow CFG cache", severity = ERROR)
+  public static final class CfgCacheStatsChecker extends BugChecker
+      implements MethodInvocationTreeMatcher {
+    private final NullnessPropagationTransfer nullnessPropagation =
+        new NullnessPropagationTransfer();
+
+    private static final Matcher<ExpressionTree> TRIGGER_CALL_MATCHER =
+        staticMethod()
+            .onClass(NullnessPropagationTest.class.getName())
+            .named("triggerNullnessChecker");
+
+    @Override
+    public Description matchMethodInvocation(
+        MethodInvocationTree methodInvocation, VisitorState state) {
+      if (!TRIGGER_CALL_MATCHER.matches(methodInvocation, state)) {
+        return NO_MATCH;
+      }
+      TreePath root = state.getPath();
+      nullnessPropagation.setContext(state.context).setCompilationUnit(root.getCompilationUnit());
+      expressionDataflow(
+          new TreePath(root, methodInvocation.getArguments().get(0)),
+          state.context,
+          nullnessPropagation);
+      nullnessPropagation.setContext(null).setCompilationUnit(null);
+      CacheStats stats = DataFlow.instance(state.context).cfgCacheStats();
+      return buildDescription(methodInvocation)
+          .setMessage(
+              String.format("CFGs built: %d, reused: %b", stats.missCount(), stats.hitCount() > 0))
+          .build();
+    }
+  }
+
   /** BugPattern to test dataflow analysis using nullness propagation */
   @BugPattern(
       summary = "Test checker for NullnessPropagationTest",
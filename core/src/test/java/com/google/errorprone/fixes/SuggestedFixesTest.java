@@ -1301,6 +1301,46 @@ public class SuggestedFixesTest {
         .doTest();
   }
 
+  /**
+   * A test bugchecker that deletes any field whose removal doesn't break its own compilation unit,
+   * giving up after the first error.
+   */
+  @BugPattern(summary = "", severity = ERROR)
+  public static class CompilesWithFixInSameCompilationUnitChecker extends BugChecker
+      implements VariableTreeMatcher {
+    @Override
+    public Description matchVariable(VariableTree tree, VisitorState state) {
+      Fix fix = SuggestedFix.delete(tree);
+      return SuggestedFixes.compilesWithFix(
+              fix, state, ImmutableList.of("-Xmaxerrs", "1"), /* onlyInSameCompilationUnit= */ true)
+          ? describeMatch(tree, fix)
+          : Description.NO_MATCH;
+    }
+  }
+
+  @Test
+  public void compilesWithFix_onlyInSameCompilationUnit_doesNotAnalyzeOtherUnits() {
+    CompilationTestHelper.newInstance(CompilesWithFixInSameCompilationUnitChecker.class, getClass())
+        .addSourceLines(
+            "A.java",
+            "class A {",
+            "  // BUG: Diagnostic contains:",
+            "  int x = 0;",
+            "  int y = 1;",
+            "  int f() {",
+            "    return y;",
+            "  }",
+            "}")
+        .addSourceLines(
+            "B.java", //
+            "class B {",
+            "  int g(A a) {",
+            "    return a.x;",
+            "  }",
+            "}")
+        .doTest();
+  }
+
   /** A test bugchecker that deletes an exception from throws. */
   @BugPattern(name = "RemovesExceptionChecker", summary = "", severity = ERROR)
   public static class RemovesExceptionsChecker extends BugChecker implements MethodTreeMatcher {
@@ -16,6 +16,7 @@
 
 package com.google.errorprone.matchers;
 
+import static com.google.common.collect.ImmutableSortedSet.toImmutableSortedSet;
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
 import static com.google.errorprone.matchers.Matchers.inLoop;
@@ -25,9 +26,12 @@ import static com.google.errorprone.matchers.Matchers.isSubtypeOf;
 import static com.google.errorprone.matchers.Matchers.isVoidType;
 import static com.google.errorprone.matchers.Matchers.methodReturns;
 import static com.google.errorprone.suppliers.Suppliers.typeFromString;
+import static java.util.Comparator.naturalOrder;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.CompilationTestHelper;
 import com.google.errorprone.MatcherChecker;
@@ -39,10 +43,13 @@ import com.google.errorprone.bugpatterns.BugChecker.MethodTreeMatcher;
 import com.google.errorprone.matchers.method.MethodMatchers;
 import com.google.errorprone.scanner.ErrorProneScanner;
 import com.google.errorprone.scanner.ScannerSupplier;
+import com.google.errorprone.util.ASTHelpers;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.MethodInvocationTree;
 import com.sun.source.tree.MethodTree;
 import com.sun.source.tree.Tree;
+import com.sun.tools.javac.code.Symbol;
+import com.sun.tools.javac.util.Name;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
@@ -415,6 +422,38 @@ public class MatchersTest {
         .doTest();
   }
 
+  @Test
+  public void inheritedAnnotations() {
+    CompilationTestHelper.newInstance(InheritedAnnotationChecker.class, getClass())
+        .addSourceLines(
+            "test/Holder.java",
+            "package test;",
+            "import java.lang.annotation.Inherited;",
+            "public class Holder {",
+            "  @Inherited public @interface Inh {}",
+            "}")
+        .addSourceLines(
+            "test/Plain.java", // Do not wrap.
+            "package test;",
+            "public @interface Plain {}")
+        .addSourceLines(
+            "test/Test.java",
+            "package test;",
+            "// BUG: Diagnostic contains: plain=true, inherited=true, among=[test.Holder$Inh,"
+                + " test.Plain]",
+            "@Holder.Inh @Plain class A {}",
+            "// BUG: Diagnostic contains: plain=false, inherited=true, among=[test.Holder$Inh]",
+            "class B extends A {}",
+            "// BUG: Diagnostic contains: plain=true, inherited=true, among=[test.Holder$Inh,"
+                + " test.Plain]",
+            "@Plain class C extends B {}",
+            "interface I {",
+            "  // BUG: Diagnostic contains: plain=true, inherited=false, among=[test.Plain]",
+            "  @Plain void f();",
+            "}")
+        .doTest();
+  }
+
   @Test
   public void packageNameChecker() {
     CompilationTestHelper.newInstance(PackageNameChecker.class, getClass())
@@ -563,4 +602,43 @@ public class MatchersTest {
       return Description.NO_MATCH;
     }
   }
+
+  /** Checker that reports which of two annotations a class or method has. */
+  @BugPattern(summary = "Reports the annotations of declarations", severity = ERROR)
+  public static class InheritedAnnotationChecker extends BugChecker
+      implements ClassTreeMatcher, MethodTreeMatcher {
+
+    @Override
+    public Description matchClass(ClassTree tree, VisitorState state) {
+      return describe(tree, ASTHelpers.getSymbol(tree), state);
+    }
+
+    @Override
+    public Description matchMethod(MethodTree tree, VisitorState state) {
+      return describe(tree, ASTHelpers.getSymbol(tree), state);
+    }
+
+    private Description describe(Tree tree, Symbol sym, VisitorState state) {
+      if (sym.getSimpleName().contentEquals("Inh") || sym.getSimpleName().contentEquals("Plain")) {
+        return Description.NO_MATCH;
+      }
+      // Ask about Plain first, so the symbols are looked up again when asked about Inh.
+      boolean plain = ASTHelpers.hasAnnotation(sym, "test.Plain", state);
+      boolean inherited = ASTHelpers.hasAnnotation(sym, "test.Holder$Inh", state);
+      ImmutableSortedSet<String> among =
+          ASTHelpers.annotationsAmong(
+                  sym,
+                  ImmutableSet.of(state.getName("test.Holder$Inh"), state.getName("test.Plain")),
+                  state)
+              .stream()
+              .map(Name::toString)
+              .collect(toImmutableSortedSet(naturalOrder()));
+      if (!plain && !inherited && among.isEmpty()) {
+        return Description.NO_MATCH;
+      }
+      return buildDescription(tree)
+          .setMessage(String.format("plain=%s, inherited=%s, among=%s", plain, inherited, among))
+          .build();
+    }
+  }
 }
@@ -17,8 +17,11 @@
 package com.google.errorprone.matchers.method;
 
 import static com.google.errorprone.BugPattern.SeverityLevel.ERROR;
+import static com.google.errorprone.matchers.Matchers.allOf;
 import static com.google.errorprone.matchers.Matchers.anyMethod;
+import static com.google.errorprone.matchers.Matchers.anyOf;
 import static com.google.errorprone.matchers.Matchers.instanceMethod;
+import static com.google.errorprone.matchers.Matchers.not;
 import static com.google.errorprone.matchers.Matchers.staticMethod;
 
 import com.google.common.collect.ImmutableList;
@@ -26,10 +29,12 @@ import com.google.errorprone.BugPattern;
 import com.google.errorprone.CompilationTestHelper;
 import com.google.errorprone.VisitorState;
 import com.google.errorprone.bugpatterns.BugChecker;
+import com.google.errorprone.bugpatterns.BugChecker.FilteredMethodInvocationTreeMatcher;
 import com.google.errorprone.bugpatterns.BugChecker.MethodInvocationTreeMatcher;
 import com.google.errorprone.matchers.Description;
 import com.google.errorprone.matchers.Matcher;
 import com.google.errorprone.matchers.Matchers;
+import com.google.errorprone.scanner.ScannerSupplier;
 import com.sun.source.tree.ExpressionTree;
 import com.sun.source.tree.MethodInvocationTree;
 import org.junit.Test;
@@ -60,6 +65,107 @@ public class MethodInvocationMatcherTest {
         .doTest();
   }
 
+  @Test
+  public void filteredMethodInvocationMatchers() {
+    CompilationTestHelper.newInstance(
+            ScannerSupplier.fromBugCheckerClasses(
+                FilteredToStringChecker.class, FilteredValueOfChecker.class),
+            getClass())
+        .addSourceLines(
+            "Test.java",
+            "class Test {",
+            "  void f() {",
+            "    // BUG: Diagnostic contains: FilteredToString",
+            "    String s = \"5\".toString();",
+            "    // BUG: Diagnostic contains: FilteredValueOf",
+            "    String t = String.valueOf(5);",
+            "    int u = \"5\".length();",
+            "    // BUG: Diagnostic contains: FilteredValueOf",
+            "    int v = Integer.parseInt(\"5\");",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  @Test
+  public void filteredCompositeMethodInvocationMatchers() {
+    CompilationTestHelper.newInstance(FilteredCompositeChecker.class, getClass())
+        .addSourceLines(
+            "Test.java",
+            "class Test {",
+            "  void f() {",
+            "    // BUG: Diagnostic contains: ",
+            "    String s = \" 5 \".trim();",
+            "    // BUG: Diagnostic contains: ",
+            "    int t = Math.abs(-5);",
+            "    int u = \"5\".length();",
+            "    int v = Math.max(5, 6);",
+            "  }",
+            "}")
+        .doTest();
+  }
+
+  /**
+   * A {@link BugChecker} for test that flags every method invocation it is called for, which should
+   * only be invocations of {@code toString}.
+   */
+  @BugPattern(summary = "Flags invocations of toString", severity = ERROR)
+  public static class FilteredToStringChecker extends BugChecker
+      implements FilteredMethodInvocationTreeMatcher {
+    @Override
+    public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+      return ImmutableList.of(instanceMethod().anyClass().named("toString"));
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return describeMatch(tree);
+    }
+  }
+
+  /**
+   * A {@link BugChecker} for test that flags every method invocation it is called for, which should
+   * only be invocations of static methods named {@code valueOf} or {@code parseInt}.
+   */
+  @BugPattern(summary = "Flags invocations of valueOf and parseInt", severity = ERROR)
+  public static class FilteredValueOfChecker extends BugChecker
+      implements FilteredMethodInvocationTreeMatcher {
+    @Override
+    public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+      return ImmutableList.of(
+          staticMethod().anyClass().named("valueOf"),
+          staticMethod().onClass("java.lang.Integer").namedAnyOf("parseInt", "parseUnsignedInt"));
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return describeMatch(tree);
+    }
+  }
+
+  /**
+   * A {@link BugChecker} for test that flags every method invocation it is called for, which should
+   * only be invocations of {@code trim} or {@code abs}, the alternatives of its only matcher.
+   */
+  @BugPattern(summary = "Flags invocations of trim and abs", severity = ERROR)
+  public static class FilteredCompositeChecker extends BugChecker
+      implements FilteredMethodInvocationTreeMatcher {
+    @Override
+    public ImmutableList<Matcher<? super MethodInvocationTree>> methodInvocationMatchers() {
+      return ImmutableList.of(
+          allOf(
+              not(instanceMethod().onExactClass("java.lang.String").named("isEmpty")),
+              anyOf(
+                  instanceMethod().onExactClass("java.lang.String").named("trim"),
+                  staticMethod().onClass("java.lang.Math").named("abs"))));
+    }
+
+    @Override
+    public Description matchMethodInvocation(MethodInvocationTree tree, VisitorState state) {
+      return describeMatch(tree);
+    }
+  }
+
   /** A {@link BugChecker} for test. */
   @BugPattern(
       summary = "Checker that flags the given method invocation if the matcher matches",
@@ -25,16 +25,22 @@ import static org.junit.Assert.assertThrows;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Function;
 import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.errorprone.CodeTransformer;
+import com.google.errorprone.CodeTransformerFiles;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.tree.CompilationUnitTree;
 import com.sun.source.tree.Tree;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 import javax.tools.JavaFileObject;
 import org.junit.Ignore;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
@@ -45,6 +51,8 @@ import org.junit.runners.JUnit4;
  */
 @RunWith(JUnit4.class)
 public class TemplateIntegrationTest extends CompilerBasedTest {
+  @Rule public final TemporaryFolder tempFolder = new TemporaryFolder();
+
   private CodeTransformer extractRefasterRule(JavaFileObject object) {
     compile(object);
     ClassTree classTree =
@@ -369,4 +377,32 @@ public class TemplateIntegrationTest extends CompilerBasedTest {
   public void suppressWarnings() throws IOException {
     runTest("SuppressWarningsTemplate");
   }
+
+  @Test
+  public void ruleSet() throws IOException {
+    ImmutableList<String> testNames =
+        ImmutableList.of(
+            "BinaryTemplate",
+            "MethodInvocationTemplate",
+            "AnyOfTemplate",
+            "OneLineToTwoTemplate",
+            "SuppressWarningsTemplate");
+    List<CodeTransformer> rules = new ArrayList<>();
+    for (String testName : testNames) {
+      rules.add(
+          extractRefasterRule(forResource(String.format("%s/%s.java", TEMPLATE_DIR, testName))));
+    }
+    Path path = tempFolder.newFile("rules.bin").toPath();
+    RefasterRuleSet.write(rules, path);
+    for (CodeTransformer ruleSet :
+        ImmutableList.of(RefasterRuleSet.compose(rules), CodeTransformerFiles.read(path))) {
+      assertThat(ruleSet).isInstanceOf(RefasterRuleSet.class);
+      for (String testName : testNames) {
+        expectTransforms(
+            ruleSet,
+            forResource(String.format("%s/%sExample.java", INPUT_DIR, testName)),
+            forResource(String.format("%s/%sExample.java", OUTPUT_DIR, testName)));
+      }
+    }
+  }
 }
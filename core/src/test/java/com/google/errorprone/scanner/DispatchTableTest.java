@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 The Error Prone Authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.google.errorprone.scanner;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import com.google.errorprone.bugpatterns.ArrayEquals;
+import com.google.errorprone.bugpatterns.BadShiftAmount;
+import com.google.errorprone.bugpatterns.ChainingConstructorIgnoresParameter;
+import com.google.errorprone.bugpatterns.LongLiteralLowerCaseSuffix;
+import com.sun.source.tree.Tree;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link DispatchTable}. */
+@RunWith(JUnit4.class)
+public class DispatchTableTest {
+
+  private final DispatchTable table =
+      DispatchTable.create(
+          ImmutableList.of(
+              ArrayEquals.class,
+              LongLiteralLowerCaseSuffix.class,
+              ChainingConstructorIgnoresParameter.class,
+              BadShiftAmount.class));
+
+  @Test
+  public void checkerCount() {
+    assertThat(table.checkerCount()).isEqualTo(4);
+  }
+
+  @Test
+  public void checkersInRegistrationOrder() {
+    assertThat(table.checkersFor(Tree.Kind.METHOD_INVOCATION)).asList().containsExactly(0, 2);
+    assertThat(table.checkersFor(Tree.Kind.METHOD)).asList().containsExactly(2);
+    assertThat(table.checkersFor(Tree.Kind.COMPILATION_UNIT)).asList().containsExactly(2);
+  }
+
+  @Test
+  public void allKindsOfATreeType() {
+    assertThat(table.checkersFor(Tree.Kind.LONG_LITERAL)).asList().containsExactly(1);
+    assertThat(table.checkersFor(Tree.Kind.STRING_LITERAL)).asList().containsExactly(1);
+    assertThat(table.checkersFor(Tree.Kind.LEFT_SHIFT)).asList().containsExactly(3);
+    assertThat(table.checkersFor(Tree.Kind.PLUS)).asList().containsExactly(3);
+  }
+
+  @Test
+  public void noCheckers() {
+    assertThat(table.checkersFor(Tree.Kind.IF)).isEmpty();
+    assertThat(table.checkersFor(Tree.Kind.ERRONEOUS)).isEmpty();
+    assertThat(table.checkersFor(Tree.Kind.OTHER)).isEmpty();
+  }
+}
@@ -34,11 +34,13 @@ import com.google.common.truth.Subject;
 import com.google.errorprone.BugCheckerInfo;
 import com.google.errorprone.BugPattern;
 import com.google.errorprone.BugPattern.SeverityLevel;
+import com.google.errorprone.ErrorProneFlags;
 import com.google.errorprone.ErrorProneJavaCompilerTest;
 import com.google.errorprone.ErrorProneJavaCompilerTest.UnsuppressibleArrayEquals;
 import com.google.errorprone.ErrorProneOptions;
 import com.google.errorprone.FileManagers;
 import com.google.errorprone.InvalidCommandLineOptionException;
+import com.google.errorprone.annotations.Immutable;
 import com.google.errorprone.bugpatterns.ArrayEquals;
 import com.google.errorprone.bugpatterns.BadShiftAmount;
 import com.google.errorprone.bugpatterns.BugChecker;
@@ -586,6 +588,62 @@ public class ScannerSupplierTest {
     assertThat(exception).hasMessageThat().contains("may not be disabled");
   }
 
+  /** A check that is annotated as immutable. */
+  @BugPattern(summary = "", severity = ERROR)
+  @Immutable
+  public static class StatelessChecker extends BugChecker {
+    private final ImmutableList<String> names;
+
+    public StatelessChecker(ErrorProneFlags flags) {
+      this.names =
+          flags
+              .getList("StatelessChecker:Names")
+              .map(ImmutableList::copyOf)
+              .orElse(ImmutableList.of());
+    }
+  }
+
+  /** A check with state that must not be shared between compilations. */
+  @BugPattern(summary = "", severity = ERROR)
+  public static class StatefulChecker extends BugChecker {
+    private int count;
+  }
+
+  /** A check with only final fields, which isn't shared since it isn't annotated as immutable. */
+  @BugPattern(summary = "", severity = ERROR)
+  public static class UnannotatedChecker extends BugChecker {
+    private final ImmutableList<StringBuilder> builders = ImmutableList.of(new StringBuilder());
+  }
+
+  @Test
+  public void statelessChecksAreReused() throws Exception {
+    ScannerSupplier ss =
+        ScannerSupplier.fromBugCheckerClasses(
+            StatelessChecker.class, StatefulChecker.class, UnannotatedChecker.class);
+    ScannerSupplier withFlags =
+        ss.applyOverrides(
+            ErrorProneOptions.processArgs(ImmutableList.of("-XepOpt:StatelessChecker:Names=a")));
+
+    BugChecker stateless = checker(ss, StatelessChecker.class);
+    assertThat(checker(ss, StatelessChecker.class)).isSameInstanceAs(stateless);
+    assertThat(
+            checker(
+                ScannerSupplier.fromBugCheckerClasses(StatelessChecker.class),
+                StatelessChecker.class))
+        .isSameInstanceAs(stateless);
+    assertThat(checker(withFlags, StatelessChecker.class)).isNotSameInstanceAs(stateless);
+    assertThat(checker(ss, StatefulChecker.class))
+        .isNotSameInstanceAs(checker(ss, StatefulChecker.class));
+    assertThat(checker(ss, UnannotatedChecker.class))
+        .isNotSameInstanceAs(checker(ss, UnannotatedChecker.class));
+  }
+
+  private static BugChecker checker(
+      ScannerSupplier scannerSupplier, Class<? extends BugChecker> checkerClass) {
+    return ((ErrorProneScanner) scannerSupplier.get())
+        .getBugCheckers().stream().filter(checkerClass::isInstance).findFirst().get();
+  }
+
   private static class ScannerSupplierSubject extends Subject {
     private final ScannerSupplier actual;
 
@@ -79,6 +79,28 @@ public class ScannerTest {
         .doTest();
   }
 
+  @Test
+  public void suppressionEndsWithDeclaration() {
+    compilationHelper
+        .addSourceLines(
+            "Test.java",
+            "import com.google.errorprone.scanner.ScannerTest.Foo;",
+            "import com.google.errorprone.scanner.ScannerTest.OkToUseFoo;",
+            "class Test {",
+            "  @OkToUseFoo",
+            "  class Inner {",
+            "    @OkToUseFoo",
+            "    Foo foo;",
+            "    Foo bar;",
+            "  }",
+            "  @OkToUseFoo",
+            "  Foo foo;",
+            "  // BUG: Diagnostic contains: ShouldNotUseFoo",
+            "  Foo bar;",
+            "}")
+        .doTest();
+  }
+
   @Test
   public void suppressionAnnotationIgnoredWithOptions() {
     compilationHelper
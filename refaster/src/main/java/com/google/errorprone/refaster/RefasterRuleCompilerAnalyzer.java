@@ -15,7 +15,6 @@
 package com.google.errorprone.refaster;
 
 import com.google.errorprone.CodeTransformer;
-import com.google.errorprone.CompositeCodeTransformer;
 import com.sun.source.tree.ClassTree;
 import com.sun.source.util.TaskEvent;
 import com.sun.source.util.TaskEvent.Kind;
@@ -25,15 +24,13 @@ import com.sun.tools.javac.api.JavacTrees;
 import com.sun.tools.javac.main.JavaCompiler;
 import com.sun.tools.javac.util.Context;
 import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * TaskListener that receives compilation of a Refaster rule class and outputs a serialized analyzer
- * to the specified path.
+ * TaskListener that receives compilation of a Refaster rule class and outputs the compiled rules to
+ * the specified path, in the format read by {@link com.google.errorprone.CodeTransformerFiles}.
  */
 public class RefasterRuleCompilerAnalyzer implements TaskListener {
   private final Context context;
@@ -67,9 +64,8 @@ public class RefasterRuleCompilerAnalyzer implements TaskListener {
     if (rules.isEmpty()) {
       throw new IllegalArgumentException("Did not find any Refaster templates");
     }
-    try (ObjectOutputStream output =
-        new ObjectOutputStream(Files.newOutputStream(destinationPath))) {
-      output.writeObject(CompositeCodeTransformer.compose(rules));
+    try {
+      RefasterRuleSet.write(rules, destinationPath);
     } catch (IOException e) {
       throw new RuntimeException(e);
     }